@@ -0,0 +1,67 @@
+#!/usr/bin/env bash
+# プラットフォームスレッド（Tomcat のスレッドプール）と仮想スレッドで、同じ負荷シナリオを流して比較する。
+#
+# 前提：k6 がインストールされていること（https://k6.io/）
+# 使い方：
+#   cd backend
+#   ./loadtest/compare-threads.sh            # VUS=500, DURATION=30s
+#   VUS=2000 DURATION=60s ./loadtest/compare-threads.sh
+#
+# 結果：build/loadtest/{platform,virtual}.json（k6 の summary）と、各モードの主要指標を標準出力に出す。
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+PORT="${PORT:-18080}"
+VUS="${VUS:-500}"
+DURATION="${DURATION:-30s}"
+OUT_DIR="build/loadtest"
+
+if ! command -v k6 > /dev/null 2>&1; then
+  echo "k6 が見つかりません。https://k6.io/ からインストールしてください。" >&2
+  exit 1
+fi
+
+sh ./gradlew --quiet bootJar
+JAR="$(ls build/libs/*.jar | grep -v -- '-plain.jar' | head -n 1)"
+mkdir -p "$OUT_DIR"
+
+run_mode() {
+  local mode="$1"
+  local virtual="$2"
+
+  echo "== ${mode}（VIRTUAL_THREADS_ENABLED=${virtual}, VUS=${VUS}, DURATION=${DURATION}）"
+  VIRTUAL_THREADS_ENABLED="$virtual" PORT="$PORT" java -jar "$JAR" > "$OUT_DIR/${mode}.log" 2>&1 &
+  local pid=$!
+  trap "kill ${pid} 2> /dev/null || true" EXIT
+
+  # 起動（/api/health が 200 を返す）まで待つ
+  for _ in $(seq 1 120); do
+    if curl -fs "http://localhost:${PORT}/api/health" > /dev/null; then
+      break
+    fi
+    sleep 0.5
+  done
+
+  k6 run --quiet \
+    -e BASE_URL="http://localhost:${PORT}" -e VUS="$VUS" -e DURATION="$DURATION" \
+    --summary-export "$OUT_DIR/${mode}.json" loadtest/rps-load.js
+
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+  trap - EXIT
+}
+
+run_mode platform false
+run_mode virtual true
+
+echo "== 比較（http_reqs/s と http_req_duration p95[ms]）"
+for mode in platform virtual; do
+  python3 - "$OUT_DIR/${mode}.json" "$mode" << 'PY'
+import json, sys
+metrics = json.load(open(sys.argv[1]))["metrics"]
+print(f'{sys.argv[2]:>8}: {metrics["http_reqs"]["rate"]:10.1f} req/s, '
+      f'p95 {metrics["http_req_duration"]["p(95)"]:8.2f} ms, '
+      f'failed {metrics["http_req_failed"]["value"] * 100:.2f} %')
+PY
+done
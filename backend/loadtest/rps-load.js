@@ -0,0 +1,46 @@
+// k6 の負荷シナリオ：/api/rps と /api/health に高い同時接続数で負荷をかける。
+//
+// 使い方（単体）：
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=500 -e DURATION=30s loadtest/rps-load.js
+// プラットフォームスレッド / 仮想スレッドの比較は compare-threads.sh から実行する。
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = Number(__ENV.VUS || 500);
+const DURATION = __ENV.DURATION || '30s';
+
+const RPS_BODY = JSON.stringify({ hand: 'ROCK', opponents: 10 });
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+export const options = {
+  // 同時接続数の大半を /api/rps、残りを /api/health に割り当てる
+  scenarios: {
+    rps: {
+      executor: 'constant-vus',
+      exec: 'rps',
+      vus: Math.max(1, Math.floor(VUS * 0.8)),
+      duration: DURATION,
+    },
+    health: {
+      executor: 'constant-vus',
+      exec: 'health',
+      vus: Math.max(1, Math.ceil(VUS * 0.2)),
+      duration: DURATION,
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function rps() {
+  const res = http.post(`${BASE_URL}/api/rps`, RPS_BODY, {
+    ...JSON_HEADERS,
+    tags: { endpoint: 'rps' },
+  });
+  check(res, { 'rps: status 200': (r) => r.status === 200 });
+}
+
+export function health() {
+  const res = http.get(`${BASE_URL}/api/health`, { tags: { endpoint: 'health' } });
+  check(res, { 'health: status 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,88 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsRequest;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsResponse;
+import com.github.seiyamatsuoka.multiopponentrps.rps.json.RpsResponseJsonWriter;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * JSON のリクエスト/レスポンス変換のベンチマーク。
+ *
+ * <p>Controller が行う「RpsRequest の読み取り」と「RpsResponse の書き出し」を単体計測する。
+ *
+ * <ul>
+ *   <li>writeResponse / writeResponseToStream：Jackson（従来の書き出し）
+ *   <li>writeResponseFragments / writeResponseFragmentsToStream：RpsResponseJsonWriter（事前生成した断片）
+ * </ul>
+ *
+ * <p>*ToStream は使い回す出力先に書き出す（HttpMessageConverter から Servlet の出力ストリームに書く場合に近い）。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RpsJsonBenchmark {
+
+  @Param({"1", "10"})
+  private int opponents;
+
+  private ObjectWriter responseWriter;
+  private ObjectReader requestReader;
+  private RpsResponse response;
+  private byte[] requestJson;
+  private ByteArrayOutputStream out;
+
+  @Setup
+  public void setUp() {
+    ObjectMapper objectMapper = new ObjectMapper();
+    responseWriter = objectMapper.writerFor(RpsResponse.class);
+    requestReader = objectMapper.readerFor(RpsRequest.class);
+    response = new RpsService().play(Hand.ROCK, opponents);
+    requestJson =
+        ("{\"hand\":\"ROCK\",\"opponents\":" + opponents + "}").getBytes(StandardCharsets.UTF_8);
+    out = new ByteArrayOutputStream(1024);
+  }
+
+  @Benchmark
+  public byte[] writeResponse() throws IOException {
+    return responseWriter.writeValueAsBytes(response);
+  }
+
+  @Benchmark
+  public byte[] writeResponseFragments() {
+    return RpsResponseJsonWriter.toBytes(response);
+  }
+
+  @Benchmark
+  public int writeResponseToStream() throws IOException {
+    out.reset();
+    responseWriter.writeValue(out, response);
+    return out.size();
+  }
+
+  @Benchmark
+  public int writeResponseFragmentsToStream() throws IOException {
+    out.reset();
+    RpsResponseJsonWriter.writeTo(response, out);
+    return out.size();
+  }
+
+  @Benchmark
+  public RpsRequest readRequest() throws IOException {
+    return requestReader.readValue(requestJson);
+  }
+}
@@ -0,0 +1,83 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsRequest;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsResponse;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.OpponentStrategy;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Result;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RuleSet;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * RpsService のベンチマーク。
+ *
+ * <ul>
+ *   <li>judge()：3x3 の全組み合わせを1回ずつ判定する
+ *   <li>play()：通常モードの人数（1〜10）と、それを超える大人数で1回実行する
+ *   <li>playWithStrategy()：相手 10 人で、作戦ごとに1つのセッションで続けて実行する（RANDOM との差が作戦の分の時間）
+ * </ul>
+ *
+ * <p>gc プロファイラの gc.alloc.rate.norm（1回あたりの割り当てバイト数）で、ホットパスの割り当て増加を検知する。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RpsServiceBenchmark {
+
+  private static final Hand[] HANDS = RuleSet.CLASSIC.cycle().toArray(Hand[]::new);
+
+  private final RpsService service = new RpsService();
+
+  @Benchmark
+  public void judge(Blackhole bh) {
+    for (Hand player : HANDS) {
+      for (Hand opponent : HANDS) {
+        Result result = service.judge(player, opponent);
+        bh.consume(result);
+      }
+    }
+  }
+
+  @Benchmark
+  public RpsResponse play(Opponents opponents) {
+    return service.play(Hand.ROCK, opponents.count);
+  }
+
+  @Benchmark
+  public RpsResponse playWithStrategy(Strategy strategy) {
+    return service.play(strategy.request);
+  }
+
+  /** play() 用の相手人数（judge() には関係しないため別の State に分ける）。 */
+  @State(Scope.Thread)
+  public static class Opponents {
+
+    @Param({"1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "1000", "100000"})
+    int count;
+  }
+
+  /** playWithStrategy() 用の作戦（セッションの履歴の読み書きを含めて測る）。 */
+  @State(Scope.Thread)
+  public static class Strategy {
+
+    @Param({"RANDOM", "FREQUENCY", "MARKOV", "WIN_STAY_LOSE_SHIFT"})
+    OpponentStrategy strategy;
+
+    RpsRequest request;
+
+    @Setup
+    public void setUp() {
+      request =
+          new RpsRequest(Hand.ROCK, RpsRequest.MAX_OPPONENTS, null, null, strategy, "benchmark");
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.seiyamatsuoka.multiopponentrps.rps.binary.RpsBinaryCodec;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsRequest;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsResponse;
+import com.github.seiyamatsuoka.multiopponentrps.rps.json.RpsResponseJsonWriter;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 通信形式（JSON / バイナリ）ごとの「リクエストの読み取り + レスポンスの書き出し」のベンチマーク。
+ *
+ * <p>1リクエスト分の変換コストを、JSON（Jackson のみ / 読み取り Jackson + 書き出し RpsResponseJsonWriter）と
+ * バイナリ（RpsBinaryCodec）で比較する。じゃんけん自体は含めない。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RpsWireFormatBenchmark {
+
+  @Param({"1", "10"})
+  private int opponents;
+
+  private ObjectReader requestReader;
+  private ObjectWriter responseWriter;
+  private RpsResponse response;
+  private byte[] jsonRequest;
+  private byte[] binaryRequest;
+
+  @Setup
+  public void setUp() {
+    ObjectMapper objectMapper = new ObjectMapper();
+    requestReader = objectMapper.readerFor(RpsRequest.class);
+    responseWriter = objectMapper.writerFor(RpsResponse.class);
+    response = new RpsService().play(Hand.ROCK, opponents);
+    jsonRequest =
+        ("{\"hand\":\"ROCK\",\"opponents\":" + opponents + "}").getBytes(StandardCharsets.UTF_8);
+    binaryRequest = RpsBinaryCodec.encodeRequest(new RpsRequest(Hand.ROCK, opponents));
+  }
+
+  @Benchmark
+  public byte[] jackson() throws IOException {
+    RpsRequest request = requestReader.readValue(jsonRequest);
+    return request.opponents() > 0 ? responseWriter.writeValueAsBytes(response) : null;
+  }
+
+  @Benchmark
+  public byte[] jsonFragments() throws IOException {
+    RpsRequest request = requestReader.readValue(jsonRequest);
+    return request.opponents() > 0 ? RpsResponseJsonWriter.toBytes(response) : null;
+  }
+
+  @Benchmark
+  public byte[] binary() {
+    RpsRequest request = RpsBinaryCodec.decodeRequest(binaryRequest);
+    return request.opponents() > 0 ? RpsBinaryCodec.encodeResponse(response) : null;
+  }
+}
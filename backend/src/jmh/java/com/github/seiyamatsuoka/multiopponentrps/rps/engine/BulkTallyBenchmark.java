@@ -0,0 +1,65 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.engine;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RuleSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 大人数の手の生成・集計のベンチマーク。
+ *
+ * <ul>
+ *   <li>boxedList：以前の generateOpponentHands() と同じく List&lt;Hand&gt; を作ってから数える
+ *   <li>nextIntLoop：1人ごとに nextInt(3) を呼んで数える
+ *   <li>packed：{@link PackedHands} で 1 ワードから最大 32 人分を取り出し、bitCount で数える
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BulkTallyBenchmark {
+
+  private static final Hand[] HANDS = RuleSet.CLASSIC.cycle().toArray(Hand[]::new);
+
+  @Param({"1000", "1000000"})
+  private int opponents;
+
+  @Benchmark
+  public long[] boxedList() {
+    List<Hand> hands = new ArrayList<>(opponents);
+    for (int i = 0; i < opponents; i++) {
+      hands.add(HANDS[ThreadLocalRandom.current().nextInt(HANDS.length)]);
+    }
+    long[] counts = new long[OutcomeTable.HAND_COUNT];
+    for (Hand hand : hands) {
+      counts[hand.ordinal()]++;
+    }
+    return counts;
+  }
+
+  @Benchmark
+  public long[] nextIntLoop() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long[] counts = new long[OutcomeTable.HAND_COUNT];
+    for (int i = 0; i < opponents; i++) {
+      counts[random.nextInt(OutcomeTable.HAND_COUNT)]++;
+    }
+    return counts;
+  }
+
+  @Benchmark
+  public long[] packed() {
+    long[] counts = new long[OutcomeTable.HAND_COUNT];
+    PackedHands.tally(ThreadLocalRandom.current(), opponents, counts);
+    return counts;
+  }
+}
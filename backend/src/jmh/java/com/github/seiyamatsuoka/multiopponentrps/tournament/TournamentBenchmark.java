@@ -0,0 +1,68 @@
+package com.github.seiyamatsuoka.multiopponentrps.tournament;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.RpsService;
+import com.github.seiyamatsuoka.multiopponentrps.rps.random.DefaultRandomSource;
+import com.github.seiyamatsuoka.multiopponentrps.tournament.dto.TournamentRequest;
+import com.github.seiyamatsuoka.multiopponentrps.tournament.dto.TournamentResponse;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * トーナメントのベンチマーク。
+ *
+ * <p>ForkJoinPool の並列数（parallelism）を変えて、コア数に対してどの程度スケールするかを見る。
+ *
+ * <ul>
+ *   <li>singleElimination：勝ち抜き戦（100 万人）
+ *   <li>roundRobin：総当たり戦（2000 人、約 200 万試合）
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TournamentBenchmark {
+
+  private static final TournamentRequest SINGLE_ELIMINATION =
+      new TournamentRequest(TournamentFormat.SINGLE_ELIMINATION, 1_000_000, 1L);
+
+  private static final TournamentRequest ROUND_ROBIN =
+      new TournamentRequest(
+          TournamentFormat.ROUND_ROBIN, TournamentRequest.MAX_ROUND_ROBIN_ENTRANTS, 1L);
+
+  @Param({"1", "2", "4", "8"})
+  private int parallelism;
+
+  private ForkJoinPool pool;
+  private TournamentService service;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    pool = new ForkJoinPool(parallelism);
+    service = new TournamentService(new RpsService(), new DefaultRandomSource(), pool);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public TournamentResponse singleElimination() {
+    return service.run(SINGLE_ELIMINATION);
+  }
+
+  @Benchmark
+  public TournamentResponse roundRobin() {
+    return service.run(ROUND_ROBIN);
+  }
+}
@@ -0,0 +1,14 @@
+package com.github.seiyamatsuoka.multiopponentrps.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Idempotency-Key（POST /api/rps の再送）に関する設定を application.yml から読み込むためのプロパティ定義。 */
+@ConfigurationProperties(prefix = "app.idempotency")
+public record AppIdempotencyProperties(
+    /** Idempotency-Key ごとに結果を覚えるか。 */
+    boolean enabled,
+    /** 結果を覚えておく期間。 */
+    Duration ttl,
+    /** 覚えておく件数の上限（超えた分は古いものから消す）。 */
+    int maxEntries) {}
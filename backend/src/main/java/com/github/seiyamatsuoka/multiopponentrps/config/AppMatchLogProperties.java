@@ -0,0 +1,25 @@
+package com.github.seiyamatsuoka.multiopponentrps.config;
+
+import com.github.seiyamatsuoka.multiopponentrps.matchlog.MatchLogWriter;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/** マッチログ（1回ごとの結果の記録）に関する設定を application.yml から読み込むためのプロパティ定義。 */
+@ConfigurationProperties(prefix = "app.matchlog")
+@Validated
+public record AppMatchLogProperties(
+    /** マッチログを書き込むか。 */
+    boolean enabled,
+    /** セグメントファイルのディレクトリ。 */
+    String directory,
+    /** 1セグメントのレコード数（1レコード 32 バイト。ファイルが 2GB 未満に収まる件数まで）。 */
+    @Min(1) @Max(MatchLogWriter.MAX_SEGMENT_RECORDS) int segmentRecords,
+    /** リクエストのスレッドから書き込みスレッドへ渡すリングバッファのレコード数。 */
+    int ringCapacity,
+    /** ディスクへ書き出す間隔。 */
+    Duration forceInterval,
+    /** 残すセグメント数（超えた分は古いものから削除する）。 */
+    int maxSegments) {}
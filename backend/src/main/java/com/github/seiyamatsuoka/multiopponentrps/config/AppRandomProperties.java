@@ -0,0 +1,9 @@
+package com.github.seiyamatsuoka.multiopponentrps.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** 乱数（相手の手の生成）に関する設定を application.yml から読み込むためのプロパティ定義。 */
+@ConfigurationProperties(prefix = "app.random")
+public record AppRandomProperties(
+    /** シードあり・分割用に使う乱数アルゴリズム名（SplittableGenerator であること）。 */
+    String algorithm) {}
@@ -0,0 +1,19 @@
+package com.github.seiyamatsuoka.multiopponentrps.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** じゃんけん API のレート制限・ロードシェディングに関する設定を application.yml から読み込むためのプロパティ定義。 */
+@ConfigurationProperties(prefix = "app.ratelimit")
+public record AppRateLimitProperties(
+    /** レート制限・ロードシェディングを行うか。 */
+    boolean enabled,
+    /** クライアントごとに 1秒あたり許可する回数。 */
+    double permitsPerSecond,
+    /** クライアントごとに連続で許可する回数。 */
+    int burst,
+    /** 覚えておくクライアント数の上限。 */
+    int maxClients,
+    /** 同時に処理するリクエスト数の上限（超えた分は 503）。 */
+    int maxConcurrent,
+    /** クライアントを表すヘッダ名（X-Forwarded-For 等。空ならリモートアドレス）。 */
+    String clientHeader) {}
@@ -0,0 +1,14 @@
+package com.github.seiyamatsuoka.multiopponentrps.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** 集計のスナップショット（再起動時の復元）に関する設定を application.yml から読み込むためのプロパティ定義。 */
+@ConfigurationProperties(prefix = "app.stats.snapshot")
+public record AppStatsSnapshotProperties(
+    /** 集計を保存・復元するか。 */
+    boolean enabled,
+    /** スナップショットファイルのパス。 */
+    String path,
+    /** 保存する間隔。 */
+    Duration interval) {}
@@ -0,0 +1,12 @@
+package com.github.seiyamatsuoka.multiopponentrps.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** 相手の作戦（セッションごとの自分の手の履歴）に関する設定を application.yml から読み込むためのプロパティ定義。 */
+@ConfigurationProperties(prefix = "app.strategy")
+public record AppStrategyProperties(
+    /** 使われなくなってから履歴を捨てるまでの時間。 */
+    Duration idleTimeout,
+    /** 覚えておくセッション数の上限（超えそうになったら使われていないものから消す）。 */
+    int maxSessions) {}
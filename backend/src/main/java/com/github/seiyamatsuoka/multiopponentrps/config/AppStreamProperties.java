@@ -0,0 +1,18 @@
+package com.github.seiyamatsuoka.multiopponentrps.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** 結果の配信（GET /api/rps/stream）に関する設定を application.yml から読み込むためのプロパティ定義。 */
+@ConfigurationProperties(prefix = "app.stream")
+public record AppStreamProperties(
+    /** 放送用リングバッファの件数（購読者の読み出しが遅れた場合は古いものから上書きする）。 */
+    int bufferSize,
+    /** 購読者ごとに読み出して送る間隔。 */
+    Duration interval,
+    /** 1回ごとの結果を間隔ごとに 1 つの配列にまとめて送るか。 */
+    boolean coalesce,
+    /** 同時に購読できる数の上限（超えた分は 503）。 */
+    int maxSubscribers,
+    /** 1つの購読を続ける時間の上限。 */
+    Duration timeout) {}
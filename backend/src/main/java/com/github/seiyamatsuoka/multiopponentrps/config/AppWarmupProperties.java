@@ -0,0 +1,11 @@
+package com.github.seiyamatsuoka.multiopponentrps.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** 起動時のウォームアップに関する設定を application.yml から読み込むためのプロパティ定義。 */
+@ConfigurationProperties(prefix = "app.warmup")
+public record AppWarmupProperties(
+    /** ウォームアップを行うか。 */
+    boolean enabled,
+    /** じゃんけん API の処理経路を空回しする回数。 */
+    int iterations) {}
@@ -0,0 +1,46 @@
+package com.github.seiyamatsuoka.multiopponentrps.config;
+
+import com.github.seiyamatsuoka.multiopponentrps.stream.GameStream;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 結果の配信（GET /api/rps/stream）の設定。
+ *
+ * <p>{@link GameStream} は GameListener として RpsService に渡される（購読者がいないときは何もしない）。
+ */
+@Configuration
+@EnableConfigurationProperties(AppStreamProperties.class)
+public class GameStreamConfig {
+
+  /**
+   * 結果の配信。
+   *
+   * <p>購読者数は rps.stream.subscribers として公開する。
+   *
+   * @param properties 配信の設定
+   * @param registry メトリクスの登録先（なければ登録しない）
+   * @return 結果の配信
+   */
+  @Bean
+  public GameStream gameStream(
+      AppStreamProperties properties, ObjectProvider<MeterRegistry> registry) {
+    GameStream stream =
+        new GameStream(
+            properties.bufferSize(),
+            properties.interval(),
+            properties.coalesce(),
+            properties.maxSubscribers(),
+            properties.timeout());
+    registry.ifAvailable(
+        r ->
+            Gauge.builder("rps.stream.subscribers", stream, GameStream::subscribers)
+                .description("GET /api/rps/stream の購読者数")
+                .register(r));
+    return stream;
+  }
+}
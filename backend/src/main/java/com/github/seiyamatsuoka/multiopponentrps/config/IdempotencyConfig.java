@@ -0,0 +1,45 @@
+package com.github.seiyamatsuoka.multiopponentrps.config;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.idempotency.IdempotencyCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Idempotency-Key の設定。
+ *
+ * <p>AOT（-Paot）ではビルド時に Bean の有無が固定されるため、@ConditionalOnProperty は使わず常に Bean を作り、
+ * app.idempotency.enabled は {@link IdempotencyCache#isEnabled()} として RpsController がリクエストごとに見る。
+ */
+@Configuration
+@EnableConfigurationProperties(AppIdempotencyProperties.class)
+public class IdempotencyConfig {
+
+  /**
+   * Idempotency-Key ごとの結果のキャッシュ（無効ならヘッダを無視する）。
+   *
+   * <p>覚えていた結果を返した回数は rps.idempotency.replays として公開する。
+   *
+   * @param properties Idempotency-Key の設定
+   * @param registry メトリクスの登録先（なければ登録しない）
+   * @return キャッシュ
+   */
+  @Bean
+  public IdempotencyCache idempotencyCache(
+      AppIdempotencyProperties properties, ObjectProvider<MeterRegistry> registry) {
+    IdempotencyCache cache =
+        new IdempotencyCache(properties.enabled(), properties.ttl(), properties.maxEntries());
+    if (!cache.isEnabled()) {
+      return cache;
+    }
+    registry.ifAvailable(
+        r ->
+            FunctionCounter.builder("rps.idempotency.replays", cache, IdempotencyCache::replays)
+                .description("Idempotency-Key の再送に覚えていた結果を返した回数")
+                .register(r));
+    return cache;
+  }
+}
@@ -0,0 +1,77 @@
+package com.github.seiyamatsuoka.multiopponentrps.config;
+
+import com.github.seiyamatsuoka.multiopponentrps.matchlog.MatchLogReader;
+import com.github.seiyamatsuoka.multiopponentrps.matchlog.MatchLogScanner;
+import com.github.seiyamatsuoka.multiopponentrps.matchlog.MatchLogWriter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * マッチログの設定。
+ *
+ * <p>{@link MatchLogWriter} は GameListener として RpsService に渡される。{@link MatchLogScanner}
+ * は GET /api/stats/history の集計に使う。
+ *
+ * <p>AOT（-Paot）ではビルド時に Bean の有無が固定されるため、@ConditionalOnProperty は使わず常に Bean を作り、
+ * app.matchlog.enabled は起動時に各 Bean が見る（無効なら書き込まず、GET /api/stats/history は 404）。
+ */
+@Configuration
+@EnableConfigurationProperties(AppMatchLogProperties.class)
+public class MatchLogConfig {
+
+  /**
+   * マッチログの書き込み。
+   *
+   * <p>有効な場合、書き込み件数・捨てた件数は rps.matchlog.records{state} として公開する。
+   *
+   * @param properties マッチログの設定
+   * @param registry メトリクスの登録先（なければ登録しない）
+   * @return マッチログの書き込み
+   */
+  @Bean
+  public MatchLogWriter matchLogWriter(
+      AppMatchLogProperties properties, ObjectProvider<MeterRegistry> registry) {
+    MatchLogWriter writer =
+        new MatchLogWriter(
+            properties.enabled(),
+            Path.of(properties.directory()),
+            properties.segmentRecords(),
+            properties.ringCapacity(),
+            properties.forceInterval(),
+            properties.maxSegments());
+
+    if (!properties.enabled()) {
+      return writer;
+    }
+    registry.ifAvailable(
+        r -> {
+          FunctionCounter.builder("rps.matchlog.records", writer, MatchLogWriter::written)
+              .description("マッチログに書き込んだレコード数")
+              .tag("state", "written")
+              .register(r);
+          FunctionCounter.builder("rps.matchlog.records", writer, MatchLogWriter::dropped)
+              .description("リングバッファが満杯で捨てたレコード数")
+              .tag("state", "dropped")
+              .register(r);
+        });
+    return writer;
+  }
+
+  /**
+   * マッチログ全体の集計に使うスキャナ（共通の ForkJoinPool でセグメントごとに並列に読む）。
+   *
+   * @param writer マッチログの書き込み（書き込み先のディレクトリを読む）
+   * @return スキャナ
+   */
+  @Bean
+  public MatchLogScanner matchLogScanner(MatchLogWriter writer) {
+    return new MatchLogScanner(
+        new MatchLogReader(writer.directory()), ForkJoinPool.commonPool(), writer.isEnabled());
+  }
+}
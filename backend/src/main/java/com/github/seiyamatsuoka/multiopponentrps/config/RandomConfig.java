@@ -0,0 +1,32 @@
+package com.github.seiyamatsuoka.multiopponentrps.config;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.random.DefaultRandomSource;
+import com.github.seiyamatsuoka.multiopponentrps.rps.random.RandomSource;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 乱数の取得元（{@link RandomSource}）の設定。
+ *
+ * <p>アルゴリズムが未設定（空）の場合は {@link DefaultRandomSource#DEFAULT_ALGORITHM} を使う。
+ */
+@Configuration
+@EnableConfigurationProperties(AppRandomProperties.class)
+public class RandomConfig {
+
+  /**
+   * 相手の手の生成に使う乱数の取得元。
+   *
+   * @param properties 乱数の設定
+   * @return 乱数の取得元
+   */
+  @Bean
+  public RandomSource randomSource(AppRandomProperties properties) {
+    String algorithm = properties.algorithm();
+    if (algorithm == null || algorithm.isBlank()) {
+      return new DefaultRandomSource();
+    }
+    return new DefaultRandomSource(algorithm.trim());
+  }
+}
@@ -0,0 +1,63 @@
+package com.github.seiyamatsuoka.multiopponentrps.config;
+
+import com.github.seiyamatsuoka.multiopponentrps.ratelimit.ClientKeyResolver;
+import com.github.seiyamatsuoka.multiopponentrps.ratelimit.ClientRateLimiter;
+import com.github.seiyamatsuoka.multiopponentrps.ratelimit.ConcurrencyLimiter;
+import com.github.seiyamatsuoka.multiopponentrps.ratelimit.RateLimitInterceptor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * じゃんけん API（/api/rps/**）のレート制限・ロードシェディングの設定（app.ratelimit.enabled=true のときだけインターセプタを登録する）。
+ *
+ * <p>ヘルスチェック・集計の API は対象外にする（混雑時でも状態を確認できるようにする）。結果の配信（/api/rps/stream）は
+ * 接続が長く続くため対象外にし、購読者数の上限は配信側で持つ。
+ *
+ * <p>AOT（-Paot）ではビルド時に Bean の有無が固定されるため、@ConditionalOnProperty は使わず、有効・無効は
+ * インターセプタの登録時（起動時）に見る。
+ *
+ * <p>クライアントのキーの決め方（{@link ClientKeyResolver}）は、レート制限が無効でも Idempotency-Key のキャッシュで使うため常に
+ * Bean にする。
+ */
+@Configuration
+@EnableConfigurationProperties(AppRateLimitProperties.class)
+public class RateLimitConfig implements WebMvcConfigurer {
+
+  private final AppRateLimitProperties properties;
+  private final ClientKeyResolver clientKeyResolver;
+
+  public RateLimitConfig(AppRateLimitProperties properties) {
+    this.properties = properties;
+    this.clientKeyResolver = new ClientKeyResolver(properties.clientHeader());
+  }
+
+  /**
+   * クライアントのキーの決め方（app.ratelimit.client-header のヘッダ、なければリモートアドレス）。
+   *
+   * @return クライアントのキーの決め方
+   */
+  @Bean
+  public ClientKeyResolver clientKeyResolver() {
+    return clientKeyResolver;
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    if (!properties.enabled()) {
+      return;
+    }
+    RateLimitInterceptor interceptor =
+        new RateLimitInterceptor(
+            new ClientRateLimiter(
+                properties.permitsPerSecond(), properties.burst(), properties.maxClients()),
+            new ConcurrencyLimiter(properties.maxConcurrent()),
+            clientKeyResolver);
+    registry
+        .addInterceptor(interceptor)
+        .addPathPatterns("/api/rps", "/api/rps/**")
+        .excludePathPatterns("/api/rps/stream");
+  }
+}
@@ -0,0 +1,32 @@
+package com.github.seiyamatsuoka.multiopponentrps.config;
+
+import com.github.seiyamatsuoka.multiopponentrps.metrics.RpsMetrics;
+import com.github.seiyamatsuoka.multiopponentrps.rps.RpsController;
+import com.github.seiyamatsuoka.multiopponentrps.rps.RpsService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 起動時間の短縮（fast-start プロファイル）向けの設定。
+ *
+ * <p>fast-start プロファイルでは {@code spring.main.lazy-initialization} で Bean の生成を初回利用時まで遅らせる。
+ * ただし、じゃんけん API の処理経路（Controller / Service / メトリクス）は起動時に作っておき、
+ * 最初の {@code POST /api/rps} に Bean 生成のコストを乗せないようにする。
+ *
+ * <p>lazy-initialization が無効な場合（既定）は何も変わらない。
+ */
+@Configuration
+public class StartupConfig {
+
+  /**
+   * 遅延初期化の対象から外す Bean 型。
+   *
+   * @return 除外フィルタ
+   */
+  @Bean
+  static LazyInitializationExcludeFilter rpsHotPathEagerInit() {
+    return LazyInitializationExcludeFilter.forBeanTypes(
+        RpsController.class, RpsService.class, RpsMetrics.class);
+  }
+}
@@ -0,0 +1,35 @@
+package com.github.seiyamatsuoka.multiopponentrps.config;
+
+import com.github.seiyamatsuoka.multiopponentrps.stats.LiveStats;
+import com.github.seiyamatsuoka.multiopponentrps.stats.StatsSnapshotter;
+import com.github.seiyamatsuoka.multiopponentrps.stats.WindowedStats;
+import java.nio.file.Path;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 集計のスナップショットの設定。
+ *
+ * <p>AOT（-Paot）ではビルド時に Bean の有無が固定されるため、@ConditionalOnProperty は使わず常に Bean を作り、
+ * app.stats.snapshot.enabled は {@link StatsSnapshotter} が開始時に見る。
+ */
+@Configuration
+@EnableConfigurationProperties(AppStatsSnapshotProperties.class)
+public class StatsSnapshotConfig {
+
+  /**
+   * 集計の保存・復元（無効なら開始しても何もしない）。
+   *
+   * @param properties スナップショットの設定
+   * @param live 起動してからの累計
+   * @param windows 直近の時間窓の集計
+   * @return 集計の保存・復元
+   */
+  @Bean
+  public StatsSnapshotter statsSnapshotter(
+      AppStatsSnapshotProperties properties, LiveStats live, WindowedStats windows) {
+    return new StatsSnapshotter(
+        properties.enabled(), live, windows, Path.of(properties.path()), properties.interval());
+  }
+}
@@ -0,0 +1,40 @@
+package com.github.seiyamatsuoka.multiopponentrps.config;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.strategy.SessionStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 相手の作戦（strategy）の設定。
+ *
+ * <p>{@link SessionStore} は RpsService に渡される（session を指定したリクエストだけが使う）。
+ */
+@Configuration
+@EnableConfigurationProperties(AppStrategyProperties.class)
+public class StrategyConfig {
+
+  /**
+   * セッションごとの自分の手の履歴。
+   *
+   * <p>覚えているセッション数は rps.strategy.sessions として公開する。
+   *
+   * @param properties 作戦の設定
+   * @param registry メトリクスの登録先（なければ登録しない）
+   * @return 履歴の置き場所
+   */
+  @Bean
+  public SessionStore sessionStore(
+      AppStrategyProperties properties, ObjectProvider<MeterRegistry> registry) {
+    SessionStore store = new SessionStore(properties.idleTimeout(), properties.maxSessions());
+    registry.ifAvailable(
+        r ->
+            Gauge.builder("rps.strategy.sessions", store, SessionStore::sessions)
+                .description("相手の作戦のために履歴を覚えているセッション数")
+                .register(r));
+    return store;
+  }
+}
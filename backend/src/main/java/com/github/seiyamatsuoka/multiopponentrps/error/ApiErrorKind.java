@@ -0,0 +1,41 @@
+package com.github.seiyamatsuoka.multiopponentrps.error;
+
+/**
+ * {@link ApiExceptionHandler} が返すエラーの種類（ハンドラごと）。
+ *
+ * <p>メトリクスなどで「どのハンドラが何件返したか」を数えるためのキーとして使う。
+ */
+public enum ApiErrorKind {
+  /** リクエストボディのバリデーションエラー（@Valid）。 */
+  VALIDATION("validation", 400),
+  /** JSONの形式不正・enum 変換失敗など。 */
+  NOT_READABLE("not_readable", 400),
+  /** 設定で無効になっている機能（マッチログなど）。 */
+  DISABLED("disabled", 404),
+  /** Idempotency-Key が使えないリクエスト（同じキーで内容が違う等）。 */
+  IDEMPOTENCY_KEY("idempotency_key", 422),
+  /** クライアントごとのレート制限を超えたリクエスト。 */
+  RATE_LIMITED("rate_limited", 429),
+  /** 同時に処理するリクエスト数の上限に達していたリクエスト（ロードシェディング）。 */
+  OVERLOADED("overloaded", 503),
+  /** 想定外の例外。 */
+  UNEXPECTED("unexpected", 500);
+
+  private final String handler;
+  private final int status;
+
+  ApiErrorKind(String handler, int status) {
+    this.handler = handler;
+    this.status = status;
+  }
+
+  /** ハンドラ名（メトリクスのタグ値）を返す。 */
+  public String handler() {
+    return handler;
+  }
+
+  /** 返す HTTP ステータスを返す。 */
+  public int status() {
+    return status;
+  }
+}
@@ -1,11 +1,19 @@
 package com.github.seiyamatsuoka.multiopponentrps.error;
 
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.github.seiyamatsuoka.multiopponentrps.metrics.RpsMetrics;
+import com.github.seiyamatsuoka.multiopponentrps.ratelimit.OverloadedException;
+import com.github.seiyamatsuoka.multiopponentrps.ratelimit.RateLimitedException;
+import com.github.seiyamatsuoka.multiopponentrps.rps.binary.RpsBinaryFormatException;
+import com.github.seiyamatsuoka.multiopponentrps.rps.idempotency.IdempotencyKeyException;
+import com.github.seiyamatsuoka.multiopponentrps.stats.MatchLogDisabledException;
+import com.github.seiyamatsuoka.multiopponentrps.stats.WindowedStats;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
@@ -21,7 +29,11 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
  * <ul>
  *   <li>バリデーション失敗（@Valid）時のレスポンスを最小のJSON形式に統一する
  *   <li>JSONの形式不正・enum不正などの入力エラーも同様に 400 として返す
+ *   <li>設定で無効になっている機能へのリクエストは 404 として返す
+ *   <li>Idempotency-Key が使えない（同じキーで内容が違う等）リクエストは 422 として返す
+ *   <li>レート制限を超えたリクエストは 429、混雑で断ったリクエストは 503 として返す（Retry-After 付き）
  *   <li>想定外は 500 でメッセージを返す（詳細はログ）
+ *   <li>返したエラーはハンドラごとにメトリクスとして数える（入力不正は直近の時間窓の集計にも数える）
  * </ul>
  */
 @RestControllerAdvice
@@ -29,6 +41,20 @@ public class ApiExceptionHandler {
 
   private static final Logger log = LoggerFactory.getLogger(ApiExceptionHandler.class);
 
+  private final RpsMetrics metrics;
+  private final WindowedStats windowedStats;
+
+  /**
+   * DIコンストラクタ。
+   *
+   * @param metrics メトリクス（返したエラーを数える）
+   * @param windowedStats 直近の時間窓の集計（入力不正の件数を数える）
+   */
+  public ApiExceptionHandler(RpsMetrics metrics, WindowedStats windowedStats) {
+    this.metrics = metrics;
+    this.windowedStats = windowedStats;
+  }
+
   /**
    * リクエストボディのバリデーションエラー（@Valid）を 400 で返す。
    *
@@ -45,6 +71,7 @@ public class ApiExceptionHandler {
       details.add(field + ": " + message);
     }
 
+    recordError(ApiErrorKind.VALIDATION);
     ApiErrorResponse body = new ApiErrorResponse("入力が不正です", details);
     return ResponseEntity.badRequest().body(body);
   }
@@ -58,11 +85,73 @@ public class ApiExceptionHandler {
   @ExceptionHandler(HttpMessageNotReadableException.class)
   public ResponseEntity<ApiErrorResponse> handleNotReadable(HttpMessageNotReadableException ex) {
     List<String> details = buildDetailsForNotReadable(ex);
+    recordError(ApiErrorKind.NOT_READABLE);
 
     ApiErrorResponse body = new ApiErrorResponse("リクエストボディが不正です", details);
     return ResponseEntity.badRequest().body(body);
   }
 
+  /**
+   * 設定で無効になっている機能（マッチログ）へのリクエストを 404 で返す。
+   *
+   * @param ex 機能が無効であることを表す例外
+   * @return 404 + 統一エラーレスポンス
+   */
+  @ExceptionHandler(MatchLogDisabledException.class)
+  public ResponseEntity<ApiErrorResponse> handleDisabled(MatchLogDisabledException ex) {
+    recordError(ApiErrorKind.DISABLED);
+
+    ApiErrorResponse body = new ApiErrorResponse("マッチログが無効です", List.of(ex.getMessage()));
+    return ResponseEntity.status(ApiErrorKind.DISABLED.status()).body(body);
+  }
+
+  /**
+   * Idempotency-Key が使えないリクエストを 422 で返す。
+   *
+   * @param ex Idempotency-Key が使えないことを表す例外
+   * @return 422 + 統一エラーレスポンス
+   */
+  @ExceptionHandler(IdempotencyKeyException.class)
+  public ResponseEntity<ApiErrorResponse> handleIdempotencyKey(IdempotencyKeyException ex) {
+    recordError(ApiErrorKind.IDEMPOTENCY_KEY);
+
+    ApiErrorResponse body =
+        new ApiErrorResponse("Idempotency-Key が使えません", List.of(ex.getMessage()));
+    return ResponseEntity.status(ApiErrorKind.IDEMPOTENCY_KEY.status()).body(body);
+  }
+
+  /**
+   * クライアントごとのレート制限を超えたリクエストを 429 で返す。
+   *
+   * @param ex レート制限を超えたことを表す例外
+   * @return 429 + Retry-After + 統一エラーレスポンス
+   */
+  @ExceptionHandler(RateLimitedException.class)
+  public ResponseEntity<ApiErrorResponse> handleRateLimited(RateLimitedException ex) {
+    recordError(ApiErrorKind.RATE_LIMITED);
+
+    ApiErrorResponse body = new ApiErrorResponse("リクエストが多すぎます", List.of(ex.getMessage()));
+    return ResponseEntity.status(ApiErrorKind.RATE_LIMITED.status())
+        .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.retryAfterSeconds()))
+        .body(body);
+  }
+
+  /**
+   * 同時に処理するリクエスト数の上限に達していたリクエストを 503 で返す（待たせずにすぐ断る）。
+   *
+   * @param ex 上限に達していることを表す例外
+   * @return 503 + Retry-After + 統一エラーレスポンス
+   */
+  @ExceptionHandler(OverloadedException.class)
+  public ResponseEntity<ApiErrorResponse> handleOverloaded(OverloadedException ex) {
+    recordError(ApiErrorKind.OVERLOADED);
+
+    ApiErrorResponse body = new ApiErrorResponse("サーバーが混み合っています", List.of(ex.getMessage()));
+    return ResponseEntity.status(ApiErrorKind.OVERLOADED.status())
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(body);
+  }
+
   /**
    * 想定外の例外を 500 で返す（詳細はログ出力）。
    *
@@ -73,6 +162,7 @@ public class ApiExceptionHandler {
   public ResponseEntity<ApiErrorResponse> handleUnexpected(Exception ex) {
     // 利用者向けではなく、ログに詳細を残す
     log.error("想定外のエラーが発生しました", ex);
+    recordError(ApiErrorKind.UNEXPECTED);
 
     ApiErrorResponse body = new ApiErrorResponse("サーバーでエラーが発生しました", List.of());
     return ResponseEntity.internalServerError().body(body);
@@ -83,6 +173,7 @@ public class ApiExceptionHandler {
    *
    * <ul>
    *   <li>enum不正（例：hand:"xxx"）の場合に「どの項目が不正か」を出す
+   *   <li>バイナリ形式（application/x-rps）の場合は不正の内容を出す
    *   <li>それ以外は「JSON形式が不正」程度に留める
    * </ul>
    *
@@ -103,6 +194,10 @@ public class ApiExceptionHandler {
       }
     }
 
+    if (cause instanceof RpsBinaryFormatException bfe) {
+      return List.of("バイナリ形式が不正です: " + bfe.getMessage());
+    }
+
     // それ以外は最小限の案内のみ
     return List.of("JSONの形式が不正です");
   }
@@ -120,4 +215,14 @@ public class ApiExceptionHandler {
     var last = ife.getPath().get(ife.getPath().size() - 1);
     return last.getFieldName();
   }
+
+  /**
+   * 返したエラーをメトリクス・直近の時間窓の集計に数える。
+   *
+   * @param kind エラーの種類
+   */
+  private void recordError(ApiErrorKind kind) {
+    metrics.recordError(kind);
+    windowedStats.recordError(kind);
+  }
 }
@@ -1,5 +1,11 @@
 package com.github.seiyamatsuoka.multiopponentrps.health;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -8,19 +14,54 @@ import org.springframework.web.bind.annotation.RestController;
  * ヘルスチェックAPI。
  *
  * <p>サーバーの起動確認やRenderのコールドスタート対策（ウォームアップ）として呼び出す。
+ *
+ * <ul>
+ *   <li>{@code GET /api/health}：readiness。起動時のウォームアップが終わるまでは 503 を返す
+ *   <li>{@code GET /api/health/live}：liveness。プロセスが応答できれば（ウォームアップ中でも）200 を返す
+ * </ul>
+ *
+ * <p>状態は Spring Boot の {@link ApplicationAvailability} から取得する（取得できない場合は常に ok とする）。
  */
 @RestController
 @RequestMapping("/api")
 public class HealthController {
 
+  private final ApplicationAvailability availability;
+
   /**
-   * サーバーが応答可能であることを示す。
+   * DIコンストラクタ。
    *
-   * @return {"status":"ok"}
+   * @param availability アプリケーションの可用性（Web 層のテストでは存在しないことがある）
+   */
+  public HealthController(ObjectProvider<ApplicationAvailability> availability) {
+    this.availability = availability.getIfAvailable();
+  }
+
+  /**
+   * リクエストを受け付けられる（ウォームアップ済み）ことを示す。
+   *
+   * @return 準備完了なら 200 {"status":"ok"}、ウォームアップ中なら 503 {"status":"starting"}
    */
   @GetMapping("/health")
-  public HealthResponse health() {
+  public ResponseEntity<HealthResponse> health() {
+    if (availability != null
+        && availability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(HealthResponse.starting());
+    }
+    return ResponseEntity.ok(HealthResponse.ok());
+  }
+
+  /**
+   * プロセスが応答可能であることを示す。
+   *
+   * @return 正常なら 200 {"status":"ok"}、異常（LivenessState.BROKEN）なら 503 {"status":"broken"}
+   */
+  @GetMapping("/health/live")
+  public ResponseEntity<HealthResponse> live() {
+    if (availability != null && availability.getLivenessState() == LivenessState.BROKEN) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(HealthResponse.broken());
+    }
     // 起動して応答できればOKとする。
-    return HealthResponse.ok();
+    return ResponseEntity.ok(HealthResponse.ok());
   }
 }
@@ -9,6 +9,12 @@ public record HealthResponse(String status) {
   /** 正常時のステータス値。 */
   public static final String STATUS_OK = "ok";
 
+  /** 起動中（ウォームアップ中）のステータス値。 */
+  public static final String STATUS_STARTING = "starting";
+
+  /** 異常時のステータス値。 */
+  public static final String STATUS_BROKEN = "broken";
+
   /**
    * 正常（ok）のレスポンスを生成する。
    *
@@ -17,4 +23,22 @@ public record HealthResponse(String status) {
   public static HealthResponse ok() {
     return new HealthResponse(STATUS_OK);
   }
+
+  /**
+   * 起動中（starting）のレスポンスを生成する。
+   *
+   * @return status が "starting" のレスポンス
+   */
+  public static HealthResponse starting() {
+    return new HealthResponse(STATUS_STARTING);
+  }
+
+  /**
+   * 異常（broken）のレスポンスを生成する。
+   *
+   * @return status が "broken" のレスポンス
+   */
+  public static HealthResponse broken() {
+    return new HealthResponse(STATUS_BROKEN);
+  }
 }
@@ -0,0 +1,126 @@
+package com.github.seiyamatsuoka.multiopponentrps.matchlog;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * マッチログを読み出す。
+ *
+ * <p>セグメントファイルを読み取り専用でマッピングし、{@link MatchRecordView} をレコードの位置に合わせて動かしながら読む（レコードをコピー・オブジェクト化しない）。
+ *
+ * <p>書き込み中のセグメントも読める（読み始めた時点で公開済みのレコードまで）。
+ */
+public final class MatchLogReader {
+
+  private final Path directory;
+
+  /**
+   * 読み出し元のディレクトリを指定して生成する。
+   *
+   * @param directory セグメントファイルのディレクトリ
+   */
+  public MatchLogReader(Path directory) {
+    this.directory = directory;
+  }
+
+  /**
+   * セグメントファイルを古い順に返す。
+   *
+   * @return セグメントファイルのパス（ディレクトリがなければ空）
+   * @throws IOException ディレクトリを読めない場合
+   */
+  public List<Path> segments() throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return List.of();
+    }
+    List<Path> segments = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "matchlog-*.seg")) {
+      for (Path path : stream) {
+        if (MatchLogSegment.indexOf(path.getFileName().toString()) >= 0) {
+          segments.add(path);
+        }
+      }
+    }
+    segments.sort(
+        Comparator.comparingLong(path -> MatchLogSegment.indexOf(path.getFileName().toString())));
+    return segments;
+  }
+
+  /**
+   * すべてのセグメントのレコードを古い順に読む。
+   *
+   * <p>読み出し中にローテーションで削除されたセグメントは読み飛ばす。
+   *
+   * @param action レコードごとの処理（ビューは使い回されるため、参照を保持しないこと）
+   * @return 読んだレコード数
+   * @throws IOException セグメントを読めない・形式が不正な場合
+   */
+  public long forEach(Consumer<MatchRecordView> action) throws IOException {
+    long total = 0;
+    for (Path segment : segments()) {
+      try {
+        total += forEach(segment, action);
+      } catch (NoSuchFileException e) {
+        // 読み出し中に古いセグメントが削除された
+      }
+    }
+    return total;
+  }
+
+  /**
+   * 1つのセグメントのレコードを古い順に読む。
+   *
+   * @param segment セグメントファイルのパス
+   * @param action レコードごとの処理（ビューは使い回されるため、参照を保持しないこと）
+   * @return 読んだレコード数
+   * @throws IOException セグメントを読めない・形式が不正な場合
+   */
+  public static long forEach(Path segment, Consumer<MatchRecordView> action) throws IOException {
+    MappedByteBuffer buffer = map(segment);
+    long published =
+        (long) MatchLogSegment.LONG_VIEW.getAcquire(buffer, MatchLogSegment.COUNT_OFFSET);
+    long count = Math.min(published, buffer.getInt(MatchLogSegment.CAPACITY_OFFSET));
+    MatchRecordView view = new MatchRecordView();
+    for (int i = 0; i < count; i++) {
+      long offset = MatchLogSegment.HEADER_SIZE + (long) i * MatchRecord.SIZE;
+      action.accept(view.wrap(buffer, Math.toIntExact(offset)));
+    }
+    return count;
+  }
+
+  private static MappedByteBuffer map(Path segment) throws IOException {
+    MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(segment)) {
+      buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+    }
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+    if (buffer.capacity() < MatchLogSegment.HEADER_SIZE
+        || buffer.getInt(MatchLogSegment.MAGIC_OFFSET) != MatchLogSegment.MAGIC) {
+      throw new IOException("マッチログのセグメントではありません: " + segment);
+    }
+    int version = buffer.getInt(MatchLogSegment.VERSION_OFFSET);
+    int recordSize = buffer.getInt(MatchLogSegment.RECORD_SIZE_OFFSET);
+    if (version != MatchLogSegment.VERSION || recordSize != MatchRecord.SIZE) {
+      throw new IOException(
+          "未対応のセグメントです（version=" + version + ", recordSize=" + recordSize + "）: " + segment);
+    }
+    long capacity = buffer.getInt(MatchLogSegment.CAPACITY_OFFSET);
+    if (capacity < 0
+        || MatchLogSegment.HEADER_SIZE + capacity * MatchRecord.SIZE > buffer.capacity()) {
+      throw new IOException("セグメントのサイズが不正です: " + segment);
+    }
+    return buffer;
+  }
+}
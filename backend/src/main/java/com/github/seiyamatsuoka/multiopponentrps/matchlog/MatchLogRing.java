@@ -0,0 +1,126 @@
+package com.github.seiyamatsuoka.multiopponentrps.matchlog;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * リクエストのスレッド（複数）からマッチログの書き込みスレッド（1つ）へレコードを渡す、固定長のリングバッファ。
+ *
+ * <p>方針：
+ *
+ * <ul>
+ *   <li>レコードは long 配列に {@value MatchRecord#LONGS} 個ずつ直接書き込み、オブジェクトを作らない
+ *   <li>書き込み位置は CAS で確保し、スロットごとの通し番号の lazySet で公開する（ロックしない）
+ *   <li>満杯のときは待たずに捨てて件数だけ数える（じゃんけん API の応答を遅らせない）
+ * </ul>
+ */
+final class MatchLogRing {
+
+  /** 取り出したレコードを受け取る処理。 */
+  @FunctionalInterface
+  interface Sink {
+
+    /**
+     * 1レコードを受け取る。
+     *
+     * @param slots レコードが入った配列（呼び出し後に再利用される）
+     * @param offset レコードの先頭位置
+     */
+    void accept(long[] slots, int offset);
+  }
+
+  private final int capacity;
+  private final int mask;
+  private final long[] slots;
+
+  /** スロットごとの公開済み通し番号（書き込んだレコードの番号 + 1。未公開なら古い値）。 */
+  private final AtomicLongArray published;
+
+  /** 次に確保するレコードの番号。 */
+  private final AtomicLong head = new AtomicLong();
+
+  /** 次に取り出すレコードの番号（書き込みスレッドだけが更新する）。 */
+  private volatile long tail;
+
+  private final LongAdder dropped = new LongAdder();
+
+  /**
+   * リングバッファを作成する。
+   *
+   * @param capacity 保持できるレコード数（2 の累乗に切り上げる）
+   */
+  MatchLogRing(int capacity) {
+    if (capacity < 1 || capacity > (1 << 26)) {
+      throw new IllegalArgumentException("capacity must be between 1 and 2^26: " + capacity);
+    }
+    this.capacity = (capacity == 1) ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    this.mask = this.capacity - 1;
+    this.slots = new long[this.capacity * MatchRecord.LONGS];
+    this.published = new AtomicLongArray(this.capacity);
+  }
+
+  /**
+   * 1回分の結果をレコードにして積む（複数スレッドから呼んでよい）。
+   *
+   * @param timestampMillis 実行時刻
+   * @param playerCode 自分の手のコード
+   * @param buffer 判定済みのバッファ
+   * @return 積めた場合は true、満杯で捨てた場合は false
+   */
+  boolean offer(long timestampMillis, int playerCode, RoundBuffer buffer) {
+    long sequence;
+    do {
+      sequence = head.get();
+      if (sequence - tail >= capacity) {
+        dropped.increment();
+        return false;
+      }
+    } while (!head.compareAndSet(sequence, sequence + 1));
+
+    int slot = (int) sequence & mask;
+    MatchRecord.encode(timestampMillis, playerCode, buffer, slots, slot * MatchRecord.LONGS);
+    published.lazySet(slot, sequence + 1);
+    return true;
+  }
+
+  /**
+   * 公開済みのレコードを古い順に取り出す（書き込みスレッドからのみ呼ぶ）。
+   *
+   * @param sink 受け取る処理
+   * @param max 取り出す最大件数
+   * @return 取り出した件数
+   */
+  int drain(Sink sink, int max) {
+    long next = tail;
+    int count = 0;
+    while (count < max) {
+      int slot = (int) next & mask;
+      if (published.get(slot) != next + 1) {
+        break;
+      }
+      sink.accept(slots, slot * MatchRecord.LONGS);
+      next++;
+      count++;
+    }
+    // 取り出し終えてから tail を進める（それまでスロットは上書きされない）
+    tail = next;
+    return count;
+  }
+
+  /** 保持できるレコード数を返す。 */
+  int capacity() {
+    return capacity;
+  }
+
+  /** 積まれていて未取り出しのレコード数（目安）を返す。 */
+  int size() {
+    return (int) Math.max(0, head.get() - tail);
+  }
+
+  /** 満杯で捨てたレコード数を返す。 */
+  long dropped() {
+    return dropped.sum();
+  }
+}
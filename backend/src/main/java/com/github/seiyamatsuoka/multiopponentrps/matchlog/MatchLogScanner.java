@@ -0,0 +1,139 @@
+package com.github.seiyamatsuoka.multiopponentrps.matchlog;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collector;
+
+/**
+ * マッチログ全体を集計するスキャナ。
+ *
+ * <p>方針：
+ *
+ * <ul>
+ *   <li>セグメントファイル1つを1タスクとし、fork/join で並列に読む（セグメントは {@link MatchLogReader} でコピーせずに読む）
+ *   <li>タスクごとに {@link Collector} の途中結果を作り、セグメントの順（古い順）に統合する
+ *   <li>レコードはヒープに載せないため、メモリは途中結果の大きさ × タスク数で抑えられる
+ * </ul>
+ *
+ * <p>統合はセグメントの順を保つため、連続回数など順序に依存する集計も書ける（Collector の combiner は「前 + 後」の順で呼ばれる）。
+ */
+public final class MatchLogScanner {
+
+  private final MatchLogReader reader;
+  private final ForkJoinPool pool;
+  private final boolean enabled;
+
+  /**
+   * コンストラクタ。
+   *
+   * @param reader 読み出し元
+   * @param pool セグメントごとのタスクを実行するプール
+   */
+  public MatchLogScanner(MatchLogReader reader, ForkJoinPool pool) {
+    this(reader, pool, true);
+  }
+
+  /**
+   * マッチログの有効・無効を指定して生成する。
+   *
+   * @param reader 読み出し元
+   * @param pool セグメントごとのタスクを実行するプール
+   * @param enabled マッチログが有効か（無効なら集計の API は使えない）
+   */
+  public MatchLogScanner(MatchLogReader reader, ForkJoinPool pool, boolean enabled) {
+    this.reader = reader;
+    this.pool = pool;
+    this.enabled = enabled;
+  }
+
+  /** マッチログが有効（app.matchlog.enabled）かを返す。 */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * すべてのセグメントのレコードを集計する。
+   *
+   * <p>集計中にローテーションで削除されたセグメントは空として扱う。
+   *
+   * @param collector 集計方法（ビューは使い回されるため、accumulator で参照を保持しないこと）
+   * @param <A> 途中結果の型
+   * @param <R> 集計結果の型
+   * @return 集計結果
+   * @throws IOException セグメントを読めない・形式が不正な場合
+   */
+  public <A, R> R scan(Collector<? super MatchRecordView, A, R> collector) throws IOException {
+    List<Path> segments = reader.segments();
+    A result;
+    if (segments.isEmpty()) {
+      result = collector.supplier().get();
+    } else if (segments.size() == 1) {
+      result = scanSegment(segments.get(0), collector);
+    } else {
+      try {
+        result = pool.invoke(new ScanTask<>(segments, 0, segments.size(), collector));
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    }
+    return collector.finisher().apply(result);
+  }
+
+  /**
+   * 1つのセグメントを集計する。
+   *
+   * @param segment セグメントファイル
+   * @param collector 集計方法
+   * @return 途中結果
+   * @throws IOException セグメントを読めない・形式が不正な場合
+   */
+  static <A> A scanSegment(Path segment, Collector<? super MatchRecordView, A, ?> collector)
+      throws IOException {
+    A container = collector.supplier().get();
+    try {
+      MatchLogReader.forEach(segment, view -> collector.accumulator().accept(container, view));
+    } catch (NoSuchFileException e) {
+      // 集計中に古いセグメントが削除された
+    }
+    return container;
+  }
+
+  /** セグメントの範囲を半分ずつに分割して集計するタスク。 */
+  private static final class ScanTask<A> extends RecursiveTask<A> {
+
+    private final List<Path> segments;
+    private final int from;
+    private final int to;
+    private final Collector<? super MatchRecordView, A, ?> collector;
+
+    ScanTask(
+        List<Path> segments, int from, int to, Collector<? super MatchRecordView, A, ?> collector) {
+      this.segments = segments;
+      this.from = from;
+      this.to = to;
+      this.collector = collector;
+    }
+
+    @Override
+    protected A compute() {
+      if (to - from == 1) {
+        try {
+          return scanSegment(segments.get(from), collector);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+      int middle = (from + to) >>> 1;
+      ScanTask<A> left = new ScanTask<>(segments, from, middle, collector);
+      ScanTask<A> right = new ScanTask<>(segments, middle, to, collector);
+      left.fork();
+      A rightResult = right.compute();
+      return collector.combiner().apply(left.join(), rightResult);
+    }
+  }
+}
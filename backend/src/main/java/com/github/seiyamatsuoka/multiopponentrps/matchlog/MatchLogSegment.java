@@ -0,0 +1,170 @@
+package com.github.seiyamatsuoka.multiopponentrps.matchlog;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * マッチログのセグメントファイル（固定長・メモリマップ）。
+ *
+ * <p>ファイルは作成時にレコード {@code capacity} 件分の大きさで確保し、先頭 {@value #HEADER_SIZE} バイトのヘッダの後ろにレコードを順に並べる。
+ *
+ * <pre>
+ *  0  int   magic        "RPSL"
+ *  4  int   version      {@value #VERSION}
+ *  8  long  recordCount  公開済みのレコード数（読み出し側はここまでを読む）
+ * 16  long  createdMillis 作成時刻（エポックミリ秒）
+ * 24  int   recordSize   {@value MatchRecord#SIZE}
+ * 28  int   capacity     確保したレコード数
+ * </pre>
+ *
+ * <p>レコードを書いた後に recordCount を release で書き込むため、recordCount を acquire で読めばそこまでのレコードは書き込み済みとして読める。
+ */
+final class MatchLogSegment implements AutoCloseable {
+
+  /** ヘッダのバイト数。 */
+  static final int HEADER_SIZE = 64;
+
+  /** 1セグメントの最大レコード数（ファイル全体を 1 つの MappedByteBuffer（int の位置）でマッピングできる大きさ）。 */
+  static final int MAX_CAPACITY = (Integer.MAX_VALUE - HEADER_SIZE) / MatchRecord.SIZE;
+
+  /** ファイル形式のバージョン。 */
+  static final int VERSION = 1;
+
+  /** "RPSL"（little-endian の int）。 */
+  static final int MAGIC = 'R' | 'P' << 8 | 'S' << 16 | 'L' << 24;
+
+  static final int MAGIC_OFFSET = 0;
+  static final int VERSION_OFFSET = 4;
+  static final int COUNT_OFFSET = 8;
+  static final int CREATED_OFFSET = 16;
+  static final int RECORD_SIZE_OFFSET = 24;
+  static final int CAPACITY_OFFSET = 28;
+
+  /** recordCount の release / acquire アクセス用。 */
+  static final VarHandle LONG_VIEW =
+      MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+  private static final Pattern FILE_NAME = Pattern.compile("matchlog-(\\d{8})\\.seg");
+
+  private final Path path;
+  private final MappedByteBuffer buffer;
+  private final int capacity;
+  private int count;
+
+  private MatchLogSegment(Path path, MappedByteBuffer buffer, int capacity) {
+    this.path = path;
+    this.buffer = buffer;
+    this.capacity = capacity;
+  }
+
+  /**
+   * 新しいセグメントファイルを作成してマッピングする。
+   *
+   * @param path ファイルのパス（存在しないこと）
+   * @param capacity 確保するレコード数（1 以上 {@link #MAX_CAPACITY} 以下）
+   * @param createdMillis 作成時刻
+   * @return セグメント
+   * @throws IOException ファイルを作成・マッピングできない場合
+   */
+  static MatchLogSegment create(Path path, int capacity, long createdMillis) throws IOException {
+    if (capacity < 1 || capacity > MAX_CAPACITY) {
+      throw new IllegalArgumentException("capacity out of range: " + capacity);
+    }
+    long size = HEADER_SIZE + (long) capacity * MatchRecord.SIZE;
+    MappedByteBuffer buffer;
+    try (FileChannel channel =
+        FileChannel.open(
+            path,
+            StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      // マッピングはチャネルを閉じても有効（サイズ分のファイルもここで確保される）
+      buffer = channel.map(MapMode.READ_WRITE, 0, size);
+    }
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(MAGIC_OFFSET, MAGIC);
+    buffer.putInt(VERSION_OFFSET, VERSION);
+    buffer.putLong(CREATED_OFFSET, createdMillis);
+    buffer.putInt(RECORD_SIZE_OFFSET, MatchRecord.SIZE);
+    buffer.putInt(CAPACITY_OFFSET, capacity);
+    LONG_VIEW.setRelease(buffer, COUNT_OFFSET, 0L);
+    return new MatchLogSegment(path, buffer, capacity);
+  }
+
+  /**
+   * セグメントファイル名を返す。
+   *
+   * @param index 通し番号
+   * @return ファイル名
+   */
+  static String fileName(long index) {
+    return String.format(Locale.ROOT, "matchlog-%08d.seg", index);
+  }
+
+  /**
+   * セグメントファイル名から通し番号を取り出す。
+   *
+   * @param fileName ファイル名
+   * @return 通し番号（セグメントファイルでない場合は -1）
+   */
+  static long indexOf(String fileName) {
+    Matcher matcher = FILE_NAME.matcher(fileName);
+    return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+  }
+
+  /**
+   * レコードを末尾に書き込む（まだ公開しない）。
+   *
+   * @param slots レコードが入った配列
+   * @param offset レコードの先頭位置
+   */
+  void append(long[] slots, int offset) {
+    int position = Math.toIntExact(HEADER_SIZE + (long) count * MatchRecord.SIZE);
+    for (int i = 0; i < MatchRecord.LONGS; i++) {
+      buffer.putLong(position + i * Long.BYTES, slots[offset + i]);
+    }
+    count++;
+  }
+
+  /** 書き込んだレコード数を recordCount に反映し、読み出し側から見えるようにする。 */
+  void publish() {
+    LONG_VIEW.setRelease(buffer, COUNT_OFFSET, (long) count);
+  }
+
+  /** 書き込んだ内容をディスクに書き出す。 */
+  void force() {
+    buffer.force();
+  }
+
+  /** これ以上書き込めない場合は true。 */
+  boolean isFull() {
+    return count >= capacity;
+  }
+
+  /** 書き込んだレコード数を返す。 */
+  int count() {
+    return count;
+  }
+
+  /** ファイルのパスを返す。 */
+  Path path() {
+    return path;
+  }
+
+  /** 公開してディスクに書き出す（マッピングは GC で解放される）。 */
+  @Override
+  public void close() {
+    publish();
+    force();
+  }
+}
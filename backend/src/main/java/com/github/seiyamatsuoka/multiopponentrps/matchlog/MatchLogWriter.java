@@ -0,0 +1,258 @@
+package com.github.seiyamatsuoka.multiopponentrps.matchlog;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.GameListener;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * じゃんけん1回ごとの結果を、追記専用のマッチログ（メモリマップしたセグメントファイル）に書き込む。
+ *
+ * <p>方針：
+ *
+ * <ul>
+ *   <li>リクエストのスレッドは {@link MatchLogRing} にレコードを積むだけで、ファイルには触れない
+ *   <li>専用の書き込みスレッド（1つ）がまとめて取り出してセグメントに書き、バッチごとに公開する
+ *   <li>ディスクへの書き出し（force）は一定間隔ごとに行う（プロセスが落ちても OS が生きていればマッピング経由で残る）
+ *   <li>セグメントが満杯になったら次のファイルに切り替え、古いものから上限を超えた分を削除する
+ *   <li>リングバッファが満杯のときは捨てて件数だけ数える（応答を遅らせない）
+ * </ul>
+ *
+ * <p>書き込みスレッドは仮想スレッドではなくプラットフォームスレッドにする（ページフォルト・force でキャリアスレッドごと止まるため）。
+ *
+ * <p>無効で生成した場合は何も書き込まない（AOT ではビルド時に Bean の有無が固定されるため、有効・無効は起動時の設定で切り替える）。
+ */
+public class MatchLogWriter implements GameListener, SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(MatchLogWriter.class);
+
+  /** 1回に取り出す最大件数（公開・force の判定はこの単位で行う）。 */
+  private static final int DRAIN_BATCH = 4096;
+
+  /** 1セグメントの最大レコード数（ファイルが 2GB 未満に収まる件数）。 */
+  public static final int MAX_SEGMENT_RECORDS = MatchLogSegment.MAX_CAPACITY;
+
+  /** 取り出すものがないときに待つ時間。 */
+  private static final long IDLE_PARK_NANOS = Duration.ofMillis(1).toNanos();
+
+  private final boolean enabled;
+  private final Path directory;
+  private final int segmentRecords;
+  private final long forceIntervalNanos;
+  private final int maxSegments;
+  private final MatchLogRing ring;
+
+  private volatile boolean running;
+  private Thread thread;
+
+  // 以下は書き込みスレッドだけが触る（start / stop ではスレッドの開始前・終了後に触る）
+  private final Deque<Path> segments = new ArrayDeque<>();
+  private MatchLogSegment segment;
+  private long nextIndex;
+  private long lastForceNanos;
+  private boolean dirty;
+
+  /** 書き込んだレコード数（書き込みスレッドだけが更新する）。 */
+  private volatile long written;
+
+  /**
+   * 書き込み先と各種サイズを指定して生成する。
+   *
+   * @param directory セグメントファイルのディレクトリ（なければ作成する）
+   * @param segmentRecords 1セグメントのレコード数（1 以上 {@value #MAX_SEGMENT_RECORDS} 以下）
+   * @param ringCapacity リングバッファのレコード数（2 の累乗に切り上げる）
+   * @param forceInterval ディスクへ書き出す間隔
+   * @param maxSegments 残すセグメント数（超えた分は古いものから削除する）
+   */
+  public MatchLogWriter(
+      Path directory,
+      int segmentRecords,
+      int ringCapacity,
+      Duration forceInterval,
+      int maxSegments) {
+    this(true, directory, segmentRecords, ringCapacity, forceInterval, maxSegments);
+  }
+
+  /**
+   * 有効・無効と書き込み先・各種サイズを指定して生成する。
+   *
+   * @param enabled 書き込むか（false なら {@link #start()}・{@link #onGame} は何もしない）
+   * @param directory セグメントファイルのディレクトリ（なければ作成する）
+   * @param segmentRecords 1セグメントのレコード数（1 以上 {@value #MAX_SEGMENT_RECORDS} 以下）
+   * @param ringCapacity リングバッファのレコード数（2 の累乗に切り上げる。無効なら使わない）
+   * @param forceInterval ディスクへ書き出す間隔
+   * @param maxSegments 残すセグメント数（超えた分は古いものから削除する）
+   */
+  public MatchLogWriter(
+      boolean enabled,
+      Path directory,
+      int segmentRecords,
+      int ringCapacity,
+      Duration forceInterval,
+      int maxSegments) {
+    if (segmentRecords < 1 || segmentRecords > MAX_SEGMENT_RECORDS) {
+      throw new IllegalArgumentException("segmentRecords out of range: " + segmentRecords);
+    }
+    if (maxSegments < 1) {
+      throw new IllegalArgumentException("maxSegments must be positive: " + maxSegments);
+    }
+    this.enabled = enabled;
+    this.directory = directory;
+    this.segmentRecords = segmentRecords;
+    this.forceIntervalNanos = forceInterval.toNanos();
+    this.maxSegments = maxSegments;
+    this.ring = new MatchLogRing(enabled ? ringCapacity : 1);
+  }
+
+  /** リングバッファに積む（満杯なら捨てる）。 */
+  @Override
+  public void onGame(long timestampMillis, int playerCode, RoundBuffer buffer) {
+    if (!enabled) {
+      return;
+    }
+    ring.offer(timestampMillis, playerCode, buffer);
+  }
+
+  /** 既存のセグメントの次の番号でセグメントを作成し、書き込みスレッドを開始する。 */
+  @Override
+  public synchronized void start() {
+    if (running || !enabled) {
+      return;
+    }
+    try {
+      Files.createDirectories(directory);
+      for (Path existing : new MatchLogReader(directory).segments()) {
+        segments.addLast(existing);
+        nextIndex = MatchLogSegment.indexOf(existing.getFileName().toString()) + 1;
+      }
+      openNextSegment();
+    } catch (IOException e) {
+      throw new UncheckedIOException("マッチログを開始できません: " + directory, e);
+    }
+    lastForceNanos = System.nanoTime();
+    running = true;
+    thread = Thread.ofPlatform().name("matchlog-writer").daemon().start(this::runLoop);
+    log.info("マッチログを開始しました: {}", segment.path());
+  }
+
+  /** 書き込みスレッドを止める（積まれている分は書き込んでから止まる）。 */
+  @Override
+  public synchronized void stop() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    LockSupport.unpark(thread);
+    try {
+      thread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  /** Web サーバーより先に開始し、後に停止する（停止直前のリクエストの分も書き込む）。 */
+  @Override
+  public int getPhase() {
+    return SmartLifecycle.DEFAULT_PHASE - 4096;
+  }
+
+  /** 書き込むか（app.matchlog.enabled）を返す。 */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** 書き込んだレコード数を返す。 */
+  public long written() {
+    return written;
+  }
+
+  /** リングバッファが満杯で捨てたレコード数を返す。 */
+  public long dropped() {
+    return ring.dropped();
+  }
+
+  /** 書き込み先のディレクトリを返す。 */
+  public Path directory() {
+    return directory;
+  }
+
+  private void runLoop() {
+    try {
+      while (running) {
+        if (drainBatch() == 0) {
+          forceIfDue();
+          LockSupport.parkNanos(IDLE_PARK_NANOS);
+        } else {
+          forceIfDue();
+        }
+      }
+      while (drainBatch() > 0) {
+        // 停止前に積まれていた分をすべて書き込む
+      }
+    } catch (RuntimeException e) {
+      // 以降はリングバッファが満杯になり、捨てた件数として数えられる
+      running = false;
+      log.error("マッチログの書き込みを停止しました", e);
+    } finally {
+      segment.close();
+    }
+  }
+
+  private int drainBatch() {
+    int count = ring.drain(this::append, DRAIN_BATCH);
+    if (count > 0) {
+      segment.publish();
+      written += count;
+      dirty = true;
+    }
+    return count;
+  }
+
+  private void append(long[] slots, int offset) {
+    if (segment.isFull()) {
+      rotate();
+    }
+    segment.append(slots, offset);
+  }
+
+  private void forceIfDue() {
+    long now = System.nanoTime();
+    if (dirty && now - lastForceNanos >= forceIntervalNanos) {
+      segment.force();
+      dirty = false;
+      lastForceNanos = now;
+    }
+  }
+
+  private void rotate() {
+    segment.close();
+    try {
+      openNextSegment();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void openNextSegment() throws IOException {
+    Path path = directory.resolve(MatchLogSegment.fileName(nextIndex++));
+    segment = MatchLogSegment.create(path, segmentRecords, System.currentTimeMillis());
+    segments.addLast(path);
+    while (segments.size() > maxSegments) {
+      Files.deleteIfExists(segments.removeFirst());
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package com.github.seiyamatsuoka.multiopponentrps.matchlog;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.OutcomeTable;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffer;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RuleSet;
+
+/**
+ * マッチログの1レコード（じゃんけん1回分）のレイアウト。
+ *
+ * <p>固定長 {@value #SIZE} バイト（little-endian）。long 4 個分に収まるため、リングバッファ・ファイルとも long 単位でコピーする。
+ *
+ * <pre>
+ *  0  long  timestampMillis  実行時刻（エポックミリ秒）
+ *  8  long  opponentHands    相手の手（通常のじゃんけんは 1人 2bit・先頭 {@value #PACKED_HANDS} 人まで、
+ *                            ほかのルールは 1人 4bit・先頭 {@value #PACKED_WIDE_HANDS} 人まで。相手 i は下位から i 番目の枠）
+ * 16  int   opponents        相手人数
+ * 20  int   win              勝ち数
+ * 24  int   lose             負け数（あいこ数は opponents - win - lose）
+ * 28  byte  playerHand       自分の手のコード
+ * 29  byte  variant          ルールの種類（{@link RuleSet#ordinal()}。0 = 通常のじゃんけん）
+ * 30  short reserved         予約（0）
+ * </pre>
+ */
+public final class MatchRecord {
+
+  /** 1レコードのバイト数。 */
+  public static final int SIZE = 32;
+
+  /** 1レコードの long の個数。 */
+  public static final int LONGS = SIZE / Long.BYTES;
+
+  /** opponentHands に入る相手の人数（通常のじゃんけん）。 */
+  public static final int PACKED_HANDS = Long.SIZE / 2;
+
+  /** opponentHands に入る相手の人数（通常のじゃんけん以外。手のコードが 2bit に収まらないため）。 */
+  public static final int PACKED_WIDE_HANDS = Long.SIZE / 4;
+
+  static final int TIMESTAMP_OFFSET = 0;
+  static final int HANDS_OFFSET = 8;
+  static final int OPPONENTS_OFFSET = 16;
+  static final int WIN_OFFSET = 20;
+  static final int LOSE_OFFSET = 24;
+  static final int PLAYER_OFFSET = 28;
+  static final int VARIANT_OFFSET = 29;
+
+  private MatchRecord() {}
+
+  /**
+   * 1人分の手の枠のビット数を返す。
+   *
+   * @param variant ルールの種類
+   * @return ビット数
+   */
+  static int handBits(int variant) {
+    return (variant == 0) ? 2 : 4;
+  }
+
+  /**
+   * 相手の手を、ルールの種類に応じた幅で先頭から詰められるだけ詰める。
+   *
+   * @param buffer 判定済みのバッファ
+   * @param variant ルールの種類
+   * @return 詰めた相手の手
+   */
+  static long packHands(RoundBuffer buffer, int variant) {
+    int bits = handBits(variant);
+    int count = Math.min(buffer.size(), Long.SIZE / bits);
+    long packed = 0;
+    for (int i = 0; i < count; i++) {
+      packed |= (long) buffer.opponentHand(i) << (bits * i);
+    }
+    return packed;
+  }
+
+  /**
+   * offset 16〜23 の long（opponents / win）を組み立てる。
+   *
+   * @param opponents 相手人数
+   * @param win 勝ち数
+   * @return little-endian で書いたときに opponents, win の順になる long
+   */
+  static long countsWord(int opponents, int win) {
+    return (opponents & 0xFFFF_FFFFL) | ((long) win << 32);
+  }
+
+  /**
+   * offset 24〜31 の long（lose / playerHand / variant / reserved）を組み立てる。
+   *
+   * @param lose 負け数
+   * @param playerCode 自分の手のコード
+   * @param variant ルールの種類
+   * @return little-endian で書いたときに lose, playerHand, variant, reserved の順になる long
+   */
+  static long tailWord(int lose, int playerCode, int variant) {
+    return (lose & 0xFFFF_FFFFL)
+        | ((long) (playerCode & 0xFF) << 32)
+        | ((long) (variant & 0xFF) << 40);
+  }
+
+  /**
+   * 判定済みのバッファから、リングバッファに積む long 4 個を作る。
+   *
+   * @param timestampMillis 実行時刻
+   * @param playerCode 自分の手のコード
+   * @param buffer 判定済みのバッファ
+   * @param dst 書き込み先（{@value #LONGS} 個）
+   * @param offset 書き込み位置
+   */
+  static void encode(
+      long timestampMillis, int playerCode, RoundBuffer buffer, long[] dst, int offset) {
+    int variant = buffer.rules().ruleSet().ordinal();
+    dst[offset] = timestampMillis;
+    dst[offset + 1] = packHands(buffer, variant);
+    dst[offset + 2] = countsWord(buffer.size(), buffer.count(OutcomeTable.WIN));
+    dst[offset + 3] = tailWord(buffer.count(OutcomeTable.LOSE), playerCode, variant);
+  }
+}
@@ -0,0 +1,93 @@
+package com.github.seiyamatsuoka.multiopponentrps.matchlog;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.OutcomeTable;
+import java.nio.ByteBuffer;
+
+/**
+ * マッピングしたセグメント上のレコードを、コピーせずに読むためのビュー（flyweight）。
+ *
+ * <p>{@link #wrap} で位置を差し替えて使い回す。値は読み出しのたびにバッファから取り出す。
+ *
+ * @see MatchRecord
+ */
+public final class MatchRecordView {
+
+  private ByteBuffer buffer;
+  private int offset;
+
+  /**
+   * 読み出すレコードの位置を設定する。
+   *
+   * @param buffer little-endian のバッファ
+   * @param offset レコードの先頭位置
+   * @return このビュー
+   */
+  public MatchRecordView wrap(ByteBuffer buffer, int offset) {
+    this.buffer = buffer;
+    this.offset = offset;
+    return this;
+  }
+
+  /** 実行時刻（エポックミリ秒）を返す。 */
+  public long timestampMillis() {
+    return buffer.getLong(offset + MatchRecord.TIMESTAMP_OFFSET);
+  }
+
+  /** 自分の手のコードを返す。 */
+  public int playerHand() {
+    return buffer.get(offset + MatchRecord.PLAYER_OFFSET);
+  }
+
+  /** ルールの種類（0 = 通常のじゃんけん）を返す。 */
+  public int variant() {
+    return buffer.get(offset + MatchRecord.VARIANT_OFFSET);
+  }
+
+  /** 相手人数を返す。 */
+  public int opponents() {
+    return buffer.getInt(offset + MatchRecord.OPPONENTS_OFFSET);
+  }
+
+  /**
+   * 相手の手のコードを返す（通常のじゃんけんは先頭 {@value MatchRecord#PACKED_HANDS} 人まで、ほかのルールは 16 人まで）。
+   *
+   * @param index 相手の位置（0始まり）
+   * @return 相手の手のコード
+   */
+  public int opponentHand(int index) {
+    int bits = MatchRecord.handBits(variant());
+    if (index < 0 || index >= Math.min(opponents(), Long.SIZE / bits)) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    long packed = buffer.getLong(offset + MatchRecord.HANDS_OFFSET);
+    return (int) (packed >>> (bits * index)) & ((1 << bits) - 1);
+  }
+
+  /** 勝ち数を返す。 */
+  public int win() {
+    return buffer.getInt(offset + MatchRecord.WIN_OFFSET);
+  }
+
+  /** 負け数を返す。 */
+  public int lose() {
+    return buffer.getInt(offset + MatchRecord.LOSE_OFFSET);
+  }
+
+  /** あいこ数を返す。 */
+  public int draw() {
+    return opponents() - win() - lose();
+  }
+
+  /**
+   * 勝敗コードごとの件数を返す。
+   *
+   * @param resultCode 勝敗コード（{@link OutcomeTable#WIN} など）
+   * @return 件数
+   */
+  public int count(int resultCode) {
+    if (resultCode == OutcomeTable.WIN) {
+      return win();
+    }
+    return (resultCode == OutcomeTable.LOSE) ? lose() : draw();
+  }
+}
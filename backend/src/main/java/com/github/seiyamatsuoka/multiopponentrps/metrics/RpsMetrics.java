@@ -0,0 +1,128 @@
+package com.github.seiyamatsuoka.multiopponentrps.metrics;
+
+import com.github.seiyamatsuoka.multiopponentrps.error.ApiErrorKind;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Result;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Summary;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+/**
+ * じゃんけんAPIのメトリクス（Micrometer）。
+ *
+ * <p>ホットパスで呼ぶため、メーターはすべて生成時に登録しておき、記録時はタグの組み立て・検索を行わない。
+ *
+ * <ul>
+ *   <li>rps.controller.play / rps.service.play：処理時間（Timer）
+ *   <li>rps.opponents：相手人数の分布（1〜10 を SLO バケットにしたヒストグラム）
+ *   <li>rps.results{result}：WIN/LOSE/DRAW の件数
+ *   <li>api.errors{handler,status}：ApiExceptionHandler が返したエラーの件数
+ * </ul>
+ */
+@Component
+public class RpsMetrics {
+
+  /** 相手人数のヒストグラムのバケット（通常モードの 1〜10）。 */
+  private static final double[] OPPONENT_BUCKETS = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+
+  private final Timer controllerTimer;
+  private final Timer serviceTimer;
+  private final DistributionSummary opponents;
+
+  /** Result の ordinal → 件数カウンタ。 */
+  private final Counter[] results;
+
+  /** ApiErrorKind の ordinal → 件数カウンタ。 */
+  private final Counter[] errors;
+
+  /**
+   * メーターを登録する。
+   *
+   * @param registry 登録先
+   */
+  public RpsMetrics(MeterRegistry registry) {
+    this.controllerTimer =
+        Timer.builder("rps.controller.play")
+            .description("RpsController.play の処理時間")
+            .publishPercentileHistogram()
+            .register(registry);
+    this.serviceTimer =
+        Timer.builder("rps.service.play")
+            .description("RpsService.play の処理時間")
+            .publishPercentileHistogram()
+            .register(registry);
+    this.opponents =
+        DistributionSummary.builder("rps.opponents")
+            .description("1回のじゃんけんの相手人数")
+            .serviceLevelObjectives(OPPONENT_BUCKETS)
+            .register(registry);
+
+    Result[] resultValues = Result.values();
+    this.results = new Counter[resultValues.length];
+    for (Result result : resultValues) {
+      results[result.ordinal()] =
+          Counter.builder("rps.results")
+              .description("相手ごとの勝敗の件数")
+              .tag("result", result.name().toLowerCase(Locale.ROOT))
+              .register(registry);
+    }
+
+    ApiErrorKind[] kinds = ApiErrorKind.values();
+    this.errors = new Counter[kinds.length];
+    for (ApiErrorKind kind : kinds) {
+      errors[kind.ordinal()] =
+          Counter.builder("api.errors")
+              .description("ApiExceptionHandler が返したエラーの件数")
+              .tag("handler", kind.handler())
+              .tag("status", String.valueOf(kind.status()))
+              .register(registry);
+    }
+  }
+
+  /**
+   * どこにも公開しないメトリクスを生成する（DI を使わずに RpsService を作る場合・テスト用）。
+   *
+   * @return メトリクス
+   */
+  public static RpsMetrics noop() {
+    return new RpsMetrics(new SimpleMeterRegistry());
+  }
+
+  /**
+   * Controller の処理時間を記録する。
+   *
+   * @param startNanos 開始時刻（System.nanoTime()）
+   */
+  public void recordController(long startNanos) {
+    controllerTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Service で1回のじゃんけんが終わったことを記録する（処理時間・相手人数・勝敗）。
+   *
+   * @param startNanos 開始時刻（System.nanoTime()）
+   * @param opponentCount 相手人数
+   * @param summary 集計
+   */
+  public void recordPlay(long startNanos, int opponentCount, Summary summary) {
+    serviceTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    opponents.record(opponentCount);
+    results[Result.WIN.ordinal()].increment(summary.win());
+    results[Result.LOSE.ordinal()].increment(summary.lose());
+    results[Result.DRAW.ordinal()].increment(summary.draw());
+  }
+
+  /**
+   * エラーレスポンスを返したことを記録する。
+   *
+   * @param kind エラーの種類
+   */
+  public void recordError(ApiErrorKind kind) {
+    errors[kind.ordinal()].increment();
+  }
+}
@@ -0,0 +1,164 @@
+package com.github.seiyamatsuoka.multiopponentrps.odds;
+
+import com.github.seiyamatsuoka.multiopponentrps.odds.dto.Probability;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+/**
+ * 相手 k 人と1回じゃんけんしたときの確率を、試行を繰り返して推定する（モンテカルロ法）。
+ *
+ * <p>方針：
+ *
+ * <ul>
+ *   <li>1試行ごとに相手全員の手を {@code nextDouble()} と相手の手の確率の累積で決め、勝ち数・負け数を数える
+ *   <li>試行は fork/join で分割し、乱数も {@link SplittableGenerator#split()} で分けて渡す（シード指定で再現できる）
+ *   <li>区間は 95% の Wilson スコア区間（試行回数が少ない・確率が 0 や 1 に近い場合も区間が [0, 1] に収まる）
+ * </ul>
+ */
+final class MonteCarloOdds {
+
+  /** 1タスクで判定する人数（試行回数 × 相手人数）の目安。 */
+  static final long LEAF_WORK = 1L << 20;
+
+  /** 95% 区間の z 値。 */
+  static final double Z_95 = 1.959963984540054;
+
+  private static final int WIN_MORE = 0;
+  private static final int LOSE_MORE = 1;
+  private static final int EVEN = 2;
+  private static final int WIN_ALL = 3;
+  private static final int NO_LOSS = 4;
+  private static final int COUNTERS = 5;
+
+  private final ForkJoinPool pool;
+
+  MonteCarloOdds(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  /**
+   * 試行を繰り返して、各確率の試行回数あたりの件数を数える。
+   *
+   * @param opponents 相手人数 k（1以上）
+   * @param win 相手1人に勝つ確率
+   * @param lose 相手1人に負ける確率
+   * @param trials 試行回数（1以上）
+   * @param random 分割可能な乱数（呼び出し後は使わないこと）
+   * @return 件数（{@link Counts}）
+   */
+  Counts run(long opponents, double win, double lose, long trials, SplittableGenerator random) {
+    return new Counts(trials, pool.invoke(new TrialTask(opponents, win, lose, trials, random)));
+  }
+
+  /**
+   * Wilson スコア区間を返す。
+   *
+   * @param successes 当てはまった試行回数
+   * @param trials 試行回数（1以上）
+   * @return 推定値（当てはまった割合）と区間
+   */
+  static Probability wilson(long successes, long trials) {
+    double n = trials;
+    double estimate = successes / n;
+    double zz = Z_95 * Z_95;
+    double denominator = 1 + zz / n;
+    double center = (estimate + zz / (2 * n)) / denominator;
+    double spread =
+        Z_95 / denominator * Math.sqrt(estimate * (1 - estimate) / n + zz / (4 * n * n));
+    return new Probability(estimate, Math.max(0, center - spread), Math.min(1, center + spread));
+  }
+
+  /** 分割せずに試行する。 */
+  private static long[] runLeaf(
+      long opponents, double win, double lose, long trials, RandomGenerator random) {
+    long[] counts = new long[COUNTERS];
+    double winOrLose = win + lose;
+    for (long trial = 0; trial < trials; trial++) {
+      long wins = 0;
+      long losses = 0;
+      for (long opponent = 0; opponent < opponents; opponent++) {
+        double u = random.nextDouble();
+        if (u < win) {
+          wins++;
+        } else if (u < winOrLose) {
+          losses++;
+        }
+      }
+      counts[wins > losses ? WIN_MORE : wins < losses ? LOSE_MORE : EVEN]++;
+      if (wins == opponents) {
+        counts[WIN_ALL]++;
+      }
+      if (losses == 0) {
+        counts[NO_LOSS]++;
+      }
+    }
+    return counts;
+  }
+
+  /**
+   * 試行の件数。
+   *
+   * @param trials 試行回数
+   * @param counts 当てはまった試行回数（勝ち越し・負け越し・同数・全勝・負けなし の順）
+   */
+  record Counts(long trials, long[] counts) {
+
+    long winMore() {
+      return counts[WIN_MORE];
+    }
+
+    long loseMore() {
+      return counts[LOSE_MORE];
+    }
+
+    long even() {
+      return counts[EVEN];
+    }
+
+    long winAll() {
+      return counts[WIN_ALL];
+    }
+
+    long noLoss() {
+      return counts[NO_LOSS];
+    }
+  }
+
+  /** 試行回数を半分ずつに分割するタスク。 */
+  private static final class TrialTask extends RecursiveTask<long[]> {
+
+    private final long opponents;
+    private final double win;
+    private final double lose;
+    private final long trials;
+    private final SplittableGenerator random;
+
+    TrialTask(long opponents, double win, double lose, long trials, SplittableGenerator random) {
+      this.opponents = opponents;
+      this.win = win;
+      this.lose = lose;
+      this.trials = trials;
+      this.random = random;
+    }
+
+    @Override
+    protected long[] compute() {
+      if (trials == 1 || trials * opponents <= LEAF_WORK) {
+        return runLeaf(opponents, win, lose, trials, random);
+      }
+
+      // 左半分には分割した乱数を渡し、右半分はこのタスクの乱数をそのまま使う
+      long half = trials / 2;
+      TrialTask left = new TrialTask(opponents, win, lose, half, random.split());
+      left.fork();
+      long[] counts = new TrialTask(opponents, win, lose, trials - half, random).compute();
+      long[] leftCounts = left.join();
+      for (int i = 0; i < counts.length; i++) {
+        counts[i] += leftCounts[i];
+      }
+      return counts;
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package com.github.seiyamatsuoka.multiopponentrps.odds;
+
+import com.github.seiyamatsuoka.multiopponentrps.odds.dto.OddsRequest;
+import com.github.seiyamatsuoka.multiopponentrps.odds.dto.OddsResponse;
+import jakarta.validation.Valid;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 勝率API（Controller）。
+ *
+ * <p>クエリパラメータを {@link OddsRequest} に詰めて {@link jakarta.validation.Valid} で検証する（エラーは POST の API と同じ
+ * 400 の統一レスポンス）。
+ */
+@RestController
+@RequestMapping("/api")
+public class OddsController {
+
+  private final OddsService oddsService;
+
+  /**
+   * DIコンストラクタ。
+   *
+   * @param oddsService 勝率の計算
+   */
+  public OddsController(OddsService oddsService) {
+    this.oddsService = oddsService;
+  }
+
+  /**
+   * 相手 k 人と1回じゃんけんしたときの勝率を返す。
+   *
+   * @param request クエリパラメータ（hand必須、opponents 1〜10億、rock / paper / scissors・trials・seed 任意）
+   * @return 勝率
+   */
+  @GetMapping("/rps/odds")
+  public OddsResponse odds(@Valid OddsRequest request) {
+    return oddsService.odds(request);
+  }
+}
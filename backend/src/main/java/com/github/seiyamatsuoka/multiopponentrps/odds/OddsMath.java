@@ -0,0 +1,184 @@
+package com.github.seiyamatsuoka.multiopponentrps.odds;
+
+/**
+ * 相手 k 人と1回じゃんけんしたときの確率を、多項分布の式から計算する（サンプリングしない）。
+ *
+ * <p>相手ごとの勝ち・負け・あいこの確率を p_w / p_l / p_d とすると、勝ち数 W・負け数 L は多項分布になる。
+ *
+ * <ul>
+ *   <li>勝敗がついた人数 N = W + L は二項分布 Bin(k, p_w + p_l)、N = n のときの W は Bin(n, s)（s = p_w / (p_w + p_l)）
+ *   <li>P(W &gt; L) = Σ_n P(N = n) * P(W &gt; n/2 | n) として、n を平均 ± 12σ の範囲だけ足す（範囲外は 1e-30 未満）
+ *   <li>P(W &lt; n/2 | n) は n が1増えるごとに漸化式で O(1) で更新する（二項分布の累積を n ごとに足し直さない）
+ * </ul>
+ *
+ * <p>k が 10 億でも足す項は数十万程度。確率は double の精度で計算する（k が大きいほど対数の桁落ちで相対誤差が増え、10 億で 1e-6 程度）。
+ */
+final class OddsMath {
+
+  /** 足し込む範囲（平均 ± WINDOW_SIGMAS 標準偏差）。 */
+  private static final double WINDOW_SIGMAS = 12;
+
+  /** log(n!) を表で持つ範囲（これ以上はスターリングの級数で求める）。 */
+  private static final int LOG_FACTORIAL_TABLE_SIZE = 256;
+
+  private static final double[] LOG_FACTORIALS = buildLogFactorials();
+
+  private static final double HALF_LOG_TWO_PI = 0.5 * Math.log(2 * Math.PI);
+
+  private OddsMath() {}
+
+  /**
+   * 相手 k 人と1回じゃんけんしたときの確率を計算する。
+   *
+   * @param opponents 相手人数 k（1以上）
+   * @param win 相手1人に勝つ確率
+   * @param lose 相手1人に負ける確率
+   * @return 確率（勝ち越し・負け越し・同数・全勝・負けなし）
+   */
+  static Odds exact(long opponents, double win, double lose) {
+    double winAll = Math.pow(win, opponents);
+    double noLoss = Math.pow(1 - lose, opponents);
+    double decisive = win + lose;
+    if (decisive <= 0) {
+      return new Odds(0, 0, 1, winAll, noLoss);
+    }
+    double share = win / decisive;
+
+    long first = lowerBound(opponents, decisive);
+    long last = upperBound(opponents, decisive);
+
+    // winBelow = P(W < n/2 | n)、loseBelow = P(L < n/2 | n)（W ≤ floor((n-1)/2) の累積）
+    long half = Math.floorDiv(first - 1, 2);
+    double winBelow = cdf(first, half, share);
+    double loseBelow = cdf(first, half, 1 - share);
+
+    double winMore = 0;
+    double loseMore = 0;
+    double even = 0;
+    for (long n = first; ; n++) {
+      double decided = binomial(opponents, n, decisive);
+      winMore += decided * loseBelow;
+      loseMore += decided * winBelow;
+      if ((n & 1) == 0) {
+        even += decided * binomial(n, n / 2, share);
+      }
+      if (n == last) {
+        break;
+      }
+
+      // n → n+1：P(X_{n+1} ≤ m) = P(X_n ≤ m) - p * P(X_n = m)。n が偶数なら m も1増える
+      long m = Math.floorDiv(n - 1, 2);
+      winBelow -= share * binomial(n, m, share);
+      loseBelow -= (1 - share) * binomial(n, m, 1 - share);
+      if ((n & 1) == 0) {
+        winBelow += binomial(n + 1, m + 1, share);
+        loseBelow += binomial(n + 1, m + 1, 1 - share);
+      }
+      winBelow = clamp(winBelow);
+      loseBelow = clamp(loseBelow);
+    }
+    return new Odds(clamp(winMore), clamp(loseMore), clamp(even), winAll, noLoss);
+  }
+
+  /**
+   * 二項分布 Bin(n, p) で X = x となる確率を返す。
+   *
+   * @param n 試行回数
+   * @param x 成功回数
+   * @param p 成功確率
+   * @return 確率
+   */
+  static double binomial(long n, long x, double p) {
+    if (x < 0 || x > n) {
+      return 0;
+    }
+    if (p <= 0) {
+      return x == 0 ? 1 : 0;
+    }
+    if (p >= 1) {
+      return x == n ? 1 : 0;
+    }
+    double log =
+        logFactorial(n)
+            - logFactorial(x)
+            - logFactorial(n - x)
+            + x * Math.log(p)
+            + (n - x) * Math.log1p(-p);
+    return Math.exp(log);
+  }
+
+  /**
+   * log(n!) を返す。
+   *
+   * @param n 0以上
+   * @return log(n!)
+   */
+  static double logFactorial(long n) {
+    if (n < LOG_FACTORIAL_TABLE_SIZE) {
+      return LOG_FACTORIALS[(int) n];
+    }
+    // log Γ(x) のスターリングの級数（x = n + 1 ≥ 257 なので、打ち切り誤差は 1e-20 未満）
+    double x = n + 1.0;
+    double inverse = 1 / x;
+    double inverseSquared = inverse * inverse;
+    double series =
+        inverse * (1.0 / 12 - inverseSquared * (1.0 / 360 - inverseSquared * (1.0 / 1260)));
+    return (x - 0.5) * Math.log(x) - x + HALF_LOG_TWO_PI + series;
+  }
+
+  /** Bin(n, p) で X ≤ m となる確率を、平均 ± 12σ の範囲の項だけ足して求める。 */
+  private static double cdf(long n, long m, double p) {
+    if (m < 0) {
+      return 0;
+    }
+    if (m >= n) {
+      return 1;
+    }
+    long from = lowerBound(n, p);
+    if (m > upperBound(n, p)) {
+      return 1;
+    }
+    double sum = 0;
+    for (long x = from; x <= m; x++) {
+      sum += binomial(n, x, p);
+    }
+    return clamp(sum);
+  }
+
+  /** Bin(n, p) で足し込む範囲の下限（平均 - 12σ）。 */
+  private static long lowerBound(long n, double p) {
+    double mean = n * p;
+    double sd = Math.sqrt(n * p * (1 - p));
+    return Math.max(0, (long) Math.floor(mean - WINDOW_SIGMAS * sd) - 1);
+  }
+
+  /** Bin(n, p) で足し込む範囲の上限（平均 + 12σ）。 */
+  private static long upperBound(long n, double p) {
+    double mean = n * p;
+    double sd = Math.sqrt(n * p * (1 - p));
+    return Math.min(n, (long) Math.ceil(mean + WINDOW_SIGMAS * sd) + 1);
+  }
+
+  private static double clamp(double probability) {
+    return Math.min(1, Math.max(0, probability));
+  }
+
+  private static double[] buildLogFactorials() {
+    double[] table = new double[LOG_FACTORIAL_TABLE_SIZE];
+    for (int n = 1; n < table.length; n++) {
+      table[n] = table[n - 1] + Math.log(n);
+    }
+    return table;
+  }
+
+  /**
+   * 相手 k 人と1回じゃんけんしたときの確率。
+   *
+   * @param winMore 勝ち数 &gt; 負け数 になる確率
+   * @param loseMore 負け数 &gt; 勝ち数 になる確率
+   * @param even 勝ち数 = 負け数 になる確率
+   * @param winAll 全員に勝つ確率
+   * @param noLoss 誰にも負けない確率
+   */
+  record Odds(double winMore, double loseMore, double even, double winAll, double noLoss) {}
+}
@@ -0,0 +1,14 @@
+package com.github.seiyamatsuoka.multiopponentrps.odds;
+
+/** 勝率の計算方法。 */
+public enum OddsMethod {
+
+  /** 事前計算した表（相手の手が等確率で、相手人数が少ない場合）。 */
+  TABLE,
+
+  /** 多項分布の式から計算する。 */
+  EXACT,
+
+  /** 試行を繰り返して推定する（試行回数を指定した場合）。 */
+  MONTE_CARLO
+}
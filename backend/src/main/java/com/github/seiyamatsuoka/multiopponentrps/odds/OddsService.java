@@ -0,0 +1,127 @@
+package com.github.seiyamatsuoka.multiopponentrps.odds;
+
+import com.github.seiyamatsuoka.multiopponentrps.odds.dto.OddsRequest;
+import com.github.seiyamatsuoka.multiopponentrps.odds.dto.OddsResponse;
+import com.github.seiyamatsuoka.multiopponentrps.odds.dto.OutcomeRates;
+import com.github.seiyamatsuoka.multiopponentrps.odds.dto.Probability;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.OutcomeTable;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RuleSet;
+import com.github.seiyamatsuoka.multiopponentrps.rps.random.RandomSource;
+import java.util.concurrent.ForkJoinPool;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * 相手 k 人と1回じゃんけんしたときの勝率の計算。
+ *
+ * <p>計算方法の選び方：
+ *
+ * <ul>
+ *   <li>試行回数（trials）を指定した場合：モンテカルロ法（{@link MonteCarloOdds}、区間付き）
+ *   <li>相手の手が等確率で、相手人数が {@value OddsTable#MAX_OPPONENTS} 人以下の場合：事前計算した表（{@link OddsTable}）
+ *   <li>それ以外：多項分布の式から計算する（{@link OddsMath}。相手の手の重みが偏っていても、10億人でも計算できる）
+ * </ul>
+ */
+@Service
+public class OddsService {
+
+  private final RandomSource randomSource;
+  private final MonteCarloOdds monteCarlo;
+
+  /**
+   * DIコンストラクタ。
+   *
+   * @param randomSource 乱数の取得元（モンテカルロ法で使う）
+   */
+  @Autowired
+  public OddsService(RandomSource randomSource) {
+    this(randomSource, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * 実行するプールを指定するコンストラクタ。
+   *
+   * @param randomSource 乱数の取得元（モンテカルロ法で使う）
+   * @param pool モンテカルロ法の試行を分割して実行するプール
+   */
+  public OddsService(RandomSource randomSource, ForkJoinPool pool) {
+    this.randomSource = randomSource;
+    this.monteCarlo = new MonteCarloOdds(pool);
+  }
+
+  /**
+   * 勝率を計算する。
+   *
+   * @param request リクエスト（バリデーション済みを想定）
+   * @return 勝率
+   */
+  public OddsResponse odds(OddsRequest request) {
+    Hand hand = request.hand();
+    long opponents = request.opponents();
+    if (!RuleSet.CLASSIC.allows(hand)) {
+      throw new IllegalArgumentException("勝率は通常のじゃんけんの手のみ計算できます: " + hand);
+    }
+
+    // 相手の手の重みから、相手1人あたりの勝ち・負け・あいこの確率を求める
+    double[] byResult = new double[OutcomeTable.RESULT_COUNT];
+    double total = 0;
+    for (Hand opponentHand : RuleSet.CLASSIC.cycle()) {
+      double weight = request.weightOf(opponentHand);
+      int result = OutcomeTable.judge(OutcomeTable.encode(hand), OutcomeTable.encode(opponentHand));
+      byResult[result] += weight;
+      total += weight;
+    }
+    OutcomeRates perOpponent =
+        new OutcomeRates(
+            byResult[OutcomeTable.WIN] / total,
+            byResult[OutcomeTable.LOSE] / total,
+            byResult[OutcomeTable.DRAW] / total);
+    OutcomeRates expected =
+        new OutcomeRates(
+            perOpponent.win() * opponents,
+            perOpponent.lose() * opponents,
+            perOpponent.draw() * opponents);
+
+    if (request.trials() != null) {
+      long trials = request.trials();
+      MonteCarloOdds.Counts counts =
+          monteCarlo.run(
+              opponents,
+              perOpponent.win(),
+              perOpponent.lose(),
+              trials,
+              randomSource.splittable(request.seed()));
+      return new OddsResponse(
+          hand,
+          opponents,
+          OddsMethod.MONTE_CARLO,
+          trials,
+          perOpponent,
+          expected,
+          MonteCarloOdds.wilson(counts.winMore(), trials),
+          MonteCarloOdds.wilson(counts.loseMore(), trials),
+          MonteCarloOdds.wilson(counts.even(), trials),
+          MonteCarloOdds.wilson(counts.winAll(), trials),
+          MonteCarloOdds.wilson(counts.noLoss(), trials));
+    }
+
+    boolean tabled = !request.hasWeights() && opponents <= OddsTable.MAX_OPPONENTS;
+    OddsMath.Odds odds =
+        tabled
+            ? OddsTable.uniform((int) opponents)
+            : OddsMath.exact(opponents, perOpponent.win(), perOpponent.lose());
+    return new OddsResponse(
+        hand,
+        opponents,
+        tabled ? OddsMethod.TABLE : OddsMethod.EXACT,
+        0,
+        perOpponent,
+        expected,
+        Probability.exact(odds.winMore()),
+        Probability.exact(odds.loseMore()),
+        Probability.exact(odds.even()),
+        Probability.exact(odds.winAll()),
+        Probability.exact(odds.noLoss()));
+  }
+}
@@ -0,0 +1,39 @@
+package com.github.seiyamatsuoka.multiopponentrps.odds;
+
+/**
+ * 相手の手が等確率の場合の確率の表（相手 1〜{@value #MAX_OPPONENTS} 人）。
+ *
+ * <p>相手の手が等確率なら、自分の手によらず勝ち・負け・あいこの確率はどれも 1/3 になるため、相手人数ごとに1つ持てばよい。 クラスの初期化時に
+ * {@link OddsMath#exact} で計算しておき、通常モードの人数の問い合わせは表を引くだけにする。
+ */
+final class OddsTable {
+
+  /** 表に持つ相手人数の上限（通常モードの opponents 上限と同じ）。 */
+  static final int MAX_OPPONENTS = 10;
+
+  /** 相手1人に勝つ（負ける・あいこになる）確率。 */
+  static final double UNIFORM = 1.0 / 3;
+
+  /** [相手人数] → 確率（0 は使わない）。 */
+  private static final OddsMath.Odds[] ODDS = buildOdds();
+
+  private OddsTable() {}
+
+  /**
+   * 相手の手が等確率の場合の確率を返す。
+   *
+   * @param opponents 相手人数（1〜{@value #MAX_OPPONENTS}）
+   * @return 確率
+   */
+  static OddsMath.Odds uniform(int opponents) {
+    return ODDS[opponents];
+  }
+
+  private static OddsMath.Odds[] buildOdds() {
+    OddsMath.Odds[] odds = new OddsMath.Odds[MAX_OPPONENTS + 1];
+    for (int opponents = 1; opponents <= MAX_OPPONENTS; opponents++) {
+      odds[opponents] = OddsMath.exact(opponents, UNIFORM, UNIFORM);
+    }
+    return odds;
+  }
+}
@@ -0,0 +1,92 @@
+package com.github.seiyamatsuoka.multiopponentrps.odds.dto;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RuleSet;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * 勝率APIのリクエスト（クエリパラメータ）。
+ *
+ * <p>相手の手の重み（rock / paper / scissors）を1つも指定しない場合は等確率。1つでも指定した場合、指定しなかった手の重みは 0 とする。
+ *
+ * @param hand 自分の手（必須。ROCK / PAPER / SCISSORS）
+ * @param opponents 相手人数（1〜10億）
+ * @param rock 相手が ROCK を出す重み（任意、0以上）
+ * @param paper 相手が PAPER を出す重み（任意、0以上）
+ * @param scissors 相手が SCISSORS を出す重み（任意、0以上）
+ * @param trials 試行回数（任意、1〜{@value #MAX_TRIALS}。指定するとモンテカルロ法で推定する）
+ * @param seed モンテカルロ法の乱数のシード（任意）
+ */
+public record OddsRequest(
+    @NotNull(message = "hand は必須です") Hand hand,
+    @NotNull(message = "opponents は必須です")
+        @Min(value = 1, message = "opponents は 1 以上で指定してください")
+        @Max(value = 1_000_000_000L, message = "opponents は 1000000000 以下で指定してください")
+        Long opponents,
+    @PositiveOrZero(message = "rock は 0 以上で指定してください") Double rock,
+    @PositiveOrZero(message = "paper は 0 以上で指定してください") Double paper,
+    @PositiveOrZero(message = "scissors は 0 以上で指定してください") Double scissors,
+    @Min(value = 1, message = "trials は 1 以上で指定してください")
+        @Max(value = OddsRequest.MAX_TRIALS, message = "trials は {value} 以下で指定してください")
+        Long trials,
+    Long seed) {
+
+  /** 試行回数の上限。 */
+  public static final long MAX_TRIALS = 100_000;
+
+  /** モンテカルロ法で判定する人数（試行回数 × 相手人数）の上限。 */
+  public static final long MAX_TRIAL_WORK = 100_000_000;
+
+  /** hand が通常のじゃんけんの手かを返す（hand が null の場合は @NotNull 側でエラーにする）。 */
+  @AssertTrue(message = "hand は ROCK / PAPER / SCISSORS のいずれかで指定してください")
+  public boolean isHandAllowed() {
+    return hand == null || RuleSet.CLASSIC.allows(hand);
+  }
+
+  /** 重みを指定した場合に、合計が正の有限値かを返す。 */
+  @AssertTrue(message = "rock / paper / scissors の合計は 0 より大きくしてください")
+  public boolean isWeightsAllowed() {
+    if (!hasWeights()) {
+      return true;
+    }
+    double total = weight(rock) + weight(paper) + weight(scissors);
+    return total > 0 && Double.isFinite(total);
+  }
+
+  /** 試行回数 × 相手人数 が上限以下かを返す。 */
+  @AssertTrue(message = "trials × opponents は 100000000 以下で指定してください")
+  public boolean isTrialsAllowed() {
+    return trials == null || opponents == null || trials * opponents <= MAX_TRIAL_WORK;
+  }
+
+  /** 相手の手の重みを1つでも指定したかを返す。 */
+  public boolean hasWeights() {
+    return rock != null || paper != null || scissors != null;
+  }
+
+  /**
+   * 相手の手の重みを返す（未指定は 0。重みを1つも指定しない場合は等確率の 1）。
+   *
+   * @param opponentHand 相手の手（通常のじゃんけんの手）
+   * @return 重み
+   */
+  public double weightOf(Hand opponentHand) {
+    if (!hasWeights()) {
+      return 1;
+    }
+    return switch (opponentHand) {
+      case ROCK -> weight(rock);
+      case PAPER -> weight(paper);
+      case SCISSORS -> weight(scissors);
+      default -> 0;
+    };
+  }
+
+  private static double weight(Double value) {
+    return value == null ? 0 : value;
+  }
+}
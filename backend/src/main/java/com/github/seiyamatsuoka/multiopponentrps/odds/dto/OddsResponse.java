@@ -0,0 +1,32 @@
+package com.github.seiyamatsuoka.multiopponentrps.odds.dto;
+
+import com.github.seiyamatsuoka.multiopponentrps.odds.OddsMethod;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+
+/**
+ * 勝率APIのレスポンスDTO。
+ *
+ * @param hand 自分の手
+ * @param opponents 相手人数
+ * @param method 計算方法
+ * @param trials 試行回数（MONTE_CARLO 以外は 0）
+ * @param perOpponent 相手1人あたりの勝ち・負け・あいこの確率
+ * @param expected 相手全員分の勝ち数・負け数・あいこ数の期待値
+ * @param winMore 勝ち数が負け数より多くなる確率
+ * @param loseMore 負け数が勝ち数より多くなる確率
+ * @param even 勝ち数と負け数が同じになる確率
+ * @param winAll 全員に勝つ確率
+ * @param noLoss 誰にも負けない確率
+ */
+public record OddsResponse(
+    Hand hand,
+    long opponents,
+    OddsMethod method,
+    long trials,
+    OutcomeRates perOpponent,
+    OutcomeRates expected,
+    Probability winMore,
+    Probability loseMore,
+    Probability even,
+    Probability winAll,
+    Probability noLoss) {}
@@ -0,0 +1,10 @@
+package com.github.seiyamatsuoka.multiopponentrps.odds.dto;
+
+/**
+ * 勝ち・負け・あいこの値（相手1人あたりの確率、または相手全員分の期待値）。
+ *
+ * @param win 勝ち
+ * @param lose 負け
+ * @param draw あいこ
+ */
+public record OutcomeRates(double win, double lose, double draw) {}
@@ -0,0 +1,23 @@
+package com.github.seiyamatsuoka.multiopponentrps.odds.dto;
+
+/**
+ * 確率（推定値と 95% 区間）。
+ *
+ * <p>式から計算した場合（EXACT / TABLE）は区間の下限・上限も value と同じ。
+ *
+ * @param value 確率
+ * @param low 区間の下限
+ * @param high 区間の上限
+ */
+public record Probability(double value, double low, double high) {
+
+  /**
+   * 区間のない（式から計算した）確率を作る。
+   *
+   * @param value 確率
+   * @return 確率
+   */
+  public static Probability exact(double value) {
+    return new Probability(value, value, value);
+  }
+}
@@ -0,0 +1,40 @@
+package com.github.seiyamatsuoka.multiopponentrps.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * リクエストを送ったクライアントのキーを決める。
+ *
+ * <p>レート制限（{@link RateLimitInterceptor}）と Idempotency-Key の結果のキャッシュで同じキーを使う。ヘッダ（X-Forwarded-For
+ * 等）が指定されていれば、その末尾の値（直前のプロキシが付けた値）を使い、なければリモートアドレスを使う。
+ */
+public class ClientKeyResolver {
+
+  private final String header;
+
+  /**
+   * クライアントを表すヘッダ名を指定して生成する。
+   *
+   * @param header クライアントを表すヘッダ名（空ならリモートアドレスを使う）
+   */
+  public ClientKeyResolver(String header) {
+    this.header = (header == null || header.isBlank()) ? null : header;
+  }
+
+  /**
+   * クライアントのキーを返す。
+   *
+   * @param request リクエスト
+   * @return クライアントのキー
+   */
+  public String resolve(HttpServletRequest request) {
+    if (header != null) {
+      String value = request.getHeader(header);
+      if (value != null && !value.isBlank()) {
+        int comma = value.lastIndexOf(',');
+        return value.substring(comma + 1).trim();
+      }
+    }
+    return request.getRemoteAddr();
+  }
+}
@@ -0,0 +1,116 @@
+package com.github.seiyamatsuoka.multiopponentrps.ratelimit;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * クライアントごとのレート制限（トークンバケット）。
+ *
+ * <p>方針：
+ *
+ * <ul>
+ *   <li>バケットは GCRA（次に空きができる理論上の時刻 1 つだけを持つトークンバケット）で表し、{@link AtomicLong} の CAS
+ *       で更新する（ロックを取らない）
+ *   <li>1秒あたり permitsPerSecond 回まで、連続では burst 回まで許可する
+ *   <li>クライアント数の上限を超えそうになったら、満タンに戻ったバケット（新規と同じ状態）から消す。
+ *       それでも溢れる場合は任意の順で消す（消されたクライアントは満タンから数え直しになる）
+ * </ul>
+ */
+public class ClientRateLimiter {
+
+  private final long emissionNanos;
+  private final long toleranceNanos;
+  private final int maxClients;
+  private final LongSupplier nanoTime;
+
+  /** クライアント → 次に空きができる理論上の時刻（{@link System#nanoTime()} の値）。 */
+  private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+  private final AtomicBoolean evicting = new AtomicBoolean();
+
+  /**
+   * 許可する頻度とクライアント数の上限を指定して生成する。
+   *
+   * @param permitsPerSecond 1秒あたりに許可する回数
+   * @param burst 連続で許可する回数
+   * @param maxClients 覚えておくクライアント数の上限
+   */
+  public ClientRateLimiter(double permitsPerSecond, int burst, int maxClients) {
+    this(permitsPerSecond, burst, maxClients, System::nanoTime);
+  }
+
+  ClientRateLimiter(double permitsPerSecond, int burst, int maxClients, LongSupplier nanoTime) {
+    if (!(permitsPerSecond > 0)) {
+      throw new IllegalArgumentException("permitsPerSecond must be positive: " + permitsPerSecond);
+    }
+    if (burst < 1) {
+      throw new IllegalArgumentException("burst must be positive: " + burst);
+    }
+    if (maxClients < 1) {
+      throw new IllegalArgumentException("maxClients must be positive: " + maxClients);
+    }
+    this.emissionNanos = Math.max(1, Math.round(1_000_000_000L / permitsPerSecond));
+    this.toleranceNanos = emissionNanos * (burst - 1);
+    this.maxClients = maxClients;
+    this.nanoTime = nanoTime;
+  }
+
+  /**
+   * 1回分の許可を取る。
+   *
+   * @param client クライアントのキー
+   * @return 許可した場合は 0、許可しない場合は次に許可できるまでのナノ秒
+   */
+  public long tryAcquire(String client) {
+    long now = nanoTime.getAsLong();
+    AtomicLong bucket = buckets.get(client);
+    if (bucket == null) {
+      if (buckets.size() >= maxClients) {
+        evict(now);
+      }
+      bucket = buckets.computeIfAbsent(client, k -> new AtomicLong(now));
+    }
+
+    while (true) {
+      long current = bucket.get();
+      long start = current - now > 0 ? current : now;
+      long wait = start - now - toleranceNanos;
+      if (wait > 0) {
+        return wait;
+      }
+      if (bucket.compareAndSet(current, start + emissionNanos)) {
+        return 0;
+      }
+    }
+  }
+
+  /** 覚えているクライアント数を返す。 */
+  public int clients() {
+    return buckets.size();
+  }
+
+  /**
+   * クライアント数を上限の 7/8 程度まで減らす（同時に呼ばれた場合は 1 つのスレッドだけが行う）。
+   *
+   * <p>溢れるたびに全件を見ないよう、1回で少し余裕を空ける。
+   */
+  private void evict(long now) {
+    if (!evicting.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+      int target = maxClients - Math.max(1, maxClients / 8);
+      Iterator<String> it = buckets.keySet().iterator();
+      while (buckets.size() > target && it.hasNext()) {
+        it.next();
+        it.remove();
+      }
+    } finally {
+      evicting.set(false);
+    }
+  }
+}
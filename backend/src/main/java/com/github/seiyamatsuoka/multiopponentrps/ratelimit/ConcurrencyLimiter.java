@@ -0,0 +1,53 @@
+package com.github.seiyamatsuoka.multiopponentrps.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 同時に処理するリクエスト数の上限（ロードシェディング）。
+ *
+ * <p>上限に達している場合は待たずに断る（キューに積まない）。
+ */
+public class ConcurrencyLimiter {
+
+  private final int maxConcurrent;
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  /**
+   * 上限を指定して生成する。
+   *
+   * @param maxConcurrent 同時に処理するリクエスト数の上限
+   */
+  public ConcurrencyLimiter(int maxConcurrent) {
+    if (maxConcurrent < 1) {
+      throw new IllegalArgumentException("maxConcurrent must be positive: " + maxConcurrent);
+    }
+    this.maxConcurrent = maxConcurrent;
+  }
+
+  /**
+   * 空きがあれば 1 つ確保する。
+   *
+   * @return 確保できた場合は true（処理後に {@link #release()} を呼ぶ）
+   */
+  public boolean tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= maxConcurrent) {
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /** 確保した分を返す。 */
+  public void release() {
+    inFlight.decrementAndGet();
+  }
+
+  /** 処理中のリクエスト数を返す。 */
+  public int inFlight() {
+    return inFlight.get();
+  }
+}
@@ -0,0 +1,14 @@
+package com.github.seiyamatsuoka.multiopponentrps.ratelimit;
+
+/**
+ * 同時に処理するリクエスト数の上限に達していることを表す例外（503 として返す）。
+ *
+ * <p>負荷が高いときに大量に投げるため、スタックトレースは作らない。
+ */
+public class OverloadedException extends RuntimeException {
+
+  /** 生成する。 */
+  public OverloadedException() {
+    super("しばらくしてから再度お試しください", null, false, false);
+  }
+}
@@ -0,0 +1,77 @@
+package com.github.seiyamatsuoka.multiopponentrps.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * じゃんけん API の手前でレート制限・ロードシェディングを行う。
+ *
+ * <ul>
+ *   <li>同時に処理するリクエスト数の上限（{@link ConcurrencyLimiter}）に達していたら {@link OverloadedException}（503）
+ *   <li>クライアントごとのレート制限（{@link ClientRateLimiter}）を超えたら {@link RateLimitedException}（429）
+ *   <li>同時処理数の枠を先に確保する（503 で返したリクエストはクライアントの回数を消費しない）
+ *   <li>例外は ApiExceptionHandler が統一エラーレスポンスにする
+ * </ul>
+ *
+ * <p>確保した枠はリクエストの完了時に返す。非同期処理（POST /api/rps/batch の書き出し）では、書き出しが終わるまで枠を持ち続ける
+ * （再ディスパッチでは確保し直さない）。
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+  /** 枠を確保したことを表すリクエスト属性。 */
+  private static final String PERMIT_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".PERMIT";
+
+  private final ClientRateLimiter rateLimiter;
+  private final ConcurrencyLimiter concurrencyLimiter;
+  private final ClientKeyResolver clientKeyResolver;
+
+  /**
+   * DIコンストラクタ。
+   *
+   * @param rateLimiter クライアントごとのレート制限
+   * @param concurrencyLimiter 同時に処理するリクエスト数の上限
+   * @param clientKeyResolver クライアントのキーの決め方
+   */
+  public RateLimitInterceptor(
+      ClientRateLimiter rateLimiter,
+      ConcurrencyLimiter concurrencyLimiter,
+      ClientKeyResolver clientKeyResolver) {
+    this.rateLimiter = rateLimiter;
+    this.concurrencyLimiter = concurrencyLimiter;
+    this.clientKeyResolver = clientKeyResolver;
+  }
+
+  @Override
+  public boolean preHandle(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+      // 非同期処理の再ディスパッチ（確保済み）
+      return true;
+    }
+    if (!concurrencyLimiter.tryAcquire()) {
+      throw new OverloadedException();
+    }
+    long waitNanos = rateLimiter.tryAcquire(clientKeyResolver.resolve(request));
+    if (waitNanos > 0) {
+      concurrencyLimiter.release();
+      throw new RateLimitedException(ceilSeconds(waitNanos));
+    }
+    request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(
+      HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+      request.removeAttribute(PERMIT_ATTRIBUTE);
+      concurrencyLimiter.release();
+    }
+  }
+
+  private static long ceilSeconds(long nanos) {
+    return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+  }
+}
@@ -0,0 +1,26 @@
+package com.github.seiyamatsuoka.multiopponentrps.ratelimit;
+
+/**
+ * クライアントごとのレート制限を超えたことを表す例外（429 として返す）。
+ *
+ * <p>負荷が高いときに大量に投げるため、スタックトレースは作らない。
+ */
+public class RateLimitedException extends RuntimeException {
+
+  private final long retryAfterSeconds;
+
+  /**
+   * 次に許可できるまでの秒数を指定して生成する。
+   *
+   * @param retryAfterSeconds 次に許可できるまでの秒数（切り上げ）
+   */
+  public RateLimitedException(long retryAfterSeconds) {
+    super(retryAfterSeconds + " 秒後に再度お試しください", null, false, false);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  /** 次に許可できるまでの秒数を返す（Retry-After ヘッダの値）。 */
+  public long retryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+}
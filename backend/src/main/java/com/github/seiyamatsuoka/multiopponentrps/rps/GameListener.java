@@ -0,0 +1,28 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffer;
+
+/**
+ * じゃんけん1回分の結果を受け取る拡張ポイント（マッチログ・統計など）。
+ *
+ * <p>{@link RpsService} の play の中で、リクエストのスレッドから同期的に呼ばれる（ウォームアップ・シミュレーションでは呼ばれない）。
+ *
+ * <ul>
+ *   <li>重い処理・ブロッキングする処理は行わず、必要な値をコピーして別スレッドに渡すこと
+ *   <li>buffer は呼び出し後に再利用されるため、参照を保持しないこと
+ *   <li>例外を投げないこと（じゃんけん API のレスポンスに影響する）
+ * </ul>
+ *
+ * <p>Bean として登録すると {@link RpsService} に順番（{@code @Order}）どおりに渡される。
+ */
+public interface GameListener {
+
+  /**
+   * 1回分の結果を受け取る。
+   *
+   * @param timestampMillis 実行時刻（エポックミリ秒）
+   * @param playerCode 自分の手のコード
+   * @param buffer 判定済みのバッファ（相手の手・勝敗・集計）
+   */
+  void onGame(long timestampMillis, int playerCode, RoundBuffer buffer);
+}
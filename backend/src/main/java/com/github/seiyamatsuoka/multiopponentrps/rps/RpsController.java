@@ -1,12 +1,29 @@
 package com.github.seiyamatsuoka.multiopponentrps.rps;
 
+import com.github.seiyamatsuoka.multiopponentrps.metrics.RpsMetrics;
+import com.github.seiyamatsuoka.multiopponentrps.ratelimit.ClientKeyResolver;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsBatchRequest;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsGroupRequest;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsGroupResponse;
 import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsRequest;
 import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsResponse;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsSimulationRequest;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsSimulationResponse;
+import com.github.seiyamatsuoka.multiopponentrps.rps.idempotency.IdempotencyCache;
+import com.github.seiyamatsuoka.multiopponentrps.rps.json.RpsResponseJsonWriter;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * じゃんけんAPI（Controller）。
@@ -17,26 +34,128 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api")
 public class RpsController {
 
+  /** 再送を見分けるためのリクエストヘッダ。 */
+  public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+  /** 覚えていた結果を返したことを表すレスポンスヘッダ。 */
+  public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
   private final RpsService rpsService;
+  private final RpsMetrics metrics;
+  private final IdempotencyCache idempotencyCache;
+  private final ClientKeyResolver clientKeyResolver;
 
   /**
    * DIコンストラクタ。
    *
    * @param rpsService じゃんけんロジック（Service）
+   * @param metrics メトリクス（処理時間を記録する）
+   * @param idempotencyCache Idempotency-Key ごとの結果（無効ならヘッダを無視する）
+   * @param clientKeyResolver クライアントのキーの決め方（Idempotency-Key をクライアントごとに分ける）
    */
-  public RpsController(RpsService rpsService) {
+  public RpsController(
+      RpsService rpsService,
+      RpsMetrics metrics,
+      IdempotencyCache idempotencyCache,
+      ClientKeyResolver clientKeyResolver) {
     this.rpsService = rpsService;
+    this.metrics = metrics;
+    this.idempotencyCache = idempotencyCache;
+    this.clientKeyResolver = clientKeyResolver;
   }
 
   /**
    * じゃんけんを実行する。
    *
-   * @param request リクエストDTO（hand必須、opponents 1〜10）
+   * <p>レスポンスは {@code RpsResponseHttpMessageConverter} で書き出す（JSON の内容は Jackson と同じ）。
+   *
+   * <p>Idempotency-Key が指定されていれば、同じクライアントからの同じキーの再送には最初の結果をそのまま返す（{@value
+   * #IDEMPOTENT_REPLAYED_HEADER}: true を付ける）。クライアントはレート制限と同じキーで見分ける。
+   *
+   * @param request リクエストDTO（hand必須、opponents 1〜10、seed・ruleSet・strategy・session 任意）
+   * @param idempotencyKey 再送を見分けるキー（任意）
+   * @param httpRequest クライアントを見分けるためのリクエスト
    * @return 対戦結果（相手ごとの結果と集計）
    */
   @PostMapping("/rps")
-  public RpsResponse play(@Valid @RequestBody RpsRequest request) {
+  public ResponseEntity<RpsResponse> play(
+      @Valid @RequestBody RpsRequest request,
+      @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+      HttpServletRequest httpRequest) {
     // request 内の制約（hand必須、opponents範囲）は @Valid により担保
-    return rpsService.play(request.hand(), request.opponents());
+    long start = System.nanoTime();
+    if (!idempotencyCache.isEnabled() || idempotencyKey == null || idempotencyKey.isBlank()) {
+      RpsResponse response = rpsService.play(request);
+      metrics.recordController(start);
+      return ResponseEntity.ok(response);
+    }
+
+    String client = clientKeyResolver.resolve(httpRequest);
+    IdempotencyCache.Outcome outcome =
+        idempotencyCache.execute(client, idempotencyKey, request, () -> rpsService.play(request));
+    metrics.recordController(start);
+    if (outcome.replayed()) {
+      return ResponseEntity.ok()
+          .header(IDEMPOTENT_REPLAYED_HEADER, "true")
+          .body(outcome.response());
+    }
+    return ResponseEntity.ok(outcome.response());
+  }
+
+  /**
+   * じゃんけんをまとめて実行する。
+   *
+   * <p>全件のバリデーションが通ってから実行を始め、結果は JSON 配列として1件ずつ書き出す（全件分をメモリに溜めない）。
+   *
+   * @param request リクエストDTO（games 1〜1000件、各要素は /api/rps と同じ制約）
+   * @return 対戦結果の配列（リクエストと同じ順序）
+   */
+  @PostMapping("/rps/batch")
+  public ResponseEntity<StreamingResponseBody> playBatch(
+      @Valid @RequestBody RpsBatchRequest request) {
+    List<RpsRequest> games = request.games();
+    StreamingResponseBody body = out -> writeBatch(games, out);
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+  }
+
+  /**
+   * 大人数（最大10億人）を相手にじゃんけんを実行し、集計のみを返す。
+   *
+   * @param request リクエストDTO（hand必須、opponents 1〜10億、samples 0〜100）
+   * @return 全員分の集計と、先頭 samples 人分の結果
+   */
+  @PostMapping("/rps/simulate")
+  public RpsSimulationResponse simulate(@Valid @RequestBody RpsSimulationRequest request) {
+    return rpsService.simulate(request);
+  }
+
+  /**
+   * 全員が同時に手を出す多人数じゃんけんを、1人になるまで繰り返す。
+   *
+   * @param request リクエストDTO（hand必須、participants 2〜100万、seed 任意）
+   * @return 決着までの回数と、自分が勝ち残ったか
+   */
+  @PostMapping("/rps/group")
+  public RpsGroupResponse playGroup(@Valid @RequestBody RpsGroupRequest request) {
+    return rpsService.playGroup(request);
+  }
+
+  /**
+   * ゲームを順に実行し、結果を JSON 配列として書き出す。
+   *
+   * @param games 実行するゲームの一覧
+   * @param out 出力先
+   * @throws IOException 書き込みに失敗した場合
+   */
+  private void writeBatch(List<RpsRequest> games, OutputStream out) throws IOException {
+    // 1件ごとの flush は行わない（出力先のストリームは Spring 側で flush・close する）
+    out.write('[');
+    for (int i = 0, size = games.size(); i < size; i++) {
+      if (i > 0) {
+        out.write(',');
+      }
+      RpsResponseJsonWriter.writeTo(rpsService.play(games.get(i)), out);
+    }
+    out.write(']');
   }
 }
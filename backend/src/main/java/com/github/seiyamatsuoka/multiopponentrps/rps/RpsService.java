@@ -1,14 +1,36 @@
 package com.github.seiyamatsuoka.multiopponentrps.rps;
 
+import com.github.seiyamatsuoka.multiopponentrps.metrics.RpsMetrics;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsGroupRequest;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsGroupResponse;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsRequest;
 import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsResponse;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsSimulationRequest;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsSimulationResponse;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.BulkSimulator;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.GroupResolver;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.HandTally;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.OutcomeTable;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffer;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RpsEngine;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RuleTable;
 import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.OpponentStrategy;
 import com.github.seiyamatsuoka.multiopponentrps.rps.model.Result;
-import com.github.seiyamatsuoka.multiopponentrps.rps.model.RoundResult;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RuleSet;
 import com.github.seiyamatsuoka.multiopponentrps.rps.model.Summary;
-import java.util.ArrayList;
+import com.github.seiyamatsuoka.multiopponentrps.rps.random.DefaultRandomSource;
+import com.github.seiyamatsuoka.multiopponentrps.rps.random.RandomSource;
+import com.github.seiyamatsuoka.multiopponentrps.rps.strategy.SessionModel;
+import com.github.seiyamatsuoka.multiopponentrps.rps.strategy.SessionStore;
+import com.github.seiyamatsuoka.multiopponentrps.rps.strategy.StrategyEngine;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 /**
@@ -17,36 +39,210 @@ import org.springframework.stereotype.Service;
  * <p>責務：
  *
  * <ul>
- *   <li>相手の手を人数分ランダム生成する
- *   <li>自分の手と相手の手から勝敗を判定する
+ *   <li>相手の手を人数分ランダム生成する（乱数は {@link RandomSource} から取得し、シード指定で再現できる）
+ *   <li>作戦（{@link OpponentStrategy}）の指定があれば、セッションごとの自分の手の履歴から相手の手を決める
+ *   <li>自分の手と相手の手から、ルール（{@link RuleSet}）ごとのテーブルで勝敗を判定する
  *   <li>相手ごとの結果一覧と集計を作成する
+ *   <li>大人数のシミュレーションでは、相手ごとの結果を持たずに集計のみを作成する
+ *   <li>多人数じゃんけんでは、全員が同時に手を出して1人になるまで繰り返し、決着までの経過を作成する
+ *   <li>1回ごとの結果を {@link GameListener}（マッチログ等）に渡す
  * </ul>
  *
  * <p>注意：
  *
  * <ul>
- *   <li>入力（hand/opponents）のバリデーションは Controller 側で行う前提
+ *   <li>入力（hand/opponents/ruleSet）のバリデーションは Controller 側で行う前提
+ *   <li>大人数のシミュレーション・多人数じゃんけんは通常のじゃんけんのみ
  *   <li>テストを安定させるため、ランダム生成を使わない入口（playWithOpponentHands）も用意する
+ *   <li>判定・集計は {@link RpsEngine} に委譲し、途中経過はプリミティブのバッファで扱う（相手ごとのオブジェクトを作らない）
  * </ul>
  */
 @Service
 public class RpsService {
 
+  private final RpsEngine engine = new RpsEngine();
+
+  /** 大人数シミュレーション用（共通の ForkJoinPool で分割実行する）。 */
+  private final BulkSimulator bulkSimulator = new BulkSimulator(ForkJoinPool.commonPool());
+
+  private final RandomSource randomSource;
+  private final RpsMetrics metrics;
+
+  /** 1回ごとの結果を渡す拡張処理（ホットパスで回すため配列で持つ）。 */
+  private final GameListener[] listeners;
+
+  /** セッションごとの自分の手の履歴。 */
+  private final SessionStore sessions;
+
+  /** 既定の乱数の取得元・公開しないメトリクスで生成する（テスト用）。 */
+  public RpsService() {
+    this(new DefaultRandomSource(), RpsMetrics.noop());
+  }
+
+  /**
+   * 拡張処理なしで生成する。
+   *
+   * @param randomSource 相手の手の生成に使う乱数の取得元
+   * @param metrics メトリクス
+   */
+  public RpsService(RandomSource randomSource, RpsMetrics metrics) {
+    this(randomSource, metrics, List.of());
+  }
+
+  /**
+   * 拡張処理を指定して生成する。
+   *
+   * @param randomSource 相手の手の生成に使う乱数の取得元
+   * @param metrics メトリクス
+   * @param listeners 1回ごとの結果を渡す拡張処理（呼び出し順）
+   */
+  public RpsService(RandomSource randomSource, RpsMetrics metrics, List<GameListener> listeners) {
+    this(randomSource, metrics, listeners, new SessionStore());
+  }
+
+  /**
+   * 拡張処理とセッションの履歴の置き場所を指定して生成する。
+   *
+   * @param randomSource 相手の手の生成に使う乱数の取得元
+   * @param metrics メトリクス
+   * @param listeners 1回ごとの結果を渡す拡張処理（呼び出し順）
+   * @param sessions セッションごとの自分の手の履歴
+   */
+  public RpsService(
+      RandomSource randomSource,
+      RpsMetrics metrics,
+      List<GameListener> listeners,
+      SessionStore sessions) {
+    this.randomSource = randomSource;
+    this.metrics = metrics;
+    this.listeners = listeners.toArray(GameListener[]::new);
+    this.sessions = sessions;
+  }
+
+  /**
+   * DIコンストラクタ。
+   *
+   * @param randomSource 相手の手の生成に使う乱数の取得元
+   * @param metrics メトリクス
+   * @param listeners 1回ごとの結果を渡す拡張処理（Bean がなければ空）
+   * @param sessions セッションごとの自分の手の履歴
+   */
+  @Autowired
+  public RpsService(
+      RandomSource randomSource,
+      RpsMetrics metrics,
+      ObjectProvider<GameListener> listeners,
+      SessionStore sessions) {
+    this(randomSource, metrics, listeners.orderedStream().toList(), sessions);
+  }
+
   /**
-   * じゃんけんを実行する（相手の手はランダムに生成）。
+   * 通常のじゃんけんを実行する（相手の手はランダムに生成）。
    *
    * @param playerHand 自分の手（null不可）
    * @param opponents 相手人数（1以上を想定）
    * @return 対戦結果（相手ごとの結果と集計を含む）
    */
   public RpsResponse play(Hand playerHand, int opponents) {
+    return play(
+        playerHand,
+        opponents,
+        randomSource.generator(null),
+        RuleTable.CLASSIC,
+        OpponentStrategy.RANDOM,
+        null,
+        true);
+  }
+
+  /**
+   * リクエストの内容でじゃんけんを実行する。
+   *
+   * <p>seed を指定した場合は、同じリクエスト（session を指定した場合は同じ履歴）なら同じ相手の手・結果になる。相手の手は ruleSet
+   * で使える手から生成する。
+   *
+   * <p>session を指定した場合は、通常のじゃんけんの結果を履歴に加える（strategy が RANDOM でも覚え、後から作戦を切り替えられる）。
+   *
+   * @param request リクエスト（バリデーション済みを想定）
+   * @return 対戦結果（相手ごとの結果と集計を含む）
+   */
+  public RpsResponse play(RpsRequest request) {
+    SessionModel model =
+        request.hasSession() && request.ruleSet() == RuleSet.CLASSIC
+            ? sessions.get(request.session())
+            : null;
+    return play(
+        request.hand(),
+        request.opponents(),
+        randomSource.generator(request.seed()),
+        RuleTable.of(request.ruleSet()),
+        request.strategy(),
+        model,
+        true);
+  }
+
+  /**
+   * 起動時のウォームアップ用に、{@link #play(RpsRequest)} と同じ処理をメトリクスに記録せずに実行する。
+   *
+   * <p>相手の手はランダムに生成する（セッションの履歴は読み書きしない）。
+   *
+   * @param request リクエスト（バリデーション済みを想定）
+   * @return 対戦結果
+   */
+  RpsResponse warmUp(RpsRequest request) {
+    return play(
+        request.hand(),
+        request.opponents(),
+        randomSource.generator(request.seed()),
+        RuleTable.of(request.ruleSet()),
+        OpponentStrategy.RANDOM,
+        null,
+        false);
+  }
+
+  /**
+   * 指定した乱数で相手の手を生成して、じゃんけんを実行する。
+   *
+   * @param playerHand 自分の手（null不可）
+   * @param opponents 相手人数（1以上を想定）
+   * @param random 乱数生成器
+   * @param rules ルールのテーブル
+   * @param strategy 相手の手の決め方（RANDOM 以外は通常のじゃんけんで model が必要）
+   * @param model セッションの履歴（null ならセッションなし）
+   * @param record メトリクスに記録し、拡張処理・履歴に渡すか（ウォームアップでは行わない）
+   * @return 対戦結果（相手ごとの結果と集計を含む）
+   */
+  private RpsResponse play(
+      Hand playerHand,
+      int opponents,
+      RandomGenerator random,
+      RuleTable rules,
+      OpponentStrategy strategy,
+      SessionModel model,
+      boolean record) {
     Objects.requireNonNull(playerHand, "playerHand は必須です");
+    requireAllowed(playerHand, rules);
+    long start = System.nanoTime();
 
     // Controller 側で 1〜10 を保証する前提のため、ここでは opponents の範囲チェックは行わない。
-    List<Hand> opponentHands = generateOpponentHands(opponents);
+    RoundBuffer buffer = engine.buffer(opponents);
+    if (strategy == OpponentStrategy.RANDOM) {
+      engine.fillRandom(buffer, opponents, random, rules);
+    } else {
+      requireStrategyAllowed(strategy, rules, model);
+      StrategyEngine.fill(buffer, opponents, random, strategy, model);
+    }
 
     // ランダム生成した相手の手を使って、共通ロジックで結果を組み立てる
-    return playWithOpponentHands(playerHand, opponentHands);
+    RpsResponse response = judgeAndBuild(playerHand, buffer, rules);
+
+    if (record) {
+      metrics.recordPlay(start, opponents, response.summary());
+      notifyListeners(playerHand, buffer);
+      if (model != null) {
+        model.record(OutcomeTable.encode(playerHand), buffer);
+      }
+    }
+    return response;
   }
 
   /**
@@ -59,80 +255,182 @@ public class RpsService {
    * @return 対戦結果（相手ごとの結果と集計を含む）
    */
   RpsResponse playWithOpponentHands(Hand playerHand, List<Hand> opponentHands) {
+    return playWithOpponentHands(RuleSet.CLASSIC, playerHand, opponentHands);
+  }
+
+  /**
+   * ルールを指定して、じゃんけんを実行する（相手の手を指定）。
+   *
+   * @param ruleSet ルール（null不可）
+   * @param playerHand 自分の手（null不可）
+   * @param opponentHands 相手の手の一覧（null不可）
+   * @return 対戦結果（相手ごとの結果と集計を含む）
+   */
+  RpsResponse playWithOpponentHands(RuleSet ruleSet, Hand playerHand, List<Hand> opponentHands) {
+    RuleTable rules = RuleTable.of(ruleSet);
     Objects.requireNonNull(playerHand, "playerHand は必須です");
+    requireAllowed(playerHand, rules);
     Objects.requireNonNull(opponentHands, "opponentHands は必須です");
 
-    // 相手人数分の結果を格納する。サイズが分かっているので初期容量を指定しておく。
-    List<RoundResult> results = new ArrayList<>(opponentHands.size());
+    RoundBuffer buffer = engine.buffer(opponentHands.size());
+    for (Hand opponentHand : opponentHands) {
+      Objects.requireNonNull(opponentHand, "opponentHand は必須です");
+      requireAllowed(opponentHand, rules);
+      buffer.add(OutcomeTable.encode(opponentHand));
+    }
 
-    // 集計は int カウンタで管理する
-    int win = 0;
-    int lose = 0;
-    int draw = 0;
+    return judgeAndBuild(playerHand, buffer, rules);
+  }
 
-    for (int i = 0; i < opponentHands.size(); i++) {
-      Hand opponentHand = opponentHands.get(i);
-      Objects.requireNonNull(opponentHand, "opponentHand は必須です");
+  /**
+   * 大人数を相手にじゃんけんを実行し、集計のみを返す（相手の手はランダムに生成）。
+   *
+   * <p>先頭の samples 人だけは通常どおり相手ごとの結果を作り、残りは手ごとの件数だけを数えて集計する。
+   *
+   * @param playerHand 自分の手（null不可）
+   * @param opponents 相手人数（1以上を想定）
+   * @param samples 相手ごとの結果を返す人数（0以上を想定、opponents を超える分は無視）
+   * @return シミュレーション結果（サンプルと全員分の集計）
+   */
+  public RpsSimulationResponse simulate(Hand playerHand, long opponents, int samples) {
+    return simulate(playerHand, opponents, samples, null);
+  }
 
-      // 勝敗判定
-      Result result = judge(playerHand, opponentHand);
+  /**
+   * リクエストの内容で大人数シミュレーションを実行する。
+   *
+   * @param request リクエスト（バリデーション済みを想定）
+   * @return シミュレーション結果（サンプルと全員分の集計）
+   */
+  public RpsSimulationResponse simulate(RpsSimulationRequest request) {
+    return simulate(request.hand(), request.opponents(), request.samples(), request.seed());
+  }
 
-      // 集計
-      switch (result) {
-        case WIN -> win++;
-        case LOSE -> lose++;
-        case DRAW -> draw++;
-      }
+  private RpsSimulationResponse simulate(
+      Hand playerHand, long opponents, int samples, Long seed) {
+    Objects.requireNonNull(playerHand, "playerHand は必須です");
+    requireAllowed(playerHand, RuleTable.CLASSIC);
 
-      // opponentIndex は 1 始まり（ユーザーに見せる番号のため）
-      results.add(new RoundResult(i + 1, opponentHand, result));
-    }
+    // サンプル用と残り用で乱数列を分ける（シード指定時は両方とも再現できる）
+    SplittableGenerator random = randomSource.splittable(seed);
+    int sampleSize = (int) Math.min(samples, opponents);
+    RpsResponse sampled =
+        play(
+            playerHand,
+            sampleSize,
+            random.split(),
+            RuleTable.CLASSIC,
+            OpponentStrategy.RANDOM,
+            null,
+            false);
 
-    // 集計結果をまとめてレスポンスに含める
-    Summary summary = new Summary(win, lose, draw);
+    // サンプル以外は手ごとの件数だけを数え、最後にまとめて勝敗に変換する
+    HandTally rest = bulkSimulator.tally(opponents - sampleSize, random);
+    Summary restSummary = rest.toSummary(OutcomeTable.encode(playerHand));
+    Summary summary =
+        new Summary(
+            sampled.summary().win() + restSummary.win(),
+            sampled.summary().lose() + restSummary.lose(),
+            sampled.summary().draw() + restSummary.draw());
 
-    return new RpsResponse(playerHand, opponentHands.size(), results, summary);
+    return new RpsSimulationResponse(playerHand, opponents, sampled.results(), summary);
   }
 
   /**
-   * 相手の手を人数分ランダムに生成する。
+   * 多人数じゃんけんを、1人になるまで繰り返す（相手の手はランダムに生成）。
    *
-   * <p>ThreadLocalRandom で乱数生成を行う（スレッドセーフかつ軽量）。
+   * <p>1回ごとに手ごとの人数だけで勝ち負けを決めるため、メモリは人数に依存しない（詳細は {@link GroupResolver}）。
    *
-   * @param opponents 相手人数
-   * @return 手の一覧（サイズ=opponents）
+   * @param request リクエスト（バリデーション済みを想定）
+   * @return 決着までの経過
    */
-  private List<Hand> generateOpponentHands(int opponents) {
-    List<Hand> hands = new ArrayList<>(opponents);
-    Hand[] values = Hand.values();
+  public RpsGroupResponse playGroup(RpsGroupRequest request) {
+    Hand playerHand = request.hand();
+    Objects.requireNonNull(playerHand, "playerHand は必須です");
+    requireAllowed(playerHand, RuleTable.CLASSIC);
 
-    for (int i = 0; i < opponents; i++) {
-      // values.length は 3（ROCK/PAPER/SCISSORS）
-      int idx = ThreadLocalRandom.current().nextInt(values.length);
-      hands.add(values[idx]);
+    RandomGenerator random = randomSource.generator(request.seed());
+    GroupResolver.Outcome outcome =
+        GroupResolver.resolve(OutcomeTable.encode(playerHand), request.participants(), random);
+
+    return new RpsGroupResponse(
+        playerHand,
+        request.participants(),
+        outcome.rounds(),
+        outcome.drawRounds(),
+        outcome.resolved(),
+        outcome.resolved() && outcome.playerAlive(),
+        outcome.playerAlive() ? null : outcome.playerEliminatedRound());
+  }
+
+  private void notifyListeners(Hand playerHand, RoundBuffer buffer) {
+    if (listeners.length == 0) {
+      return;
+    }
+    long timestampMillis = System.currentTimeMillis();
+    int playerCode = OutcomeTable.encode(playerHand);
+    for (GameListener listener : listeners) {
+      listener.onGame(timestampMillis, playerCode, buffer);
+    }
+  }
+
+  /**
+   * バッファ内の相手の手で勝敗判定・集計を行い、レスポンスを組み立てる。
+   *
+   * <p>opponentIndex は 1 始まり（ユーザーに見せる番号のため）。RoundResult はこの段階で初めて作る。
+   *
+   * @param playerHand 自分の手
+   * @param buffer 相手の手が入ったバッファ
+   * @param rules ルールのテーブル
+   * @return 対戦結果
+   */
+  private RpsResponse judgeAndBuild(Hand playerHand, RoundBuffer buffer, RuleTable rules) {
+    engine.judgeAll(rules, OutcomeTable.encode(playerHand), buffer);
+    return engine.toResponse(playerHand, buffer);
+  }
+
+  /**
+   * ルールで使える手であることを確かめる（通常は Controller 側のバリデーションで弾かれている）。
+   *
+   * @param hand 手（null でないことは呼び出し側で確かめる）
+   * @param rules ルールのテーブル
+   */
+  private static void requireAllowed(Hand hand, RuleTable rules) {
+    if (!rules.allows(OutcomeTable.encode(hand))) {
+      throw new IllegalArgumentException(rules.ruleSet() + " では使えない手です: " + hand);
     }
+  }
 
-    return hands;
+  /**
+   * 作戦を使える条件（通常のじゃんけん・セッションあり）を確かめる（通常は Controller 側のバリデーションで弾かれている）。
+   *
+   * @param strategy 作戦（RANDOM 以外）
+   * @param rules ルールのテーブル
+   * @param model セッションの履歴
+   */
+  private static void requireStrategyAllowed(
+      OpponentStrategy strategy, RuleTable rules, SessionModel model) {
+    if (rules != RuleTable.CLASSIC) {
+      throw new IllegalArgumentException(rules.ruleSet() + " では使えない作戦です: " + strategy);
+    }
+    if (model == null) {
+      throw new IllegalArgumentException("作戦 " + strategy + " にはセッションが必要です");
+    }
   }
 
   /**
-   * じゃんけんの勝敗を判定する。
+   * 通常のじゃんけんの勝敗を判定する。
+   *
+   * <p>1回分の判定のみ（結果の記録・通知はしない）。トーナメント等、ほかの機能から組み合わせて使う。
    *
    * @param playerHand 自分の手
    * @param opponentHand 相手の手
    * @return 勝敗（WIN/LOSE/DRAW）
    */
-  Result judge(Hand playerHand, Hand opponentHand) {
-    // 同手なら必ずあいこ（最優先で判定）
-    if (playerHand == opponentHand) {
-      return Result.DRAW;
-    }
-
-    // switch + 三項演算子で分岐（ここから先は自分の手ごとに勝てる相手の手が1つだけ決まる）
-    return switch (playerHand) {
-      case ROCK -> (opponentHand == Hand.SCISSORS) ? Result.WIN : Result.LOSE;
-      case PAPER -> (opponentHand == Hand.ROCK) ? Result.WIN : Result.LOSE;
-      case SCISSORS -> (opponentHand == Hand.PAPER) ? Result.WIN : Result.LOSE;
-    };
+  public Result judge(Hand playerHand, Hand opponentHand) {
+    // 3x3 の事前計算テーブルを引く（同手は DRAW、巡回で1つ後ろの手が勝ち）
+    int code =
+        OutcomeTable.judge(OutcomeTable.encode(playerHand), OutcomeTable.encode(opponentHand));
+    return OutcomeTable.decodeResult(code);
   }
 }
@@ -0,0 +1,99 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.seiyamatsuoka.multiopponentrps.config.AppWarmupProperties;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsRequest;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsResponse;
+import com.github.seiyamatsuoka.multiopponentrps.rps.json.RpsResponseJsonWriter;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RuleSet;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * 起動時のウォームアップ。
+ *
+ * <p>{@code POST /api/rps} と同じ「JSON 読み取り → バリデーション → じゃんけん → JSON 書き出し」を内部で繰り返し、 JIT
+ * コンパイル・Jackson のデシリアライザ生成・Bean Validation の初期化を起動時に済ませる。
+ *
+ * <p>ApplicationRunner は readiness が ACCEPTING_TRAFFIC になる前に実行されるため、 ウォームアップが終わるまで {@code GET
+ * /api/health} は 503 を返す（フロントの起動確認はウォームアップ完了まで待つ）。
+ *
+ * <p>結果はメトリクスに記録しない（{@link RpsService#warmUp(RpsRequest)}）。
+ */
+@Component
+public class RpsWarmup implements ApplicationRunner {
+
+  private static final Logger log = LoggerFactory.getLogger(RpsWarmup.class);
+
+  /** ウォームアップに使う手（通常のじゃんけん。ホットパスはこのルール）。 */
+  private static final Hand[] HANDS = RuleSet.CLASSIC.cycle().toArray(Hand[]::new);
+
+  private final RpsService rpsService;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+  private final AppWarmupProperties properties;
+
+  /**
+   * DIコンストラクタ。
+   *
+   * @param rpsService じゃんけんのサービス
+   * @param objectMapper Spring MVC と共有の ObjectMapper
+   * @param validator Spring MVC と共有の Validator
+   * @param properties ウォームアップの設定
+   */
+  public RpsWarmup(
+      RpsService rpsService,
+      ObjectMapper objectMapper,
+      Validator validator,
+      AppWarmupProperties properties) {
+    this.rpsService = rpsService;
+    this.objectMapper = objectMapper;
+    this.validator = validator;
+    this.properties = properties;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) throws IOException {
+    if (!properties.enabled()) {
+      return;
+    }
+
+    long start = System.nanoTime();
+    int iterations = properties.iterations();
+    for (int i = 0; i < iterations; i++) {
+      playOnce(i);
+    }
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+    log.info("ウォームアップ完了: {} 回 / {} ms", iterations, elapsedMillis);
+  }
+
+  /**
+   * 1回分のウォームアップを行う。
+   *
+   * <p>手・相手人数（1〜10）は回ごとに変え、すべての分岐・キャッシュ範囲を通す。
+   *
+   * @param iteration 何回目か
+   * @return 書き出した JSON
+   */
+  byte[] playOnce(int iteration) throws IOException {
+    RpsRequest source = new RpsRequest(HANDS[iteration % HANDS.length], 1 + iteration % 10);
+    byte[] requestJson = objectMapper.writeValueAsBytes(source);
+    RpsRequest request = objectMapper.readValue(requestJson, RpsRequest.class);
+
+    Set<ConstraintViolation<RpsRequest>> violations = validator.validate(request);
+    if (!violations.isEmpty()) {
+      throw new IllegalStateException("ウォームアップのリクエストが不正です: " + violations);
+    }
+
+    RpsResponse response = rpsService.warmUp(request);
+    return RpsResponseJsonWriter.toBytes(response);
+  }
+}
@@ -0,0 +1,356 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.binary;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsRequest;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsResponse;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.OutcomeTable;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RoundResult;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RuleSet;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Summary;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link RpsRequest} / {@link RpsResponse} のバイナリ形式（{@value #MEDIA_TYPE}）への変換。
+ *
+ * <p>ボット・負荷試験などの機械向けクライアント用。内容は JSON と同じ DTO をそのまま表し、形式だけが異なる。
+ *
+ * <p>形式（version 1）：数値はすべて符号なし 32bit の varint（LEB128、最大 5 バイト）。
+ *
+ * <pre>
+ * リクエスト：
+ *   [0] version
+ *   [1] 手（bit 0-1）| seed あり（bit 2）
+ *   opponents（varint）
+ *   seed（seed ありの場合のみ。8 バイト big-endian）
+ *
+ * レスポンス：
+ *   [0] version
+ *   [1] 自分の手（bit 0-1）| 相手番号が 1 からの連番（bit 2）
+ *   opponents（varint）
+ *   results の件数 n（varint）
+ *   相手番号 × n（varint。連番の場合は省略）
+ *   相手の手・勝敗 × n（1件 4bit = 手 2bit + 勝敗 2bit。1 バイトに 2 件、下位 4bit が先）
+ *   win / lose / draw（varint）
+ * </pre>
+ *
+ * <p>相手 10 人のレスポンスは 12 バイトになる（JSON は 600 バイト程度）。
+ *
+ * <p>通常のじゃんけん以外のルール（手のコードが 2bit に収まらない）は version 2 で表す。通常のじゃんけんは version 1 のまま。
+ *
+ * <pre>
+ * リクエスト（version 2）：
+ *   [0] version
+ *   [1] 手（bit 0-3）| seed あり（bit 4）
+ *   [2] ルール（{@link RuleSet#ordinal()}）
+ *   opponents（varint）
+ *   seed（seed ありの場合のみ。8 バイト big-endian）
+ *
+ * レスポンス（version 2。相手の手がすべて通常のじゃんけんの手なら version 1 で書く）：
+ *   [0] version
+ *   [1] 自分の手（bit 0-3）| 相手番号が 1 からの連番（bit 4）
+ *   opponents / results の件数 n / 相手番号 × n（version 1 と同じ）
+ *   相手の手・勝敗 × n（1件 1 バイト = 手 4bit + 勝敗 2bit）
+ *   win / lose / draw（varint）
+ * </pre>
+ */
+public final class RpsBinaryCodec {
+
+  /** バイナリ形式のメディアタイプ。 */
+  public static final String MEDIA_TYPE = "application/x-rps";
+
+  /** 形式のバージョン（先頭 1 バイト。通常のじゃんけん）。 */
+  public static final int VERSION = 1;
+
+  /** 通常のじゃんけん以外のルールを表す形式のバージョン。 */
+  public static final int VERSION_RULES = 2;
+
+  /** リクエストの最大長（version + flags + ルール + opponents + seed）。 */
+  public static final int MAX_REQUEST_LENGTH = 3 + 5 + Long.BYTES;
+
+  private static final int MAX_VARINT_LENGTH = 5;
+
+  private static final Hand[] HANDS = Hand.values();
+
+  private RpsBinaryCodec() {}
+
+  /**
+   * リクエストをバイナリにする（クライアント・テスト用）。
+   *
+   * @param request リクエスト（hand は null 不可）
+   * @return バイナリ
+   */
+  public static byte[] encodeRequest(RpsRequest request) {
+    byte[] buffer = new byte[MAX_REQUEST_LENGTH];
+    int version = (request.ruleSet() == RuleSet.CLASSIC) ? VERSION : VERSION_RULES;
+    buffer[0] = (byte) version;
+    int flags = OutcomeTable.encode(request.hand()) | (request.seed() != null ? flag(version) : 0);
+    buffer[1] = (byte) flags;
+    int pos = 2;
+    if (version == VERSION_RULES) {
+      buffer[pos++] = (byte) request.ruleSet().ordinal();
+    }
+    pos = putVarint(buffer, pos, request.opponents());
+    if (request.seed() != null) {
+      long seed = request.seed();
+      for (int shift = Long.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+        buffer[pos++] = (byte) (seed >>> shift);
+      }
+    }
+    return Arrays.copyOf(buffer, pos);
+  }
+
+  /**
+   * バイナリからリクエストを読み取る。
+   *
+   * <p>値の範囲（opponents 1〜10 等）はここでは確認しない（JSON と同じく Bean Validation で検証する）。
+   *
+   * @param bytes バイナリ
+   * @return リクエスト
+   * @throws RpsBinaryFormatException 形式が不正な場合
+   */
+  public static RpsRequest decodeRequest(byte[] bytes) {
+    Reader reader = new Reader(bytes);
+    int version = reader.version();
+    int flags = reader.readFlags(version, flag(version));
+    Hand hand = hand(version, flags & codeMask(version));
+    RuleSet ruleSet = (version == VERSION) ? RuleSet.CLASSIC : ruleSet(reader.readByte());
+    int opponents = reader.readVarint();
+    Long seed = null;
+    if ((flags & flag(version)) != 0) {
+      long value = 0;
+      for (int i = 0; i < Long.BYTES; i++) {
+        value = (value << Byte.SIZE) | reader.readByte();
+      }
+      seed = value;
+    }
+    reader.end();
+    return new RpsRequest(hand, opponents, seed, ruleSet);
+  }
+
+  /**
+   * レスポンスをバイナリにする。
+   *
+   * @param response レスポンス（各値は null 不可）
+   * @return バイナリ
+   */
+  public static byte[] encodeResponse(RpsResponse response) {
+    List<RoundResult> results = response.results();
+    int size = results.size();
+    boolean sequential = isSequential(results);
+    int version = isClassic(response) ? VERSION : VERSION_RULES;
+
+    // version + flags + varint 5 個 + 相手番号 + 手・勝敗（1件 4bit または 1 バイト）
+    int bound = 2 + 5 * MAX_VARINT_LENGTH + (sequential ? 0 : size * MAX_VARINT_LENGTH) + size;
+    byte[] buffer = new byte[bound];
+    buffer[0] = (byte) version;
+    buffer[1] =
+        (byte) (OutcomeTable.encode(response.playerHand()) | (sequential ? flag(version) : 0));
+    int pos = putVarint(buffer, 2, response.opponents());
+    pos = putVarint(buffer, pos, size);
+    if (!sequential) {
+      for (RoundResult round : results) {
+        pos = putVarint(buffer, pos, round.opponentIndex());
+      }
+    }
+    if (version == VERSION) {
+      for (int i = 0; i < size; i += 2) {
+        int low = nibble(results.get(i));
+        int high = (i + 1 < size) ? nibble(results.get(i + 1)) : 0;
+        buffer[pos++] = (byte) (low | (high << 4));
+      }
+    } else {
+      for (RoundResult round : results) {
+        buffer[pos++] =
+            (byte) (OutcomeTable.encode(round.opponentHand()) | (round.result().ordinal() << 4));
+      }
+    }
+
+    Summary summary = response.summary();
+    pos = putVarint(buffer, pos, summary.win());
+    pos = putVarint(buffer, pos, summary.lose());
+    pos = putVarint(buffer, pos, summary.draw());
+    return Arrays.copyOf(buffer, pos);
+  }
+
+  /**
+   * バイナリからレスポンスを読み取る（クライアント・テスト用）。
+   *
+   * @param bytes バイナリ
+   * @return レスポンス
+   * @throws RpsBinaryFormatException 形式が不正な場合
+   */
+  public static RpsResponse decodeResponse(byte[] bytes) {
+    Reader reader = new Reader(bytes);
+    int version = reader.version();
+    int flags = reader.readFlags(version, flag(version));
+    boolean sequential = (flags & flag(version)) != 0;
+    Hand playerHand = hand(version, flags & codeMask(version));
+    int opponents = reader.readVarint();
+    int size = reader.readVarint();
+    if (size < 0 || size > bytes.length * 2) {
+      throw new RpsBinaryFormatException("results の件数が不正です: " + size);
+    }
+
+    int[] indexes = new int[size];
+    for (int i = 0; i < size; i++) {
+      indexes[i] = sequential ? i + 1 : reader.readVarint();
+    }
+    List<RoundResult> results = new ArrayList<>(size);
+    int packed = 0;
+    for (int i = 0; i < size; i++) {
+      int code;
+      int resultShift;
+      if (version == VERSION) {
+        if ((i & 1) == 0) {
+          packed = reader.readByte();
+        }
+        code = (packed >>> ((i & 1) * 4)) & 0xF;
+        resultShift = 2;
+      } else {
+        code = reader.readByte();
+        resultShift = 4;
+      }
+      results.add(
+          new RoundResult(
+              indexes[i],
+              hand(version, code & codeMask(version)),
+              OutcomeTable.decodeResult(result(code >>> resultShift))));
+    }
+
+    Summary summary = new Summary(reader.readVarint(), reader.readVarint(), reader.readVarint());
+    reader.end();
+    return new RpsResponse(playerHand, opponents, results, summary);
+  }
+
+  private static boolean isSequential(List<RoundResult> results) {
+    for (int i = 0, size = results.size(); i < size; i++) {
+      if (results.get(i).opponentIndex() != i + 1) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** 自分の手・相手の手がすべて通常のじゃんけんの手か（version 1 で書けるか）。 */
+  private static boolean isClassic(RpsResponse response) {
+    if (OutcomeTable.encode(response.playerHand()) >= OutcomeTable.HAND_COUNT) {
+      return false;
+    }
+    for (RoundResult round : response.results()) {
+      if (OutcomeTable.encode(round.opponentHand()) >= OutcomeTable.HAND_COUNT) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** 相手1人分の手（下位 2bit）と勝敗（上位 2bit）。 */
+  private static int nibble(RoundResult round) {
+    return OutcomeTable.encode(round.opponentHand()) | (round.result().ordinal() << 2);
+  }
+
+  /** version ごとの手のコードのマスク（version 1 は 2bit、version 2 は 4bit）。 */
+  private static int codeMask(int version) {
+    return (version == VERSION) ? 0b11 : 0b1111;
+  }
+
+  /** version ごとのフラグ（seed あり / 連番）のビット（手のコードのすぐ上）。 */
+  private static int flag(int version) {
+    return codeMask(version) + 1;
+  }
+
+  private static Hand hand(int version, int code) {
+    int limit = (version == VERSION) ? OutcomeTable.HAND_COUNT : HANDS.length;
+    if (code >= limit) {
+      throw new RpsBinaryFormatException("手のコードが不正です: " + code);
+    }
+    return HANDS[code];
+  }
+
+  private static RuleSet ruleSet(int code) {
+    RuleSet[] ruleSets = RuleSet.values();
+    if (code >= ruleSets.length) {
+      throw new RpsBinaryFormatException("ルールのコードが不正です: " + code);
+    }
+    return ruleSets[code];
+  }
+
+  private static int result(int code) {
+    if (code >= OutcomeTable.RESULT_COUNT) {
+      throw new RpsBinaryFormatException("勝敗のコードが不正です: " + code);
+    }
+    return code;
+  }
+
+  /**
+   * 符号なし 32bit の varint を書き込む。
+   *
+   * @param buffer 書き込み先
+   * @param pos 書き込み位置
+   * @param value 値（負の数は 32bit の符号なし整数として扱う）
+   * @return 書き込み後の位置
+   */
+  static int putVarint(byte[] buffer, int pos, int value) {
+    while ((value & ~0x7F) != 0) {
+      buffer[pos++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    buffer[pos++] = (byte) value;
+    return pos;
+  }
+
+  /** 先頭から順に読み取る（範囲外・余りは形式不正とする）。 */
+  private static final class Reader {
+
+    private final byte[] bytes;
+    private int pos;
+
+    Reader(byte[] bytes) {
+      this.bytes = bytes;
+    }
+
+    int version() {
+      int version = readByte();
+      if (version != VERSION && version != VERSION_RULES) {
+        throw new RpsBinaryFormatException("対応していないバージョンです: " + version);
+      }
+      return version;
+    }
+
+    /** 手のコードと指定したフラグ以外のビットが立っていないことを確認して読み取る。 */
+    int readFlags(int version, int allowedFlags) {
+      int flags = readByte();
+      if ((flags & ~(codeMask(version) | allowedFlags)) != 0) {
+        throw new RpsBinaryFormatException("未定義のフラグが指定されています: " + flags);
+      }
+      return flags;
+    }
+
+    int readByte() {
+      if (pos >= bytes.length) {
+        throw new RpsBinaryFormatException("データが途中で終わっています");
+      }
+      return bytes[pos++] & 0xFF;
+    }
+
+    int readVarint() {
+      int value = 0;
+      for (int shift = 0; shift < 7 * MAX_VARINT_LENGTH; shift += 7) {
+        int b = readByte();
+        value |= (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new RpsBinaryFormatException("varint が長すぎます");
+    }
+
+    void end() {
+      if (pos != bytes.length) {
+        throw new RpsBinaryFormatException("余分なデータがあります: " + (bytes.length - pos) + " バイト");
+      }
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.binary;
+
+/** バイナリ形式（{@value RpsBinaryCodec#MEDIA_TYPE}）のデータが不正であることを表す例外。 */
+public class RpsBinaryFormatException extends IllegalArgumentException {
+
+  /**
+   * 例外を生成する。
+   *
+   * @param message 不正の内容（エラーレスポンスの details に出す）
+   */
+  public RpsBinaryFormatException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,72 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.binary;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsRequest;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code POST /api/rps} のバイナリ形式（{@value RpsBinaryCodec#MEDIA_TYPE}）の HttpMessageConverter。
+ *
+ * <ul>
+ *   <li>読み取り：Content-Type が {@value RpsBinaryCodec#MEDIA_TYPE} の {@link RpsRequest}
+ *   <li>書き出し：Accept に {@value RpsBinaryCodec#MEDIA_TYPE} を含む場合の {@link RpsResponse}
+ * </ul>
+ *
+ * <p>JSON の converter より後ろに並べ、Accept の指定がない（{@code *}{@code /*}）場合は従来どおり JSON を返す。
+ */
+@Component
+@Order(1)
+public class RpsBinaryHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+  /** バイナリ形式のメディアタイプ。 */
+  public static final MediaType RPS_BINARY = MediaType.parseMediaType(RpsBinaryCodec.MEDIA_TYPE);
+
+  public RpsBinaryHttpMessageConverter() {
+    super(RPS_BINARY);
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return RpsRequest.class == clazz || RpsResponse.class == clazz;
+  }
+
+  @Override
+  public boolean canRead(Class<?> clazz, MediaType mediaType) {
+    return RpsRequest.class == clazz && canRead(mediaType);
+  }
+
+  @Override
+  public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+    return RpsResponse.class == clazz && canWrite(mediaType);
+  }
+
+  @Override
+  protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage)
+      throws IOException {
+    // リクエストは最大でも数バイトのため、上限 + 1 バイトまで読んで長すぎるものは不正とする
+    InputStream body = inputMessage.getBody();
+    byte[] bytes = body.readNBytes(RpsBinaryCodec.MAX_REQUEST_LENGTH + 1);
+    try {
+      if (bytes.length > RpsBinaryCodec.MAX_REQUEST_LENGTH) {
+        throw new RpsBinaryFormatException("リクエストが長すぎます");
+      }
+      return RpsBinaryCodec.decodeRequest(bytes);
+    } catch (RpsBinaryFormatException e) {
+      throw new HttpMessageNotReadableException(e.getMessage(), e, inputMessage);
+    }
+  }
+
+  @Override
+  protected void writeInternal(Object response, HttpOutputMessage outputMessage)
+      throws IOException {
+    outputMessage.getBody().write(RpsBinaryCodec.encodeResponse((RpsResponse) response));
+  }
+}
@@ -0,0 +1,23 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * じゃんけん一括実行APIのリクエストDTO。
+ *
+ * <p>各要素は {@link RpsRequest} と同じ制約で検証する（@Valid により1回の検証で全件をチェックする）。
+ *
+ * @param games 1ゲーム分のリクエストの一覧（1〜{@value #MAX_GAMES}件）
+ */
+public record RpsBatchRequest(
+    @NotEmpty(message = "games は1件以上で指定してください")
+        @Size(max = RpsBatchRequest.MAX_GAMES, message = "games は {max} 件以下で指定してください")
+        List<@Valid @NotNull(message = "games の要素は必須です") RpsRequest> games) {
+
+  /** 1リクエストで実行できるゲーム数の上限。 */
+  public static final int MAX_GAMES = 1000;
+}
@@ -0,0 +1,33 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RuleSet;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * 多人数じゃんけんAPIのリクエストDTO。
+ *
+ * <p>多人数じゃんけんは通常のじゃんけん（{@link RuleSet#CLASSIC}）のみ。
+ *
+ * @param hand 自分の手（必須。ROCK / PAPER / SCISSORS。毎回同じ手を出す）
+ * @param participants 自分を含む参加人数（2〜100万）
+ * @param seed 相手の手を生成する乱数のシード（任意。同じシードなら同じ経過になる）
+ */
+public record RpsGroupRequest(
+    @NotNull(message = "hand は必須です") Hand hand,
+    @Min(value = 2, message = "participants は 2 以上で指定してください")
+        @Max(value = 1_000_000, message = "participants は 1000000 以下で指定してください")
+        int participants,
+    Long seed) {
+
+  /** hand が通常のじゃんけんの手かを返す（hand が null の場合は @NotNull 側でエラーにする）。 */
+  @JsonIgnore
+  @AssertTrue(message = "hand は ROCK / PAPER / SCISSORS のいずれかで指定してください")
+  public boolean isHandAllowed() {
+    return hand == null || RuleSet.CLASSIC.allows(hand);
+  }
+}
@@ -0,0 +1,23 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.dto;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+
+/**
+ * 多人数じゃんけんAPIのレスポンスDTO。
+ *
+ * @param playerHand 自分の手
+ * @param participants 自分を含む参加人数
+ * @param rounds 決着までの回数（あいこのやり直しを含む）
+ * @param drawRounds そのうちあいこだった回数
+ * @param resolved 1人になるまで決着したか（回数の上限で打ち切った場合は false）
+ * @param playerWon 自分が最後の1人になったか
+ * @param playerEliminatedRound 自分が負けた回（1始まり。負けていない場合は null）
+ */
+public record RpsGroupResponse(
+    Hand playerHand,
+    int participants,
+    int rounds,
+    int drawRounds,
+    boolean resolved,
+    boolean playerWon,
+    Integer playerEliminatedRound) {}
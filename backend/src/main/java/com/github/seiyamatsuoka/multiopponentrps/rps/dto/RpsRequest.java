@@ -1,18 +1,109 @@
 package com.github.seiyamatsuoka.multiopponentrps.rps.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.OpponentStrategy;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RuleSet;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 /**
  * じゃんけんAPIのリクエストDTO。
  *
- * @param hand 自分の手（必須）
+ * @param hand 自分の手（必須。ruleSet で使える手）
  * @param opponents 対戦相手の人数（1〜10）
+ * @param seed 相手の手を生成する乱数のシード（任意。同じシードなら同じ相手の手になる）
+ * @param ruleSet ルール（任意。省略時は通常のじゃんけん）
+ * @param strategy 相手の手の決め方（任意。省略時は RANDOM。RANDOM 以外は通常のじゃんけんで session と一緒に指定する）
+ * @param session 自分の手の履歴を覚えるセッションのキー（任意。64 文字以下。通常のじゃんけんのみ覚える）
  */
 public record RpsRequest(
     @NotNull(message = "hand は必須です") Hand hand,
     @Min(value = 1, message = "opponents は 1 以上で指定してください")
-        @Max(value = 10, message = "opponents は 10 以下で指定してください")
-        int opponents) {}
+        @Max(value = RpsRequest.MAX_OPPONENTS, message = "opponents は 10 以下で指定してください")
+        int opponents,
+    Long seed,
+    RuleSet ruleSet,
+    OpponentStrategy strategy,
+    @Size(max = RpsRequest.MAX_SESSION_LENGTH, message = "session は 64 文字以下で指定してください")
+        String session) {
+
+  /** 1回のじゃんけんの相手人数の上限。 */
+  public static final int MAX_OPPONENTS = 10;
+
+  /** セッションのキーの最大長。 */
+  public static final int MAX_SESSION_LENGTH = 64;
+
+  /** ruleSet の省略時は通常のじゃんけん、strategy の省略時は RANDOM にする。 */
+  public RpsRequest {
+    if (ruleSet == null) {
+      ruleSet = RuleSet.CLASSIC;
+    }
+    if (strategy == null) {
+      strategy = OpponentStrategy.RANDOM;
+    }
+  }
+
+  /**
+   * ルールを指定したリクエストを生成する（相手の手はランダム、セッションなし）。
+   *
+   * @param hand 自分の手
+   * @param opponents 対戦相手の人数
+   * @param seed 乱数のシード（null 可）
+   * @param ruleSet ルール（null なら通常のじゃんけん）
+   */
+  public RpsRequest(Hand hand, int opponents, Long seed, RuleSet ruleSet) {
+    this(hand, opponents, seed, ruleSet, OpponentStrategy.RANDOM, null);
+  }
+
+  /**
+   * 通常のじゃんけんのリクエストを生成する。
+   *
+   * @param hand 自分の手
+   * @param opponents 対戦相手の人数
+   * @param seed 乱数のシード（null 可）
+   */
+  public RpsRequest(Hand hand, int opponents, Long seed) {
+    this(hand, opponents, seed, RuleSet.CLASSIC);
+  }
+
+  /**
+   * シードなしのリクエストを生成する。
+   *
+   * @param hand 自分の手
+   * @param opponents 対戦相手の人数
+   */
+  public RpsRequest(Hand hand, int opponents) {
+    this(hand, opponents, null);
+  }
+
+  /** hand が ruleSet で使える手かを返す（hand が null の場合は @NotNull 側でエラーにする）。 */
+  @JsonIgnore
+  @AssertTrue(message = "hand は ruleSet で使える手で指定してください")
+  public boolean isHandAllowed() {
+    return hand == null || ruleSet.allows(hand);
+  }
+
+  /** RANDOM 以外の strategy は通常のじゃんけんでのみ指定できる。 */
+  @JsonIgnore
+  @AssertTrue(message = "strategy は ruleSet が CLASSIC の場合のみ指定できます")
+  public boolean isStrategyAllowed() {
+    return strategy == OpponentStrategy.RANDOM || ruleSet == RuleSet.CLASSIC;
+  }
+
+  /** RANDOM 以外の strategy には session が必要（履歴がないと予想できないため）。 */
+  @JsonIgnore
+  @AssertTrue(message = "strategy を指定する場合は session も指定してください")
+  public boolean isSessionAllowed() {
+    return strategy == OpponentStrategy.RANDOM || hasSession();
+  }
+
+  /** 履歴を覚えるセッションが指定されているかを返す（空白のみは指定なしとみなす）。 */
+  @JsonIgnore
+  public boolean hasSession() {
+    return session != null && !session.isBlank();
+  }
+}
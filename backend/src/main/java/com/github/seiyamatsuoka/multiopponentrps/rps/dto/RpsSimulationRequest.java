@@ -0,0 +1,37 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RuleSet;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * 大人数シミュレーションAPIのリクエストDTO。
+ *
+ * <p>シミュレーションは通常のじゃんけん（{@link RuleSet#CLASSIC}）のみ。
+ *
+ * @param hand 自分の手（必須。ROCK / PAPER / SCISSORS）
+ * @param opponents 対戦相手の人数（1〜10億）
+ * @param samples レスポンスに含める相手ごとの結果の件数（0〜100、省略時は0）
+ * @param seed 相手の手を生成する乱数のシード（任意。同じシードなら同じ集計になる）
+ */
+public record RpsSimulationRequest(
+    @NotNull(message = "hand は必須です") Hand hand,
+    @Min(value = 1, message = "opponents は 1 以上で指定してください")
+        @Max(value = 1_000_000_000L, message = "opponents は 1000000000 以下で指定してください")
+        long opponents,
+    @Min(value = 0, message = "samples は 0 以上で指定してください")
+        @Max(value = 100, message = "samples は 100 以下で指定してください")
+        int samples,
+    Long seed) {
+
+  /** hand が通常のじゃんけんの手かを返す（hand が null の場合は @NotNull 側でエラーにする）。 */
+  @JsonIgnore
+  @AssertTrue(message = "hand は ROCK / PAPER / SCISSORS のいずれかで指定してください")
+  public boolean isHandAllowed() {
+    return hand == null || RuleSet.CLASSIC.allows(hand);
+  }
+}
@@ -0,0 +1,17 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.dto;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RoundResult;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Summary;
+import java.util.List;
+
+/**
+ * 大人数シミュレーションAPIのレスポンスDTO。
+ *
+ * @param playerHand 自分の手
+ * @param opponents 対戦相手の人数
+ * @param samples 先頭の相手（最大 samples 人）の結果
+ * @param summary 相手全員分の集計
+ */
+public record RpsSimulationResponse(
+    Hand playerHand, long opponents, List<RoundResult> samples, Summary summary) {}
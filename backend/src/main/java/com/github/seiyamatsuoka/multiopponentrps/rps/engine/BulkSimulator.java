@@ -0,0 +1,95 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.engine;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+/**
+ * 大人数の相手の手を生成しながら数えるシミュレータ。
+ *
+ * <p>方針：
+ *
+ * <ul>
+ *   <li>相手ごとの手・結果は保持せず、手ごとの件数（{@link HandTally}）だけを数える（メモリは人数に依存しない）
+ *   <li>手の生成・集計は {@link PackedHands} で 1 つの乱数ワードから最大 32 人分をまとめて行う
+ *   <li>人数が多い場合は fork/join で分割し、CPU コアに分散させる
+ *   <li>分割したタスクには乱数も {@link SplittableGenerator#split()} で分けて渡す（タスク間で乱数を共有しない）
+ * </ul>
+ *
+ * <p>分割の手順は人数だけで決まるため、シード付きの乱数を渡せば実行スレッドに関係なく同じ集計になる。
+ */
+public final class BulkSimulator {
+
+  /** これ以下の人数は分割せずに1タスクで数える。 */
+  static final long LEAF_SIZE = 1L << 20;
+
+  private final ForkJoinPool pool;
+
+  /**
+   * コンストラクタ。
+   *
+   * @param pool 分割したタスクを実行するプール
+   */
+  public BulkSimulator(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  /**
+   * 相手の手を人数分ランダムに生成し、手ごとの件数を返す。
+   *
+   * @param opponents 相手人数（0以上）
+   * @param random 分割可能な乱数（呼び出し後は使わないこと）
+   * @return 手ごとの件数
+   */
+  public HandTally tally(long opponents, SplittableGenerator random) {
+    if (opponents <= LEAF_SIZE) {
+      return tallyLeaf(opponents, random);
+    }
+    return pool.invoke(new TallyTask(opponents, random));
+  }
+
+  /**
+   * 分割せずに数える。
+   *
+   * @param opponents 相手人数
+   * @param random このタスク専用の乱数
+   * @return 手ごとの件数
+   */
+  static HandTally tallyLeaf(long opponents, RandomGenerator random) {
+    long[] counts = new long[OutcomeTable.HAND_COUNT];
+    PackedHands.tally(random, opponents, counts);
+
+    HandTally tally = new HandTally();
+    for (int hand = 0; hand < counts.length; hand++) {
+      tally.add(hand, counts[hand]);
+    }
+    return tally;
+  }
+
+  /** 人数を半分ずつに分割して数えるタスク。 */
+  private static final class TallyTask extends RecursiveTask<HandTally> {
+
+    private final long opponents;
+    private final SplittableGenerator random;
+
+    TallyTask(long opponents, SplittableGenerator random) {
+      this.opponents = opponents;
+      this.random = random;
+    }
+
+    @Override
+    protected HandTally compute() {
+      if (opponents <= LEAF_SIZE) {
+        return tallyLeaf(opponents, random);
+      }
+
+      // 左半分には分割した乱数を渡し、右半分はこのタスクの乱数をそのまま使う
+      long half = opponents / 2;
+      TallyTask left = new TallyTask(half, random.split());
+      left.fork();
+      HandTally right = new TallyTask(opponents - half, random).compute();
+      return right.merge(left.join());
+    }
+  }
+}
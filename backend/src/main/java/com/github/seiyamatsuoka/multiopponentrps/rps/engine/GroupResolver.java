@@ -0,0 +1,130 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.engine;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * 全員が同時に手を出す「多人数じゃんけん」を、勝ち残りが1人になるまで繰り返す判定。
+ *
+ * <p>方針：
+ *
+ * <ul>
+ *   <li>相手ごとの比較はせず、1回ごとに手ごとの人数（3 枠のヒストグラム）だけを {@link PackedHands#tally} で数えて決める
+ *   <li>手ごとの点数を「その手が勝つ手の人数 - その手に勝つ手の人数」とし、点数が最小の手を出した人を負けにする
+ *   <li>出ている手がすべて同じ点数（1 種類だけ・3 種類が同数など）ならあいことして、同じ人数でやり直す
+ * </ul>
+ *
+ * <p>出ている手が 2 種類なら通常のじゃんけんと同じく負けた手の人だけが抜ける。3 種類が出た場合も人数の偏りで決着させるため、
+ * 数千人以上でもあいこが続かない（1回ごとにおよそ 1/3 ずつ減る）。
+ *
+ * <p>誰が残ったかは人数でしか持たない（相手は区別しない）ため、メモリは人数・回数に依存しない。
+ */
+public final class GroupResolver {
+
+  /** やり直しを含めた回数の上限（これに達したら決着していなくても打ち切る）。 */
+  public static final int MAX_ROUNDS = 1000;
+
+  private GroupResolver() {}
+
+  /**
+   * 自分を含む participants 人で、1人になるまでじゃんけんを繰り返す。
+   *
+   * <p>自分は毎回同じ手を出し、相手の手は毎回ランダムに生成する。自分が負けた後も、決着するまで残りの人で続ける。
+   *
+   * @param playerCode 自分の手のコード（通常のじゃんけんの手）
+   * @param participants 自分を含む人数（1以上）
+   * @param random 乱数生成器
+   * @return 決着までの経過
+   */
+  public static Outcome resolve(int playerCode, long participants, RandomGenerator random) {
+    long[] counts = new long[OutcomeTable.HAND_COUNT];
+    long remaining = participants;
+    boolean playerAlive = true;
+    int rounds = 0;
+    int drawRounds = 0;
+    int playerEliminatedRound = 0;
+
+    while (remaining > 1 && rounds < MAX_ROUNDS) {
+      rounds++;
+      Arrays.fill(counts, 0);
+      PackedHands.tally(random, playerAlive ? remaining - 1 : remaining, counts);
+      if (playerAlive) {
+        counts[playerCode]++;
+      }
+
+      int eliminated = eliminatedHands(counts);
+      if (eliminated == 0) {
+        drawRounds++;
+        continue;
+      }
+      for (int hand = 0; hand < counts.length; hand++) {
+        if ((eliminated & (1 << hand)) != 0) {
+          remaining -= counts[hand];
+        }
+      }
+      if (playerAlive && (eliminated & (1 << playerCode)) != 0) {
+        playerAlive = false;
+        playerEliminatedRound = rounds;
+      }
+    }
+    return new Outcome(rounds, drawRounds, remaining, playerAlive, playerEliminatedRound);
+  }
+
+  /**
+   * 手ごとの人数から、負けになる手を求める。
+   *
+   * @param counts 手のコードごとの人数（長さ {@link OutcomeTable#HAND_COUNT}）
+   * @return 負けになる手のコードのビットマスク（あいこなら 0）
+   */
+  static int eliminatedHands(long[] counts) {
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    long[] scores = new long[OutcomeTable.HAND_COUNT];
+    for (int hand = 0; hand < counts.length; hand++) {
+      if (counts[hand] == 0) {
+        continue;
+      }
+      long score = 0;
+      for (int other = 0; other < counts.length; other++) {
+        int result = OutcomeTable.judge(hand, other);
+        if (result == OutcomeTable.WIN) {
+          score += counts[other];
+        } else if (result == OutcomeTable.LOSE) {
+          score -= counts[other];
+        }
+      }
+      scores[hand] = score;
+      min = Math.min(min, score);
+      max = Math.max(max, score);
+    }
+    if (min == max) {
+      return 0;
+    }
+
+    int eliminated = 0;
+    for (int hand = 0; hand < counts.length; hand++) {
+      if (counts[hand] > 0 && scores[hand] == min) {
+        eliminated |= 1 << hand;
+      }
+    }
+    return eliminated;
+  }
+
+  /**
+   * 決着までの経過。
+   *
+   * @param rounds やり直しを含めた回数
+   * @param drawRounds そのうちあいこだった回数
+   * @param remaining 最後に残った人数（決着していれば 1）
+   * @param playerAlive 自分が最後まで残ったか
+   * @param playerEliminatedRound 自分が負けた回（1始まり。残った場合は 0）
+   */
+  public record Outcome(
+      int rounds, int drawRounds, long remaining, boolean playerAlive, int playerEliminatedRound) {
+
+    /** 1人になるまで決着したかを返す。 */
+    public boolean resolved() {
+      return remaining == 1;
+    }
+  }
+}
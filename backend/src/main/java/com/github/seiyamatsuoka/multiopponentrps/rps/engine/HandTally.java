@@ -0,0 +1,81 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.engine;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Summary;
+
+/**
+ * 相手の手の出現回数（手のコードごとの件数）。
+ *
+ * <p>大人数のシミュレーションでは相手ごとの結果を持たず、手ごとの件数だけを数える。勝敗の集計は最後に {@link OutcomeTable} から求める。
+ */
+public final class HandTally {
+
+  private final long[] counts = new long[OutcomeTable.HAND_COUNT];
+
+  /**
+   * 手を1件数える。
+   *
+   * @param handCode 手のコード
+   */
+  public void add(int handCode) {
+    counts[handCode]++;
+  }
+
+  /**
+   * 手をまとめて数える。
+   *
+   * @param handCode 手のコード
+   * @param count 件数
+   */
+  public void add(int handCode, long count) {
+    counts[handCode] += count;
+  }
+
+  /**
+   * 別の集計を足し込む（fork/join の結果の統合に使う）。
+   *
+   * @param other 足し込む集計
+   * @return this
+   */
+  public HandTally merge(HandTally other) {
+    for (int hand = 0; hand < counts.length; hand++) {
+      counts[hand] += other.counts[hand];
+    }
+    return this;
+  }
+
+  /**
+   * 指定した手の件数を返す。
+   *
+   * @param handCode 手のコード
+   * @return 件数
+   */
+  public long count(int handCode) {
+    return counts[handCode];
+  }
+
+  /** 数えた件数の合計を返す。 */
+  public long total() {
+    long total = 0;
+    for (long count : counts) {
+      total += count;
+    }
+    return total;
+  }
+
+  /**
+   * 自分の手から見た勝敗の集計に変換する。
+   *
+   * @param playerCode 自分の手のコード
+   * @return 集計（件数が int に収まらない場合は ArithmeticException）
+   */
+  public Summary toSummary(int playerCode) {
+    long[] byResult = new long[OutcomeTable.RESULT_COUNT];
+    for (int hand = 0; hand < counts.length; hand++) {
+      byResult[OutcomeTable.judge(playerCode, hand)] += counts[hand];
+    }
+    return new Summary(
+        Math.toIntExact(byResult[OutcomeTable.WIN]),
+        Math.toIntExact(byResult[OutcomeTable.LOSE]),
+        Math.toIntExact(byResult[OutcomeTable.DRAW]));
+  }
+}
@@ -0,0 +1,104 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.engine;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Result;
+
+/**
+ * 勝敗判定の事前計算テーブル（通常のじゃんけん）。
+ *
+ * <p>手を小さな int（コード）として扱い、「自分の手 × 相手の手」の 3x3 表から勝敗を引く。
+ *
+ * <ul>
+ *   <li>手のコードは {@link Hand#ordinal()}（ROCK=0 / PAPER=1 / SCISSORS=2）
+ *   <li>勝敗のコードは {@link Result#ordinal()}（WIN=0 / LOSE=1 / DRAW=2）
+ * </ul>
+ *
+ * <p>ほかのルールの判定は {@link RuleTable} で行う（手のコード・勝敗のコードは共通）。
+ */
+public final class OutcomeTable {
+
+  /** 通常のじゃんけんで使う手の種類数。 */
+  public static final int HAND_COUNT = 3;
+
+  /** 全ルールを通した手のコードの数（{@link Hand} の数）。 */
+  public static final int CODE_COUNT = Hand.values().length;
+
+  /** 勝敗の種類数。 */
+  public static final int RESULT_COUNT = 3;
+
+  /** 勝ちのコード。 */
+  public static final int WIN = Result.WIN.ordinal();
+
+  /** 負けのコード。 */
+  public static final int LOSE = Result.LOSE.ordinal();
+
+  /** あいこのコード。 */
+  public static final int DRAW = Result.DRAW.ordinal();
+
+  private static final Hand[] HANDS = Hand.values();
+  private static final Result[] RESULTS = Result.values();
+
+  /** [自分の手 * HAND_COUNT + 相手の手] → 勝敗コード。 */
+  private static final byte[] OUTCOMES = buildOutcomes();
+
+  private OutcomeTable() {}
+
+  /**
+   * 手をコードに変換する。
+   *
+   * @param hand 手（null不可）
+   * @return 手のコード
+   */
+  public static int encode(Hand hand) {
+    return hand.ordinal();
+  }
+
+  /**
+   * コードを手に戻す。
+   *
+   * @param code 手のコード
+   * @return 手
+   */
+  public static Hand decodeHand(int code) {
+    return HANDS[code];
+  }
+
+  /**
+   * コードを勝敗に戻す。
+   *
+   * @param code 勝敗のコード
+   * @return 勝敗
+   */
+  public static Result decodeResult(int code) {
+    return RESULTS[code];
+  }
+
+  /**
+   * 勝敗をテーブル参照で判定する。
+   *
+   * @param playerCode 自分の手のコード
+   * @param opponentCode 相手の手のコード
+   * @return 勝敗コード
+   */
+  public static int judge(int playerCode, int opponentCode) {
+    return OUTCOMES[playerCode * HAND_COUNT + opponentCode];
+  }
+
+  /**
+   * 3x3 の勝敗テーブルを組み立てる。
+   *
+   * <p>ROCK → PAPER → SCISSORS の並びでは「1つ後ろの手が1つ前の手に勝つ」巡回になっているため、 (自分 - 相手) mod 3 が 1 なら勝ち、2
+   * なら負けとなる。
+   */
+  private static byte[] buildOutcomes() {
+    byte[] outcomes = new byte[HAND_COUNT * HAND_COUNT];
+    for (int player = 0; player < HAND_COUNT; player++) {
+      for (int opponent = 0; opponent < HAND_COUNT; opponent++) {
+        int diff = Math.floorMod(player - opponent, HAND_COUNT);
+        int code = (diff == 0) ? DRAW : (diff == 1) ? WIN : LOSE;
+        outcomes[player * HAND_COUNT + opponent] = (byte) code;
+      }
+    }
+    return outcomes;
+  }
+}
@@ -0,0 +1,134 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.engine;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * 1つの乱数ワード（long）から手をまとめて取り出すためのビット演算。
+ *
+ * <p>方針：
+ *
+ * <ul>
+ *   <li>long を 2bit × 32 個の枠として扱い、各枠の値 0/1/2 をそのまま手のコード（ROCK/PAPER/SCISSORS）にする
+ *   <li>値 3 の枠は捨てる（棄却サンプリング）。各枠は 0〜3 が等確率なので、残った枠の手は 3 種類で等確率になる
+ *   <li>件数だけが必要な場合は、手ごとのビットマスクを作って {@link Long#bitCount(long)} で 32 枠をまとめて数える
+ *   <li>ほかのルール（N 手）は枠の幅を N を表せる最小のビット数にし、N 以上の値の枠を捨てる（5 手・7 手は 3bit × 21 枠）
+ * </ul>
+ */
+public final class PackedHands {
+
+  /** 1ワードに含まれる枠の数。 */
+  static final int SLOTS_PER_WORD = Long.SIZE / 2;
+
+  /** 各枠の下位ビットだけを立てたマスク（0b0101...）。 */
+  private static final long LOW_BITS = 0x5555_5555_5555_5555L;
+
+  /** 棄却する枠の値。 */
+  private static final int REJECTED = 3;
+
+  private PackedHands() {}
+
+  /**
+   * 相手の手を count 人分ランダムに生成し、手ごとの件数を counts に足し込む。
+   *
+   * @param random 乱数生成器
+   * @param count 人数（0以上）
+   * @param counts 手のコードごとの件数（長さ {@link OutcomeTable#HAND_COUNT}）
+   */
+  public static void tally(RandomGenerator random, long count, long[] counts) {
+    long remaining = count;
+    while (remaining > 0) {
+      long word = random.nextLong();
+      long low = word & LOW_BITS;
+      long high = (word >>> 1) & LOW_BITS;
+
+      // 枠の値ごとに「その値の枠だけ下位ビットが立つ」マスクを作る（値 3 = high & low は数えない）
+      int rock = Long.bitCount(~high & ~low & LOW_BITS);
+      int paper = Long.bitCount(~high & low);
+      int scissors = Long.bitCount(high & ~low);
+      int valid = rock + paper + scissors;
+
+      if (valid <= remaining) {
+        counts[0] += rock;
+        counts[1] += paper;
+        counts[2] += scissors;
+        remaining -= valid;
+      } else {
+        // 最後のワードは必要な人数分だけ、枠の順に取り出す
+        remaining -= tallyFirst(word, (int) remaining, counts);
+      }
+    }
+  }
+
+  /**
+   * 相手の手を buffer にランダムに追加する（1ワードから最大 32 人分を取り出す）。
+   *
+   * @param random 乱数生成器
+   * @param count 人数（0以上）
+   * @param buffer 追加先
+   */
+  public static void fill(RandomGenerator random, int count, RoundBuffer buffer) {
+    int remaining = count;
+    while (remaining > 0) {
+      long word = random.nextLong();
+      for (int slot = 0; slot < SLOTS_PER_WORD && remaining > 0; slot++) {
+        int code = slotValue(word, slot);
+        if (code != REJECTED) {
+          buffer.add(code);
+          remaining--;
+        }
+      }
+    }
+  }
+
+  /**
+   * 相手の手を、ルールで使える手から buffer にランダムに追加する。
+   *
+   * <p>枠の値 v（0 〜 N - 1）を、使える手のうちコードが小さい方から v 番目の手にする。
+   *
+   * @param random 乱数生成器
+   * @param count 人数（0以上）
+   * @param buffer 追加先
+   * @param rules ルールのテーブル
+   */
+  public static void fill(RandomGenerator random, int count, RoundBuffer buffer, RuleTable rules) {
+    int bits = rules.slotBits();
+    int slots = Long.SIZE / bits;
+    int mask = (1 << bits) - 1;
+    int hands = rules.handCount();
+    int remaining = count;
+    while (remaining > 0) {
+      long word = random.nextLong();
+      for (int slot = 0; slot < slots && remaining > 0; slot++) {
+        int value = (int) (word >>> (slot * bits)) & mask;
+        if (value < hands) {
+          buffer.add(rules.code(value));
+          remaining--;
+        }
+      }
+    }
+  }
+
+  /**
+   * ワード内の有効な枠を先頭から limit 件まで数える。
+   *
+   * @param word 乱数ワード
+   * @param limit 数える上限
+   * @param counts 手のコードごとの件数（足し込み先）
+   * @return 数えた件数
+   */
+  private static int tallyFirst(long word, int limit, long[] counts) {
+    int taken = 0;
+    for (int slot = 0; slot < SLOTS_PER_WORD && taken < limit; slot++) {
+      int code = slotValue(word, slot);
+      if (code != REJECTED) {
+        counts[code]++;
+        taken++;
+      }
+    }
+    return taken;
+  }
+
+  private static int slotValue(long word, int slot) {
+    return (int) (word >>> (slot * 2)) & 0b11;
+  }
+}
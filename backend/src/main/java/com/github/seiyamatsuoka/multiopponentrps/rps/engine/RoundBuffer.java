@@ -0,0 +1,110 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.engine;
+
+import java.util.Arrays;
+
+/**
+ * 1回のじゃんけん分の相手の手・勝敗を保持する、再利用前提のプリミティブバッファ。
+ *
+ * <p>スレッドごとに1つを使い回す想定のため、スレッドセーフではない。 {@link RpsEngine#buffer(int)} で取得する。
+ */
+public final class RoundBuffer {
+
+  private byte[] opponentHands;
+  private byte[] results;
+  private int size;
+
+  /** 判定に使ったルール（{@link RpsEngine#judgeAll(RuleTable, int, RoundBuffer)} で設定する）。 */
+  private RuleTable rules = RuleTable.CLASSIC;
+
+  /** 勝敗コードごとの件数（WIN/LOSE/DRAW）。 */
+  private final int[] counts = new int[OutcomeTable.RESULT_COUNT];
+
+  RoundBuffer(int initialCapacity) {
+    this.opponentHands = new byte[initialCapacity];
+    this.results = new byte[initialCapacity];
+  }
+
+  /**
+   * 中身を空にし、少なくとも capacity 件を保持できる状態にする。
+   *
+   * @param capacity 必要な件数
+   */
+  void clear(int capacity) {
+    if (opponentHands.length < capacity) {
+      opponentHands = new byte[capacity];
+      results = new byte[capacity];
+    }
+    size = 0;
+    rules = RuleTable.CLASSIC;
+    Arrays.fill(counts, 0);
+  }
+
+  /**
+   * 相手の手を末尾に追加する。
+   *
+   * @param opponentCode 相手の手のコード
+   */
+  public void add(int opponentCode) {
+    opponentHands[size++] = (byte) opponentCode;
+  }
+
+  /**
+   * 判定に使うルールを設定する（{@link RpsEngine#judgeAll(RuleTable, int, RoundBuffer)} から呼ぶ）。
+   *
+   * @param rules ルールのテーブル
+   */
+  void setRules(RuleTable rules) {
+    this.rules = rules;
+  }
+
+  /**
+   * 勝敗を記録する（{@link RpsEngine#judgeAll(RuleTable, int, RoundBuffer)} から呼ぶ）。
+   *
+   * @param index 相手の位置（0始まり）
+   * @param resultCode 勝敗コード
+   */
+  void setResult(int index, int resultCode) {
+    results[index] = (byte) resultCode;
+    counts[resultCode]++;
+  }
+
+  /** 判定に使ったルールを返す。 */
+  public RuleTable rules() {
+    return rules;
+  }
+
+  /** 保持している相手の人数を返す。 */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * 相手の手のコードを返す。
+   *
+   * @param index 相手の位置（0始まり）
+   * @return 相手の手のコード
+   */
+  public int opponentHand(int index) {
+    return opponentHands[index];
+  }
+
+  /**
+   * 勝敗コードを返す。
+   *
+   * @param index 相手の位置（0始まり）
+   * @return 勝敗コード
+   */
+  public int result(int index) {
+    return results[index];
+  }
+
+  /**
+   * 指定した勝敗になった件数を返す。
+   *
+   * @param resultCode 勝敗コード
+   * @return 件数
+   */
+  public int count(int resultCode) {
+    return counts[resultCode];
+  }
+}
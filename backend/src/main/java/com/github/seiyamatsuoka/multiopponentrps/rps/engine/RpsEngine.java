@@ -0,0 +1,163 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.engine;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsResponse;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RoundResult;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Summary;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * じゃんけんの判定エンジン。
+ *
+ * <p>方針：
+ *
+ * <ul>
+ *   <li>手・勝敗は int コードで扱い、判定はルールごとの {@link RuleTable} の参照で行う
+ *   <li>途中経過はスレッドごとに使い回す {@link RoundBuffer} に書き込む
+ *   <li>{@link RoundResult} / {@link RpsResponse} はレスポンスを返す直前（{@link #toResponse}）でのみ作る
+ * </ul>
+ */
+public final class RpsEngine {
+
+  /** RoundResult を事前生成しておく相手番号の上限（通常モードの opponents 上限と同じ）。 */
+  static final int CACHED_OPPONENT_INDEX = 10;
+
+  /** [((opponentIndex - 1) * CODE_COUNT + 手) * 3 + 勝敗] → 事前生成済みの RoundResult。 */
+  private static final RoundResult[] ROUND_RESULTS = buildRoundResults();
+
+  // 仮想スレッドで動かす場合はリクエストごとにスレッドが変わるため、バッファもリクエストごとに作られる（小さいので許容する）
+  private final ThreadLocal<RoundBuffer> buffers =
+      ThreadLocal.withInitial(() -> new RoundBuffer(CACHED_OPPONENT_INDEX));
+
+  /**
+   * 現在のスレッド用のバッファを空にして返す。
+   *
+   * @param capacity 必要な件数（相手人数）
+   * @return 空のバッファ
+   */
+  public RoundBuffer buffer(int capacity) {
+    RoundBuffer buffer = buffers.get();
+    buffer.clear(capacity);
+    return buffer;
+  }
+
+  /**
+   * 相手の手を人数分ランダムに生成してバッファに追加する。
+   *
+   * <p>手は {@link PackedHands} で 1 つの乱数ワードから最大 32 人分を取り出す（人数分の乱数呼び出しをしない）。
+   *
+   * @param buffer 書き込み先
+   * @param opponents 相手人数
+   * @param random 乱数生成器
+   */
+  public void fillRandom(RoundBuffer buffer, int opponents, RandomGenerator random) {
+    PackedHands.fill(random, opponents, buffer);
+  }
+
+  /**
+   * 相手の手を、ルールで使える手から人数分ランダムに生成してバッファに追加する。
+   *
+   * <p>通常のじゃんけんは {@link #fillRandom(RoundBuffer, int, RandomGenerator)} と同じ（同じシードなら同じ手になる）。
+   *
+   * @param buffer 書き込み先
+   * @param opponents 相手人数
+   * @param random 乱数生成器
+   * @param rules ルールのテーブル
+   */
+  public void fillRandom(
+      RoundBuffer buffer, int opponents, RandomGenerator random, RuleTable rules) {
+    if (rules == RuleTable.CLASSIC) {
+      PackedHands.fill(random, opponents, buffer);
+    } else {
+      PackedHands.fill(random, opponents, buffer, rules);
+    }
+  }
+
+  /**
+   * バッファ内の相手全員との勝敗を通常のじゃんけんで判定し、勝敗と集計をバッファに記録する。
+   *
+   * @param playerCode 自分の手のコード
+   * @param buffer 相手の手が入ったバッファ
+   */
+  public void judgeAll(int playerCode, RoundBuffer buffer) {
+    judgeAll(RuleTable.CLASSIC, playerCode, buffer);
+  }
+
+  /**
+   * バッファ内の相手全員との勝敗をルールのテーブルで判定し、勝敗と集計をバッファに記録する。
+   *
+   * @param rules ルールのテーブル
+   * @param playerCode 自分の手のコード（ルールで使える手）
+   * @param buffer 相手の手が入ったバッファ（ルールで使える手）
+   */
+  public void judgeAll(RuleTable rules, int playerCode, RoundBuffer buffer) {
+    buffer.setRules(rules);
+    for (int i = 0; i < buffer.size(); i++) {
+      buffer.setResult(i, rules.judge(playerCode, buffer.opponentHand(i)));
+    }
+  }
+
+  /**
+   * 判定済みのバッファからレスポンスを組み立てる。
+   *
+   * <p>相手番号が小さい（通常モードの範囲の）RoundResult は事前生成したものを使い回す（record は不変なので共有してよい）。
+   *
+   * @param playerHand 自分の手
+   * @param buffer 判定済みのバッファ
+   * @return レスポンス
+   */
+  public RpsResponse toResponse(Hand playerHand, RoundBuffer buffer) {
+    int size = buffer.size();
+    List<RoundResult> results = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      results.add(roundResult(i + 1, buffer.opponentHand(i), buffer.result(i)));
+    }
+
+    Summary summary =
+        new Summary(
+            buffer.count(OutcomeTable.WIN),
+            buffer.count(OutcomeTable.LOSE),
+            buffer.count(OutcomeTable.DRAW));
+
+    return new RpsResponse(playerHand, size, results, summary);
+  }
+
+  /**
+   * RoundResult を取得する（キャッシュ範囲外は都度生成）。
+   *
+   * @param opponentIndex 相手番号（1始まり）
+   * @param handCode 相手の手のコード
+   * @param resultCode 勝敗コード
+   * @return RoundResult
+   */
+  static RoundResult roundResult(int opponentIndex, int handCode, int resultCode) {
+    if (opponentIndex <= CACHED_OPPONENT_INDEX) {
+      return ROUND_RESULTS[roundResultSlot(opponentIndex, handCode, resultCode)];
+    }
+    return new RoundResult(
+        opponentIndex, OutcomeTable.decodeHand(handCode), OutcomeTable.decodeResult(resultCode));
+  }
+
+  private static int roundResultSlot(int opponentIndex, int handCode, int resultCode) {
+    return ((opponentIndex - 1) * OutcomeTable.CODE_COUNT + handCode) * OutcomeTable.RESULT_COUNT
+        + resultCode;
+  }
+
+  private static RoundResult[] buildRoundResults() {
+    RoundResult[] cache =
+        new RoundResult
+            [CACHED_OPPONENT_INDEX * OutcomeTable.CODE_COUNT * OutcomeTable.RESULT_COUNT];
+    for (int index = 1; index <= CACHED_OPPONENT_INDEX; index++) {
+      for (int hand = 0; hand < OutcomeTable.CODE_COUNT; hand++) {
+        for (int result = 0; result < OutcomeTable.RESULT_COUNT; result++) {
+          cache[roundResultSlot(index, hand, result)] =
+              new RoundResult(
+                  index, OutcomeTable.decodeHand(hand), OutcomeTable.decodeResult(result));
+        }
+      }
+    }
+    return cache;
+  }
+}
@@ -0,0 +1,148 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.engine;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RuleSet;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ルール（{@link RuleSet}）ごとの勝敗判定テーブル。
+ *
+ * <p>方針：
+ *
+ * <ul>
+ *   <li>起動時にルールごとに「自分の手のコード × 相手の手のコード」の byte 表を作り、判定は配列を 1 回引くだけにする
+ *       （手の数に関係なく O(1)、判定時にオブジェクトを作らない）
+ *   <li>手のコードは全ルールで共通（{@link OutcomeTable#encode}）。通常のじゃんけんの表は {@link OutcomeTable} と同じ内容になる
+ *   <li>巡回の並び（{@link RuleSet#cycle()}）で N 手のとき、各手は後ろに続く (N - 1) / 2 個に勝ち、前の (N - 1) / 2 個に負ける
+ * </ul>
+ *
+ * <p>ルールにない手の組み合わせは引かない前提（入口で {@link #allows(int)} を確かめる）。
+ */
+public final class RuleTable {
+
+  private static final RuleTable[] TABLES = compileAll();
+
+  /** 通常のじゃんけんのテーブル。 */
+  public static final RuleTable CLASSIC = of(RuleSet.CLASSIC);
+
+  private final RuleSet ruleSet;
+
+  /** [自分の手のコード * CODE_COUNT + 相手の手のコード] → 勝敗コード。 */
+  private final byte[] outcomes;
+
+  /** 使える手のコード（小さい順。ランダム生成で乱数の値から手を引くのに使う）。 */
+  private final byte[] codes;
+
+  /** 使える手のコードのビット集合。 */
+  private final long allowed;
+
+  /** ランダム生成で 1 人分に使うビット数（手の数を表せる最小の幅）。 */
+  private final int slotBits;
+
+  private RuleTable(RuleSet ruleSet) {
+    List<Hand> cycle = ruleSet.cycle();
+    int size = cycle.size();
+    if (size % 2 == 0) {
+      throw new IllegalStateException("ルールの手の数は奇数にしてください: " + ruleSet);
+    }
+
+    byte[] table = new byte[OutcomeTable.CODE_COUNT * OutcomeTable.CODE_COUNT];
+    Arrays.fill(table, (byte) OutcomeTable.DRAW);
+    long mask = 0;
+    for (int i = 0; i < size; i++) {
+      int player = OutcomeTable.encode(cycle.get(i));
+      if ((mask & (1L << player)) != 0) {
+        throw new IllegalStateException("ルールの手が重複しています: " + ruleSet);
+      }
+      mask |= 1L << player;
+      for (int j = 0; j < size; j++) {
+        int ahead = Math.floorMod(j - i, size);
+        int code =
+            (ahead == 0)
+                ? OutcomeTable.DRAW
+                : (ahead <= size / 2) ? OutcomeTable.WIN : OutcomeTable.LOSE;
+        table[player * OutcomeTable.CODE_COUNT + OutcomeTable.encode(cycle.get(j))] = (byte) code;
+      }
+    }
+
+    byte[] sorted = new byte[size];
+    int index = 0;
+    for (int code = 0; code < OutcomeTable.CODE_COUNT; code++) {
+      if ((mask & (1L << code)) != 0) {
+        sorted[index++] = (byte) code;
+      }
+    }
+
+    this.ruleSet = ruleSet;
+    this.outcomes = table;
+    this.codes = sorted;
+    this.allowed = mask;
+    this.slotBits = Integer.SIZE - Integer.numberOfLeadingZeros(size - 1);
+  }
+
+  /**
+   * ルールのテーブルを返す（起動時に作ったものを共有する）。
+   *
+   * @param ruleSet ルール（null不可）
+   * @return テーブル
+   */
+  public static RuleTable of(RuleSet ruleSet) {
+    return TABLES[ruleSet.ordinal()];
+  }
+
+  /** ルールを返す。 */
+  public RuleSet ruleSet() {
+    return ruleSet;
+  }
+
+  /**
+   * 勝敗をテーブル参照で判定する。
+   *
+   * @param playerCode 自分の手のコード（このルールの手）
+   * @param opponentCode 相手の手のコード（このルールの手）
+   * @return 勝敗コード
+   */
+  public int judge(int playerCode, int opponentCode) {
+    return outcomes[playerCode * OutcomeTable.CODE_COUNT + opponentCode];
+  }
+
+  /**
+   * このルールで使える手かを返す。
+   *
+   * @param handCode 手のコード
+   * @return 使える場合 true
+   */
+  public boolean allows(int handCode) {
+    return handCode >= 0 && handCode < OutcomeTable.CODE_COUNT && (allowed & (1L << handCode)) != 0;
+  }
+
+  /** 使える手の数を返す。 */
+  public int handCount() {
+    return codes.length;
+  }
+
+  /**
+   * 使える手のうち、コードが小さい方から index 番目の手のコードを返す。
+   *
+   * @param index 位置（0 〜 handCount - 1）
+   * @return 手のコード
+   */
+  int code(int index) {
+    return codes[index];
+  }
+
+  /** ランダム生成で 1 人分に使うビット数を返す。 */
+  int slotBits() {
+    return slotBits;
+  }
+
+  private static RuleTable[] compileAll() {
+    RuleSet[] ruleSets = RuleSet.values();
+    RuleTable[] tables = new RuleTable[ruleSets.length];
+    for (RuleSet ruleSet : ruleSets) {
+      tables[ruleSet.ordinal()] = new RuleTable(ruleSet);
+    }
+    return tables;
+  }
+}
@@ -0,0 +1,202 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.idempotency;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsRequest;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsResponse;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key ごとに POST /api/rps の結果を覚えておくキャッシュ。
+ *
+ * <p>方針：
+ *
+ * <ul>
+ *   <li>キーはクライアントごとに分ける（別のクライアントが同じキーを送っても、互いの結果を返さない）
+ *   <li>同じキーの再送には、最初の結果（同じ RpsResponse）をそのまま返す（じゃんけんをやり直さない）
+ *   <li>最初のリクエストがまだ処理中なら、その結果を待って返す（タイムアウト後の再送が追い越しても同じ結果になる）
+ *   <li>同じキーで内容の違うリクエストは {@link IdempotencyKeyException} にする
+ *   <li>最初のリクエストが失敗した場合は覚えない（再送で実行し直す）
+ *   <li>エントリは ttl を過ぎるか、件数が maxEntries を超えると古い順に消す（どのエントリも ttl
+ *       は同じなので、作った順のキューの先頭だけを見れば両方を判定できる）
+ * </ul>
+ */
+public class IdempotencyCache {
+
+  /** キーの最大長。 */
+  public static final int MAX_KEY_LENGTH = 255;
+
+  private final boolean enabled;
+  private final long ttlNanos;
+  private final int maxEntries;
+  private final LongSupplier nanoTime;
+
+  private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+
+  /** 作った順のエントリ（先頭が最も古い）。 */
+  private final ConcurrentLinkedQueue<Entry> order = new ConcurrentLinkedQueue<>();
+
+  /** order の件数（ConcurrentLinkedQueue#size は O(n) のため別に数える）。 */
+  private final AtomicInteger size = new AtomicInteger();
+
+  /** 覚えていた結果を返した回数。 */
+  private final LongAdder replays = new LongAdder();
+
+  /**
+   * 保持期間と件数の上限を指定して生成する。
+   *
+   * @param ttl 結果を覚えておく期間
+   * @param maxEntries 覚えておく件数の上限
+   */
+  public IdempotencyCache(Duration ttl, int maxEntries) {
+    this(true, ttl, maxEntries);
+  }
+
+  /**
+   * 有効・無効、保持期間と件数の上限を指定して生成する。
+   *
+   * @param enabled Idempotency-Key を使うか（false なら呼び出し側はヘッダを無視する）
+   * @param ttl 結果を覚えておく期間
+   * @param maxEntries 覚えておく件数の上限
+   */
+  public IdempotencyCache(boolean enabled, Duration ttl, int maxEntries) {
+    this(enabled, ttl, maxEntries, System::nanoTime);
+  }
+
+  IdempotencyCache(Duration ttl, int maxEntries, LongSupplier nanoTime) {
+    this(true, ttl, maxEntries, nanoTime);
+  }
+
+  private IdempotencyCache(boolean enabled, Duration ttl, int maxEntries, LongSupplier nanoTime) {
+    if (ttl.isZero() || ttl.isNegative()) {
+      throw new IllegalArgumentException("ttl must be positive: " + ttl);
+    }
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+    }
+    this.enabled = enabled;
+    this.ttlNanos = ttl.toNanos();
+    this.maxEntries = maxEntries;
+    this.nanoTime = nanoTime;
+  }
+
+  /**
+   * キャッシュの結果。
+   *
+   * @param response レスポンス
+   * @param replayed 覚えていた結果を返した場合は true
+   */
+  public record Outcome(RpsResponse response, boolean replayed) {}
+
+  /**
+   * クライアントとキーに対応する結果を返す。覚えていなければ play を実行して覚える。
+   *
+   * @param client クライアントのキー（レート制限と同じもの）
+   * @param key Idempotency-Key
+   * @param request リクエスト（同じキーの再送と内容が同じかを確かめる）
+   * @param play じゃんけんの実行
+   * @return 結果
+   * @throws IdempotencyKeyException キーが長すぎる、または同じキーで内容が違う場合
+   */
+  public Outcome execute(
+      String client, String key, RpsRequest request, Supplier<RpsResponse> play) {
+    if (key.length() > MAX_KEY_LENGTH) {
+      throw new IdempotencyKeyException(
+          "Idempotency-Key は " + MAX_KEY_LENGTH + " 文字以下で指定してください");
+    }
+
+    long now = nanoTime.getAsLong();
+    Key scoped = new Key(client, key);
+    Entry created = new Entry(scoped, request, now + ttlNanos);
+    while (true) {
+      Entry existing = entries.putIfAbsent(scoped, created);
+      if (existing == null) {
+        break;
+      }
+      if (existing.expiresAt - now <= 0) {
+        entries.remove(scoped, existing);
+        continue;
+      }
+      if (!existing.request.equals(request)) {
+        throw new IdempotencyKeyException("同じ Idempotency-Key で内容の違うリクエストは送れません");
+      }
+      try {
+        RpsResponse response = existing.result.join();
+        replays.increment();
+        return new Outcome(response, true);
+      } catch (CompletionException | CancellationException e) {
+        // 最初のリクエストが失敗した（エントリは消えている）ので、こちらで実行し直す
+      }
+    }
+
+    order.add(created);
+    size.incrementAndGet();
+    evict(now);
+
+    RpsResponse response;
+    try {
+      response = play.get();
+    } catch (RuntimeException | Error e) {
+      entries.remove(scoped, created);
+      created.result.completeExceptionally(e);
+      throw e;
+    }
+    created.result.complete(response);
+    return new Outcome(response, false);
+  }
+
+  /** Idempotency-Key を使うか（app.idempotency.enabled）を返す。 */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** 覚えていた結果を返した回数を返す。 */
+  public long replays() {
+    return replays.sum();
+  }
+
+  /** 覚えている件数を返す（期限切れで未削除のものを含む）。 */
+  public int size() {
+    return size.get();
+  }
+
+  /** 期限切れのもの・上限を超えた分を古い順に消す。 */
+  private void evict(long now) {
+    while (true) {
+      Entry eldest = order.peek();
+      if (eldest == null || (size.get() <= maxEntries && eldest.expiresAt - now > 0)) {
+        return;
+      }
+      // 同時に消している場合は peek したものと違うことがあるが、どちらにしても先頭（最も古いもの）を消す
+      Entry polled = order.poll();
+      if (polled != null) {
+        size.decrementAndGet();
+        entries.remove(polled.key, polled);
+      }
+    }
+  }
+
+  /** クライアントごとのキー。 */
+  private record Key(String client, String key) {}
+
+  /** 1つのキーの結果（処理中なら未完了）。 */
+  private static final class Entry {
+    final Key key;
+    final RpsRequest request;
+    final long expiresAt;
+    final CompletableFuture<RpsResponse> result = new CompletableFuture<>();
+
+    Entry(Key key, RpsRequest request, long expiresAt) {
+      this.key = key;
+      this.request = request;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.idempotency;
+
+/** Idempotency-Key が使えないことを表す例外（422 として返す）。 */
+public class IdempotencyKeyException extends RuntimeException {
+
+  /**
+   * 理由を指定して生成する。
+   *
+   * @param message 理由
+   */
+  public IdempotencyKeyException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,51 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.json;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsResponse;
+import java.io.IOException;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link RpsResponse} を {@link RpsResponseJsonWriter} で書き出す HttpMessageConverter。
+ *
+ * <p>Bean として登録すると Spring Boot が Jackson の converter より前に追加するため、 {@code POST /api/rps}
+ * のレスポンスはこの converter で書き出される（それ以外の型は従来どおり Jackson）。 書き出し専用で、読み取りには使わない。
+ *
+ * <p>Accept の指定がない場合に JSON を返すよう、バイナリ形式の converter より前に並べる（{@link Order}）。
+ */
+@Component
+@Order(0)
+public class RpsResponseHttpMessageConverter extends AbstractHttpMessageConverter<RpsResponse> {
+
+  public RpsResponseHttpMessageConverter() {
+    super(MediaType.APPLICATION_JSON);
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return RpsResponse.class == clazz;
+  }
+
+  @Override
+  protected boolean canRead(MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  protected RpsResponse readInternal(
+      Class<? extends RpsResponse> clazz, HttpInputMessage inputMessage) {
+    throw new HttpMessageNotReadableException(
+        "RpsResponse の読み取りには対応していません", inputMessage);
+  }
+
+  @Override
+  protected void writeInternal(RpsResponse response, HttpOutputMessage outputMessage)
+      throws IOException {
+    RpsResponseJsonWriter.writeTo(response, outputMessage.getBody());
+  }
+}
@@ -0,0 +1,235 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.json;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsResponse;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.OutcomeTable;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Result;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RoundResult;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Summary;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link RpsResponse} 専用の JSON 書き出し。
+ *
+ * <p>レスポンスの中身は「手 3 種 × 勝敗 3 種 × 相手番号 1〜10」と集計だけなので、JSON の断片を UTF-8 のバイト列として
+ * 事前に作っておき、バイト列のコピーだけで JSON を組み立てる（リフレクション・途中の String を経由しない）。
+ *
+ * <p>出力は Jackson（既定設定）で {@link RpsResponse} を書き出した結果とバイト単位で同じになる。 各値は null でないこと（{@link
+ * com.github.seiyamatsuoka.multiopponentrps.rps.RpsService} の戻り値）を前提とする。
+ */
+public final class RpsResponseJsonWriter {
+
+  /** RoundResult の断片を丸ごと事前生成する相手番号の上限（通常モードの opponents 上限と同じ）。 */
+  static final int CACHED_OPPONENT_INDEX = 10;
+
+  /** 数値の断片を事前生成する上限（これ以上は1桁ずつ書き出す）。 */
+  private static final int SMALL_INT_LIMIT = 1024;
+
+  private static final Hand[] HANDS = Hand.values();
+  private static final Result[] RESULTS = Result.values();
+
+  /** [手] → {"playerHand":"ROCK","opponents": */
+  private static final byte[][] HEADS = new byte[HANDS.length][];
+
+  private static final byte[] RESULTS_START = ascii(",\"results\":[");
+  private static final byte[] SUMMARY_WIN = ascii("],\"summary\":{\"win\":");
+  private static final byte[] SUMMARY_LOSE = ascii(",\"lose\":");
+  private static final byte[] SUMMARY_DRAW = ascii(",\"draw\":");
+  private static final byte[] END = ascii("}}");
+  private static final byte[] ROUND_HEAD = ascii("{\"opponentIndex\":");
+
+  /** [手 * RESULT_COUNT + 勝敗] → ,"opponentHand":"ROCK","result":"WIN"} */
+  private static final byte[][] ROUND_TAILS = new byte[HANDS.length * RESULTS.length][];
+
+  /** [(相手番号 - 1) * 9 + 手 * 3 + 勝敗] → RoundResult 1件分の JSON。 */
+  private static final byte[][] ROUNDS =
+      new byte[CACHED_OPPONENT_INDEX * HANDS.length * RESULTS.length][];
+
+  /** [数値] → 10進表記。 */
+  private static final byte[][] SMALL_INTS = new byte[SMALL_INT_LIMIT][];
+
+  /** int の10進表記の最大長（"-2147483648"）。 */
+  private static final int MAX_INT_LENGTH = 11;
+
+  private static final int MAX_HEAD_LENGTH;
+  private static final int MAX_ROUND_LENGTH;
+
+  /** 作業用バッファの長さ（通常モードの相手 10 人分が収まる）。 */
+  static final int SCRATCH_SIZE = 1024;
+
+  // RpsEngine のバッファと同様、スレッドごとに使い回す（仮想スレッドではリクエストごとに作られる）
+  private static final ThreadLocal<byte[]> SCRATCH =
+      ThreadLocal.withInitial(() -> new byte[SCRATCH_SIZE]);
+
+  static {
+    for (Hand hand : HANDS) {
+      HEADS[hand.ordinal()] =
+          ascii("{\"playerHand\":\"" + hand.name() + "\",\"opponents\":");
+    }
+    for (Hand hand : HANDS) {
+      for (Result result : RESULTS) {
+        String tail =
+            ",\"opponentHand\":\"" + hand.name() + "\",\"result\":\"" + result.name() + "\"}";
+        ROUND_TAILS[tailSlot(hand.ordinal(), result.ordinal())] = ascii(tail);
+        for (int index = 1; index <= CACHED_OPPONENT_INDEX; index++) {
+          ROUNDS[roundSlot(index, hand.ordinal(), result.ordinal())] =
+              ascii("{\"opponentIndex\":" + index + tail);
+        }
+      }
+    }
+    for (int i = 0; i < SMALL_INT_LIMIT; i++) {
+      SMALL_INTS[i] = ascii(Integer.toString(i));
+    }
+
+    int maxHead = 0;
+    for (byte[] head : HEADS) {
+      maxHead = Math.max(maxHead, head.length);
+    }
+    int maxTail = 0;
+    for (byte[] tail : ROUND_TAILS) {
+      maxTail = Math.max(maxTail, tail.length);
+    }
+    MAX_HEAD_LENGTH = maxHead;
+    MAX_ROUND_LENGTH = ROUND_HEAD.length + MAX_INT_LENGTH + maxTail;
+  }
+
+  private RpsResponseJsonWriter() {}
+
+  /**
+   * レスポンスを JSON として出力先に書き出す。
+   *
+   * <p>スレッドごとに使い回す作業用バッファで JSON 全体を組み立ててから、1回の write で出力する（flush・close は呼び出し側に任せる）。
+   *
+   * @param response レスポンス
+   * @param out 出力先
+   * @throws IOException 書き込みに失敗した場合
+   */
+  public static void writeTo(RpsResponse response, OutputStream out) throws IOException {
+    int bound = maxLength(response.results().size());
+    byte[] buffer = (bound <= SCRATCH_SIZE) ? SCRATCH.get() : new byte[bound];
+    int length = encode(response, buffer);
+    out.write(buffer, 0, length);
+  }
+
+  /**
+   * レスポンスを JSON のバイト列にする（テスト・ウォームアップ用）。
+   *
+   * @param response レスポンス
+   * @return UTF-8 の JSON
+   */
+  public static byte[] toBytes(RpsResponse response) {
+    byte[] buffer = new byte[maxLength(response.results().size())];
+    return Arrays.copyOf(buffer, encode(response, buffer));
+  }
+
+  /**
+   * JSON をバッファの先頭から書き込む。
+   *
+   * @param response レスポンス
+   * @param buffer 書き込み先（{@link #maxLength(int)} 以上の長さ）
+   * @return 書き込んだバイト数
+   */
+  private static int encode(RpsResponse response, byte[] buffer) {
+    int pos = put(buffer, 0, HEADS[response.playerHand().ordinal()]);
+    pos = putInt(buffer, pos, response.opponents());
+
+    pos = put(buffer, pos, RESULTS_START);
+    List<RoundResult> results = response.results();
+    for (int i = 0, size = results.size(); i < size; i++) {
+      if (i > 0) {
+        buffer[pos++] = ',';
+      }
+      pos = putRound(buffer, pos, results.get(i));
+    }
+
+    Summary summary = response.summary();
+    pos = put(buffer, pos, SUMMARY_WIN);
+    pos = putInt(buffer, pos, summary.win());
+    pos = put(buffer, pos, SUMMARY_LOSE);
+    pos = putInt(buffer, pos, summary.lose());
+    pos = put(buffer, pos, SUMMARY_DRAW);
+    pos = putInt(buffer, pos, summary.draw());
+    return put(buffer, pos, END);
+  }
+
+  private static int putRound(byte[] buffer, int pos, RoundResult round) {
+    int index = round.opponentIndex();
+    int hand = OutcomeTable.encode(round.opponentHand());
+    int result = round.result().ordinal();
+    if (index >= 1 && index <= CACHED_OPPONENT_INDEX) {
+      return put(buffer, pos, ROUNDS[roundSlot(index, hand, result)]);
+    }
+    pos = put(buffer, pos, ROUND_HEAD);
+    pos = putInt(buffer, pos, index);
+    return put(buffer, pos, ROUND_TAILS[tailSlot(hand, result)]);
+  }
+
+  /**
+   * int を10進表記で書き込む（String を経由しない）。
+   *
+   * @param buffer 書き込み先
+   * @param pos 書き込み位置
+   * @param value 値
+   * @return 書き込み後の位置
+   */
+  static int putInt(byte[] buffer, int pos, int value) {
+    if (value >= 0 && value < SMALL_INT_LIMIT) {
+      return put(buffer, pos, SMALL_INTS[value]);
+    }
+    // Integer.MIN_VALUE の符号反転であふれないよう long で扱う
+    long remaining = value;
+    if (remaining < 0) {
+      buffer[pos++] = '-';
+      remaining = -remaining;
+    }
+    long divisor = 1;
+    while (divisor * 10 <= remaining) {
+      divisor *= 10;
+    }
+    while (divisor > 0) {
+      buffer[pos++] = (byte) ('0' + remaining / divisor);
+      remaining %= divisor;
+      divisor /= 10;
+    }
+    return pos;
+  }
+
+  private static int put(byte[] buffer, int pos, byte[] fragment) {
+    System.arraycopy(fragment, 0, buffer, pos, fragment.length);
+    return pos + fragment.length;
+  }
+
+  /**
+   * 相手 rounds 人分のレスポンスの JSON の長さの上限。
+   *
+   * @param rounds 相手ごとの結果の件数
+   * @return 長さの上限（バイト）
+   */
+  static int maxLength(int rounds) {
+    long fixed =
+        MAX_HEAD_LENGTH
+            + RESULTS_START.length
+            + SUMMARY_WIN.length
+            + SUMMARY_LOSE.length
+            + SUMMARY_DRAW.length
+            + END.length
+            + 4L * MAX_INT_LENGTH;
+    return Math.toIntExact(fixed + (long) rounds * (MAX_ROUND_LENGTH + 1));
+  }
+
+  private static int tailSlot(int handCode, int resultCode) {
+    return handCode * RESULTS.length + resultCode;
+  }
+
+  private static int roundSlot(int opponentIndex, int handCode, int resultCode) {
+    return (opponentIndex - 1) * ROUND_TAILS.length + tailSlot(handCode, resultCode);
+  }
+
+  private static byte[] ascii(String text) {
+    return text.getBytes(StandardCharsets.US_ASCII);
+  }
+}
@@ -1,11 +1,28 @@
 package com.github.seiyamatsuoka.multiopponentrps.rps.model;
 
-/** じゃんけんの手。 */
+/**
+ * じゃんけんの手。
+ *
+ * <p>使える手はルール（{@link RuleSet}）で決まる。通常のじゃんけんは ROCK / PAPER / SCISSORS の 3 つ（並びは変えないこと。
+ * 手のコード・保存形式が ordinal に依存する）。
+ */
 public enum Hand {
   /** グー */
   ROCK,
   /** パー */
   PAPER,
   /** チョキ */
-  SCISSORS
+  SCISSORS,
+  /** トカゲ（{@link RuleSet#LIZARD_SPOCK}） */
+  LIZARD,
+  /** スポック（{@link RuleSet#LIZARD_SPOCK}） */
+  SPOCK,
+  /** 火（{@link RuleSet#RPS7}） */
+  FIRE,
+  /** スポンジ（{@link RuleSet#RPS7}） */
+  SPONGE,
+  /** 空気（{@link RuleSet#RPS7}） */
+  AIR,
+  /** 水（{@link RuleSet#RPS7}） */
+  WATER
 }
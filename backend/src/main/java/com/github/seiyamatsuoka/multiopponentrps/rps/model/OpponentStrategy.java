@@ -0,0 +1,17 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.model;
+
+/**
+ * 相手の手の決め方。
+ *
+ * <p>RANDOM 以外は、セッションごとに覚えた自分の手の履歴から次の手を予想し、それに勝つ手を出す（通常のじゃんけんのみ）。
+ */
+public enum OpponentStrategy {
+  /** 一様にランダム（既定）。 */
+  RANDOM,
+  /** これまでに出した手の回数から予想する。 */
+  FREQUENCY,
+  /** 直前の手から次の手への遷移の回数から予想する（1次のマルコフ連鎖）。 */
+  MARKOV,
+  /** 勝ったら同じ手、負け・あいこなら直前の自分の手に勝つ手に変える（相手ごと）。 */
+  WIN_STAY_LOSE_SHIFT
+}
@@ -0,0 +1,38 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.model;
+
+import java.util.List;
+
+/**
+ * じゃんけんのルール（使える手と、勝ち負けの巡回）。
+ *
+ * <p>手は巡回の並びで持ち、各手は後ろに続く (N - 1) / 2 個の手に勝ち、前の (N - 1) / 2 個の手に負ける（N は奇数）。
+ */
+public enum RuleSet {
+  /** 通常のじゃんけん（グー → チョキ → パー）。 */
+  CLASSIC(Hand.ROCK, Hand.SCISSORS, Hand.PAPER),
+  /** Rock-Paper-Scissors-Lizard-Spock（チョキ → トカゲ → パー → スポック → グー）。 */
+  LIZARD_SPOCK(Hand.SCISSORS, Hand.LIZARD, Hand.PAPER, Hand.SPOCK, Hand.ROCK),
+  /** RPS-7（グー → 火 → チョキ → スポンジ → パー → 空気 → 水）。 */
+  RPS7(Hand.ROCK, Hand.FIRE, Hand.SCISSORS, Hand.SPONGE, Hand.PAPER, Hand.AIR, Hand.WATER);
+
+  private final List<Hand> cycle;
+
+  RuleSet(Hand... cycle) {
+    this.cycle = List.of(cycle);
+  }
+
+  /** 巡回の並びの手を返す。 */
+  public List<Hand> cycle() {
+    return cycle;
+  }
+
+  /**
+   * このルールで使える手かを返す。
+   *
+   * @param hand 手
+   * @return 使える場合 true
+   */
+  public boolean allows(Hand hand) {
+    return cycle.contains(hand);
+  }
+}
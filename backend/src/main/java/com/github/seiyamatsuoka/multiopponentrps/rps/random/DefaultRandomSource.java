@@ -0,0 +1,56 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.random;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * 既定の乱数の取得元。
+ *
+ * <ul>
+ *   <li>シードなしの1回分：ThreadLocalRandom（スレッド間で共有しないためロック競合がない）
+ *   <li>シードあり・分割用：設定したアルゴリズム（既定は L64X128MixRandom）をリクエストごとに生成する
+ * </ul>
+ */
+public final class DefaultRandomSource implements RandomSource {
+
+  /** 既定のアルゴリズム名（SplittableGenerator を実装する LXM 系）。 */
+  public static final String DEFAULT_ALGORITHM = "L64X128MixRandom";
+
+  private final RandomGeneratorFactory<RandomGenerator> factory;
+
+  /** 既定のアルゴリズムで生成する。 */
+  public DefaultRandomSource() {
+    this(DEFAULT_ALGORITHM);
+  }
+
+  /**
+   * 使用するアルゴリズムを指定して生成する。
+   *
+   * @param algorithm アルゴリズム名（例：L64X128MixRandom / SplittableRandom）
+   * @throws IllegalArgumentException アルゴリズムが存在しない、または分割できない場合
+   */
+  public DefaultRandomSource(String algorithm) {
+    Objects.requireNonNull(algorithm, "algorithm は必須です");
+    this.factory = RandomGeneratorFactory.of(algorithm);
+    if (!factory.isSplittable()) {
+      throw new IllegalArgumentException("分割できない乱数アルゴリズムです: " + algorithm);
+    }
+  }
+
+  @Override
+  public RandomGenerator generator(Long seed) {
+    if (seed == null) {
+      return ThreadLocalRandom.current();
+    }
+    return factory.create(seed);
+  }
+
+  @Override
+  public SplittableGenerator splittable(Long seed) {
+    RandomGenerator generator = (seed == null) ? factory.create() : factory.create(seed);
+    return (SplittableGenerator) generator;
+  }
+}
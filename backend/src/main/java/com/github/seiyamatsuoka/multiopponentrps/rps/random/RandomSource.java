@@ -0,0 +1,36 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.random;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+/**
+ * 相手の手の生成に使う乱数の取得元（差し替え可能な戦略）。
+ *
+ * <ul>
+ *   <li>シードなし：リクエストごとに独立した乱数（既定は ThreadLocalRandom）
+ *   <li>シードあり：同じシードなら同じ手の並びになる乱数（対戦の再現に使う）
+ *   <li>分割可能：大人数シミュレーションをスレッドごとの独立した乱数列に分けるために使う
+ * </ul>
+ */
+public interface RandomSource {
+
+  /**
+   * 1回のじゃんけんで使う乱数を返す。
+   *
+   * <p>返した乱数は呼び出し元のスレッド内でのみ使うこと。
+   *
+   * @param seed シード（null ならシードなし）
+   * @return 乱数生成器
+   */
+  RandomGenerator generator(Long seed);
+
+  /**
+   * 分割可能な乱数を返す。
+   *
+   * <p>シードを指定した場合、同じ手順で分割すれば分割後の乱数列もすべて再現できる。
+   *
+   * @param seed シード（null ならシードなし）
+   * @return 分割可能な乱数生成器
+   */
+  SplittableGenerator splittable(Long seed);
+}
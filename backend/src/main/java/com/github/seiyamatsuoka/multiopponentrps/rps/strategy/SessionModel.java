@@ -0,0 +1,192 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.strategy;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.OutcomeTable;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffer;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 1つのセッションで覚える自分の手の履歴（通常のじゃんけんのみ）。
+ *
+ * <p>履歴は 3 つの long に詰めて持ち、それぞれ CAS で更新する（ロックを取らない）。
+ *
+ * <ul>
+ *   <li>回数：手ごとに出した回数（16bit × 3）
+ *   <li>遷移：「直前の手 * 3 + 次の手」ごとの回数（6bit × 9）と、直前の手（+1 した値。0 はまだ出していない）
+ *   <li>相手：相手ごとの直前の手と勝敗（4bit × 10。「1 + 手 * 3 + 自分から見た勝敗」。0 はまだ対戦していない）
+ * </ul>
+ *
+ * <p>回数が上限に達したら、その語の回数をすべて半分にしてから数える（古い履歴ほど効きが弱くなる）。同じセッションの同時更新では、
+ * 語ごとの更新はそれぞれ1回ずつ反映されるが、3 つの語の間で揃っていることは保証しない（予想に使うだけなので許容する）。
+ */
+public final class SessionModel {
+
+  /** 相手ごとの直前の手を覚える人数（通常モードの opponents 上限と同じ）。 */
+  public static final int TRACKED_OPPONENTS = 10;
+
+  static final int FREQUENCY_BITS = 16;
+  static final int TRANSITION_BITS = 6;
+  static final int OPPONENT_BITS = 4;
+
+  private static final int FREQUENCY = 0;
+  private static final int TRANSITION = 1;
+  private static final int OPPONENT = 2;
+
+  private static final int HANDS = OutcomeTable.HAND_COUNT;
+
+  private static final long FREQUENCY_MAX = (1L << FREQUENCY_BITS) - 1;
+  private static final long FREQUENCY_COUNTERS = fieldMask(FREQUENCY_BITS, HANDS, FREQUENCY_MAX);
+  private static final long FREQUENCY_HALF = fieldMask(FREQUENCY_BITS, HANDS, FREQUENCY_MAX >>> 1);
+
+  private static final long TRANSITION_MAX = (1L << TRANSITION_BITS) - 1;
+  private static final long TRANSITION_COUNTERS =
+      fieldMask(TRANSITION_BITS, HANDS * HANDS, TRANSITION_MAX);
+  private static final long TRANSITION_HALF =
+      fieldMask(TRANSITION_BITS, HANDS * HANDS, TRANSITION_MAX >>> 1);
+
+  private static final int LAST_HAND_SHIFT = 56;
+  private static final long LAST_HAND_MASK = 0b11L << LAST_HAND_SHIFT;
+
+  private static final long OPPONENT_MAX = (1L << OPPONENT_BITS) - 1;
+
+  private final AtomicLongArray words = new AtomicLongArray(3);
+
+  /** 最後に使った時刻（{@link System#nanoTime()} の値）。 */
+  private volatile long lastAccessNanos;
+
+  SessionModel(long now) {
+    this.lastAccessNanos = now;
+  }
+
+  /**
+   * 1回分の結果を履歴に加える。
+   *
+   * @param playerCode 自分の手のコード（通常のじゃんけんの手）
+   * @param buffer 判定済みのバッファ（先頭 {@value #TRACKED_OPPONENTS} 人分の手と勝敗を覚える）
+   */
+  public void record(int playerCode, RoundBuffer buffer) {
+    long word;
+    long next;
+    do {
+      word = words.get(FREQUENCY);
+      next = countHand(word, playerCode);
+    } while (!words.compareAndSet(FREQUENCY, word, next));
+
+    // 直前の手は遷移と同じ語に持ち、遷移の回数と一緒に入れ替える（同時更新でも遷移の前後が食い違わない）
+    do {
+      word = words.get(TRANSITION);
+      int last = lastHand(word);
+      next = last < 0 ? word : countTransition(word, last, playerCode);
+      next = (next & ~LAST_HAND_MASK) | ((long) (playerCode + 1) << LAST_HAND_SHIFT);
+    } while (!words.compareAndSet(TRANSITION, word, next));
+
+    int tracked = Math.min(buffer.size(), TRACKED_OPPONENTS);
+    long played = (1L << (tracked * OPPONENT_BITS)) - 1;
+    long states = 0;
+    for (int i = 0; i < tracked; i++) {
+      long state = 1 + buffer.opponentHand(i) * OutcomeTable.RESULT_COUNT + buffer.result(i);
+      states |= state << (i * OPPONENT_BITS);
+    }
+    do {
+      word = words.get(OPPONENT);
+      next = (word & ~played) | states;
+    } while (!words.compareAndSet(OPPONENT, word, next));
+  }
+
+  /** 手ごとの回数の語を返す（{@link #frequency(long, int)} で読む）。 */
+  long frequencies() {
+    return words.get(FREQUENCY);
+  }
+
+  /** 遷移の回数と直前の手の語を返す（{@link #transition(long, int, int)}・{@link #lastHand(long)} で読む）。 */
+  long transitions() {
+    return words.get(TRANSITION);
+  }
+
+  /** 相手ごとの直前の手と勝敗の語を返す（{@link #opponentState(long, int)} で読む）。 */
+  long opponents() {
+    return words.get(OPPONENT);
+  }
+
+  /**
+   * 手を出した回数を返す。
+   *
+   * @param word {@link #frequencies()} の値
+   * @param hand 手のコード
+   * @return 回数
+   */
+  static int frequency(long word, int hand) {
+    return (int) ((word >>> (hand * FREQUENCY_BITS)) & FREQUENCY_MAX);
+  }
+
+  /**
+   * from の次に to を出した回数を返す。
+   *
+   * @param word {@link #transitions()} の値
+   * @param from 直前の手のコード
+   * @param to 次の手のコード
+   * @return 回数
+   */
+  static int transition(long word, int from, int to) {
+    return (int) ((word >>> ((from * HANDS + to) * TRANSITION_BITS)) & TRANSITION_MAX);
+  }
+
+  /**
+   * 直前に出した手を返す。
+   *
+   * @param word {@link #transitions()} の値
+   * @return 手のコード（まだ出していなければ -1）
+   */
+  static int lastHand(long word) {
+    return (int) ((word & LAST_HAND_MASK) >>> LAST_HAND_SHIFT) - 1;
+  }
+
+  /**
+   * 相手の直前の状態を返す。
+   *
+   * @param word {@link #opponents()} の値
+   * @param opponent 相手の位置（0始まり、{@value #TRACKED_OPPONENTS} 未満）
+   * @return 「1 + 手 * 3 + 自分から見た勝敗」（まだ対戦していなければ 0）
+   */
+  static int opponentState(long word, int opponent) {
+    return (int) ((word >>> (opponent * OPPONENT_BITS)) & OPPONENT_MAX);
+  }
+
+  /** 最後に使った時刻を更新する。 */
+  void touch(long now) {
+    lastAccessNanos = now;
+  }
+
+  /** 最後に使った時刻を返す。 */
+  long lastAccessNanos() {
+    return lastAccessNanos;
+  }
+
+  /** 手を出した回数を1増やす。 */
+  private static long countHand(long word, int hand) {
+    return increment(
+        word, hand * FREQUENCY_BITS, FREQUENCY_MAX, FREQUENCY_COUNTERS, FREQUENCY_HALF);
+  }
+
+  /** from の次に to を出した回数を1増やす。 */
+  private static long countTransition(long word, int from, int to) {
+    int shift = (from * HANDS + to) * TRANSITION_BITS;
+    return increment(word, shift, TRANSITION_MAX, TRANSITION_COUNTERS, TRANSITION_HALF);
+  }
+
+  /** 指定した位置の回数を1増やす（上限に達していたら先に回数をすべて半分にする）。 */
+  private static long increment(long word, int shift, long max, long counters, long half) {
+    if (((word >>> shift) & max) == max) {
+      word = (word & ~counters) | ((word & counters) >>> 1 & half);
+    }
+    return word + (1L << shift);
+  }
+
+  /** bits 幅の欄を count 個並べ、各欄に value を入れたマスクを作る。 */
+  private static long fieldMask(int bits, int count, long value) {
+    long mask = 0;
+    for (int i = 0; i < count; i++) {
+      mask |= value << (i * bits);
+    }
+    return mask;
+  }
+}
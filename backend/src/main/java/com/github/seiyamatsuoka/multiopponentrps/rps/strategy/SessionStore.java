@@ -0,0 +1,116 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.strategy;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * セッションごとの履歴（{@link SessionModel}）を覚えておく場所。
+ *
+ * <p>方針：
+ *
+ * <ul>
+ *   <li>セッションは {@link ConcurrentHashMap} で持ち、履歴の更新は {@link SessionModel} 側の CAS で行う（ロックを取らない）
+ *   <li>idleTimeout の間使われなかったセッションは、次に使われたときに履歴を捨てて新しく始める
+ *   <li>セッション数の上限を超えそうになったら、使われていないセッションから消す。それでも溢れる場合は任意の順で消す
+ * </ul>
+ */
+public class SessionStore {
+
+  /** 既定の、使われなくなってから履歴を捨てるまでの時間。 */
+  public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(30);
+
+  /** 既定の、覚えておくセッション数の上限。 */
+  public static final int DEFAULT_MAX_SESSIONS = 10_000;
+
+  private final long idleNanos;
+  private final int maxSessions;
+  private final LongSupplier nanoTime;
+
+  private final ConcurrentHashMap<String, SessionModel> sessions = new ConcurrentHashMap<>();
+
+  private final AtomicBoolean evicting = new AtomicBoolean();
+
+  /** 既定の設定で生成する。 */
+  public SessionStore() {
+    this(DEFAULT_IDLE_TIMEOUT, DEFAULT_MAX_SESSIONS);
+  }
+
+  /**
+   * 履歴を捨てるまでの時間とセッション数の上限を指定して生成する。
+   *
+   * @param idleTimeout 使われなくなってから履歴を捨てるまでの時間
+   * @param maxSessions 覚えておくセッション数の上限
+   */
+  public SessionStore(Duration idleTimeout, int maxSessions) {
+    this(idleTimeout, maxSessions, System::nanoTime);
+  }
+
+  SessionStore(Duration idleTimeout, int maxSessions, LongSupplier nanoTime) {
+    if (idleTimeout.isZero() || idleTimeout.isNegative()) {
+      throw new IllegalArgumentException("idleTimeout must be positive: " + idleTimeout);
+    }
+    if (maxSessions < 1) {
+      throw new IllegalArgumentException("maxSessions must be positive: " + maxSessions);
+    }
+    this.idleNanos = idleTimeout.toNanos();
+    this.maxSessions = maxSessions;
+    this.nanoTime = nanoTime;
+  }
+
+  /**
+   * セッションの履歴を返す（なければ空の履歴を作る）。
+   *
+   * @param session セッションのキー
+   * @return 履歴
+   */
+  public SessionModel get(String session) {
+    long now = nanoTime.getAsLong();
+    SessionModel model = sessions.get(session);
+    if (model != null && isIdle(model, now)) {
+      sessions.remove(session, model);
+      model = null;
+    }
+    if (model == null) {
+      if (sessions.size() >= maxSessions) {
+        evict(now);
+      }
+      model = sessions.computeIfAbsent(session, k -> new SessionModel(now));
+    }
+    model.touch(now);
+    return model;
+  }
+
+  /** 覚えているセッション数を返す（使われなくなって未削除のものを含む）。 */
+  public int sessions() {
+    return sessions.size();
+  }
+
+  private boolean isIdle(SessionModel model, long now) {
+    return now - model.lastAccessNanos() > idleNanos;
+  }
+
+  /**
+   * セッション数を上限の 7/8 程度まで減らす（同時に呼ばれた場合は 1 つのスレッドだけが行う）。
+   *
+   * <p>溢れるたびに全件を見ないよう、1回で少し余裕を空ける。
+   */
+  private void evict(long now) {
+    if (!evicting.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      sessions.values().removeIf(model -> isIdle(model, now));
+      int target = maxSessions - Math.max(1, maxSessions / 8);
+      Iterator<String> it = sessions.keySet().iterator();
+      while (sessions.size() > target && it.hasNext()) {
+        it.next();
+        it.remove();
+      }
+    } finally {
+      evicting.set(false);
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.strategy;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.OutcomeTable;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffer;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RpsEngine;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.OpponentStrategy;
+import java.util.random.RandomGenerator;
+
+/**
+ * セッションの履歴（{@link SessionModel}）から相手の手を決める（通常のじゃんけんのみ）。
+ *
+ * <p>方針：
+ *
+ * <ul>
+ *   <li>FREQUENCY / MARKOV：相手ごとに、自分の次の手を「回数 + 1」に比例した確率で予想し、それに勝つ手を出す（履歴がなければ一様）
+ *   <li>WIN_STAY_LOSE_SHIFT：相手ごとの直前の勝敗で決める（その相手と対戦していなければ一様）
+ *   <li>履歴は呼び出し時点のものを1回だけ読む。今回の自分の手は使わない（判定後に {@link SessionModel#record} で加える）
+ *   <li>相手1人あたり乱数 1 回と数回の比較だけで決める（オブジェクトを作らない）
+ * </ul>
+ */
+public final class StrategyEngine {
+
+  private static final int HANDS = OutcomeTable.HAND_COUNT;
+
+  private StrategyEngine() {}
+
+  /**
+   * 相手の手を人数分、作戦に従って生成してバッファに追加する。
+   *
+   * @param buffer 書き込み先
+   * @param opponents 相手人数
+   * @param random 乱数生成器
+   * @param strategy 作戦（RANDOM 以外。RANDOM は {@link RpsEngine#fillRandom} で生成する）
+   * @param model セッションの履歴
+   */
+  public static void fill(
+      RoundBuffer buffer,
+      int opponents,
+      RandomGenerator random,
+      OpponentStrategy strategy,
+      SessionModel model) {
+    switch (strategy) {
+      case FREQUENCY -> {
+        long word = model.frequencies();
+        fillCounters(
+            buffer,
+            opponents,
+            random,
+            SessionModel.frequency(word, 0) + 1,
+            SessionModel.frequency(word, 1) + 1,
+            SessionModel.frequency(word, 2) + 1);
+      }
+      case MARKOV -> {
+        long word = model.transitions();
+        int last = SessionModel.lastHand(word);
+        if (last < 0) {
+          fillCounters(buffer, opponents, random, 1, 1, 1);
+        } else {
+          fillCounters(
+              buffer,
+              opponents,
+              random,
+              SessionModel.transition(word, last, 0) + 1,
+              SessionModel.transition(word, last, 1) + 1,
+              SessionModel.transition(word, last, 2) + 1);
+        }
+      }
+      case WIN_STAY_LOSE_SHIFT ->
+          fillWinStayLoseShift(buffer, opponents, random, model.opponents(), model.transitions());
+      case RANDOM ->
+          throw new IllegalArgumentException("RANDOM は RpsEngine#fillRandom で生成してください");
+    }
+  }
+
+  /**
+   * 手のコードに勝つ手のコードを返す（巡回で1つ後ろの手が勝つ）。
+   *
+   * @param hand 手のコード
+   * @return 勝つ手のコード
+   */
+  static int counter(int hand) {
+    return hand == HANDS - 1 ? 0 : hand + 1;
+  }
+
+  /** 自分の次の手を重みに比例した確率で予想し、それに勝つ手を相手ごとに追加する。 */
+  private static void fillCounters(
+      RoundBuffer buffer,
+      int opponents,
+      RandomGenerator random,
+      int rock,
+      int paper,
+      int scissors) {
+    int rockOrPaper = rock + paper;
+    int total = rockOrPaper + scissors;
+    for (int i = 0; i < opponents; i++) {
+      int u = random.nextInt(total);
+      int predicted = u < rock ? 0 : u < rockOrPaper ? 1 : 2;
+      buffer.add(counter(predicted));
+    }
+  }
+
+  /** 勝った相手は同じ手、負け・あいこの相手は直前の自分の手に勝つ手を追加する。 */
+  private static void fillWinStayLoseShift(
+      RoundBuffer buffer, int opponents, RandomGenerator random, long states, long transitions) {
+    int last = SessionModel.lastHand(transitions);
+    for (int i = 0; i < opponents; i++) {
+      int state = i < SessionModel.TRACKED_OPPONENTS ? SessionModel.opponentState(states, i) : 0;
+      if (state == 0 || last < 0) {
+        buffer.add(random.nextInt(HANDS));
+        continue;
+      }
+      int hand = (state - 1) / OutcomeTable.RESULT_COUNT;
+      int playerResult = (state - 1) % OutcomeTable.RESULT_COUNT;
+      buffer.add(playerResult == OutcomeTable.LOSE ? hand : counter(last));
+    }
+  }
+}
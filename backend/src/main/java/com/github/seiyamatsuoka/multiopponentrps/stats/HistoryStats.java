@@ -0,0 +1,118 @@
+package com.github.seiyamatsuoka.multiopponentrps.stats;
+
+import com.github.seiyamatsuoka.multiopponentrps.matchlog.MatchRecordView;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.OutcomeTable;
+import com.github.seiyamatsuoka.multiopponentrps.stats.dto.HistoryStatsResponse;
+import java.util.stream.Collector;
+
+/**
+ * マッチログの集計の途中結果（{@link com.github.seiyamatsuoka.multiopponentrps.matchlog.MatchLogScanner}
+ * のセグメントごとに1つ）。
+ *
+ * <p>件数の配列の並び・レスポンスへの変換は {@link StatsTables} と同じ。
+ *
+ * <p>あいこの連続は、途中結果ごとに「先頭から続くあいこ数・末尾まで続くあいこ数・最長」を持ち、統合時に境界をまたぐ連続をつなげる。
+ */
+final class HistoryStats {
+
+  /** 相手人数ごとの回数を数える上限（これを超える人数は opponents に含めない）。 */
+  static final int MAX_COUNTED_OPPONENTS = 1024;
+
+  private long games;
+
+  /** 相手ごとの勝敗の件数。 */
+  private final long[] results = new long[StatsTables.RESULT_SLOTS];
+
+  /** 自分の手ごとの回数。 */
+  private final long[] gamesByHand = new long[OutcomeTable.CODE_COUNT];
+
+  /** 相手人数（添字）ごとの回数。 */
+  private final long[] gamesByOpponents = new long[MAX_COUNTED_OPPONENTS + 1];
+
+  private long leadingDraws;
+  private long trailingDraws;
+  private long longestDraws;
+
+  /**
+   * マッチログの集計方法（{@link HistoryStatsResponse} を作る Collector）を返す。
+   *
+   * @return Collector
+   */
+  static Collector<MatchRecordView, HistoryStats, HistoryStatsResponse> collector() {
+    return Collector.of(
+        HistoryStats::new, HistoryStats::add, HistoryStats::merge, HistoryStats::toResponse);
+  }
+
+  /**
+   * 1回分を数える。
+   *
+   * @param view レコード
+   */
+  void add(MatchRecordView view) {
+    int player = view.playerHand();
+    int win = view.win();
+    int lose = view.lose();
+    results[StatsTables.resultSlot(player, OutcomeTable.WIN)] += win;
+    results[StatsTables.resultSlot(player, OutcomeTable.LOSE)] += lose;
+    results[StatsTables.resultSlot(player, OutcomeTable.DRAW)] += view.draw();
+    gamesByHand[player]++;
+
+    int opponents = view.opponents();
+    if (opponents <= MAX_COUNTED_OPPONENTS) {
+      gamesByOpponents[opponents]++;
+    }
+
+    if (win == lose) {
+      trailingDraws++;
+      if (trailingDraws == games + 1) {
+        leadingDraws = trailingDraws;
+      }
+      longestDraws = Math.max(longestDraws, trailingDraws);
+    } else {
+      trailingDraws = 0;
+    }
+    games++;
+  }
+
+  /**
+   * 後ろの途中結果を統合する（this が前）。
+   *
+   * @param next 後ろの途中結果
+   * @return this
+   */
+  HistoryStats merge(HistoryStats next) {
+    // 前の末尾と後ろの先頭のあいこは、境界をまたいで1つの連続になる
+    longestDraws =
+        Math.max(Math.max(longestDraws, next.longestDraws), trailingDraws + next.leadingDraws);
+    if (leadingDraws == games) {
+      leadingDraws += next.leadingDraws;
+    }
+    if (next.trailingDraws == next.games) {
+      trailingDraws += next.games;
+    } else {
+      trailingDraws = next.trailingDraws;
+    }
+    games += next.games;
+
+    addAll(results, next.results);
+    addAll(gamesByHand, next.gamesByHand);
+    addAll(gamesByOpponents, next.gamesByOpponents);
+    return this;
+  }
+
+  /** レスポンスに変換する。 */
+  HistoryStatsResponse toResponse() {
+    return new HistoryStatsResponse(
+        games,
+        StatsTables.total(results),
+        StatsTables.byPlayerHand(results, gamesByHand),
+        StatsTables.opponents(gamesByOpponents),
+        longestDraws);
+  }
+
+  private static void addAll(long[] target, long[] source) {
+    for (int i = 0; i < target.length; i++) {
+      target[i] += source[i];
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package com.github.seiyamatsuoka.multiopponentrps.stats;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.GameListener;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsRequest;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.OutcomeTable;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffer;
+import com.github.seiyamatsuoka.multiopponentrps.stats.dto.LiveStatsResponse;
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.stereotype.Component;
+
+/**
+ * じゃんけんの回数・勝敗のリアルタイム集計（起動してからの累計）。
+ *
+ * <p>方針：
+ *
+ * <ul>
+ *   <li>play のたびに全リクエストスレッドから更新されるため、ロック・Map を使わず {@link LongAdder}（スレッドごとに分散するカウンタ）で数える
+ *   <li>カウンタは自分の手のコード・勝敗コード・相手人数を添字にした配列で持ち、記録時に検索・生成をしない
+ *   <li>読み出し（{@link #snapshot()}）は各カウンタの合計を取るだけで、記録を止めない
+ * </ul>
+ *
+ * <p>スナップショットは各カウンタを順に読むため、記録中の回の途中の値（回数は増えたが勝敗はまだ、など）を含むことがある。
+ */
+@Component
+public class LiveStats implements GameListener {
+
+  /** 集計を始めた時刻（スナップショットから復元した場合は、復元元の開始時刻）。 */
+  private volatile Instant since = Instant.now();
+
+  private final LongAdder games = new LongAdder();
+
+  /** 相手ごとの勝敗の件数（並びは {@link StatsTables} と同じ）。 */
+  private final LongAdder[] results = newAdders(StatsTables.RESULT_SLOTS);
+
+  /** 自分の手ごとの回数。 */
+  private final LongAdder[] gamesByHand = newAdders(OutcomeTable.CODE_COUNT);
+
+  /** 相手人数（添字）ごとの回数（1回のじゃんけんの上限人数まで）。 */
+  private final LongAdder[] gamesByOpponents = newAdders(RpsRequest.MAX_OPPONENTS + 1);
+
+  /** 1回分を数える。 */
+  @Override
+  public void onGame(long timestampMillis, int playerCode, RoundBuffer buffer) {
+    games.increment();
+    gamesByHand[playerCode].increment();
+
+    int opponents = buffer.size();
+    if (opponents < gamesByOpponents.length) {
+      gamesByOpponents[opponents].increment();
+    }
+
+    for (int result = 0; result < OutcomeTable.RESULT_COUNT; result++) {
+      int count = buffer.count(result);
+      if (count > 0) {
+        results[StatsTables.resultSlot(playerCode, result)].add(count);
+      }
+    }
+  }
+
+  /**
+   * 現時点の集計を返す。
+   *
+   * @return 集計
+   */
+  public LiveStatsResponse snapshot() {
+    long[] resultCounts = sum(results);
+    return new LiveStatsResponse(
+        since,
+        games.sum(),
+        StatsTables.total(resultCounts),
+        StatsTables.byPlayerHand(resultCounts, sum(gamesByHand)),
+        StatsTables.opponents(sum(gamesByOpponents)));
+  }
+
+  /**
+   * 現時点の件数をコピーして返す（スナップショットの保存用。記録は止めない）。
+   *
+   * @return 件数のコピー
+   */
+  State state() {
+    return new State(
+        since.toEpochMilli(), games.sum(), sum(results), sum(gamesByHand), sum(gamesByOpponents));
+  }
+
+  /**
+   * 保存した件数を足し込む（起動時の復元用）。
+   *
+   * <p>配列の長さが違う場合（設定の変更など）は、共通する範囲だけを足し込む。
+   *
+   * @param state 保存した件数
+   */
+  void restore(State state) {
+    since = Instant.ofEpochMilli(Math.min(since.toEpochMilli(), state.sinceMillis()));
+    games.add(state.games());
+    addAll(results, state.results());
+    addAll(gamesByHand, state.gamesByHand());
+    addAll(gamesByOpponents, state.gamesByOpponents());
+  }
+
+  /**
+   * 保存・復元する件数。
+   *
+   * @param sinceMillis 集計を始めた時刻（エポックミリ秒）
+   * @param games 回数
+   * @param results 相手ごとの勝敗の件数
+   * @param gamesByHand 自分の手ごとの回数
+   * @param gamesByOpponents 相手人数ごとの回数
+   */
+  record State(
+      long sinceMillis, long games, long[] results, long[] gamesByHand, long[] gamesByOpponents) {}
+
+  private static void addAll(LongAdder[] adders, long[] values) {
+    for (int i = 0; i < Math.min(adders.length, values.length); i++) {
+      adders[i].add(values[i]);
+    }
+  }
+
+  private static LongAdder[] newAdders(int length) {
+    LongAdder[] adders = new LongAdder[length];
+    for (int i = 0; i < length; i++) {
+      adders[i] = new LongAdder();
+    }
+    return adders;
+  }
+
+  private static long[] sum(LongAdder[] adders) {
+    long[] sums = new long[adders.length];
+    for (int i = 0; i < adders.length; i++) {
+      sums[i] = adders[i].sum();
+    }
+    return sums;
+  }
+}
@@ -0,0 +1,10 @@
+package com.github.seiyamatsuoka.multiopponentrps.stats;
+
+/** マッチログが無効（app.matchlog.enabled=false）のため、履歴の集計ができないことを表す例外。 */
+public class MatchLogDisabledException extends RuntimeException {
+
+  /** 例外を生成する。 */
+  public MatchLogDisabledException() {
+    super("app.matchlog.enabled=true で有効にしてください");
+  }
+}
@@ -0,0 +1,176 @@
+package com.github.seiyamatsuoka.multiopponentrps.stats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * 直近 N 秒の件数を数える、1秒ごとのバケットのリングバッファ。
+ *
+ * <p>方針：
+ *
+ * <ul>
+ *   <li>バケットは「秒数 × 種類（channel）」の固定長の long 配列で持つ（メモリは件数に依存しない）
+ *   <li>バケットの切り替えは記録時に行う（古い秒のバケットを見つけたらその場で 0 に戻す）。バックグラウンドのスレッドは使わない
+ *   <li>集計は窓の秒数分のバケットを足すだけ（O(秒数 × 種類)、件数に依存しない）
+ * </ul>
+ *
+ * <p>バケットの 0 クリアは1秒に1回だけ起きるため、そこだけロックする（通常の記録はロックしない）。
+ */
+final class SlidingWindowCounter {
+
+  private final int seconds;
+  private final int channels;
+  private final LongSupplier epochSeconds;
+
+  /** バケットごとの件数（[バケット * channels + 種類]）。 */
+  private final AtomicLongArray counts;
+
+  /** バケットごとの、いま入っている件数の時刻（エポック秒。未使用は -1）。 */
+  private final AtomicLongArray bucketSeconds;
+
+  /**
+   * カウンタを作成する。
+   *
+   * @param seconds 保持する秒数（集計できる窓の最大）
+   * @param channels 数える種類の数
+   * @param epochSeconds 現在時刻（エポック秒）の取得元
+   */
+  SlidingWindowCounter(int seconds, int channels, LongSupplier epochSeconds) {
+    this.seconds = seconds;
+    this.channels = channels;
+    this.epochSeconds = epochSeconds;
+    this.counts = new AtomicLongArray(seconds * channels);
+    this.bucketSeconds = new AtomicLongArray(seconds);
+    for (int i = 0; i < seconds; i++) {
+      bucketSeconds.set(i, -1);
+    }
+  }
+
+  /**
+   * 現在の秒のバケットを返す（古い秒のものなら 0 に戻してから返す）。
+   *
+   * <p>同じ回の記録は、ここで得たバケットに対して {@link #add} する（種類ごとに時刻を取り直さない）。
+   *
+   * @return バケットの位置
+   */
+  int currentBucket() {
+    long now = epochSeconds.getAsLong();
+    int bucket = (int) Math.floorMod(now, (long) seconds);
+    if (bucketSeconds.get(bucket) != now) {
+      reset(bucket, now);
+    }
+    return bucket;
+  }
+
+  /**
+   * バケットに件数を足す。
+   *
+   * @param bucket {@link #currentBucket()} で得たバケット
+   * @param channel 種類
+   * @param delta 件数
+   */
+  void add(int bucket, int channel, long delta) {
+    counts.getAndAdd(bucket * channels + channel, delta);
+  }
+
+  /**
+   * 直近 window 秒（現在の秒を含む）の件数を種類ごとに合計する。
+   *
+   * @param window 窓の秒数（1〜保持する秒数）
+   * @return 種類ごとの合計
+   */
+  long[] sum(int window) {
+    if (window < 1 || window > seconds) {
+      throw new IllegalArgumentException("window must be between 1 and " + seconds + ": " + window);
+    }
+    long now = epochSeconds.getAsLong();
+    long[] sums = new long[channels];
+    for (long second = now - window + 1; second <= now; second++) {
+      int bucket = (int) Math.floorMod(second, (long) seconds);
+      // まだ切り替わっていない（古い秒の）バケットは数えない
+      if (bucketSeconds.get(bucket) != second) {
+        continue;
+      }
+      for (int channel = 0; channel < channels; channel++) {
+        sums[channel] += counts.get(bucket * channels + channel);
+      }
+    }
+    return sums;
+  }
+
+  /**
+   * いま保持している秒のバケットをコピーして返す（スナップショットの保存用。記録は止めない）。
+   *
+   * <p>コピー中に記録された分は、含まれることも含まれないこともある。
+   *
+   * @return 使用中のバケット（古い順）
+   */
+  List<Bucket> buckets() {
+    long now = epochSeconds.getAsLong();
+    List<Bucket> buckets = new ArrayList<>();
+    for (long second = now - seconds + 1; second <= now; second++) {
+      int bucket = (int) Math.floorMod(second, (long) seconds);
+      if (bucketSeconds.get(bucket) != second) {
+        continue;
+      }
+      long[] values = new long[channels];
+      for (int channel = 0; channel < channels; channel++) {
+        values[channel] = counts.get(bucket * channels + channel);
+      }
+      buckets.add(new Bucket(second, values));
+    }
+    return buckets;
+  }
+
+  /**
+   * 保存したバケットを足し込む（起動時の復元用）。
+   *
+   * <p>窓から外れた秒のバケットは捨てる。種類の数が違う場合は、共通する種類だけを足し込む。
+   *
+   * @param saved 保存したバケット
+   */
+  void restore(List<Bucket> saved) {
+    long now = epochSeconds.getAsLong();
+    for (Bucket restored : saved) {
+      long second = restored.second();
+      if (second <= now - seconds || second > now) {
+        continue;
+      }
+      int bucket = (int) Math.floorMod(second, (long) seconds);
+      if (bucketSeconds.get(bucket) != second) {
+        reset(bucket, second);
+      }
+      long[] values = restored.counts();
+      for (int channel = 0; channel < Math.min(channels, values.length); channel++) {
+        add(bucket, channel, values[channel]);
+      }
+    }
+  }
+
+  /**
+   * 1秒分のバケット（保存・復元用）。
+   *
+   * @param second 時刻（エポック秒）
+   * @param counts 種類ごとの件数
+   */
+  record Bucket(long second, long[] counts) {}
+
+  /** 保持する秒数を返す。 */
+  int seconds() {
+    return seconds;
+  }
+
+  private synchronized void reset(int bucket, long now) {
+    long current = bucketSeconds.get(bucket);
+    // 他のスレッドが切り替え済み、または時刻が戻った（古い秒の記録）場合はそのまま使う
+    if (current >= now) {
+      return;
+    }
+    for (int channel = 0; channel < channels; channel++) {
+      counts.set(bucket * channels + channel, 0);
+    }
+    bucketSeconds.set(bucket, now);
+  }
+}
@@ -0,0 +1,70 @@
+package com.github.seiyamatsuoka.multiopponentrps.stats;
+
+import com.github.seiyamatsuoka.multiopponentrps.matchlog.MatchLogScanner;
+import com.github.seiyamatsuoka.multiopponentrps.stats.dto.HistoryStatsResponse;
+import com.github.seiyamatsuoka.multiopponentrps.stats.dto.LiveStatsResponse;
+import com.github.seiyamatsuoka.multiopponentrps.stats.dto.WindowStatsResponse;
+import java.io.IOException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** 対戦結果の集計API（Controller）。 */
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+  private final LiveStats liveStats;
+  private final WindowedStats windowedStats;
+  private final MatchLogScanner scanner;
+
+  /**
+   * DIコンストラクタ。
+   *
+   * @param liveStats リアルタイム集計
+   * @param windowedStats 直近の時間窓の集計
+   * @param scanner マッチログのスキャナ
+   */
+  public StatsController(
+      LiveStats liveStats, WindowedStats windowedStats, MatchLogScanner scanner) {
+    this.liveStats = liveStats;
+    this.windowedStats = windowedStats;
+    this.scanner = scanner;
+  }
+
+  /**
+   * 起動してからの回数・勝敗の累計を返す。
+   *
+   * @return 集計
+   */
+  @GetMapping
+  public LiveStatsResponse live() {
+    return liveStats.snapshot();
+  }
+
+  /**
+   * 直近 1分 / 5分 / 1時間 の回数・勝敗・入力不正の件数を返す。
+   *
+   * @return 集計
+   */
+  @GetMapping("/windows")
+  public WindowStatsResponse windows() {
+    return windowedStats.snapshot();
+  }
+
+  /**
+   * マッチログに記録されている全回を集計する。
+   *
+   * <p>セグメントごとに並列で読み、レコードはヒープに載せずに集計する。
+   *
+   * @return 集計結果
+   * @throws IOException マッチログを読めない場合
+   */
+  @GetMapping("/history")
+  public HistoryStatsResponse history() throws IOException {
+    if (!scanner.isEnabled()) {
+      throw new MatchLogDisabledException();
+    }
+    return scanner.scan(HistoryStats.collector());
+  }
+}
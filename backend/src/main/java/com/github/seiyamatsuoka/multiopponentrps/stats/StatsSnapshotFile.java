@@ -0,0 +1,205 @@
+package com.github.seiyamatsuoka.multiopponentrps.stats;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * 集計のスナップショットファイル（little-endian のバイナリ）。
+ *
+ * <pre>
+ *  0  int   magic        "RPST"
+ *  4  int   version      {@value #VERSION}
+ *  8  long  savedMillis  保存した時刻（エポックミリ秒）
+ * 16  int   length       本体のバイト数
+ * 20  int   crc32        本体の CRC32
+ * 24  本体
+ *       LiveStats：sinceMillis(long) / games(long) /
+ *                  results・gamesByHand・gamesByOpponents（それぞれ件数(int) + long の並び）
+ *       WindowedStats：startSecond(long) / バケット数(int) / 種類の数(int) /
+ *                      バケットごとに second(long) + 種類ごとの件数(long)
+ * </pre>
+ *
+ * <p>書き込みは一時ファイルに書いてから置き換える（途中で落ちても前回のファイルが残る）。読み込みはメモリマップで行う。
+ */
+final class StatsSnapshotFile {
+
+  /** "RPST"（little-endian の int）。 */
+  static final int MAGIC = 'R' | 'P' << 8 | 'S' << 16 | 'T' << 24;
+
+  /** ファイル形式のバージョン。 */
+  static final int VERSION = 1;
+
+  private static final int HEADER_SIZE = 24;
+
+  private StatsSnapshotFile() {}
+
+  /**
+   * 保存・復元する集計。
+   *
+   * @param savedMillis 保存した時刻（エポックミリ秒）
+   * @param live 起動してからの累計
+   * @param windows 直近の時間窓のバケット
+   */
+  record Snapshot(long savedMillis, LiveStats.State live, WindowedStats.State windows) {}
+
+  /**
+   * スナップショットを書き込む（一時ファイルに書いてから置き換える）。
+   *
+   * @param path 書き込み先
+   * @param snapshot スナップショット
+   * @throws IOException 書き込めない場合
+   */
+  static void write(Path path, Snapshot snapshot) throws IOException {
+    ByteBuffer body = encodeBody(snapshot);
+    CRC32 crc = new CRC32();
+    crc.update(body.duplicate());
+
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    header.putInt(MAGIC).putInt(VERSION).putLong(snapshot.savedMillis());
+    header.putInt(body.remaining()).putInt((int) crc.getValue()).flip();
+
+    Path parent = path.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+    try (FileChannel channel =
+        FileChannel.open(
+            temp,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (header.hasRemaining() || body.hasRemaining()) {
+        channel.write(new ByteBuffer[] {header, body});
+      }
+      channel.force(true);
+    }
+    Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * スナップショットを読み込む（メモリマップ）。
+   *
+   * @param path 読み込み元
+   * @return スナップショット
+   * @throws IOException 読めない・形式が不正な場合
+   */
+  static Snapshot read(Path path) throws IOException {
+    MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(path)) {
+      buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+    }
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+    if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+      throw new IOException("集計のスナップショットではありません: " + path);
+    }
+    int version = buffer.getInt();
+    if (version != VERSION) {
+      throw new IOException("未対応のスナップショットです（version=" + version + "）: " + path);
+    }
+    long savedMillis = buffer.getLong();
+    int length = buffer.getInt();
+    int expectedCrc = buffer.getInt();
+    if (length < 0 || length != buffer.remaining()) {
+      throw new IOException("スナップショットのサイズが不正です: " + path);
+    }
+    CRC32 crc = new CRC32();
+    crc.update(buffer.duplicate());
+    if ((int) crc.getValue() != expectedCrc) {
+      throw new IOException("スナップショットが壊れています（CRC 不一致）: " + path);
+    }
+
+    try {
+      LiveStats.State live =
+          new LiveStats.State(
+              buffer.getLong(),
+              buffer.getLong(),
+              readLongs(buffer),
+              readLongs(buffer),
+              readLongs(buffer));
+      long startSecond = buffer.getLong();
+      int bucketCount = buffer.getInt();
+      int channels = buffer.getInt();
+      if (bucketCount < 0 || channels < 0) {
+        throw new IOException("スナップショットの形式が不正です: " + path);
+      }
+      List<SlidingWindowCounter.Bucket> buckets = new ArrayList<>(bucketCount);
+      for (int i = 0; i < bucketCount; i++) {
+        long second = buffer.getLong();
+        long[] counts = new long[channels];
+        for (int channel = 0; channel < channels; channel++) {
+          counts[channel] = buffer.getLong();
+        }
+        buckets.add(new SlidingWindowCounter.Bucket(second, counts));
+      }
+      return new Snapshot(savedMillis, live, new WindowedStats.State(startSecond, buckets));
+    } catch (BufferUnderflowException e) {
+      throw new IOException("スナップショットの形式が不正です: " + path, e);
+    }
+  }
+
+  private static ByteBuffer encodeBody(Snapshot snapshot) {
+    LiveStats.State live = snapshot.live();
+    List<SlidingWindowCounter.Bucket> buckets = snapshot.windows().buckets();
+    int channels = buckets.isEmpty() ? 0 : buckets.get(0).counts().length;
+
+    int size =
+        2 * Long.BYTES
+            + longsSize(live.results())
+            + longsSize(live.gamesByHand())
+            + longsSize(live.gamesByOpponents())
+            + Long.BYTES
+            + 2 * Integer.BYTES
+            + buckets.size() * (1 + channels) * Long.BYTES;
+    ByteBuffer body = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    body.putLong(live.sinceMillis()).putLong(live.games());
+    putLongs(body, live.results());
+    putLongs(body, live.gamesByHand());
+    putLongs(body, live.gamesByOpponents());
+
+    body.putLong(snapshot.windows().startSecond()).putInt(buckets.size()).putInt(channels);
+    for (SlidingWindowCounter.Bucket bucket : buckets) {
+      body.putLong(bucket.second());
+      for (long count : bucket.counts()) {
+        body.putLong(count);
+      }
+    }
+    return body.flip();
+  }
+
+  private static int longsSize(long[] values) {
+    return Integer.BYTES + values.length * Long.BYTES;
+  }
+
+  private static void putLongs(ByteBuffer buffer, long[] values) {
+    buffer.putInt(values.length);
+    for (long value : values) {
+      buffer.putLong(value);
+    }
+  }
+
+  private static long[] readLongs(ByteBuffer buffer) throws IOException {
+    int length = buffer.getInt();
+    if (length < 0 || length > buffer.remaining() / Long.BYTES) {
+      throw new IOException("スナップショットの形式が不正です（配列の長さ " + length + "）");
+    }
+    long[] values = new long[length];
+    for (int i = 0; i < length; i++) {
+      values[i] = buffer.getLong();
+    }
+    return values;
+  }
+}
@@ -0,0 +1,166 @@
+package com.github.seiyamatsuoka.multiopponentrps.stats;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * 集計（{@link LiveStats} / {@link WindowedStats}）をファイルに保存し、再起動時に復元する。
+ *
+ * <p>方針：
+ *
+ * <ul>
+ *   <li>開始時（Web サーバーの開始・readiness の ACCEPTING_TRAFFIC より前）にファイルから復元する
+ *   <li>保存は専用のスレッド（1つ）が一定間隔で行う。集計は LongAdder / AtomicLongArray
+ *       をそのまま読んでコピーするだけで、じゃんけんの処理を止めるロックは取らない
+ *   <li>停止時（Web サーバーの停止後）に最後の保存を行う
+ *   <li>ファイルが壊れている・読めない場合はログを出して空の集計から始める（起動は止めない）
+ * </ul>
+ *
+ * <p>コピー中にも集計は進むため、保存される値は「ある瞬間」の厳密な値ではない（種類ごとの合計が 1 回分ずれることがある）。
+ *
+ * <p>無効で生成した場合は開始しても何もしない（AOT ではビルド時に Bean の有無が固定されるため、有効・無効は起動時の設定で切り替える）。
+ */
+public class StatsSnapshotter implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(StatsSnapshotter.class);
+
+  /** 停止時に保存中のスナップショットを待つ時間。 */
+  private static final long STOP_TIMEOUT_SECONDS = 10;
+
+  private final boolean enabled;
+  private final LiveStats live;
+  private final WindowedStats windows;
+  private final Path path;
+  private final Duration interval;
+
+  private volatile boolean running;
+  private ScheduledExecutorService executor;
+
+  /**
+   * 保存先と間隔を指定して生成する。
+   *
+   * @param live 起動してからの累計
+   * @param windows 直近の時間窓の集計
+   * @param path スナップショットファイル
+   * @param interval 保存する間隔
+   */
+  public StatsSnapshotter(LiveStats live, WindowedStats windows, Path path, Duration interval) {
+    this(true, live, windows, path, interval);
+  }
+
+  /**
+   * 有効・無効と保存先・間隔を指定して生成する。
+   *
+   * @param enabled 保存・復元するか（false なら {@link #start()} は何もしない）
+   * @param live 起動してからの累計
+   * @param windows 直近の時間窓の集計
+   * @param path スナップショットファイル
+   * @param interval 保存する間隔
+   */
+  public StatsSnapshotter(
+      boolean enabled, LiveStats live, WindowedStats windows, Path path, Duration interval) {
+    if (interval.isZero() || interval.isNegative()) {
+      throw new IllegalArgumentException("interval must be positive: " + interval);
+    }
+    this.enabled = enabled;
+    this.live = live;
+    this.windows = windows;
+    this.path = path;
+    this.interval = interval;
+  }
+
+  /** ファイルから復元し、定期的な保存を開始する。 */
+  @Override
+  public synchronized void start() {
+    if (running || !enabled) {
+      return;
+    }
+    restore();
+    executor =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> Thread.ofPlatform().name("stats-snapshot").daemon().unstarted(r));
+    long millis = interval.toMillis();
+    executor.scheduleWithFixedDelay(this::saveQuietly, millis, millis, TimeUnit.MILLISECONDS);
+    running = true;
+  }
+
+  /** 定期的な保存を止め、最後の保存を行う。 */
+  @Override
+  public synchronized void stop() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    executor.shutdown();
+    try {
+      executor.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    saveQuietly();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  /** Web サーバーより先に開始し、後に停止する（停止直前のリクエストの分も保存する）。 */
+  @Override
+  public int getPhase() {
+    return SmartLifecycle.DEFAULT_PHASE - 4096;
+  }
+
+  /** 保存・復元するか（app.stats.snapshot.enabled）を返す。 */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * 現在の集計をファイルに保存する。
+   *
+   * @throws IOException 書き込めない場合
+   */
+  public void save() throws IOException {
+    StatsSnapshotFile.write(
+        path,
+        new StatsSnapshotFile.Snapshot(System.currentTimeMillis(), live.state(), windows.state()));
+  }
+
+  /**
+   * ファイルがあれば集計に復元する。
+   *
+   * @return 復元した場合は true（ファイルがない・読めない場合は false）
+   */
+  public boolean restore() {
+    if (!Files.exists(path)) {
+      return false;
+    }
+    try {
+      StatsSnapshotFile.Snapshot snapshot = StatsSnapshotFile.read(path);
+      live.restore(snapshot.live());
+      windows.restore(snapshot.windows());
+      log.info("集計を復元しました: {}（games={}）", path, snapshot.live().games());
+      return true;
+    } catch (IOException | RuntimeException e) {
+      log.warn("集計のスナップショットを読めないため、空の集計から始めます: {}", path, e);
+      return false;
+    }
+  }
+
+  private void saveQuietly() {
+    try {
+      save();
+    } catch (IOException | RuntimeException e) {
+      log.warn("集計のスナップショットを保存できません: {}", path, e);
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package com.github.seiyamatsuoka.multiopponentrps.stats;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.OutcomeTable;
+import com.github.seiyamatsuoka.multiopponentrps.stats.dto.OpponentsCount;
+import com.github.seiyamatsuoka.multiopponentrps.stats.dto.PlayerHandStats;
+import com.github.seiyamatsuoka.multiopponentrps.stats.dto.StatsSummary;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 集計（履歴・リアルタイム）で共通の、件数の配列からレスポンスへの変換。
+ *
+ * <p>件数の配列は次の並びで持つ。
+ *
+ * <ul>
+ *   <li>勝敗：[自分の手 * RESULT_COUNT + 勝敗コード] → 相手ごとの勝敗の件数（{@link #resultSlot}）
+ *   <li>自分の手ごとの回数：[自分の手のコード]
+ *   <li>相手人数ごとの回数：[相手人数]
+ * </ul>
+ *
+ * <p>件数は long で数え、そのまま {@link StatsSummary} にする（累計が int を超えても返せる）。
+ */
+final class StatsTables {
+
+  /** 勝敗の件数の配列の長さ。 */
+  static final int RESULT_SLOTS = OutcomeTable.CODE_COUNT * OutcomeTable.RESULT_COUNT;
+
+  private StatsTables() {}
+
+  /**
+   * 勝敗の件数の配列の位置を返す。
+   *
+   * @param playerCode 自分の手のコード
+   * @param resultCode 勝敗コード
+   * @return 位置
+   */
+  static int resultSlot(int playerCode, int resultCode) {
+    return playerCode * OutcomeTable.RESULT_COUNT + resultCode;
+  }
+
+  /**
+   * 全体の勝敗の合計を返す。
+   *
+   * @param results 勝敗の件数
+   * @return 合計
+   */
+  static StatsSummary total(long[] results) {
+    long[] total = new long[OutcomeTable.RESULT_COUNT];
+    for (int hand = 0; hand < OutcomeTable.CODE_COUNT; hand++) {
+      for (int result = 0; result < OutcomeTable.RESULT_COUNT; result++) {
+        total[result] += results[resultSlot(hand, result)];
+      }
+    }
+    return new StatsSummary(
+        total[OutcomeTable.WIN], total[OutcomeTable.LOSE], total[OutcomeTable.DRAW]);
+  }
+
+  /**
+   * 自分の手ごとの集計を返す（手のコードの順）。
+   *
+   * <p>通常のじゃんけんの手（ROCK/PAPER/SCISSORS）は回数が 0 でも含め、ほかのルールの手は回数がある場合のみ含める。
+   *
+   * @param results 勝敗の件数
+   * @param gamesByHand 自分の手ごとの回数
+   * @return 自分の手ごとの集計
+   */
+  static List<PlayerHandStats> byPlayerHand(long[] results, long[] gamesByHand) {
+    List<PlayerHandStats> stats = new ArrayList<>(OutcomeTable.HAND_COUNT);
+    for (int hand = 0; hand < OutcomeTable.CODE_COUNT; hand++) {
+      if (hand >= OutcomeTable.HAND_COUNT && gamesByHand[hand] == 0) {
+        continue;
+      }
+      long win = results[resultSlot(hand, OutcomeTable.WIN)];
+      long lose = results[resultSlot(hand, OutcomeTable.LOSE)];
+      long draw = results[resultSlot(hand, OutcomeTable.DRAW)];
+      long rounds = win + lose + draw;
+      stats.add(
+          new PlayerHandStats(
+              OutcomeTable.decodeHand(hand),
+              gamesByHand[hand],
+              new StatsSummary(win, lose, draw),
+              (rounds == 0) ? 0 : (double) win / rounds));
+    }
+    return stats;
+  }
+
+  /**
+   * 相手人数ごとの回数を返す（記録がある人数のみ、少ない順）。
+   *
+   * @param gamesByOpponents 相手人数ごとの回数
+   * @return 相手人数ごとの回数
+   */
+  static List<OpponentsCount> opponents(long[] gamesByOpponents) {
+    List<OpponentsCount> counts = new ArrayList<>();
+    for (int opponents = 0; opponents < gamesByOpponents.length; opponents++) {
+      if (gamesByOpponents[opponents] > 0) {
+        counts.add(new OpponentsCount(opponents, gamesByOpponents[opponents]));
+      }
+    }
+    return counts;
+  }
+}
@@ -0,0 +1,135 @@
+package com.github.seiyamatsuoka.multiopponentrps.stats;
+
+import com.github.seiyamatsuoka.multiopponentrps.error.ApiErrorKind;
+import com.github.seiyamatsuoka.multiopponentrps.rps.GameListener;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.OutcomeTable;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffer;
+import com.github.seiyamatsuoka.multiopponentrps.stats.dto.StatsSummary;
+import com.github.seiyamatsuoka.multiopponentrps.stats.dto.WindowStats;
+import com.github.seiyamatsuoka.multiopponentrps.stats.dto.WindowStatsResponse;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * 直近 1分 / 5分 / 1時間 の回数・勝敗・入力不正の件数（{@link SlidingWindowCounter}）。
+ *
+ * <ul>
+ *   <li>回数・勝敗は GameListener として play のたびに数える
+ *   <li>入力不正（400：バリデーションエラー・リクエストボディの不正）は ApiExceptionHandler から数える
+ * </ul>
+ */
+@Component
+public class WindowedStats implements GameListener {
+
+  /** 集計する時間窓（名前・秒数）。 */
+  private static final String[] WINDOW_NAMES = {"1m", "5m", "1h"};
+
+  private static final int[] WINDOW_SECONDS = {60, 5 * 60, 60 * 60};
+
+  private static final int GAMES = 0;
+  private static final int WIN = 1;
+  private static final int LOSE = 2;
+  private static final int DRAW = 3;
+  private static final int REJECTED = 4;
+  private static final int CHANNELS = 5;
+
+  private final LongSupplier epochSeconds;
+  private final SlidingWindowCounter counter;
+
+  /** 集計を始めた時刻（エポック秒。スナップショットから復元した場合は、復元元の開始時刻）。 */
+  private volatile long startSecond;
+
+  /** システム時計で生成する。 */
+  public WindowedStats() {
+    this(() -> System.currentTimeMillis() / 1000);
+  }
+
+  /**
+   * 時刻の取得元を指定して生成する（テスト用）。
+   *
+   * @param epochSeconds 現在時刻（エポック秒）の取得元
+   */
+  WindowedStats(LongSupplier epochSeconds) {
+    this.epochSeconds = epochSeconds;
+    this.startSecond = epochSeconds.getAsLong();
+    this.counter =
+        new SlidingWindowCounter(WINDOW_SECONDS[WINDOW_SECONDS.length - 1], CHANNELS, epochSeconds);
+  }
+
+  /** 1回分を数える。 */
+  @Override
+  public void onGame(long timestampMillis, int playerCode, RoundBuffer buffer) {
+    int bucket = counter.currentBucket();
+    counter.add(bucket, GAMES, 1);
+    counter.add(bucket, WIN, buffer.count(OutcomeTable.WIN));
+    counter.add(bucket, LOSE, buffer.count(OutcomeTable.LOSE));
+    counter.add(bucket, DRAW, buffer.count(OutcomeTable.DRAW));
+  }
+
+  /**
+   * ApiExceptionHandler が返したエラーを数える（入力不正のみ）。
+   *
+   * @param kind エラーの種類
+   */
+  public void recordError(ApiErrorKind kind) {
+    if (kind == ApiErrorKind.VALIDATION || kind == ApiErrorKind.NOT_READABLE) {
+      counter.add(counter.currentBucket(), REJECTED, 1);
+    }
+  }
+
+  /**
+   * 時間窓ごとの集計を返す。
+   *
+   * @return 集計
+   */
+  public WindowStatsResponse snapshot() {
+    long now = epochSeconds.getAsLong();
+    List<WindowStats> windows = new ArrayList<>(WINDOW_SECONDS.length);
+    for (int i = 0; i < WINDOW_SECONDS.length; i++) {
+      int seconds = WINDOW_SECONDS[i];
+      long[] sums = counter.sum(seconds);
+      // 起動してから窓の秒数が経っていない場合は、経過した秒数で割る
+      double elapsed = Math.min(seconds, now - startSecond + 1);
+      windows.add(
+          new WindowStats(
+              WINDOW_NAMES[i],
+              seconds,
+              sums[GAMES],
+              new StatsSummary(sums[WIN], sums[LOSE], sums[DRAW]),
+              sums[REJECTED],
+              sums[GAMES] / elapsed,
+              sums[REJECTED] / elapsed));
+    }
+    return new WindowStatsResponse(Instant.ofEpochSecond(now), windows);
+  }
+
+  /**
+   * 現時点のバケットをコピーして返す（スナップショットの保存用。記録は止めない）。
+   *
+   * @return バケットのコピー
+   */
+  State state() {
+    return new State(startSecond, counter.buckets());
+  }
+
+  /**
+   * 保存したバケットを足し込む（起動時の復元用。窓から外れた秒のものは捨てる）。
+   *
+   * @param state 保存したバケット
+   */
+  void restore(State state) {
+    startSecond = Math.min(startSecond, state.startSecond());
+    counter.restore(state.buckets());
+  }
+
+  /**
+   * 保存・復元するバケット。
+   *
+   * @param startSecond 集計を始めた時刻（エポック秒）
+   * @param buckets 使用中のバケット（古い順）
+   */
+  record State(long startSecond, List<SlidingWindowCounter.Bucket> buckets) {}
+}
@@ -0,0 +1,19 @@
+package com.github.seiyamatsuoka.multiopponentrps.stats.dto;
+
+import java.util.List;
+
+/**
+ * マッチログ全体の集計APIのレスポンスDTO。
+ *
+ * @param games 記録されているじゃんけんの回数
+ * @param summary 全回の相手ごとの勝敗の合計
+ * @param byPlayerHand 自分の手ごとの集計（ROCK/PAPER/SCISSORS の順）
+ * @param opponents 相手人数ごとの回数（1024 人まで。記録がある人数のみ、少ない順）
+ * @param longestDrawStreak 1回全体があいこ（勝ち数 = 負け数）になった回の最長連続数
+ */
+public record HistoryStatsResponse(
+    long games,
+    StatsSummary summary,
+    List<PlayerHandStats> byPlayerHand,
+    List<OpponentsCount> opponents,
+    long longestDrawStreak) {}
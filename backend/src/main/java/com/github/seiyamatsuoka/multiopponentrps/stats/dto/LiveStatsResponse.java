@@ -0,0 +1,20 @@
+package com.github.seiyamatsuoka.multiopponentrps.stats.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * リアルタイム集計APIのレスポンスDTO（起動してからの累計）。
+ *
+ * @param since 集計を始めた時刻（起動時刻）
+ * @param games じゃんけんの回数
+ * @param summary 全回の相手ごとの勝敗の合計
+ * @param byPlayerHand 自分の手ごとの集計（ROCK/PAPER/SCISSORS の順）
+ * @param opponents 相手人数ごとの回数（記録がある人数のみ、少ない順）
+ */
+public record LiveStatsResponse(
+    Instant since,
+    long games,
+    StatsSummary summary,
+    List<PlayerHandStats> byPlayerHand,
+    List<OpponentsCount> opponents) {}
@@ -0,0 +1,9 @@
+package com.github.seiyamatsuoka.multiopponentrps.stats.dto;
+
+/**
+ * 相手人数ごとの回数。
+ *
+ * @param opponents 相手人数
+ * @param games その人数で行った回数
+ */
+public record OpponentsCount(int opponents, long games) {}
@@ -0,0 +1,13 @@
+package com.github.seiyamatsuoka.multiopponentrps.stats.dto;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+
+/**
+ * 自分の手ごとの集計。
+ *
+ * @param playerHand 自分の手
+ * @param games その手を出した回数
+ * @param summary 相手ごとの勝敗の合計
+ * @param winRate 勝率（相手ごとの勝敗のうち勝ちの割合。記録がなければ 0）
+ */
+public record PlayerHandStats(Hand playerHand, long games, StatsSummary summary, double winRate) {}
@@ -0,0 +1,12 @@
+package com.github.seiyamatsuoka.multiopponentrps.stats.dto;
+
+/**
+ * 集計APIの勝敗の合計（JSON は {@code Summary} と同じ形）。
+ *
+ * <p>起動してからの累計・マッチログ全体は int に収まらなくなるため、long で持つ。
+ *
+ * @param win 勝ち数
+ * @param lose 負け数
+ * @param draw あいこ数
+ */
+public record StatsSummary(long win, long lose, long draw) {}
@@ -0,0 +1,21 @@
+package com.github.seiyamatsuoka.multiopponentrps.stats.dto;
+
+/**
+ * 1つの時間窓の集計。
+ *
+ * @param window 時間窓の名前（"1m" / "5m" / "1h"）
+ * @param seconds 時間窓の秒数
+ * @param games じゃんけんの回数
+ * @param summary 相手ごとの勝敗の合計
+ * @param rejected 入力不正（400）で返したリクエストの件数
+ * @param gamesPerSecond 1秒あたりの回数（起動直後は起動してからの秒数で割る）
+ * @param rejectedPerSecond 1秒あたりの入力不正の件数（同上）
+ */
+public record WindowStats(
+    String window,
+    int seconds,
+    long games,
+    StatsSummary summary,
+    long rejected,
+    double gamesPerSecond,
+    double rejectedPerSecond) {}
@@ -0,0 +1,12 @@
+package com.github.seiyamatsuoka.multiopponentrps.stats.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 直近の時間窓ごとの集計APIのレスポンスDTO。
+ *
+ * @param at 集計した時刻
+ * @param windows 時間窓ごとの集計（短い順）
+ */
+public record WindowStatsResponse(Instant at, List<WindowStats> windows) {}
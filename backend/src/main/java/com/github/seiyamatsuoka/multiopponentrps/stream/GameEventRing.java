@@ -0,0 +1,91 @@
+package com.github.seiyamatsuoka.multiopponentrps.stream;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * じゃんけん1回ごとの結果を配信するための、固定長の放送用リングバッファ。
+ *
+ * <p>方針：
+ *
+ * <ul>
+ *   <li>書き込みは連番を CAS なしの加算（getAndIncrement）で確保し、位置（連番 mod 容量）に置くだけ（待たない・ロックなし）
+ *   <li>満杯の場合は最も古いものを上書きする（遅い購読者のために書き込み側を止めない・メモリを増やさない）
+ *   <li>各購読者は自分の読み位置（連番）を持ち、連番が合わないものは上書き済み（取りこぼし）として数える
+ * </ul>
+ */
+final class GameEventRing {
+
+  private final AtomicReferenceArray<Entry> slots;
+  private final int mask;
+
+  /** 次に書き込む連番。 */
+  private final AtomicLong next = new AtomicLong();
+
+  /**
+   * 容量を指定して生成する。
+   *
+   * @param capacity 容量（2 の累乗に切り上げる）
+   */
+  GameEventRing(int capacity) {
+    if (capacity < 1 || capacity > (1 << 26)) {
+      throw new IllegalArgumentException("capacity must be between 1 and 2^26: " + capacity);
+    }
+    int size = (capacity == 1) ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    this.slots = new AtomicReferenceArray<>(size);
+    this.mask = size - 1;
+  }
+
+  /**
+   * 1回分の結果を書き込む。
+   *
+   * @param timestampMillis 実行時刻（エポックミリ秒）
+   * @param playerCode 自分の手のコード
+   * @param opponents 相手人数
+   * @param win 勝ち数
+   * @param lose 負け数
+   * @param draw あいこ数
+   */
+  void publish(long timestampMillis, int playerCode, int opponents, int win, int lose, int draw) {
+    long seq = next.getAndIncrement();
+    slots.lazySet(
+        (int) (seq & mask),
+        new Entry(seq, timestampMillis, playerCode, opponents, win, lose, draw));
+  }
+
+  /** 次に書き込む連番を返す（これより前の連番は確保済み。書き込み途中のものを含む）。 */
+  long head() {
+    return next.get();
+  }
+
+  /** 容量を返す。 */
+  int capacity() {
+    return mask + 1;
+  }
+
+  /**
+   * 連番の位置にあるエントリを返す。
+   *
+   * <p>戻り値の連番が seq より小さい（または null）なら書き込み途中、大きければ上書き済み。
+   *
+   * @param seq 連番
+   * @return エントリ（まだ何も書かれていない位置は null）
+   */
+  Entry get(long seq) {
+    return slots.get((int) (seq & mask));
+  }
+
+  /**
+   * 1回分の結果。
+   *
+   * @param seq 連番
+   * @param timestampMillis 実行時刻（エポックミリ秒）
+   * @param playerCode 自分の手のコード
+   * @param opponents 相手人数
+   * @param win 勝ち数
+   * @param lose 負け数
+   * @param draw あいこ数
+   */
+  record Entry(
+      long seq, long timestampMillis, int playerCode, int opponents, int win, int lose, int draw) {}
+}
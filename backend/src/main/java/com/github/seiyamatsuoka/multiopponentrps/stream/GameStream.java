@@ -0,0 +1,280 @@
+package com.github.seiyamatsuoka.multiopponentrps.stream;
+
+import com.github.seiyamatsuoka.multiopponentrps.ratelimit.OverloadedException;
+import com.github.seiyamatsuoka.multiopponentrps.rps.GameListener;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.OutcomeTable;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffer;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Summary;
+import com.github.seiyamatsuoka.multiopponentrps.stream.dto.GameEvent;
+import com.github.seiyamatsuoka.multiopponentrps.stream.dto.SummaryEvent;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * じゃんけん1回ごとの結果を SSE（GET /api/rps/stream）で配信する。
+ *
+ * <p>方針：
+ *
+ * <ul>
+ *   <li>{@link GameListener} として結果を {@link GameEventRing}（固定長・古いものから上書き）に書くだけで、play を待たせない
+ *   <li>購読者がいないときは何もしない
+ *   <li>購読者ごとに仮想スレッドを 1 つ持ち、一定間隔（interval）ごとに自分の読み位置から読んで送る。
+ *       遅い購読者は自分のスレッドが止まるだけで、他の購読者・play には影響しない（遅れた分は上書きされ、取りこぼしになる）
+ *   <li>1回ごとの結果（{@link Mode#GAMES}）は、coalesce が true なら間隔ごとに 1 つの配列にまとめて送る
+ *   <li>集計（{@link Mode#SUMMARY}）は間隔ごとに必ず 1 回送る
+ * </ul>
+ */
+public class GameStream implements GameListener, SmartLifecycle {
+
+  /** 配信の種類。 */
+  public enum Mode {
+    /** 1回ごとの結果。 */
+    GAMES,
+    /** 一定間隔ごとの集計。 */
+    SUMMARY
+  }
+
+  /** 送るものがない状態が続いたときに、接続を保つためのコメントを送る間隔。 */
+  private static final long HEARTBEAT_NANOS = Duration.ofSeconds(15).toNanos();
+
+  private final GameEventRing ring;
+  private final long intervalMillis;
+  private final boolean coalesce;
+  private final int maxSubscribers;
+  private final long timeoutMillis;
+
+  private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger subscriberCount = new AtomicInteger();
+  private final AtomicLong subscriptionIds = new AtomicLong();
+
+  private volatile boolean running;
+
+  /**
+   * 設定を指定して生成する。
+   *
+   * @param bufferSize 放送用リングバッファの件数（2 の累乗に切り上げる）
+   * @param interval 購読者ごとに読み出して送る間隔
+   * @param coalesce 1回ごとの結果を間隔ごとに 1 つの配列にまとめて送るか
+   * @param maxSubscribers 同時に購読できる数の上限
+   * @param timeout 1つの購読を続ける時間の上限
+   */
+  public GameStream(
+      int bufferSize, Duration interval, boolean coalesce, int maxSubscribers, Duration timeout) {
+    if (interval.toMillis() < 1) {
+      throw new IllegalArgumentException("interval must be at least 1ms: " + interval);
+    }
+    if (maxSubscribers < 1) {
+      throw new IllegalArgumentException("maxSubscribers must be positive: " + maxSubscribers);
+    }
+    this.ring = new GameEventRing(bufferSize);
+    this.intervalMillis = interval.toMillis();
+    this.coalesce = coalesce;
+    this.maxSubscribers = maxSubscribers;
+    this.timeoutMillis = timeout.toMillis();
+  }
+
+  @Override
+  public void onGame(long timestampMillis, int playerCode, RoundBuffer buffer) {
+    if (subscriberCount.get() == 0) {
+      return;
+    }
+    ring.publish(
+        timestampMillis,
+        playerCode,
+        buffer.size(),
+        buffer.count(OutcomeTable.WIN),
+        buffer.count(OutcomeTable.LOSE),
+        buffer.count(OutcomeTable.DRAW));
+  }
+
+  /**
+   * 購読を始める（以降の結果を送る）。
+   *
+   * @param mode 配信の種類
+   * @return SSE の送り先
+   * @throws OverloadedException 購読者数が上限に達している場合
+   */
+  public SseEmitter subscribe(Mode mode) {
+    while (true) {
+      int current = subscriberCount.get();
+      if (current >= maxSubscribers) {
+        throw new OverloadedException();
+      }
+      if (subscriberCount.compareAndSet(current, current + 1)) {
+        break;
+      }
+    }
+
+    SseEmitter emitter = new SseEmitter(timeoutMillis);
+    Subscription subscription = new Subscription(emitter, mode, ring.head());
+    subscriptions.add(subscription);
+    emitter.onCompletion(subscription::close);
+    emitter.onTimeout(subscription::close);
+    emitter.onError(e -> subscription.close());
+    Thread.ofVirtual()
+        .name("rps-stream-" + subscriptionIds.incrementAndGet())
+        .start(subscription::run);
+    return emitter;
+  }
+
+  /** 購読者数を返す。 */
+  public int subscribers() {
+    return subscriberCount.get();
+  }
+
+  @Override
+  public void start() {
+    running = true;
+  }
+
+  /** すべての購読を終える（Web サーバーの graceful shutdown で SSE の接続を待ち続けないようにする）。 */
+  @Override
+  public void stop() {
+    running = false;
+    for (Subscription subscription : subscriptions) {
+      subscription.emitter.complete();
+      subscription.close();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  /** 1つの購読（読み位置と送り先）。読み位置は購読者のスレッドだけが触る。 */
+  private final class Subscription {
+
+    private final SseEmitter emitter;
+    private final Mode mode;
+    private volatile boolean closed;
+
+    private long cursor;
+    private long dropped;
+    private long reportedDropped;
+
+    Subscription(SseEmitter emitter, Mode mode, long cursor) {
+      this.emitter = emitter;
+      this.mode = mode;
+      this.cursor = cursor;
+    }
+
+    void run() {
+      long lastSentNanos = System.nanoTime();
+      try {
+        while (!closed) {
+          Thread.sleep(intervalMillis);
+          boolean sent = (mode == Mode.SUMMARY) ? sendSummary() : sendGames();
+          long now = System.nanoTime();
+          if (sent) {
+            lastSentNanos = now;
+          } else if (now - lastSentNanos >= HEARTBEAT_NANOS) {
+            emitter.send(SseEmitter.event().comment("keepalive"));
+            lastSentNanos = now;
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (IOException | RuntimeException e) {
+        // 切断された・完了済み（送り先がないので終わるだけ）
+      } finally {
+        close();
+      }
+    }
+
+    void close() {
+      closed = true;
+      if (subscriptions.remove(this)) {
+        subscriberCount.decrementAndGet();
+      }
+    }
+
+    private boolean sendGames() throws IOException {
+      List<GameEvent> events = new ArrayList<>();
+      drain(entry -> events.add(toEvent(entry)));
+      if (events.isEmpty()) {
+        return false;
+      }
+      if (coalesce) {
+        String lastSeq = Long.toString(events.get(events.size() - 1).seq());
+        emitter.send(
+            SseEmitter.event().name("games").id(lastSeq).data(events, MediaType.APPLICATION_JSON));
+      } else {
+        for (GameEvent event : events) {
+          emitter.send(
+              SseEmitter.event()
+                  .name("game")
+                  .id(Long.toString(event.seq()))
+                  .data(event, MediaType.APPLICATION_JSON));
+        }
+      }
+      return true;
+    }
+
+    private boolean sendSummary() throws IOException {
+      long[] counts = new long[4];
+      drain(
+          entry -> {
+            counts[0]++;
+            counts[1] += entry.win();
+            counts[2] += entry.lose();
+            counts[3] += entry.draw();
+          });
+      SummaryEvent event =
+          new SummaryEvent(
+              Instant.now(),
+              counts[0],
+              new Summary(
+                  Math.toIntExact(counts[1]),
+                  Math.toIntExact(counts[2]),
+                  Math.toIntExact(counts[3])),
+              dropped - reportedDropped);
+      reportedDropped = dropped;
+      emitter.send(SseEmitter.event().name("summary").data(event, MediaType.APPLICATION_JSON));
+      return true;
+    }
+
+    /** 読み位置から、書き込みが終わっているところまでを読む（上書き済みの分は取りこぼしとして数える）。 */
+    private void drain(Consumer<GameEventRing.Entry> sink) {
+      long head = ring.head();
+      long oldest = head - ring.capacity();
+      if (cursor < oldest) {
+        dropped += oldest - cursor;
+        cursor = oldest;
+      }
+      while (cursor < head) {
+        GameEventRing.Entry entry = ring.get(cursor);
+        if (entry == null || entry.seq() < cursor) {
+          // 書き込み途中（次の間隔で読む）
+          return;
+        }
+        if (entry.seq() == cursor) {
+          sink.accept(entry);
+        } else {
+          dropped++;
+        }
+        cursor++;
+      }
+    }
+
+    private GameEvent toEvent(GameEventRing.Entry entry) {
+      return new GameEvent(
+          entry.seq(),
+          Instant.ofEpochMilli(entry.timestampMillis()),
+          OutcomeTable.decodeHand(entry.playerCode()),
+          entry.opponents(),
+          new Summary(entry.win(), entry.lose(), entry.draw()));
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package com.github.seiyamatsuoka.multiopponentrps.stream;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * じゃんけんの結果の配信API（Server-Sent Events）。
+ *
+ * <ul>
+ *   <li>{@code GET /api/rps/stream}：1回ごとの結果（既定では 100ms ごとにまとめた配列）
+ *   <li>{@code GET /api/rps/stream?mode=summary}：100ms ごとの集計
+ * </ul>
+ */
+@RestController
+@RequestMapping("/api")
+public class GameStreamController {
+
+  private final GameStream gameStream;
+
+  /**
+   * DIコンストラクタ。
+   *
+   * @param gameStream 結果の配信（RpsService に GameListener として登録済みのもの）
+   */
+  public GameStreamController(GameStream gameStream) {
+    this.gameStream = gameStream;
+  }
+
+  /**
+   * 購読を始める。
+   *
+   * @param mode {@code games}（1回ごとの結果）または {@code summary}（一定間隔ごとの集計）
+   * @return SSE
+   */
+  @GetMapping(value = "/rps/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter stream(@RequestParam(defaultValue = "games") String mode) {
+    return gameStream.subscribe(
+        "summary".equalsIgnoreCase(mode) ? GameStream.Mode.SUMMARY : GameStream.Mode.GAMES);
+  }
+}
@@ -0,0 +1,16 @@
+package com.github.seiyamatsuoka.multiopponentrps.stream.dto;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Summary;
+import java.time.Instant;
+
+/**
+ * GET /api/rps/stream で配信する、じゃんけん1回分の結果。
+ *
+ * @param seq 連番（飛んでいる場合は、その分を取りこぼしている）
+ * @param at 実行時刻
+ * @param playerHand 自分の手
+ * @param opponents 相手人数
+ * @param summary 相手ごとの勝敗の合計
+ */
+public record GameEvent(long seq, Instant at, Hand playerHand, int opponents, Summary summary) {}
@@ -0,0 +1,14 @@
+package com.github.seiyamatsuoka.multiopponentrps.stream.dto;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Summary;
+import java.time.Instant;
+
+/**
+ * GET /api/rps/stream?mode=summary で一定間隔ごとに配信する集計。
+ *
+ * @param at 集計した時刻
+ * @param games 間隔の中の回数
+ * @param summary 間隔の中の、相手ごとの勝敗の合計
+ * @param dropped 取りこぼした回数（購読者の読み出しが遅れ、上書きされた分）
+ */
+public record SummaryEvent(Instant at, long games, Summary summary, long dropped) {}
@@ -0,0 +1,175 @@
+package com.github.seiyamatsuoka.multiopponentrps.tournament;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.RpsService;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.OutcomeTable;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Result;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 総当たり戦の実行。
+ *
+ * <p>方針：
+ *
+ * <ul>
+ *   <li>1試合は {@link RpsService#judge} で判定し、あいこならやり直す
+ *   <li>試合の手は「シード・2人の番号・やり直しの回数」だけから決める（カウンタ方式の乱数。SplitMix64 の混ぜ方を使う）
+ *   <li>人（行）の範囲を fork/join で分割し、各タスクは担当する人の全試合を判定して、その人の勝ち数だけを書く
+ *       <ul>
+ *         <li>同じ試合を両者のタスクで1回ずつ判定するが、手が同じになるので結果も一致する
+ *         <li>タスク間で書き込み先が重ならないため、ロック・集計のやり取りなしで並列に動く
+ *       </ul>
+ *   <li>回戦はサークル方式の日程（人数 n を偶数に切り上げた n - 1 回戦）から、2人の番号だけで求める
+ *   <li>回戦ごとの件数は、番号が小さい側のタスクだけが数える
+ * </ul>
+ */
+final class RoundRobin {
+
+  /** 1タスクで判定する試合数の目安（これ以下になるまで行の範囲を分割する）。 */
+  static final long LEAF_MATCHES = 1L << 16;
+
+  private static final long GOLDEN_GAMMA = 0x9E37_79B9_7F4A_7C15L;
+
+  private final RpsService rpsService;
+  private final ForkJoinPool pool;
+
+  RoundRobin(RpsService rpsService, ForkJoinPool pool) {
+    this.rpsService = rpsService;
+    this.pool = pool;
+  }
+
+  /**
+   * 総当たり戦を実行する。
+   *
+   * <p>勝ち数が最も多い人を優勝とする（同数なら番号が小さい人）。
+   *
+   * @param entrants 人数（1以上）
+   * @param seed 手を決めるシード
+   * @return 優勝者と回戦ごとの件数
+   */
+  Standings run(int entrants, long seed) {
+    int[] wins = new int[entrants];
+    long[] stats = pool.invoke(new RowTask(0, entrants, entrants, seed, wins));
+
+    int winner = 0;
+    for (int entrant = 1; entrant < entrants; entrant++) {
+      if (wins[entrant] > wins[winner]) {
+        winner = entrant;
+      }
+    }
+    return new Standings(winner, stats);
+  }
+
+  /**
+   * 回戦の数を返す（人数を偶数に切り上げた数 - 1）。
+   *
+   * @param entrants 人数
+   * @return 回戦の数
+   */
+  static int rounds(int entrants) {
+    return (entrants + 1) / 2 * 2 - 1;
+  }
+
+  /**
+   * 2人が対戦する回戦を返す（サークル方式）。
+   *
+   * <p>n（偶数に切り上げた人数）- 1 番の人を固定し、残りの人を回す。回戦 r では i + j ≡ r の2人が対戦し、2i ≡ r の人が固定の人と対戦する。
+   *
+   * @param first 番号が小さい側（0始まり）
+   * @param second 番号が大きい側
+   * @param entrants 人数
+   * @return 回戦（1始まり）
+   */
+  static int roundOf(int first, int second, int entrants) {
+    int rotating = rounds(entrants);
+    int round = (second == rotating) ? (2 * first) % rotating : (first + second) % rotating;
+    return round + 1;
+  }
+
+  /**
+   * 1試合を行い、番号が小さい側から見た勝敗を返す（あいこの回数は stats に数える）。
+   *
+   * @param first 番号が小さい側
+   * @param second 番号が大きい側
+   * @param entrants 人数
+   * @param seed 手を決めるシード
+   * @param stats 回戦ごとの件数（null なら数えない）
+   * @return 番号が小さい側が勝ったか
+   */
+  private boolean firstWins(int first, int second, int entrants, long seed, long[] stats) {
+    // 試合ごとの乱数列の起点を作り、やり直しのたびに1つ進める（SplitMix64 と同じ）
+    long state = mix64(seed + ((long) first * entrants + second) * GOLDEN_GAMMA);
+    int round = stats == null ? 0 : roundOf(first, second, entrants);
+    while (true) {
+      state += GOLDEN_GAMMA;
+      int hands = (int) Long.remainderUnsigned(mix64(state), Standings.HAND_PAIRS);
+      Result result =
+          rpsService.judge(
+              Standings.HANDS[hands / OutcomeTable.HAND_COUNT],
+              Standings.HANDS[hands % OutcomeTable.HAND_COUNT]);
+      if (stats != null) {
+        stats[Standings.slot(round, result.ordinal())]++;
+      }
+      if (result != Result.DRAW) {
+        return result == Result.WIN;
+      }
+    }
+  }
+
+  /** SplitMix64 の出力関数（連続した値からも偏りのない 64bit 値を作る）。 */
+  private static long mix64(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58_476D_1CE4_E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D0_49BB_1331_11EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /** 人（行）の範囲を半分ずつに分割して判定するタスク。結果は回戦ごとの件数。 */
+  private final class RowTask extends RecursiveTask<long[]> {
+
+    private final int from;
+    private final int to;
+    private final int entrants;
+    private final long seed;
+    private final int[] wins;
+
+    RowTask(int from, int to, int entrants, long seed, int[] wins) {
+      this.from = from;
+      this.to = to;
+      this.entrants = entrants;
+      this.seed = seed;
+      this.wins = wins;
+    }
+
+    @Override
+    protected long[] compute() {
+      if (to - from == 1 || (long) (to - from) * entrants <= LEAF_MATCHES) {
+        return computeRows();
+      }
+      int mid = (from + to) >>> 1;
+      RowTask left = new RowTask(from, mid, entrants, seed, wins);
+      left.fork();
+      long[] stats = new RowTask(mid, to, entrants, seed, wins).compute();
+      Standings.merge(stats, left.join());
+      return stats;
+    }
+
+    private long[] computeRows() {
+      long[] stats = Standings.newStats(rounds(entrants));
+      for (int entrant = from; entrant < to; entrant++) {
+        int won = 0;
+        for (int other = 0; other < entrant; other++) {
+          if (!firstWins(other, entrant, entrants, seed, null)) {
+            won++;
+          }
+        }
+        for (int other = entrant + 1; other < entrants; other++) {
+          if (firstWins(entrant, other, entrants, seed, stats)) {
+            won++;
+          }
+        }
+        wins[entrant] = won;
+      }
+      return stats;
+    }
+  }
+}
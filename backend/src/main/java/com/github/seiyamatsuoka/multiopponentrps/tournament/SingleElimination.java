@@ -0,0 +1,143 @@
+package com.github.seiyamatsuoka.multiopponentrps.tournament;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.RpsService;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.OutcomeTable;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Result;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+/**
+ * 勝ち抜き戦の実行。
+ *
+ * <p>方針：
+ *
+ * <ul>
+ *   <li>番号の範囲を半分ずつ（左が多め）に分けた木を山とし、左右の勝者同士が対戦する
+ *   <li>1試合は {@link RpsService#judge} で判定し、あいこならやり直す
+ *   <li>人数が多い部分木は fork/join で分割し、乱数も {@link SplittableGenerator#split()} で分けて渡す
+ *   <li>山の決勝を ceil(log2 人数) 回戦とし、1段下がるごとに 1 回戦ずつ減らす（不戦勝はすべて 1 回戦に出る）
+ * </ul>
+ *
+ * <p>分割の手順は人数だけで決まるため、シード付きの乱数を渡せば実行スレッドに関係なく同じ結果になる。
+ */
+final class SingleElimination {
+
+  /** これ以下の人数の部分木は分割せずに1タスクで実行する。 */
+  static final int LEAF_SIZE = 1 << 12;
+
+  private final RpsService rpsService;
+  private final ForkJoinPool pool;
+
+  SingleElimination(RpsService rpsService, ForkJoinPool pool) {
+    this.rpsService = rpsService;
+    this.pool = pool;
+  }
+
+  /**
+   * 勝ち抜き戦を実行する。
+   *
+   * @param entrants 人数（1以上）
+   * @param random 分割可能な乱数（呼び出し後は使わないこと）
+   * @return 優勝者と回戦ごとの件数
+   */
+  Standings run(int entrants, SplittableGenerator random) {
+    int rounds = rounds(entrants);
+    if (entrants <= LEAF_SIZE) {
+      long[] stats = Standings.newStats(rounds);
+      return new Standings(play(0, entrants, rounds, random, stats), stats);
+    }
+    return pool.invoke(new BracketTask(0, entrants, rounds, rounds, random));
+  }
+
+  /**
+   * 人数 size の山の回戦の数を返す（ceil(log2 size)）。
+   *
+   * @param size 人数（1以上）
+   * @return 回戦の数（1人なら 0）
+   */
+  static int rounds(int size) {
+    return Integer.SIZE - Integer.numberOfLeadingZeros(size - 1);
+  }
+
+  /**
+   * 範囲 [from, to) の部分木を分割せずに実行し、勝者を返す。
+   *
+   * <p>部分木の人数は常に「2^(round-1) 以上 2^round 以下」になる（半分ずつに分けるため）。1人になった側は不戦勝で上がる。
+   */
+  private int play(int from, int to, int round, RandomGenerator random, long[] stats) {
+    int size = to - from;
+    if (size == 1) {
+      return from;
+    }
+    int mid = from + (size + 1) / 2;
+    int left = play(from, mid, round - 1, random, stats);
+    int right = play(mid, to, round - 1, random, stats);
+    return match(left, right, round, random, stats);
+  }
+
+  /**
+   * 1試合を行い、勝者を返す（あいこならやり直す）。
+   *
+   * @param first 先に並ぶ人の番号
+   * @param second 後に並ぶ人の番号
+   * @param round 回戦
+   * @param random 乱数生成器
+   * @param stats 回戦ごとの件数（先に並ぶ人から見た勝敗を数える）
+   * @return 勝者の番号
+   */
+  private int match(int first, int second, int round, RandomGenerator random, long[] stats) {
+    while (true) {
+      // 1つの乱数から両者の手を取り出す（0〜8 を「先の手 * 3 + 後の手」とみなす）
+      int hands = random.nextInt(Standings.HAND_PAIRS);
+      Result result =
+          rpsService.judge(
+              Standings.HANDS[hands / OutcomeTable.HAND_COUNT],
+              Standings.HANDS[hands % OutcomeTable.HAND_COUNT]);
+      stats[Standings.slot(round, result.ordinal())]++;
+      if (result != Result.DRAW) {
+        return result == Result.WIN ? first : second;
+      }
+    }
+  }
+
+  /** 部分木を半分ずつに分割して実行するタスク。 */
+  private final class BracketTask extends RecursiveTask<Standings> {
+
+    private final int from;
+    private final int to;
+    private final int round;
+    private final int rounds;
+    private final SplittableGenerator random;
+
+    BracketTask(int from, int to, int round, int rounds, SplittableGenerator random) {
+      this.from = from;
+      this.to = to;
+      this.round = round;
+      this.rounds = rounds;
+      this.random = random;
+    }
+
+    @Override
+    protected Standings compute() {
+      int size = to - from;
+      if (size <= LEAF_SIZE) {
+        long[] stats = Standings.newStats(rounds);
+        return new Standings(play(from, to, round, random, stats), stats);
+      }
+
+      // 左半分には分割した乱数を渡し、右半分と決勝はこのタスクの乱数をそのまま使う
+      int mid = from + (size + 1) / 2;
+      BracketTask left = new BracketTask(from, mid, round - 1, rounds, random.split());
+      left.fork();
+      Standings right = new BracketTask(mid, to, round - 1, rounds, random).compute();
+      Standings leftResult = left.join();
+
+      long[] stats = right.stats();
+      Standings.merge(stats, leftResult.stats());
+      int winner = match(leftResult.winner(), right.winner(), round, random, stats);
+      return new Standings(winner, stats);
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package com.github.seiyamatsuoka.multiopponentrps.tournament;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.OutcomeTable;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+
+/**
+ * トーナメントの実行結果（優勝者と、回戦ごとの勝敗の件数）。
+ *
+ * <p>件数は [(回戦 - 1) * 3 + 勝敗コード] に並べる。勝敗は対戦表で先に並ぶ人（番号が小さい側）から見たもので、あいこはやり直した回数。
+ *
+ * @param winner 優勝者の番号（0始まり）
+ * @param stats 回戦ごとの勝敗の件数
+ */
+record Standings(int winner, long[] stats) {
+
+  /** 手のコード → 手（通常のじゃんけんの 3 手）。 */
+  static final Hand[] HANDS = {
+    OutcomeTable.decodeHand(0), OutcomeTable.decodeHand(1), OutcomeTable.decodeHand(2)
+  };
+
+  /** 「自分の手 * 3 + 相手の手」の組み合わせの数（1つの乱数からまとめて取り出す）。 */
+  static final int HAND_PAIRS = OutcomeTable.HAND_COUNT * OutcomeTable.HAND_COUNT;
+
+  /**
+   * 回戦の数に合わせた件数の配列を作る。
+   *
+   * @param rounds 回戦の数
+   * @return 件数の配列
+   */
+  static long[] newStats(int rounds) {
+    return new long[rounds * OutcomeTable.RESULT_COUNT];
+  }
+
+  /**
+   * 件数の配列での位置を返す。
+   *
+   * @param round 回戦（1始まり）
+   * @param resultCode 勝敗コード
+   * @return 位置
+   */
+  static int slot(int round, int resultCode) {
+    return (round - 1) * OutcomeTable.RESULT_COUNT + resultCode;
+  }
+
+  /**
+   * 件数を足し込む（fork/join の結果の統合に使う）。
+   *
+   * @param target 足し込み先
+   * @param source 足し込む件数
+   */
+  static void merge(long[] target, long[] source) {
+    for (int i = 0; i < target.length; i++) {
+      target[i] += source[i];
+    }
+  }
+
+  /** 回戦の数を返す。 */
+  int rounds() {
+    return stats.length / OutcomeTable.RESULT_COUNT;
+  }
+
+  /**
+   * 指定した回戦・勝敗の件数を返す。
+   *
+   * @param round 回戦（1始まり）
+   * @param resultCode 勝敗コード
+   * @return 件数
+   */
+  long count(int round, int resultCode) {
+    return stats[slot(round, resultCode)];
+  }
+}
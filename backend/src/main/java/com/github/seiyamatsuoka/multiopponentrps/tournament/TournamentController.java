@@ -0,0 +1,41 @@
+package com.github.seiyamatsuoka.multiopponentrps.tournament;
+
+import com.github.seiyamatsuoka.multiopponentrps.tournament.dto.TournamentRequest;
+import com.github.seiyamatsuoka.multiopponentrps.tournament.dto.TournamentResponse;
+import jakarta.validation.Valid;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * トーナメントAPI（Controller）。
+ *
+ * <p>パスは {@code /api/rps/**} の下に置き、じゃんけん API と同じレート制限・同時実行数の上限を受ける。
+ */
+@RestController
+@RequestMapping("/api")
+public class TournamentController {
+
+  private final TournamentService tournamentService;
+
+  /**
+   * DIコンストラクタ。
+   *
+   * @param tournamentService トーナメントの実行
+   */
+  public TournamentController(TournamentService tournamentService) {
+    this.tournamentService = tournamentService;
+  }
+
+  /**
+   * トーナメントを実行する。
+   *
+   * @param request リクエストDTO（format必須、entrants 2〜100万（総当たり戦は2000まで）、seed 任意）
+   * @return 優勝者・回戦ごとの集計・実行時間
+   */
+  @PostMapping("/rps/tournament")
+  public TournamentResponse run(@Valid @RequestBody TournamentRequest request) {
+    return tournamentService.run(request);
+  }
+}
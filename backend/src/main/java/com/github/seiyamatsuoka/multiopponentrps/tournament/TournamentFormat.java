@@ -0,0 +1,11 @@
+package com.github.seiyamatsuoka.multiopponentrps.tournament;
+
+/** トーナメントの形式。 */
+public enum TournamentFormat {
+
+  /** 勝ち抜き戦（負けたら終わり。人数が 2 のべき乗でない場合は不戦勝が出る）。 */
+  SINGLE_ELIMINATION,
+
+  /** 総当たり戦（全員が1回ずつ対戦し、勝ち数が最も多い人が優勝）。 */
+  ROUND_ROBIN
+}
@@ -0,0 +1,90 @@
+package com.github.seiyamatsuoka.multiopponentrps.tournament;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.RpsService;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.OutcomeTable;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Summary;
+import com.github.seiyamatsuoka.multiopponentrps.rps.random.RandomSource;
+import com.github.seiyamatsuoka.multiopponentrps.tournament.dto.TournamentRequest;
+import com.github.seiyamatsuoka.multiopponentrps.tournament.dto.TournamentResponse;
+import com.github.seiyamatsuoka.multiopponentrps.tournament.dto.TournamentRound;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * トーナメント（勝ち抜き戦・総当たり戦）の実行。
+ *
+ * <p>1試合の判定は {@link RpsService#judge} を使い、あいこならやり直す。全員分の手は毎試合ランダムに生成する（通常のじゃんけんのみ）。
+ *
+ * <p>試合は fork/join（既定は共通の {@link ForkJoinPool}）で分割して実行する。詳細は {@link SingleElimination} / {@link
+ * RoundRobin}。
+ */
+@Service
+public class TournamentService {
+
+  private final RandomSource randomSource;
+  private final SingleElimination singleElimination;
+  private final RoundRobin roundRobin;
+
+  /**
+   * DIコンストラクタ。
+   *
+   * @param rpsService 1試合の判定
+   * @param randomSource 乱数の取得元
+   */
+  @Autowired
+  public TournamentService(RpsService rpsService, RandomSource randomSource) {
+    this(rpsService, randomSource, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * 実行するプールを指定するコンストラクタ（ベンチマーク等で並列数を変える場合に使う）。
+   *
+   * @param rpsService 1試合の判定
+   * @param randomSource 乱数の取得元
+   * @param pool 分割した試合を実行するプール
+   */
+  public TournamentService(RpsService rpsService, RandomSource randomSource, ForkJoinPool pool) {
+    this.randomSource = randomSource;
+    this.singleElimination = new SingleElimination(rpsService, pool);
+    this.roundRobin = new RoundRobin(rpsService, pool);
+  }
+
+  /**
+   * トーナメントを実行する。
+   *
+   * @param request リクエスト（バリデーション済みを想定）
+   * @return 優勝者・回戦ごとの集計・実行時間
+   */
+  public TournamentResponse run(TournamentRequest request) {
+    long start = System.nanoTime();
+    SplittableGenerator random = randomSource.splittable(request.seed());
+    int entrants = request.entrants();
+
+    Standings standings =
+        switch (request.format()) {
+          case SINGLE_ELIMINATION -> singleElimination.run(entrants, random);
+          case ROUND_ROBIN -> roundRobin.run(entrants, random.nextLong());
+        };
+
+    List<TournamentRound> rounds = new ArrayList<>(standings.rounds());
+    long matches = 0;
+    for (int round = 1; round <= standings.rounds(); round++) {
+      Summary summary =
+          new Summary(
+              Math.toIntExact(standings.count(round, OutcomeTable.WIN)),
+              Math.toIntExact(standings.count(round, OutcomeTable.LOSE)),
+              Math.toIntExact(standings.count(round, OutcomeTable.DRAW)));
+      int roundMatches = summary.win() + summary.lose();
+      rounds.add(new TournamentRound(round, roundMatches, summary));
+      matches += roundMatches;
+    }
+
+    double elapsedMillis = (System.nanoTime() - start) / 1_000_000.0;
+    return new TournamentResponse(
+        request.format(), entrants, standings.winner() + 1, matches, rounds, elapsedMillis);
+  }
+}
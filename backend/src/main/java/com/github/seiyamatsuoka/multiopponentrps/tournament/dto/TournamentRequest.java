@@ -0,0 +1,33 @@
+package com.github.seiyamatsuoka.multiopponentrps.tournament.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.github.seiyamatsuoka.multiopponentrps.tournament.TournamentFormat;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * トーナメントAPIのリクエストDTO。
+ *
+ * @param format 形式（必須）
+ * @param entrants 参加人数（2〜100万。総当たり戦は {@value #MAX_ROUND_ROBIN_ENTRANTS} 人まで）
+ * @param seed 手を生成する乱数のシード（任意。同じシードなら同じ結果になる）
+ */
+public record TournamentRequest(
+    @NotNull(message = "format は必須です") TournamentFormat format,
+    @Min(value = 2, message = "entrants は 2 以上で指定してください")
+        @Max(value = 1_000_000, message = "entrants は 1000000 以下で指定してください")
+        int entrants,
+    Long seed) {
+
+  /** 総当たり戦の参加人数の上限（試合数は人数の2乗に比例するため、勝ち抜き戦より小さくする）。 */
+  public static final int MAX_ROUND_ROBIN_ENTRANTS = 2000;
+
+  /** 総当たり戦の人数が上限以下かを返す（format が null の場合は @NotNull 側でエラーにする）。 */
+  @JsonIgnore
+  @AssertTrue(message = "ROUND_ROBIN の entrants は 2000 以下で指定してください")
+  public boolean isEntrantsAllowed() {
+    return format != TournamentFormat.ROUND_ROBIN || entrants <= MAX_ROUND_ROBIN_ENTRANTS;
+  }
+}
@@ -0,0 +1,22 @@
+package com.github.seiyamatsuoka.multiopponentrps.tournament.dto;
+
+import com.github.seiyamatsuoka.multiopponentrps.tournament.TournamentFormat;
+import java.util.List;
+
+/**
+ * トーナメントAPIのレスポンスDTO。
+ *
+ * @param format 形式
+ * @param entrants 参加人数
+ * @param winner 優勝者の番号（1始まり）
+ * @param matches 全試合数
+ * @param rounds 回戦ごとの集計
+ * @param elapsedMillis 実行にかかった時間（ミリ秒）
+ */
+public record TournamentResponse(
+    TournamentFormat format,
+    int entrants,
+    int winner,
+    long matches,
+    List<TournamentRound> rounds,
+    double elapsedMillis) {}
@@ -0,0 +1,12 @@
+package com.github.seiyamatsuoka.multiopponentrps.tournament.dto;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Summary;
+
+/**
+ * 1回戦分の集計。
+ *
+ * @param round 回戦（1始まり）
+ * @param matches 試合数
+ * @param summary 勝敗の件数（対戦表で先に並ぶ人から見た勝ち・負けと、あいこでやり直した回数）
+ */
+public record TournamentRound(int round, int matches, Summary summary) {}
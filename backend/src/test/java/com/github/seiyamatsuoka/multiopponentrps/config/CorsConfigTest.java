@@ -5,12 +5,15 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.github.seiyamatsuoka.multiopponentrps.health.HealthController;
+import com.github.seiyamatsuoka.multiopponentrps.metrics.RpsMetrics;
+import com.github.seiyamatsuoka.multiopponentrps.stats.WindowedStats;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 /**
@@ -21,13 +24,15 @@ import org.springframework.test.web.servlet.MockMvc;
  * </ul>
  */
 @WebMvcTest(controllers = HealthController.class)
-@Import(CorsConfig.class)
+@Import({CorsConfig.class, WindowedStats.class})
 @EnableConfigurationProperties(AppCorsProperties.class)
 @TestPropertySource(properties = {"app.cors.allowed-origins=http://localhost:5173"})
 class CorsConfigTest {
 
   @Autowired private MockMvc mockMvc;
 
+  @MockitoBean private RpsMetrics metrics;
+
   // プリフライト（OPTIONS）で Access-Control-Allow-Origin が返ること
   @Test
   void preflight_returnsAllowOriginHeader() throws Exception {
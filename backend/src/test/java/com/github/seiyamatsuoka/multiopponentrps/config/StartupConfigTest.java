@@ -0,0 +1,43 @@
+package com.github.seiyamatsuoka.multiopponentrps.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * fast-start プロファイルのテスト。
+ *
+ * <ul>
+ *   <li>遅延初期化が有効になり、じゃんけん API の処理経路だけは起動時に作られること
+ *   <li>除外した自動設定の Bean が作られないこと
+ * </ul>
+ */
+@SpringBootTest
+@ActiveProfiles("fast-start")
+class StartupConfigTest {
+
+  @Autowired private ConfigurableApplicationContext context;
+
+  // RpsService / RpsController は遅延初期化の対象外で、それ以外（例：HealthController）は遅延初期化になること
+  @Test
+  void lazyInitialization_keepsRpsHotPathEager() {
+    var beanFactory = context.getBeanFactory();
+
+    assertFalse(beanFactory.getBeanDefinition("rpsService").isLazyInit());
+    assertFalse(beanFactory.getBeanDefinition("rpsController").isLazyInit());
+    assertTrue(beanFactory.getBeanDefinition("healthController").isLazyInit());
+  }
+
+  // 使わない自動設定（RestTemplate 等）が外れていること
+  @Test
+  void unusedAutoConfigurations_areExcluded() {
+    assertEquals(0, context.getBeanNamesForType(RestTemplateBuilder.class).length);
+  }
+}
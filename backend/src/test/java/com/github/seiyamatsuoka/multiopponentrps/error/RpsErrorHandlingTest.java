@@ -4,8 +4,15 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.github.seiyamatsuoka.multiopponentrps.config.IdempotencyConfig;
+import com.github.seiyamatsuoka.multiopponentrps.config.RateLimitConfig;
+import com.github.seiyamatsuoka.multiopponentrps.metrics.RpsMetrics;
 import com.github.seiyamatsuoka.multiopponentrps.rps.RpsController;
 import com.github.seiyamatsuoka.multiopponentrps.rps.RpsService;
+import com.github.seiyamatsuoka.multiopponentrps.rps.binary.RpsBinaryCodec;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsRequest;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.stats.WindowedStats;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -20,16 +27,25 @@ import org.springframework.test.web.servlet.MockMvc;
  * <ul>
  *   <li>@Valid の失敗が統一JSONで返ること
  *   <li>enum不正などの JSON 変換失敗が統一JSONで返ること
+ *   <li>一括実行で、要素ごとの @Valid の失敗がまとめて統一JSONで返ること
+ *   <li>バイナリ形式（application/x-rps）の不正・@Valid の失敗も統一JSONで返ること
  * </ul>
  */
 @WebMvcTest(controllers = RpsController.class)
-@Import(ApiExceptionHandler.class)
+@Import({
+  ApiExceptionHandler.class,
+  IdempotencyConfig.class,
+  RateLimitConfig.class,
+  WindowedStats.class
+})
 class RpsErrorHandlingTest {
 
   @Autowired private MockMvc mockMvc;
 
   @MockitoBean private RpsService rpsService;
 
+  @MockitoBean private RpsMetrics metrics;
+
   // - hand が未指定（null）で @NotNull により 400 になること
   // - 返却JSONが ApiExceptionHandler の形式になっていること
   @Test
@@ -55,4 +71,48 @@ class RpsErrorHandlingTest {
         .andExpect(jsonPath("$.message").value("リクエストボディが不正です"))
         .andExpect(jsonPath("$.details").isArray());
   }
+
+  // - 一括実行の要素のうち不正なものが、すべて項目名付きで details に含まれること
+  // - 1件でも不正があれば実行されずに 400 になること
+  @Test
+  void batchValidationError_reportsEveryInvalidGame() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/rps/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    "{\"games\":[{\"opponents\":2},{\"hand\":\"ROCK\",\"opponents\":1},"
+                        + "{\"hand\":\"PAPER\",\"opponents\":11}]}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("入力が不正です"))
+        .andExpect(jsonPath("$.details.length()").value(2));
+  }
+
+  // - バイナリ形式のリクエストの形式不正（未定義のバージョン）が 400 になり、不正の内容が details に含まれること
+  // - Accept に application/json も含めれば、エラーは統一JSONで返ること
+  @Test
+  void malformedBinary_returnsUnified400() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/rps")
+                .contentType(RpsBinaryCodec.MEDIA_TYPE)
+                .accept(RpsBinaryCodec.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .content(new byte[] {9, 0, 1}))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("リクエストボディが不正です"))
+        .andExpect(jsonPath("$.details[0]").value("バイナリ形式が不正です: 対応していないバージョンです: 9"));
+  }
+
+  // バイナリ形式のリクエストも JSON と同じ制約（opponents 1〜10）で検証されること
+  @Test
+  void binaryValidationError_returnsUnified400() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/rps")
+                .contentType(RpsBinaryCodec.MEDIA_TYPE)
+                .accept(RpsBinaryCodec.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .content(RpsBinaryCodec.encodeRequest(new RpsRequest(Hand.ROCK, 11))))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("入力が不正です"));
+  }
 }
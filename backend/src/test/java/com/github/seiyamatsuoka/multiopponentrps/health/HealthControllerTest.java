@@ -1,24 +1,47 @@
 package com.github.seiyamatsuoka.multiopponentrps.health;
 
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.github.seiyamatsuoka.multiopponentrps.metrics.RpsMetrics;
+import com.github.seiyamatsuoka.multiopponentrps.stats.WindowedStats;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 /**
  * HealthController のテスト。
  *
- * <p>ヘルスチェックが 200 で {"status":"ok"} を返すことを確認する。
+ * <ul>
+ *   <li>準備完了（ACCEPTING_TRAFFIC）ならヘルスチェックが 200 で {"status":"ok"} を返すこと
+ *   <li>ウォームアップ中（REFUSING_TRAFFIC）は 503 を返し、liveness は 200 を返すこと
+ * </ul>
  */
 @WebMvcTest(controllers = HealthController.class)
+@Import(WindowedStats.class)
 class HealthControllerTest {
 
   @Autowired private MockMvc mockMvc;
 
+  @MockitoBean private ApplicationAvailability availability;
+
+  @MockitoBean private RpsMetrics metrics;
+
+  @BeforeEach
+  void setUp() {
+    when(availability.getReadinessState()).thenReturn(ReadinessState.ACCEPTING_TRAFFIC);
+    when(availability.getLivenessState()).thenReturn(LivenessState.CORRECT);
+  }
+
   @Test
   void health_returnsOk() throws Exception {
     mockMvc
@@ -26,4 +49,30 @@ class HealthControllerTest {
         .andExpect(status().isOk())
         .andExpect(content().json("{\"status\":\"ok\"}"));
   }
+
+  // ウォームアップ中は readiness が 503、liveness が 200 になること
+  @Test
+  void health_returnsServiceUnavailable_whileWarmingUp() throws Exception {
+    when(availability.getReadinessState()).thenReturn(ReadinessState.REFUSING_TRAFFIC);
+
+    mockMvc
+        .perform(get("/api/health"))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(content().json("{\"status\":\"starting\"}"));
+    mockMvc
+        .perform(get("/api/health/live"))
+        .andExpect(status().isOk())
+        .andExpect(content().json("{\"status\":\"ok\"}"));
+  }
+
+  // liveness が BROKEN の場合は 503 になること
+  @Test
+  void live_returnsServiceUnavailable_whenBroken() throws Exception {
+    when(availability.getLivenessState()).thenReturn(LivenessState.BROKEN);
+
+    mockMvc
+        .perform(get("/api/health/live"))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(content().json("{\"status\":\"broken\"}"));
+  }
 }
@@ -0,0 +1,74 @@
+package com.github.seiyamatsuoka.multiopponentrps.matchlog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffer;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffers;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+/** MatchLogRing の単体テスト。 */
+class MatchLogRingTest {
+
+  // - 容量は 2 の累乗に切り上げられること
+  // - 満杯のときは捨てて件数を数え、取り出すと再び積めること
+  @Test
+  void offer_dropsWhenFull() {
+    MatchLogRing ring = new MatchLogRing(3);
+    RoundBuffer buffer = RoundBuffers.judged(0, 0, 1, 2);
+
+    for (int i = 0; i < 4; i++) {
+      assertTrue(ring.offer(i, 0, buffer));
+    }
+    assertFalse(ring.offer(4, 0, buffer));
+    assertEquals(4, ring.capacity());
+    assertEquals(1, ring.dropped());
+
+    List<Long> timestamps = new ArrayList<>();
+    assertEquals(4, ring.drain((slots, offset) -> timestamps.add(slots[offset]), 100));
+    assertEquals(List.of(0L, 1L, 2L, 3L), timestamps);
+    assertTrue(ring.offer(5, 0, buffer));
+  }
+
+  // 複数スレッドから積んだレコードが、欠けも重複もなく取り出されること
+  @Test
+  void offer_fromManyThreads_drainsEveryRecordOnce() throws Exception {
+    MatchLogRing ring = new MatchLogRing(1 << 16);
+    int threads = 4;
+    int perThread = 10_000;
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        long base = (long) t * perThread;
+        futures.add(
+            executor.submit(
+                () -> {
+                  RoundBuffer buffer = RoundBuffers.judged(0, 1, 2);
+                  for (int i = 0; i < perThread; i++) {
+                    ring.offer(base + i, 1, buffer);
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    Set<Long> timestamps = new HashSet<>();
+    ring.drain((slots, offset) -> timestamps.add(slots[offset]), Integer.MAX_VALUE);
+    assertEquals(0, ring.dropped());
+    assertEquals(threads * perThread, timestamps.size());
+  }
+}
@@ -0,0 +1,151 @@
+package com.github.seiyamatsuoka.multiopponentrps.matchlog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.OutcomeTable;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffer;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffers;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RuleSet;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * MatchLogWriter / MatchLogReader の単体テスト。
+ *
+ * <p>一時ディレクトリに書き込み、読み出した内容が書き込んだ結果と一致することを確認する。
+ */
+class MatchLogWriterTest {
+
+  @TempDir Path directory;
+
+  // - 停止すると積まれていた分まで書き込まれ、古い順に読み出せること
+  // - 相手の手（先頭32人まで）と集計がそのまま読み出せること
+  @Test
+  void writeAndRead_roundTrip() throws Exception {
+    MatchLogWriter writer = new MatchLogWriter(directory, 100, 64, Duration.ofMillis(10), 10);
+    writer.start();
+    List<Hand> fourOpponents = List.of(Hand.ROCK, Hand.PAPER, Hand.SCISSORS, Hand.SCISSORS);
+    RoundBuffer four = RoundBuffers.judged(Hand.ROCK, fourOpponents);
+    writer.onGame(1_000L, OutcomeTable.encode(Hand.ROCK), four);
+    List<Hand> manyOpponents = Collections.nCopies(33, Hand.ROCK);
+    RoundBuffer many = RoundBuffers.judged(Hand.PAPER, manyOpponents);
+    writer.onGame(2_000L, OutcomeTable.encode(Hand.PAPER), many);
+    writer.stop();
+
+    List<String> records = new ArrayList<>();
+    long count =
+        new MatchLogReader(directory)
+            .forEach(
+                view ->
+                    records.add(
+                        view.timestampMillis()
+                            + " "
+                            + view.playerHand()
+                            + " "
+                            + view.opponents()
+                            + " "
+                            + view.opponentHand(0)
+                            + " "
+                            + view.opponentHand(Math.min(view.opponents(), 32) - 1)
+                            + " "
+                            + view.win()
+                            + "/"
+                            + view.lose()
+                            + "/"
+                            + view.draw()));
+
+    assertEquals(2, count);
+    assertEquals(2, writer.written());
+    assertEquals(List.of("1000 0 4 0 2 2/1/1", "2000 1 33 0 0 33/0/0"), records);
+  }
+
+  // 通常のじゃんけん以外のルールは variant にルールが記録され、2bit に収まらない相手の手（先頭16人まで）も読み出せること
+  @Test
+  void writeAndRead_recordsVariant() throws Exception {
+    MatchLogWriter writer = new MatchLogWriter(directory, 100, 64, Duration.ofMillis(10), 10);
+    writer.start();
+    List<Hand> opponents = List.of(Hand.SCISSORS, Hand.ROCK, Hand.PAPER, Hand.LIZARD, Hand.SPOCK);
+    RoundBuffer buffer = RoundBuffers.judged(RuleSet.LIZARD_SPOCK, Hand.SPOCK, opponents);
+    writer.onGame(1_000L, OutcomeTable.encode(Hand.SPOCK), buffer);
+    writer.stop();
+
+    List<String> records = new ArrayList<>();
+    new MatchLogReader(directory)
+        .forEach(
+            view -> {
+              List<Hand> hands = new ArrayList<>();
+              for (int i = 0; i < view.opponents(); i++) {
+                hands.add(OutcomeTable.decodeHand(view.opponentHand(i)));
+              }
+              records.add(
+                  "%d %s %s %d/%d/%d"
+                      .formatted(
+                          view.variant(),
+                          OutcomeTable.decodeHand(view.playerHand()),
+                          hands,
+                          view.win(),
+                          view.lose(),
+                          view.draw()));
+            });
+
+    assertEquals(List.of("1 SPOCK " + opponents + " 2/2/1"), records);
+  }
+
+  // セグメントが満杯になると次のファイルに切り替わり、上限を超えた古いセグメントが削除されること
+  @Test
+  void rotate_keepsLatestSegments() throws Exception {
+    MatchLogWriter writer = new MatchLogWriter(directory, 10, 64, Duration.ofMillis(10), 2);
+    writer.start();
+    RoundBuffer buffer = RoundBuffers.judged(Hand.ROCK, Hand.PAPER);
+    for (int i = 0; i < 25; i++) {
+      writer.onGame(i, OutcomeTable.encode(Hand.ROCK), buffer);
+    }
+    writer.stop();
+
+    MatchLogReader reader = new MatchLogReader(directory);
+    List<Long> timestamps = new ArrayList<>();
+    reader.forEach(view -> timestamps.add(view.timestampMillis()));
+
+    assertEquals(
+        List.of(
+            directory.resolve("matchlog-00000001.seg"), directory.resolve("matchlog-00000002.seg")),
+        reader.segments());
+    assertEquals(LongStream.range(10, 25).boxed().toList(), timestamps);
+  }
+
+  // 無効で生成した場合は開始してもディレクトリを作らず、積んだ分も書き込み・捨てた件数に数えないこと
+  @Test
+  void disabled_writesNothing() {
+    Path missing = directory.resolve("missing");
+    MatchLogWriter writer = new MatchLogWriter(false, missing, 10, 64, Duration.ofMillis(10), 2);
+    writer.start();
+    RoundBuffer buffer = RoundBuffers.judged(Hand.ROCK, Hand.PAPER);
+    writer.onGame(1_000L, OutcomeTable.encode(Hand.ROCK), buffer);
+    writer.stop();
+
+    assertFalse(writer.isRunning());
+    assertFalse(Files.exists(missing));
+    assertEquals(0, writer.written());
+    assertEquals(0, writer.dropped());
+  }
+
+  // 1セグメントが 2GB を超えるレコード数（オフセットが int に収まらない）は生成時に拒否されること
+  @Test
+  void constructor_rejectsOversizedSegment() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            new MatchLogWriter(
+                directory, MatchLogWriter.MAX_SEGMENT_RECORDS + 1, 64, Duration.ofMillis(10), 2));
+  }
+}
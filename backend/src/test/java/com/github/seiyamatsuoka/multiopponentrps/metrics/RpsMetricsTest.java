@@ -0,0 +1,65 @@
+package com.github.seiyamatsuoka.multiopponentrps.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.github.seiyamatsuoka.multiopponentrps.error.ApiErrorKind;
+import com.github.seiyamatsuoka.multiopponentrps.rps.RpsService;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.random.DefaultRandomSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+/**
+ * RpsMetrics の単体テスト。
+ *
+ * <p>SimpleMeterRegistry に登録し、RpsService の実行・エラー記録がメーターに反映されることを確認する。
+ */
+class RpsMetricsTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final RpsMetrics metrics = new RpsMetrics(registry);
+
+  // - RpsService.play の実行回数・相手人数・勝敗の件数が記録されること
+  @Test
+  void recordPlay_countsPlaysOpponentsAndResults() {
+    RpsService service = new RpsService(new DefaultRandomSource(), metrics);
+
+    service.play(Hand.ROCK, 3);
+    service.play(Hand.PAPER, 7);
+
+    assertEquals(2, registry.get("rps.service.play").timer().count());
+    assertEquals(10, registry.get("rps.opponents").summary().totalAmount());
+
+    double results =
+        registry.get("rps.results").tag("result", "win").counter().count()
+            + registry.get("rps.results").tag("result", "lose").counter().count()
+            + registry.get("rps.results").tag("result", "draw").counter().count();
+    assertEquals(10, results);
+  }
+
+  // エラーがハンドラ・ステータスごとに数えられること
+  @Test
+  void recordError_countsPerHandler() {
+    metrics.recordError(ApiErrorKind.VALIDATION);
+    metrics.recordError(ApiErrorKind.VALIDATION);
+    metrics.recordError(ApiErrorKind.UNEXPECTED);
+
+    assertEquals(
+        2,
+        registry
+            .get("api.errors")
+            .tag("handler", "validation")
+            .tag("status", "400")
+            .counter()
+            .count());
+    assertEquals(0, registry.get("api.errors").tag("handler", "not_readable").counter().count());
+    assertEquals(
+        1,
+        registry
+            .get("api.errors")
+            .tag("handler", "unexpected")
+            .tag("status", "500")
+            .counter()
+            .count());
+  }
+}
@@ -0,0 +1,80 @@
+package com.github.seiyamatsuoka.multiopponentrps.odds;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.github.seiyamatsuoka.multiopponentrps.error.ApiExceptionHandler;
+import com.github.seiyamatsuoka.multiopponentrps.metrics.RpsMetrics;
+import com.github.seiyamatsuoka.multiopponentrps.odds.dto.OddsRequest;
+import com.github.seiyamatsuoka.multiopponentrps.odds.dto.OddsResponse;
+import com.github.seiyamatsuoka.multiopponentrps.odds.dto.OutcomeRates;
+import com.github.seiyamatsuoka.multiopponentrps.odds.dto.Probability;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.stats.WindowedStats;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * OddsController のテスト。
+ *
+ * <ul>
+ *   <li>GET /api/rps/odds のクエリパラメータがリクエストに詰められ、勝率が JSON で返ること
+ *   <li>試行回数 × 相手人数 が上限を超える場合は 400 + 統一エラーレスポンスになること
+ * </ul>
+ *
+ * <p>計算自体は Service の単体テストで担保するため、ここではServiceをモックする。
+ */
+@WebMvcTest(controllers = OddsController.class)
+@Import({ApiExceptionHandler.class, WindowedStats.class})
+class OddsControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockitoBean private OddsService oddsService;
+
+  @MockitoBean private RpsMetrics metrics;
+
+  @Test
+  void odds_bindsQueryParameters() throws Exception {
+    OutcomeRates third = new OutcomeRates(1.0 / 3, 1.0 / 3, 1.0 / 3);
+    Probability half = Probability.exact(0.5);
+    OddsResponse stub =
+        new OddsResponse(
+            Hand.ROCK, 2, OddsMethod.EXACT, 0, third, third, half, half, half, half, half);
+    when(oddsService.odds(new OddsRequest(Hand.ROCK, 2L, 1.0, null, null, null, null)))
+        .thenReturn(stub);
+
+    mockMvc
+        .perform(
+            get("/api/rps/odds").param("hand", "ROCK").param("opponents", "2").param("rock", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.method").value("EXACT"))
+        .andExpect(jsonPath("$.winMore.value").value(0.5))
+        .andExpect(jsonPath("$.perOpponent.win").value(1.0 / 3));
+  }
+
+  @Test
+  void odds_tooManyTrials_returns400() throws Exception {
+    mockMvc
+        .perform(
+            get("/api/rps/odds")
+                .param("hand", "ROCK")
+                .param("opponents", "1000000")
+                .param("trials", "1000"))
+        .andExpect(status().isBadRequest())
+        .andExpect(
+            jsonPath("$.details[0]")
+                .value("trialsAllowed: trials × opponents は 100000000 以下で指定してください"));
+
+    verify(oddsService, never()).odds(any(OddsRequest.class));
+  }
+}
@@ -0,0 +1,100 @@
+package com.github.seiyamatsuoka.multiopponentrps.odds;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * OddsMath の単体テスト。
+ *
+ * <p>少人数では勝ち数・負け数の全組み合わせを数え上げた値と比べ、大人数では確率の合計と対称性を確認する。
+ */
+class OddsMathTest {
+
+  /** {勝つ確率, 負ける確率} の組み合わせ（等確率・偏りあり・あいこなし・勝ちなし）。 */
+  private static final double[][] RATES = {
+    {1.0 / 3, 1.0 / 3}, {0.5, 0.2}, {0.1, 0.7}, {0.6, 0.4}, {0, 0.25}
+  };
+
+  // 相手 1〜12 人で、多項分布を数え上げた値と一致すること
+  @Test
+  void exact_matchesEnumeration() {
+    for (double[] rates : RATES) {
+      for (int opponents = 1; opponents <= 12; opponents++) {
+        OddsMath.Odds expected = enumerate(opponents, rates[0], rates[1]);
+        OddsMath.Odds actual = OddsMath.exact(opponents, rates[0], rates[1]);
+        String label = "k=" + opponents + " win=" + rates[0] + " lose=" + rates[1];
+
+        assertEquals(expected.winMore(), actual.winMore(), 1e-12, label);
+        assertEquals(expected.loseMore(), actual.loseMore(), 1e-12, label);
+        assertEquals(expected.even(), actual.even(), 1e-12, label);
+        assertEquals(expected.winAll(), actual.winAll(), 1e-12, label);
+        assertEquals(expected.noLoss(), actual.noLoss(), 1e-12, label);
+      }
+    }
+  }
+
+  // - 相手 10 億人でも計算でき、勝ち越し・負け越し・同数の合計が 1 になること
+  // - 等確率なら勝ち越しと負け越しの確率が同じになること
+  @Test
+  void exact_largeOpponents_isNormalizedAndSymmetric() {
+    OddsMath.Odds odds = OddsMath.exact(1_000_000_000L, 1.0 / 3, 1.0 / 3);
+
+    assertEquals(1, odds.winMore() + odds.loseMore() + odds.even(), 1e-5);
+    assertEquals(odds.winMore(), odds.loseMore(), 1e-5);
+    assertEquals(0.0, odds.winAll());
+  }
+
+  // 表の範囲を超える log(n!) が、log の和と一致すること
+  @Test
+  void logFactorial_matchesSumOfLogs() {
+    double sum = 0;
+    for (int n = 1; n <= 1000; n++) {
+      sum += Math.log(n);
+      assertEquals(sum, OddsMath.logFactorial(n), 1e-9 * sum + 1e-12, "n=" + n);
+    }
+  }
+
+  /** 勝ち数 w・負け数 l の全組み合わせについて、多項分布の確率を足し上げる。 */
+  private static OddsMath.Odds enumerate(int opponents, double win, double lose) {
+    double draw = 1 - win - lose;
+    double winMore = 0;
+    double loseMore = 0;
+    double even = 0;
+    double winAll = 0;
+    double noLoss = 0;
+    for (int wins = 0; wins <= opponents; wins++) {
+      for (int losses = 0; wins + losses <= opponents; losses++) {
+        int draws = opponents - wins - losses;
+        double p =
+            factorial(opponents)
+                / (factorial(wins) * factorial(losses) * factorial(draws))
+                * Math.pow(win, wins)
+                * Math.pow(lose, losses)
+                * Math.pow(draw, draws);
+        if (wins > losses) {
+          winMore += p;
+        } else if (wins < losses) {
+          loseMore += p;
+        } else {
+          even += p;
+        }
+        if (wins == opponents) {
+          winAll += p;
+        }
+        if (losses == 0) {
+          noLoss += p;
+        }
+      }
+    }
+    return new OddsMath.Odds(winMore, loseMore, even, winAll, noLoss);
+  }
+
+  private static double factorial(int n) {
+    double result = 1;
+    for (int i = 2; i <= n; i++) {
+      result *= i;
+    }
+    return result;
+  }
+}
@@ -0,0 +1,77 @@
+package com.github.seiyamatsuoka.multiopponentrps.odds;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.seiyamatsuoka.multiopponentrps.odds.dto.OddsRequest;
+import com.github.seiyamatsuoka.multiopponentrps.odds.dto.OddsResponse;
+import com.github.seiyamatsuoka.multiopponentrps.odds.dto.Probability;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.random.DefaultRandomSource;
+import org.junit.jupiter.api.Test;
+
+/**
+ * OddsService の単体テスト。
+ *
+ * <p>計算方法（表・式・モンテカルロ法）の選び分けと、相手の手の重みから相手1人あたりの確率への変換を確認する。
+ */
+class OddsServiceTest {
+
+  private final OddsService service = new OddsService(new DefaultRandomSource());
+
+  // 相手の手が等確率で通常モードの人数なら、表から返すこと（式で計算した値と同じ）
+  @Test
+  void odds_uniformSmallOpponents_usesTable() {
+    OddsResponse response = service.odds(request(Hand.ROCK, 3, null, null, null, null));
+
+    assertEquals(OddsMethod.TABLE, response.method());
+    assertEquals(1.0 / 3, response.perOpponent().win(), 1e-15);
+    assertEquals(1.0, response.expected().draw(), 1e-12);
+    OddsMath.Odds odds = OddsMath.exact(3, 1.0 / 3, 1.0 / 3);
+    assertEquals(Probability.exact(odds.winMore()), response.winMore());
+    assertEquals(Probability.exact(odds.noLoss()), response.noLoss());
+  }
+
+  // - 重みを指定した場合は式で計算し、未指定の手の重みは 0 として扱うこと
+  // - 相手1人なら、勝ち越しの確率が相手1人に勝つ確率と同じになること
+  @Test
+  void odds_weighted_usesExactFormula() {
+    // PAPER から見て ROCK は勝ち、SCISSORS は負け（PAPER の重みは未指定なので 0）
+    OddsResponse response = service.odds(request(Hand.PAPER, 1, 3.0, null, 1.0, null));
+
+    assertEquals(OddsMethod.EXACT, response.method());
+    assertEquals(0.75, response.perOpponent().win(), 1e-15);
+    assertEquals(0.25, response.perOpponent().lose(), 1e-15);
+    assertEquals(0.0, response.perOpponent().draw());
+    assertEquals(0.75, response.winMore().value(), 1e-12);
+    assertEquals(0.75, response.winAll().value(), 1e-12);
+  }
+
+  // - 試行回数を指定した場合はモンテカルロ法で推定し、95% 区間に式で計算した値が入ること
+  // - 同じシードなら同じ推定値になること
+  @Test
+  void odds_withTrials_usesMonteCarloWithInterval() {
+    OddsRequest request = new OddsRequest(Hand.SCISSORS, 50L, 1.0, 2.0, 1.0, 20_000L, 5L);
+
+    OddsResponse response = service.odds(request);
+    OddsResponse exact = service.odds(request(Hand.SCISSORS, 50, 1.0, 2.0, 1.0, null));
+
+    assertEquals(OddsMethod.MONTE_CARLO, response.method());
+    assertEquals(20_000, response.trials());
+    assertWithin(exact.winMore().value(), response.winMore());
+    assertWithin(exact.loseMore().value(), response.loseMore());
+    assertWithin(exact.even().value(), response.even());
+    assertEquals(response, service.odds(request));
+  }
+
+  private static OddsRequest request(
+      Hand hand, long opponents, Double rock, Double paper, Double scissors, Long trials) {
+    return new OddsRequest(hand, opponents, rock, paper, scissors, trials, null);
+  }
+
+  private static void assertWithin(double expected, Probability estimate) {
+    assertTrue(
+        estimate.low() <= expected && expected <= estimate.high(),
+        expected + " not in [" + estimate.low() + ", " + estimate.high() + "]");
+  }
+}
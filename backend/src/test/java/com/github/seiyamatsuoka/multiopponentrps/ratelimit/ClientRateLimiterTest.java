@@ -0,0 +1,93 @@
+package com.github.seiyamatsuoka.multiopponentrps.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/** ClientRateLimiter の単体テスト（時刻は固定の値を進めて使う）。 */
+class ClientRateLimiterTest {
+
+  private final AtomicLong now = new AtomicLong(1_000_000_000_000L);
+
+  // - 連続では burst 回まで許可し、それを超えると次に許可できるまでの時間を返すこと
+  // - 時間が経つと 1秒あたり permitsPerSecond 回の割合で許可が戻ること
+  @Test
+  void tryAcquire_allowsBurstThenRefillsAtRate() {
+    ClientRateLimiter limiter = new ClientRateLimiter(10, 3, 100, now::get);
+
+    assertEquals(0, limiter.tryAcquire("a"));
+    assertEquals(0, limiter.tryAcquire("a"));
+    assertEquals(0, limiter.tryAcquire("a"));
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(100), limiter.tryAcquire("a"));
+
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+    assertEquals(0, limiter.tryAcquire("a"));
+    assertTrue(limiter.tryAcquire("a") > 0);
+  }
+
+  // クライアントごとに別のバケットで数えること
+  @Test
+  void tryAcquire_isPerClient() {
+    ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 100, now::get);
+
+    assertEquals(0, limiter.tryAcquire("a"));
+    assertTrue(limiter.tryAcquire("a") > 0);
+    assertEquals(0, limiter.tryAcquire("b"));
+  }
+
+  // - クライアント数が上限を超えないこと
+  // - 満タンに戻ったクライアントから消され、使用中のクライアントの残りは保たれること
+  @Test
+  void tryAcquire_evictsIdleClientsFirst() {
+    ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 8, now::get);
+    for (int i = 0; i < 7; i++) {
+      limiter.tryAcquire("idle-" + i);
+    }
+    now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+    assertEquals(0, limiter.tryAcquire("busy"));
+    assertEquals(8, limiter.clients());
+
+    assertEquals(0, limiter.tryAcquire("new"));
+
+    assertEquals(2, limiter.clients());
+    assertTrue(limiter.tryAcquire("busy") > 0);
+  }
+
+  // 使用中のクライアントだけで溢れる場合も、上限を超えないこと
+  @Test
+  void tryAcquire_staysWithinMaxClientsWhenAllBusy() {
+    ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 8, now::get);
+    for (int i = 0; i < 100; i++) {
+      assertEquals(0, limiter.tryAcquire("client-" + i));
+      assertTrue(limiter.clients() <= 8);
+    }
+  }
+
+  // 複数スレッドから同時に取っても、許可した回数が burst を超えないこと
+  @Test
+  void tryAcquire_isExactUnderContention() throws Exception {
+    ClientRateLimiter limiter = new ClientRateLimiter(1, 100, 100, now::get);
+    AtomicInteger allowed = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      for (int i = 0; i < 1000; i++) {
+        executor.execute(
+            () -> {
+              if (limiter.tryAcquire("a") == 0) {
+                allowed.incrementAndGet();
+              }
+            });
+      }
+    } finally {
+      executor.shutdown();
+      assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+    assertEquals(100, allowed.get());
+  }
+}
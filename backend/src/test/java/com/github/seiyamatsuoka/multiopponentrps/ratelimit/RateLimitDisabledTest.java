@@ -0,0 +1,72 @@
+package com.github.seiyamatsuoka.multiopponentrps.ratelimit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.github.seiyamatsuoka.multiopponentrps.config.IdempotencyConfig;
+import com.github.seiyamatsuoka.multiopponentrps.config.RateLimitConfig;
+import com.github.seiyamatsuoka.multiopponentrps.error.ApiExceptionHandler;
+import com.github.seiyamatsuoka.multiopponentrps.metrics.RpsMetrics;
+import com.github.seiyamatsuoka.multiopponentrps.rps.RpsController;
+import com.github.seiyamatsuoka.multiopponentrps.rps.RpsService;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsRequest;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsResponse;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Summary;
+import com.github.seiyamatsuoka.multiopponentrps.stats.WindowedStats;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * レート制限が無効（app.ratelimit.enabled=false）のときのテスト。
+ *
+ * <p>RateLimitConfig は常に読み込まれるため（AOT 対策）、無効ならインターセプタが登録されず、上限を超えても断られないことを確認する。
+ */
+@WebMvcTest(controllers = RpsController.class)
+@Import({
+  ApiExceptionHandler.class,
+  IdempotencyConfig.class,
+  RateLimitConfig.class,
+  WindowedStats.class
+})
+@TestPropertySource(
+    properties = {
+      "app.ratelimit.enabled=false",
+      "app.ratelimit.permits-per-second=0.001",
+      "app.ratelimit.burst=1",
+      "app.ratelimit.max-clients=100",
+      "app.ratelimit.max-concurrent=1"
+    })
+class RateLimitDisabledTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockitoBean private RpsService rpsService;
+
+  @MockitoBean private RpsMetrics metrics;
+
+  // burst・同時処理数の上限を超える回数でも、すべて 200 になること
+  @Test
+  void disabled_doesNotLimit() throws Exception {
+    when(rpsService.play(any(RpsRequest.class)))
+        .thenReturn(new RpsResponse(Hand.ROCK, 1, List.of(), new Summary(0, 0, 1)));
+
+    for (int i = 0; i < 3; i++) {
+      mockMvc
+          .perform(
+              post("/api/rps")
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content("{\"hand\":\"ROCK\",\"opponents\":1}"))
+          .andExpect(status().isOk());
+    }
+  }
+}
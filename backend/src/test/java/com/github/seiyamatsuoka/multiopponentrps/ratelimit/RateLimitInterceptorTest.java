@@ -0,0 +1,127 @@
+package com.github.seiyamatsuoka.multiopponentrps.ratelimit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.github.seiyamatsuoka.multiopponentrps.config.IdempotencyConfig;
+import com.github.seiyamatsuoka.multiopponentrps.config.RateLimitConfig;
+import com.github.seiyamatsuoka.multiopponentrps.error.ApiExceptionHandler;
+import com.github.seiyamatsuoka.multiopponentrps.metrics.RpsMetrics;
+import com.github.seiyamatsuoka.multiopponentrps.rps.RpsController;
+import com.github.seiyamatsuoka.multiopponentrps.rps.RpsService;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsRequest;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsResponse;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Summary;
+import com.github.seiyamatsuoka.multiopponentrps.stats.WindowedStats;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * レート制限・ロードシェディングのテスト。
+ *
+ * <ul>
+ *   <li>クライアントごとのレート制限を超えると 429 + Retry-After + 統一エラーレスポンスになること
+ *   <li>同時に処理するリクエスト数の上限に達していると 503 + 統一エラーレスポンスになること
+ *   <li>503 で返したリクエストはクライアントの回数を消費しないこと
+ * </ul>
+ */
+@WebMvcTest(controllers = RpsController.class)
+@Import({
+  ApiExceptionHandler.class,
+  IdempotencyConfig.class,
+  RateLimitConfig.class,
+  WindowedStats.class
+})
+@TestPropertySource(
+    properties = {
+      "app.ratelimit.enabled=true",
+      "app.ratelimit.permits-per-second=0.001",
+      "app.ratelimit.burst=2",
+      "app.ratelimit.max-clients=100",
+      "app.ratelimit.max-concurrent=1",
+      "app.ratelimit.client-header=X-Forwarded-For"
+    })
+class RateLimitInterceptorTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockitoBean private RpsService rpsService;
+
+  @MockitoBean private RpsMetrics metrics;
+
+  @BeforeEach
+  void setUp() {
+    when(rpsService.play(any(RpsRequest.class)))
+        .thenReturn(new RpsResponse(Hand.ROCK, 1, List.of(), new Summary(0, 0, 1)));
+  }
+
+  // - burst 回までは通り、それを超えると 429 になること
+  // - 別のクライアント（X-Forwarded-For の末尾）は別に数えること
+  @Test
+  void overRate_returns429WithRetryAfter() throws Exception {
+    mockMvc.perform(play("10.0.0.1")).andExpect(status().isOk());
+    mockMvc.perform(play("10.0.0.1")).andExpect(status().isOk());
+
+    mockMvc
+        .perform(play("10.0.0.1"))
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().exists("Retry-After"))
+        .andExpect(jsonPath("$.message").value("リクエストが多すぎます"))
+        .andExpect(jsonPath("$.details").isArray());
+
+    mockMvc.perform(play("203.0.113.9, 10.0.0.2")).andExpect(status().isOk());
+  }
+
+  // - 書き出し中（非同期処理中）の一括実行が枠を持っている間は、他のリクエストが 503 になること
+  // - 書き出しが終わると枠が返ること
+  // - 503 の間はクライアントの回数が減らず、枠が返った後も burst 回まで通ること
+  @Test
+  void overConcurrency_returns503UntilReleased() throws Exception {
+    MvcResult started =
+        mockMvc
+            .perform(
+                post("/api/rps/batch")
+                    .header("X-Forwarded-For", "10.0.1.1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"games\":[{\"hand\":\"ROCK\",\"opponents\":1}]}"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc
+        .perform(play("10.0.1.2"))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string("Retry-After", "1"))
+        .andExpect(jsonPath("$.message").value("サーバーが混み合っています"));
+    mockMvc.perform(play("10.0.1.2")).andExpect(status().isServiceUnavailable());
+    mockMvc.perform(play("10.0.1.2")).andExpect(status().isServiceUnavailable());
+
+    mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+    mockMvc.perform(play("10.0.1.2")).andExpect(status().isOk());
+    mockMvc.perform(play("10.0.1.2")).andExpect(status().isOk());
+    mockMvc.perform(play("10.0.1.2")).andExpect(status().isTooManyRequests());
+  }
+
+  private MockHttpServletRequestBuilder play(String forwardedFor) {
+    return post("/api/rps")
+        .header("X-Forwarded-For", forwardedFor)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"hand\":\"ROCK\",\"opponents\":1}");
+  }
+}
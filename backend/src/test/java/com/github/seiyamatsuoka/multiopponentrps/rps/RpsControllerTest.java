@@ -1,24 +1,42 @@
 package com.github.seiyamatsuoka.multiopponentrps.rps;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.github.seiyamatsuoka.multiopponentrps.config.IdempotencyConfig;
+import com.github.seiyamatsuoka.multiopponentrps.config.RateLimitConfig;
+import com.github.seiyamatsuoka.multiopponentrps.error.ApiExceptionHandler;
+import com.github.seiyamatsuoka.multiopponentrps.metrics.RpsMetrics;
+import com.github.seiyamatsuoka.multiopponentrps.rps.binary.RpsBinaryCodec;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsRequest;
 import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsResponse;
 import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.OpponentStrategy;
 import com.github.seiyamatsuoka.multiopponentrps.rps.model.Result;
 import com.github.seiyamatsuoka.multiopponentrps.rps.model.RoundResult;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RuleSet;
 import com.github.seiyamatsuoka.multiopponentrps.rps.model.Summary;
+import com.github.seiyamatsuoka.multiopponentrps.stats.WindowedStats;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 /**
  * RpsController の単体テスト。
@@ -26,17 +44,34 @@ import org.springframework.test.web.servlet.MockMvc;
  * <ul>
  *   <li>POST /api/rps が 200 を返すこと
  *   <li>レスポンスの主要フィールドがJSONとして返ること
+ *   <li>POST /api/rps/batch が結果をJSON配列で返すこと
+ *   <li>POST /api/rps がバイナリ形式（application/x-rps）でも受け取り・返却できること
+ *   <li>POST /api/rps の Idempotency-Key の再送に、最初の結果がそのまま返ること（クライアントごと）
  * </ul>
  *
  * <p>じゃんけんロジック自体は Service の単体テストで担保するため、ここではServiceをモックする。
  */
 @WebMvcTest(controllers = RpsController.class)
+@Import({
+  ApiExceptionHandler.class,
+  IdempotencyConfig.class,
+  RateLimitConfig.class,
+  WindowedStats.class
+})
+@TestPropertySource(
+    properties = {
+      "app.idempotency.enabled=true",
+      "app.idempotency.ttl=10m",
+      "app.idempotency.max-entries=100"
+    })
 class RpsControllerTest {
 
   @Autowired private MockMvc mockMvc;
 
   @MockitoBean private RpsService rpsService;
 
+  @MockitoBean private RpsMetrics metrics;
+
   // - ControllerがServiceを呼び、200でレスポンスを返すこと
   // - レスポンスの主要項目がJSONで返ること（詳細な勝敗ロジックはService側で担保）
   @Test
@@ -50,7 +85,7 @@ class RpsControllerTest {
                 new RoundResult(2, Hand.ROCK, Result.DRAW)),
             new Summary(1, 0, 1));
 
-    when(rpsService.play(any(Hand.class), anyInt())).thenReturn(stub);
+    when(rpsService.play(any(RpsRequest.class))).thenReturn(stub);
 
     mockMvc
         .perform(
@@ -64,4 +99,240 @@ class RpsControllerTest {
         .andExpect(jsonPath("$.summary.win").value(1))
         .andExpect(jsonPath("$.summary.draw").value(1));
   }
+
+  // - ruleSet を指定すると、そのルールのリクエストとして Service に渡されること
+  // - ruleSet で使えない手（省略時の通常のじゃんけんで SPOCK）は 400 になり、Service は呼ばれないこと
+  @Test
+  void postRps_withRuleSet() throws Exception {
+    RpsResponse stub =
+        new RpsResponse(
+            Hand.SPOCK,
+            1,
+            List.of(new RoundResult(1, Hand.ROCK, Result.WIN)),
+            new Summary(1, 0, 0));
+    RpsRequest request = new RpsRequest(Hand.SPOCK, 1, null, RuleSet.LIZARD_SPOCK);
+    when(rpsService.play(request)).thenReturn(stub);
+
+    mockMvc
+        .perform(
+            post("/api/rps")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"hand\":\"SPOCK\",\"opponents\":1,\"ruleSet\":\"LIZARD_SPOCK\"}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.playerHand").value("SPOCK"))
+        .andExpect(jsonPath("$.results[0].opponentHand").value("ROCK"));
+
+    mockMvc
+        .perform(
+            post("/api/rps")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"hand\":\"SPOCK\",\"opponents\":1}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(
+            jsonPath("$.details[0]")
+                .value("handAllowed: hand は ruleSet で使える手で指定してください"));
+
+    verify(rpsService, times(1)).play(any(RpsRequest.class));
+  }
+
+  // - strategy・session を指定すると、そのままリクエストとして Service に渡されること
+  // - session なしの strategy は 400 になり、Service は呼ばれないこと
+  @Test
+  void postRps_withStrategy() throws Exception {
+    RpsResponse stub =
+        new RpsResponse(
+            Hand.ROCK,
+            1,
+            List.of(new RoundResult(1, Hand.PAPER, Result.LOSE)),
+            new Summary(0, 1, 0));
+    RpsRequest request = new RpsRequest(Hand.ROCK, 1, null, null, OpponentStrategy.MARKOV, "p1");
+    when(rpsService.play(request)).thenReturn(stub);
+
+    mockMvc
+        .perform(
+            post("/api/rps")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    "{\"hand\":\"ROCK\",\"opponents\":1,"
+                        + "\"strategy\":\"MARKOV\",\"session\":\"p1\"}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.results[0].opponentHand").value("PAPER"));
+
+    mockMvc
+        .perform(
+            post("/api/rps")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"hand\":\"ROCK\",\"opponents\":1,\"strategy\":\"MARKOV\"}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(
+            jsonPath("$.details[0]")
+                .value("sessionAllowed: strategy を指定する場合は session も指定してください"));
+
+    verify(rpsService, times(1)).play(any(RpsRequest.class));
+  }
+
+  // - 一括実行で、リクエストの件数・順序どおりに結果の配列が返ること
+  // - 結果はストリーミング（非同期）で書き出されること
+  @Test
+  void postRpsBatch_streamsResponsesInOrder() throws Exception {
+    RpsResponse rock =
+        new RpsResponse(
+            Hand.ROCK,
+            1,
+            List.of(new RoundResult(1, Hand.SCISSORS, Result.WIN)),
+            new Summary(1, 0, 0));
+    RpsResponse paper =
+        new RpsResponse(
+            Hand.PAPER,
+            1,
+            List.of(new RoundResult(1, Hand.PAPER, Result.DRAW)),
+            new Summary(0, 0, 1));
+
+    when(rpsService.play(new RpsRequest(Hand.ROCK, 1))).thenReturn(rock);
+    when(rpsService.play(new RpsRequest(Hand.PAPER, 1))).thenReturn(paper);
+
+    MvcResult started =
+        mockMvc
+            .perform(
+                post("/api/rps/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(
+                        "{\"games\":[{\"hand\":\"ROCK\",\"opponents\":1},"
+                            + "{\"hand\":\"PAPER\",\"opponents\":1}]}"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc
+        .perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[0].playerHand").value("ROCK"))
+        .andExpect(jsonPath("$[0].summary.win").value(1))
+        .andExpect(jsonPath("$[1].playerHand").value("PAPER"))
+        .andExpect(jsonPath("$[1].summary.draw").value(1));
+  }
+
+  // - バイナリ形式のリクエストが RpsRequest として Service に渡ること
+  // - Accept が application/x-rps ならレスポンスもバイナリで返り、元の RpsResponse に戻せること
+  @Test
+  void postRps_binary_roundTrips() throws Exception {
+    RpsRequest request = new RpsRequest(Hand.PAPER, 2, 42L);
+    RpsResponse stub =
+        new RpsResponse(
+            Hand.PAPER,
+            2,
+            List.of(
+                new RoundResult(1, Hand.ROCK, Result.WIN),
+                new RoundResult(2, Hand.SCISSORS, Result.LOSE)),
+            new Summary(1, 1, 0));
+
+    when(rpsService.play(request)).thenReturn(stub);
+
+    MvcResult result =
+        mockMvc
+            .perform(
+                post("/api/rps")
+                    .contentType(RpsBinaryCodec.MEDIA_TYPE)
+                    .accept(RpsBinaryCodec.MEDIA_TYPE)
+                    .content(RpsBinaryCodec.encodeRequest(request)))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(RpsBinaryCodec.MEDIA_TYPE))
+            .andReturn();
+
+    assertEquals(
+        stub, RpsBinaryCodec.decodeResponse(result.getResponse().getContentAsByteArray()));
+  }
+
+  // Accept の指定がない場合は、バイナリ形式のリクエストでも JSON で返ること
+  @Test
+  void postRps_binaryRequest_defaultsToJsonResponse() throws Exception {
+    RpsRequest request = new RpsRequest(Hand.ROCK, 1);
+    RpsResponse stub =
+        new RpsResponse(
+            Hand.ROCK,
+            1,
+            List.of(new RoundResult(1, Hand.ROCK, Result.DRAW)),
+            new Summary(0, 0, 1));
+
+    when(rpsService.play(request)).thenReturn(stub);
+
+    mockMvc
+        .perform(
+            post("/api/rps")
+                .contentType(RpsBinaryCodec.MEDIA_TYPE)
+                .content(RpsBinaryCodec.encodeRequest(request)))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$.summary.draw").value(1));
+  }
+
+  // - 同じ Idempotency-Key の再送には、Service を呼ばずに最初の結果と Idempotent-Replayed: true が返ること
+  // - 同じキーで内容の違うリクエストは 422 + 統一エラーレスポンスになること
+  @Test
+  void postRps_idempotencyKey_replaysFirstResponse() throws Exception {
+    RpsResponse stub =
+        new RpsResponse(
+            Hand.PAPER,
+            1,
+            List.of(new RoundResult(1, Hand.ROCK, Result.WIN)),
+            new Summary(1, 0, 0));
+    when(rpsService.play(any(RpsRequest.class))).thenReturn(stub);
+
+    for (int i = 0; i < 2; i++) {
+      mockMvc
+          .perform(
+              post("/api/rps")
+                  .header(RpsController.IDEMPOTENCY_KEY_HEADER, "retry-1")
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content("{\"hand\":\"PAPER\",\"opponents\":1}"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.summary.win").value(1));
+    }
+    mockMvc
+        .perform(
+            post("/api/rps")
+                .header(RpsController.IDEMPOTENCY_KEY_HEADER, "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"hand\":\"PAPER\",\"opponents\":1}"))
+        .andExpect(header().string(RpsController.IDEMPOTENT_REPLAYED_HEADER, "true"));
+    verify(rpsService, times(1)).play(any(RpsRequest.class));
+
+    mockMvc
+        .perform(
+            post("/api/rps")
+                .header(RpsController.IDEMPOTENCY_KEY_HEADER, "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"hand\":\"ROCK\",\"opponents\":1}"))
+        .andExpect(status().isUnprocessableEntity())
+        .andExpect(jsonPath("$.message").value("Idempotency-Key が使えません"));
+  }
+
+  // 別のクライアント（リモートアドレスが違う）が同じ Idempotency-Key を送っても、最初の結果は返らず実行されること
+  @Test
+  void postRps_idempotencyKey_isScopedPerClient() throws Exception {
+    RpsResponse stub =
+        new RpsResponse(
+            Hand.PAPER,
+            1,
+            List.of(new RoundResult(1, Hand.ROCK, Result.WIN)),
+            new Summary(1, 0, 0));
+    when(rpsService.play(any(RpsRequest.class))).thenReturn(stub);
+
+    for (String client : List.of("10.0.0.1", "10.0.0.2")) {
+      mockMvc
+          .perform(
+              post("/api/rps")
+                  .with(
+                      r -> {
+                        r.setRemoteAddr(client);
+                        return r;
+                      })
+                  .header(RpsController.IDEMPOTENCY_KEY_HEADER, "shared-1")
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content("{\"hand\":\"PAPER\",\"opponents\":1}"))
+          .andExpect(status().isOk())
+          .andExpect(header().doesNotExist(RpsController.IDEMPOTENT_REPLAYED_HEADER));
+    }
+    verify(rpsService, times(2)).play(any(RpsRequest.class));
+  }
 }
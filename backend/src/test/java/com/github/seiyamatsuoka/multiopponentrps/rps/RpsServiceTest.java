@@ -2,10 +2,27 @@ package com.github.seiyamatsuoka.multiopponentrps.rps;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.github.seiyamatsuoka.multiopponentrps.metrics.RpsMetrics;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsGroupRequest;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsGroupResponse;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsRequest;
 import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsResponse;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsSimulationRequest;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsSimulationResponse;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.OutcomeTable;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffer;
 import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.OpponentStrategy;
 import com.github.seiyamatsuoka.multiopponentrps.rps.model.Result;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RoundResult;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RuleSet;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Summary;
+import com.github.seiyamatsuoka.multiopponentrps.rps.random.DefaultRandomSource;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 
@@ -83,4 +100,192 @@ class RpsServiceTest {
     assertEquals(1, response.results().get(0).opponentIndex());
     assertEquals(10, response.results().get(9).opponentIndex());
   }
+
+  // - 大人数（分割実行される人数）でも、集計の合計が opponents と一致すること
+  // - samples で指定した人数分だけ相手ごとの結果が返ること
+  @Test
+  void simulate_talliesAllOpponentsAndReturnsSamples() {
+    RpsSimulationResponse response = service.simulate(Hand.ROCK, 3_000_001L, 5);
+
+    assertEquals(Hand.ROCK, response.playerHand());
+    assertEquals(3_000_001L, response.opponents());
+    assertEquals(5, response.samples().size());
+    assertEquals(5, response.samples().get(4).opponentIndex());
+
+    long total =
+        (long) response.summary().win() + response.summary().lose() + response.summary().draw();
+    assertEquals(3_000_001L, total);
+  }
+
+  // samples が opponents より多い場合は、相手の人数分だけ結果が返ること
+  @Test
+  void simulate_capsSamplesAtOpponents() {
+    RpsSimulationResponse response = service.simulate(Hand.PAPER, 3, 100);
+
+    assertEquals(3, response.samples().size());
+    int total = response.summary().win() + response.summary().lose() + response.summary().draw();
+    assertEquals(3, total);
+  }
+
+  // 同じシードを指定した場合は、相手の手・結果がすべて同じになること（対戦の再現）
+  @Test
+  void play_withSeed_isReproducible() {
+    RpsRequest request = new RpsRequest(Hand.SCISSORS, 10, 20240101L);
+
+    RpsResponse first = service.play(request);
+    RpsResponse second = new RpsService().play(request);
+
+    assertEquals(first, second);
+  }
+
+  // 同じシードを指定した場合は、分割実行される大人数シミュレーションでも同じ集計になること
+  @Test
+  void simulate_withSeed_isReproducible() {
+    RpsSimulationRequest request = new RpsSimulationRequest(Hand.ROCK, 3_000_000L, 3, 7L);
+
+    RpsSimulationResponse first = service.simulate(request);
+    RpsSimulationResponse second = service.simulate(request);
+
+    assertEquals(first, second);
+  }
+
+  // - 多人数じゃんけんが1人になるまで決着し、自分の勝ち残り・負けた回が矛盾なく返ること
+  // - 同じシードなら同じ経過になること
+  @Test
+  void playGroup_resolvesToOneWinner() {
+    RpsGroupRequest request = new RpsGroupRequest(Hand.PAPER, 5_000, 42L);
+
+    RpsGroupResponse response = service.playGroup(request);
+
+    assertEquals(Hand.PAPER, response.playerHand());
+    assertEquals(5_000, response.participants());
+    assertTrue(response.resolved());
+    assertTrue(response.rounds() > response.drawRounds());
+    assertEquals(response.playerWon(), response.playerEliminatedRound() == null);
+    assertEquals(response, service.playGroup(request));
+  }
+
+  // 通常のじゃんけん以外の手は多人数じゃんけんで使えないこと
+  @Test
+  void playGroup_rejectsVariantHand() {
+    RpsGroupRequest request = new RpsGroupRequest(Hand.SPOCK, 10, null);
+
+    assertThrows(IllegalArgumentException.class, () -> service.playGroup(request));
+  }
+
+  // - play のたびに拡張処理（GameListener）へ自分の手・相手の手・集計が渡されること
+  // - ウォームアップ・シミュレーションでは渡されないこと
+  @Test
+  void play_notifiesGameListeners() {
+    List<String> games = new ArrayList<>();
+    GameListener listener = (timestampMillis, playerCode, buffer) -> games.add(describe(buffer));
+    RpsService listened =
+        new RpsService(new DefaultRandomSource(), RpsMetrics.noop(), List.of(listener));
+
+    RpsResponse response = listened.play(new RpsRequest(Hand.PAPER, 3, 1L));
+    listened.warmUp(new RpsRequest(Hand.ROCK, 3, 1L));
+    listened.simulate(Hand.ROCK, 100, 3);
+
+    List<Hand> hands = response.results().stream().map(RoundResult::opponentHand).toList();
+    assertEquals(List.of(hands + " win=" + response.summary().win()), games);
+  }
+
+  // - ルールを指定すると、そのルールの表で判定されること（SPOCK vs [SCISSORS, ROCK, PAPER, LIZARD, SPOCK]）
+  // - ランダム生成でもルールの手だけが出て、拡張処理にはルールが渡されること
+  // - ルールにない手は受け付けないこと
+  @Test
+  void play_withRuleSet_usesItsTable() {
+    RpsResponse response =
+        service.playWithOpponentHands(
+            RuleSet.LIZARD_SPOCK,
+            Hand.SPOCK,
+            List.of(Hand.SCISSORS, Hand.ROCK, Hand.PAPER, Hand.LIZARD, Hand.SPOCK));
+    assertEquals(
+        List.of(Result.WIN, Result.WIN, Result.LOSE, Result.LOSE, Result.DRAW),
+        response.results().stream().map(RoundResult::result).toList());
+    assertEquals(new Summary(2, 2, 1), response.summary());
+
+    List<RuleSet> notified = new ArrayList<>();
+    GameListener listener =
+        (timestampMillis, playerCode, buffer) -> notified.add(buffer.rules().ruleSet());
+    RpsService listened =
+        new RpsService(new DefaultRandomSource(), RpsMetrics.noop(), List.of(listener));
+    RpsResponse random =
+        listened.play(new RpsRequest(Hand.WATER, RpsRequest.MAX_OPPONENTS, 7L, RuleSet.RPS7));
+    for (RoundResult round : random.results()) {
+      assertTrue(RuleSet.RPS7.allows(round.opponentHand()), round.toString());
+    }
+    assertEquals(List.of(RuleSet.RPS7), notified);
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> service.play(new RpsRequest(Hand.LIZARD, 3, null, RuleSet.CLASSIC)));
+  }
+
+  // - 自分の手が null なら「playerHand は必須です」、相手の手が null なら「opponentHand は必須です」になること
+  // - ルールを指定した場合・ランダム生成の場合も同じメッセージになること
+  @Test
+  void play_nullHand_throwsWithOriginalMessages() {
+    List<Hand> withNull = Arrays.asList(Hand.ROCK, null);
+
+    NullPointerException player =
+        assertThrows(
+            NullPointerException.class,
+            () -> service.playWithOpponentHands(null, List.of(Hand.ROCK)));
+    NullPointerException opponent =
+        assertThrows(
+            NullPointerException.class, () -> service.playWithOpponentHands(Hand.ROCK, withNull));
+    NullPointerException ruleSetOpponent =
+        assertThrows(
+            NullPointerException.class,
+            () -> service.playWithOpponentHands(RuleSet.LIZARD_SPOCK, Hand.SPOCK, withNull));
+    NullPointerException random =
+        assertThrows(NullPointerException.class, () -> service.play(new RpsRequest(null, 3)));
+
+    assertEquals("playerHand は必須です", player.getMessage());
+    assertEquals("opponentHand は必須です", opponent.getMessage());
+    assertEquals("opponentHand は必須です", ruleSetOpponent.getMessage());
+    assertEquals("playerHand は必須です", random.getMessage());
+  }
+
+  // - session を指定すると strategy が RANDOM でも履歴が残り、後から FREQUENCY に切り替えると ROCK ばかりの手が読まれること
+  // - 別のセッションの履歴は使われないこと（履歴がなければ一様）
+  @Test
+  void play_withStrategy_usesSessionHistory() {
+    for (int i = 0; i < 30; i++) {
+      service.play(new RpsRequest(Hand.ROCK, 10, null, null, null, "rock-lover"));
+    }
+
+    RpsResponse adaptive =
+        service.play(
+            new RpsRequest(Hand.ROCK, 10, 2L, null, OpponentStrategy.FREQUENCY, "rock-lover"));
+    RpsResponse fresh =
+        service.play(new RpsRequest(Hand.ROCK, 10, 2L, null, OpponentStrategy.FREQUENCY, "new"));
+
+    assertTrue(adaptive.summary().lose() >= 8, adaptive.summary().toString());
+    assertTrue(fresh.summary().lose() < 8, fresh.summary().toString());
+  }
+
+  // RANDOM 以外の strategy は、session なし・通常以外のルールでは受け付けないこと
+  @Test
+  void play_withStrategy_requiresSessionAndClassicRules() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            service.play(new RpsRequest(Hand.ROCK, 3, null, null, OpponentStrategy.MARKOV, null)));
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            service.play(
+                new RpsRequest(
+                    Hand.ROCK, 3, null, RuleSet.RPS7, OpponentStrategy.MARKOV, "session")));
+  }
+
+  private static String describe(RoundBuffer buffer) {
+    List<Hand> hands = new ArrayList<>();
+    for (int i = 0; i < buffer.size(); i++) {
+      hands.add(OutcomeTable.decodeHand(buffer.opponentHand(i)));
+    }
+    return hands + " win=" + buffer.count(OutcomeTable.WIN);
+  }
 }
@@ -0,0 +1,64 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.seiyamatsuoka.multiopponentrps.config.AppWarmupProperties;
+import com.github.seiyamatsuoka.multiopponentrps.metrics.RpsMetrics;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsResponse;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.random.DefaultRandomSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * RpsWarmup の単体テスト。
+ *
+ * <p>JSON 読み取り → バリデーション → じゃんけん → JSON 書き出しが通り、メトリクスには記録されないことを確認する。
+ */
+class RpsWarmupTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+  private final RpsService service =
+      new RpsService(new DefaultRandomSource(), new RpsMetrics(registry));
+
+  @AfterEach
+  void tearDown() {
+    validatorFactory.close();
+  }
+
+  // 1回分の処理で、手・相手人数が回ごとに変わったレスポンスが書き出されること
+  @Test
+  void playOnce_writesResponseForRotatingRequest() throws Exception {
+    RpsWarmup warmup = warmup(true, 0);
+
+    RpsResponse first = objectMapper.readValue(warmup.playOnce(0), RpsResponse.class);
+    RpsResponse twelfth = objectMapper.readValue(warmup.playOnce(11), RpsResponse.class);
+
+    assertEquals(Hand.ROCK, first.playerHand());
+    assertEquals(1, first.opponents());
+    assertEquals(Hand.SCISSORS, twelfth.playerHand());
+    assertEquals(2, twelfth.opponents());
+  }
+
+  // ウォームアップの実行はメトリクス（実行回数）に記録されないこと
+  @Test
+  void run_doesNotRecordMetrics() throws Exception {
+    warmup(true, 100).run(null);
+
+    assertEquals(0, registry.get("rps.service.play").timer().count());
+  }
+
+  private RpsWarmup warmup(boolean enabled, int iterations) {
+    return new RpsWarmup(
+        service,
+        objectMapper,
+        validatorFactory.getValidator(),
+        new AppWarmupProperties(enabled, iterations));
+  }
+}
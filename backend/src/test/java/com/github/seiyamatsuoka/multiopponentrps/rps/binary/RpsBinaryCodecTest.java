@@ -0,0 +1,92 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.binary;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.RpsService;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsRequest;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsResponse;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Result;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RoundResult;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RuleSet;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Summary;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * RpsBinaryCodec の単体テスト。
+ *
+ * <p>バイナリにして戻した DTO が元と一致すること（往復）と、不正なデータを拒否することを確認する。
+ */
+class RpsBinaryCodecTest {
+
+  private final RpsService service = new RpsService();
+
+  // - シードあり・なし、ルール指定ありのリクエストが往復で一致すること
+  // - 通常のじゃんけんは version 1、ほかのルールは version 2 になること
+  @Test
+  void request_roundTrips() {
+    RpsRequest plain = new RpsRequest(Hand.PAPER, 3);
+    RpsRequest seeded = new RpsRequest(Hand.SCISSORS, 10, Long.MIN_VALUE);
+    RpsRequest variant = new RpsRequest(Hand.WATER, 7, 42L, RuleSet.RPS7);
+
+    assertEquals(plain, RpsBinaryCodec.decodeRequest(RpsBinaryCodec.encodeRequest(plain)));
+    assertEquals(seeded, RpsBinaryCodec.decodeRequest(RpsBinaryCodec.encodeRequest(seeded)));
+    assertEquals(variant, RpsBinaryCodec.decodeRequest(RpsBinaryCodec.encodeRequest(variant)));
+    assertEquals(3, RpsBinaryCodec.encodeRequest(plain).length);
+    assertEquals(RpsBinaryCodec.VERSION, RpsBinaryCodec.encodeRequest(seeded)[0]);
+    assertEquals(RpsBinaryCodec.VERSION_RULES, RpsBinaryCodec.encodeRequest(variant)[0]);
+  }
+
+  // - すべてのルール・手・相手 1〜10 人のレスポンスが往復で一致すること（奇数件の 4bit の詰め方も含む）
+  // - 通常のじゃんけんは相手 10 人でも 12 バイトに収まること
+  @Test
+  void response_roundTrips() {
+    for (RuleSet ruleSet : RuleSet.values()) {
+      for (Hand hand : ruleSet.cycle()) {
+        for (int opponents = 1; opponents <= 10; opponents++) {
+          RpsResponse response = service.play(new RpsRequest(hand, opponents, null, ruleSet));
+          byte[] bytes = RpsBinaryCodec.encodeResponse(response);
+
+          assertEquals(response, RpsBinaryCodec.decodeResponse(bytes));
+        }
+      }
+    }
+    assertEquals(12, RpsBinaryCodec.encodeResponse(service.play(Hand.ROCK, 10)).length);
+  }
+
+  // 相手番号が連番でないレスポンスも、番号を含めて往復で一致すること
+  @Test
+  void response_roundTrips_withNonSequentialIndexes() {
+    RpsResponse response =
+        new RpsResponse(
+            Hand.ROCK,
+            2,
+            List.of(
+                new RoundResult(7, Hand.PAPER, Result.LOSE),
+                new RoundResult(300_000, Hand.SCISSORS, Result.WIN)),
+            new Summary(1, 1, 0));
+
+    assertEquals(response, RpsBinaryCodec.decodeResponse(RpsBinaryCodec.encodeResponse(response)));
+  }
+
+  // バージョン違い・未定義のルール・未定義の手・未定義のフラグ・途中で終わる・余りがあるデータを拒否すること
+  @Test
+  void decodeRequest_rejectsMalformedData() {
+    assertThrows(RpsBinaryFormatException.class, () -> decode(3, 0, 1));
+    assertThrows(RpsBinaryFormatException.class, () -> decode(2, 0, 9, 1));
+    assertThrows(RpsBinaryFormatException.class, () -> decode(1, 3, 1));
+    assertThrows(RpsBinaryFormatException.class, () -> decode(1, 8, 1));
+    assertThrows(RpsBinaryFormatException.class, () -> decode(1, 0));
+    assertThrows(RpsBinaryFormatException.class, () -> decode(1, 0, 1, 0));
+  }
+
+  private static RpsRequest decode(int... values) {
+    byte[] bytes = new byte[values.length];
+    for (int i = 0; i < values.length; i++) {
+      bytes[i] = (byte) values[i];
+    }
+    return RpsBinaryCodec.decodeRequest(bytes);
+  }
+}
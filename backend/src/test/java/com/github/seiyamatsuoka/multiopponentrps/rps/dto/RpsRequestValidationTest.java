@@ -3,6 +3,8 @@ package com.github.seiyamatsuoka.multiopponentrps.rps.dto;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.OpponentStrategy;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RuleSet;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
@@ -68,4 +70,48 @@ class RpsRequestValidationTest {
     assertThat(v1).isNotEmpty();
     assertThat(v2).isNotEmpty();
   }
+
+  // - ruleSet を省略すると通常のじゃんけんになること
+  // - ruleSet で使える手なら違反なし、使えない手（通常のじゃんけんの LIZARD 等）は違反になること
+  @Test
+  void handOutsideRuleSet_hasViolation() {
+    assertThat(new RpsRequest(Hand.ROCK, 3).ruleSet()).isEqualTo(RuleSet.CLASSIC);
+    assertThat(validator.validate(new RpsRequest(Hand.SPOCK, 3, null, RuleSet.LIZARD_SPOCK)))
+        .isEmpty();
+
+    Set<ConstraintViolation<RpsRequest>> classic =
+        validator.validate(new RpsRequest(Hand.LIZARD, 3, null, RuleSet.CLASSIC));
+    Set<ConstraintViolation<RpsRequest>> rpsls =
+        validator.validate(new RpsRequest(Hand.WATER, 3, null, RuleSet.LIZARD_SPOCK));
+
+    // 期待：hand と ruleSet の組み合わせの制約違反が1件ある
+    assertThat(classic).hasSize(1);
+    assertThat(rpsls).hasSize(1);
+  }
+
+  // - strategy を省略すると RANDOM になること
+  // - RANDOM 以外の strategy は session が必要で、通常のじゃんけんでのみ指定できること
+  // - session は 64 文字以下であること
+  @Test
+  void strategyRequiresSessionAndClassicRuleSet() {
+    assertThat(new RpsRequest(Hand.ROCK, 3).strategy()).isEqualTo(OpponentStrategy.RANDOM);
+    assertThat(
+            validator.validate(
+                new RpsRequest(Hand.ROCK, 3, null, null, OpponentStrategy.MARKOV, "player-1")))
+        .isEmpty();
+
+    Set<ConstraintViolation<RpsRequest>> noSession =
+        validator.validate(new RpsRequest(Hand.ROCK, 3, null, null, OpponentStrategy.MARKOV, " "));
+    Set<ConstraintViolation<RpsRequest>> variant =
+        validator.validate(
+            new RpsRequest(
+                Hand.SPOCK, 3, null, RuleSet.LIZARD_SPOCK, OpponentStrategy.FREQUENCY, "p"));
+    Set<ConstraintViolation<RpsRequest>> longSession =
+        validator.validate(new RpsRequest(Hand.ROCK, 3, null, null, null, "x".repeat(65)));
+
+    // 期待：それぞれ制約違反が1件ある
+    assertThat(noSession).hasSize(1);
+    assertThat(variant).hasSize(1);
+    assertThat(longSession).hasSize(1);
+  }
 }
@@ -0,0 +1,90 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * GroupResolver の単体テスト。
+ *
+ * <p>手ごとの人数から負けの手を決める規則と、1人になるまでの繰り返しを確認する。
+ */
+class GroupResolverTest {
+
+  private static final int ROCK = OutcomeTable.encode(Hand.ROCK);
+  private static final int PAPER = OutcomeTable.encode(Hand.PAPER);
+  private static final int SCISSORS = OutcomeTable.encode(Hand.SCISSORS);
+
+  /** 相手が全員 ROCK を出す乱数（すべての枠の値が 0）。 */
+  private final RandomGenerator allRock = () -> 0L;
+
+  // 出ている手が 2 種類なら、通常のじゃんけんで負けた手だけが抜けること
+  @Test
+  void eliminatedHands_twoHands_losingHandIsOut() {
+    assertEquals(1 << ROCK, GroupResolver.eliminatedHands(counts(3, 2, 0)));
+    assertEquals(1 << PAPER, GroupResolver.eliminatedHands(counts(0, 5, 1)));
+    assertEquals(1 << SCISSORS, GroupResolver.eliminatedHands(counts(1, 0, 9)));
+  }
+
+  // 1 種類だけ、または 3 種類が同数の場合はあいこ（誰も抜けない）になること
+  @Test
+  void eliminatedHands_tiedScores_isDraw() {
+    assertEquals(0, GroupResolver.eliminatedHands(counts(0, 5, 0)));
+    assertEquals(0, GroupResolver.eliminatedHands(counts(2, 2, 2)));
+  }
+
+  // 3 種類が出た場合は、点数（勝つ手の人数 - 負ける手の人数）が最小の手が抜けること
+  @Test
+  void eliminatedHands_threeHands_lowestScoreIsOut() {
+    // ROCK: 1 - 1 = 0 / PAPER: 2 - 1 = 1 / SCISSORS: 1 - 2 = -1
+    assertEquals(1 << SCISSORS, GroupResolver.eliminatedHands(counts(2, 1, 1)));
+  }
+
+  // 相手が全員 ROCK のとき、PAPER を出した自分が1回で勝ち残ること
+  @Test
+  void resolve_playerBeatsEveryone_winsInOneRound() {
+    GroupResolver.Outcome outcome = GroupResolver.resolve(PAPER, 5, allRock);
+
+    assertTrue(outcome.resolved());
+    assertTrue(outcome.playerAlive());
+    assertEquals(1, outcome.rounds());
+    assertEquals(0, outcome.drawRounds());
+  }
+
+  // - 自分が負けた回が記録され、残りの人で続けること
+  // - 決着しない（あいこが続く）場合は回数の上限で打ち切ること
+  @Test
+  void resolve_stopsAtMaxRoundsWhenDrawsContinue() {
+    GroupResolver.Outcome outcome = GroupResolver.resolve(SCISSORS, 5, allRock);
+
+    assertFalse(outcome.resolved());
+    assertFalse(outcome.playerAlive());
+    assertEquals(1, outcome.playerEliminatedRound());
+    assertEquals(4, outcome.remaining());
+    assertEquals(GroupResolver.MAX_ROUNDS, outcome.rounds());
+    assertEquals(GroupResolver.MAX_ROUNDS - 1, outcome.drawRounds());
+  }
+
+  // 数千人でもあいこが続かず、少ない回数で1人に決着すること
+  @Test
+  void resolve_largeGroup_resolvesQuickly() {
+    GroupResolver.Outcome outcome = GroupResolver.resolve(ROCK, 10_000, new SplittableRandom(1));
+
+    assertTrue(outcome.resolved());
+    assertEquals(1, outcome.remaining());
+    assertTrue(outcome.rounds() < 100, "rounds=" + outcome.rounds());
+  }
+
+  private static long[] counts(long rock, long paper, long scissors) {
+    long[] counts = new long[OutcomeTable.HAND_COUNT];
+    counts[ROCK] = rock;
+    counts[PAPER] = paper;
+    counts[SCISSORS] = scissors;
+    return counts;
+  }
+}
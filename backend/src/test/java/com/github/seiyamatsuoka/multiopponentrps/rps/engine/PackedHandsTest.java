@@ -0,0 +1,104 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.engine;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RuleSet;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * PackedHands の単体テスト。
+ *
+ * <p>乱数ワードを固定し、2bit の枠の取り出し・棄却・件数の数え方を確認する。
+ */
+class PackedHandsTest {
+
+  /** 枠の値が 0,1,2,3 の順に繰り返すワード（各値 8 枠ずつ、有効な枠は 24）。 */
+  private static final long WORD = 0xE4E4_E4E4_E4E4_E4E4L;
+
+  private final RandomGenerator fixed = () -> WORD;
+
+  // 1ワード分（有効な 24 枠）がそのまま数えられ、値 3 の枠は捨てられること
+  @Test
+  void tally_countsWholeWordWithoutRejectedSlots() {
+    long[] counts = new long[OutcomeTable.HAND_COUNT];
+
+    PackedHands.tally(fixed, 24, counts);
+
+    assertArrayEquals(new long[] {8, 8, 8}, counts);
+  }
+
+  // 最後のワードは枠の順に必要な人数分だけ数えること（0,1,2,(3は捨てる),0,1 → 5人）
+  @Test
+  void tally_takesOnlyRemainingSlotsFromLastWord() {
+    long[] counts = new long[OutcomeTable.HAND_COUNT];
+
+    PackedHands.tally(fixed, 5, counts);
+
+    assertArrayEquals(new long[] {2, 2, 1}, counts);
+  }
+
+  // 複数ワードにまたがる場合も合計人数が一致すること
+  @Test
+  void tally_spansMultipleWords() {
+    long[] counts = new long[OutcomeTable.HAND_COUNT];
+
+    PackedHands.tally(fixed, 30, counts);
+
+    assertArrayEquals(new long[] {10, 10, 10}, counts);
+  }
+
+  // バッファへの追加も同じ順序で取り出され、値 3 が混ざらないこと
+  @Test
+  void fill_addsCodesInSlotOrder() {
+    RoundBuffer buffer = new RoundBuffer(10);
+    buffer.clear(10);
+
+    PackedHands.fill(fixed, 10, buffer);
+
+    int[] expected = {0, 1, 2, 0, 1, 2, 0, 1, 2, 0};
+    assertEquals(10, buffer.size());
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals(expected[i], buffer.opponentHand(i));
+    }
+  }
+
+  // 5 手のルールでは 3bit の枠を使い、5 以上の値の枠は捨ててコードの小さい順の手に割り当てること
+  @Test
+  void fill_withRules_mapsSlotsToAllowedHands() {
+    // 3bit の枠の値が 0,1,...,7 の順に並ぶワード（下位から）
+    long word = 0;
+    for (int slot = 0; slot < 21; slot++) {
+      word |= (long) (slot % 8) << (slot * 3);
+    }
+    long fixedWord = word;
+    RoundBuffer buffer = new RoundBuffer(10);
+    buffer.clear(10);
+
+    PackedHands.fill(() -> fixedWord, 7, buffer, RuleTable.of(RuleSet.LIZARD_SPOCK));
+
+    // ROCK=0 / PAPER=1 / SCISSORS=2 / LIZARD=3 / SPOCK=4（値 5〜7 は捨てる）
+    int[] expected = {0, 1, 2, 3, 4, 0, 1};
+    assertEquals(7, buffer.size());
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals(expected[i], buffer.opponentHand(i));
+    }
+  }
+
+  // 実際の乱数でも 3 種類がほぼ等確率（各 1/3 ± 1%）になること
+  @Test
+  void tally_isRoughlyUniform() {
+    long[] counts = new long[OutcomeTable.HAND_COUNT];
+    long total = 3_000_000;
+
+    PackedHands.tally(new SplittableRandom(42), total, counts);
+
+    assertEquals(total, counts[0] + counts[1] + counts[2]);
+    for (long count : counts) {
+      assertTrue(Math.abs(count - total / 3.0) < total * 0.01);
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.engine;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RuleSet;
+import java.util.List;
+
+/**
+ * テスト用の判定済み {@link RoundBuffer} を作る。
+ *
+ * <p>GameListener（マッチログ・集計・配信など）に渡す 1回分の結果を、相手の手を並べるだけで用意する。
+ */
+public final class RoundBuffers {
+
+  private RoundBuffers() {}
+
+  /**
+   * 相手の手を積み、自分の手で判定したバッファを返す（通常のじゃんけん）。
+   *
+   * @param player 自分の手
+   * @param opponents 相手の手（先頭から順に積む）
+   * @return 判定済みのバッファ
+   */
+  public static RoundBuffer judged(Hand player, Hand... opponents) {
+    return judged(RuleSet.CLASSIC, player, List.of(opponents));
+  }
+
+  /**
+   * 相手の手を積み、自分の手で判定したバッファを返す（通常のじゃんけん）。
+   *
+   * @param player 自分の手
+   * @param opponents 相手の手（先頭から順に積む）
+   * @return 判定済みのバッファ
+   */
+  public static RoundBuffer judged(Hand player, List<Hand> opponents) {
+    return judged(RuleSet.CLASSIC, player, opponents);
+  }
+
+  /**
+   * 相手の手を積み、ルールに従って自分の手で判定したバッファを返す。
+   *
+   * @param ruleSet ルール
+   * @param player 自分の手
+   * @param opponents 相手の手（先頭から順に積む）
+   * @return 判定済みのバッファ
+   */
+  public static RoundBuffer judged(RuleSet ruleSet, Hand player, List<Hand> opponents) {
+    RpsEngine engine = new RpsEngine();
+    RoundBuffer buffer = engine.buffer(opponents.size());
+    for (Hand opponent : opponents) {
+      buffer.add(OutcomeTable.encode(opponent));
+    }
+    engine.judgeAll(RuleTable.of(ruleSet), OutcomeTable.encode(player), buffer);
+    return buffer;
+  }
+
+  /**
+   * 相手の手のコードを積み、自分の手のコードで判定したバッファを返す（通常のじゃんけん）。
+   *
+   * @param playerCode 自分の手のコード
+   * @param opponentCodes 相手の手のコード（先頭から順に積む）
+   * @return 判定済みのバッファ
+   */
+  public static RoundBuffer judged(int playerCode, int... opponentCodes) {
+    RpsEngine engine = new RpsEngine();
+    RoundBuffer buffer = engine.buffer(opponentCodes.length);
+    for (int code : opponentCodes) {
+      buffer.add(code);
+    }
+    engine.judgeAll(playerCode, buffer);
+    return buffer;
+  }
+}
@@ -0,0 +1,89 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsResponse;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Result;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RoundResult;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Summary;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * RpsEngine / OutcomeTable の単体テスト。
+ *
+ * <p>テーブル参照の判定が従来の switch による判定と一致し、組み立てたレスポンスが同じ内容になることを確認する。
+ */
+class RpsEngineTest {
+
+  private final RpsEngine engine = new RpsEngine();
+
+  // 3x3 の全組み合わせで、仕様どおりの勝敗になること
+  @Test
+  void outcomeTable_matchesRules() {
+    assertEquals(Result.DRAW, judge(Hand.ROCK, Hand.ROCK));
+    assertEquals(Result.WIN, judge(Hand.ROCK, Hand.SCISSORS));
+    assertEquals(Result.LOSE, judge(Hand.ROCK, Hand.PAPER));
+
+    assertEquals(Result.DRAW, judge(Hand.PAPER, Hand.PAPER));
+    assertEquals(Result.WIN, judge(Hand.PAPER, Hand.ROCK));
+    assertEquals(Result.LOSE, judge(Hand.PAPER, Hand.SCISSORS));
+
+    assertEquals(Result.DRAW, judge(Hand.SCISSORS, Hand.SCISSORS));
+    assertEquals(Result.WIN, judge(Hand.SCISSORS, Hand.PAPER));
+    assertEquals(Result.LOSE, judge(Hand.SCISSORS, Hand.ROCK));
+  }
+
+  // - バッファから組み立てたレスポンスが、相手ごとの結果・集計ともに期待どおりであること
+  // - バッファを使い回しても前回の内容が残らないこと
+  @Test
+  void toResponse_buildsSameResponseAsBefore() {
+    RpsResponse first = play(Hand.ROCK, Hand.SCISSORS, Hand.ROCK, Hand.PAPER);
+    RpsResponse second = play(Hand.PAPER, Hand.ROCK);
+
+    RpsResponse expectedFirst =
+        new RpsResponse(
+            Hand.ROCK,
+            3,
+            List.of(
+                new RoundResult(1, Hand.SCISSORS, Result.WIN),
+                new RoundResult(2, Hand.ROCK, Result.DRAW),
+                new RoundResult(3, Hand.PAPER, Result.LOSE)),
+            new Summary(1, 1, 1));
+    RpsResponse expectedSecond =
+        new RpsResponse(
+            Hand.PAPER,
+            1,
+            List.of(new RoundResult(1, Hand.ROCK, Result.WIN)),
+            new Summary(1, 0, 0));
+
+    assertEquals(expectedFirst, first);
+    assertEquals(expectedSecond, second);
+  }
+
+  // キャッシュ範囲内の RoundResult は使い回され、範囲外は都度生成されること
+  @Test
+  void roundResult_reusesCachedInstancesWithinRange() {
+    int rock = OutcomeTable.encode(Hand.ROCK);
+    int win = OutcomeTable.WIN;
+
+    assertSame(RpsEngine.roundResult(10, rock, win), RpsEngine.roundResult(10, rock, win));
+    assertEquals(new RoundResult(11, Hand.ROCK, Result.WIN), RpsEngine.roundResult(11, rock, win));
+  }
+
+  private Result judge(Hand player, Hand opponent) {
+    return OutcomeTable.decodeResult(
+        OutcomeTable.judge(OutcomeTable.encode(player), OutcomeTable.encode(opponent)));
+  }
+
+  private RpsResponse play(Hand player, Hand... opponents) {
+    RoundBuffer buffer = engine.buffer(opponents.length);
+    for (Hand opponent : opponents) {
+      buffer.add(OutcomeTable.encode(opponent));
+    }
+    engine.judgeAll(OutcomeTable.encode(player), buffer);
+    return engine.toResponse(player, buffer);
+  }
+}
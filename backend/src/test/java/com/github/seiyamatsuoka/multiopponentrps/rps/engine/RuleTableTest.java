@@ -0,0 +1,93 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Result;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RuleSet;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * RuleTable の単体テスト。
+ *
+ * <p>ルールごとに作った表が、通常のじゃんけんの表・各ルールの勝ち負けの定義と一致することを確認する。
+ */
+class RuleTableTest {
+
+  // 通常のじゃんけんの表は OutcomeTable と同じ勝敗になること
+  @Test
+  void classic_matchesOutcomeTable() {
+    for (int player = 0; player < OutcomeTable.HAND_COUNT; player++) {
+      for (int opponent = 0; opponent < OutcomeTable.HAND_COUNT; opponent++) {
+        assertEquals(
+            OutcomeTable.judge(player, opponent), RuleTable.CLASSIC.judge(player, opponent));
+      }
+    }
+  }
+
+  // - どのルールでも、各手は (N - 1) / 2 個に勝ち、(N - 1) / 2 個に負け、同じ手とはあいこになること
+  // - 勝ち負けが対称（A が B に勝つなら B は A に負ける）であること
+  // - 使える手はルールの手だけであること
+  @Test
+  void everyRuleSet_isBalancedAndSymmetric() {
+    for (RuleSet ruleSet : RuleSet.values()) {
+      RuleTable rules = RuleTable.of(ruleSet);
+      List<Hand> hands = ruleSet.cycle();
+      assertEquals(hands.size(), rules.handCount());
+
+      for (Hand player : hands) {
+        int wins = 0;
+        int loses = 0;
+        for (Hand opponent : hands) {
+          Result result = judge(rules, player, opponent);
+          assertEquals(opposite(result), judge(rules, opponent, player));
+          wins += (result == Result.WIN) ? 1 : 0;
+          loses += (result == Result.LOSE) ? 1 : 0;
+        }
+        assertEquals(Result.DRAW, judge(rules, player, player));
+        assertEquals((hands.size() - 1) / 2, wins, ruleSet + " " + player);
+        assertEquals((hands.size() - 1) / 2, loses, ruleSet + " " + player);
+      }
+      for (Hand hand : Hand.values()) {
+        assertEquals(hands.contains(hand), rules.allows(OutcomeTable.encode(hand)));
+      }
+    }
+  }
+
+  // Rock-Paper-Scissors-Lizard-Spock・RPS-7 の代表的な組み合わせが定義どおりであること
+  @Test
+  void variants_followTheirRules() {
+    RuleTable rpsls = RuleTable.of(RuleSet.LIZARD_SPOCK);
+    assertEquals(Result.WIN, judge(rpsls, Hand.SPOCK, Hand.SCISSORS));
+    assertEquals(Result.WIN, judge(rpsls, Hand.SPOCK, Hand.ROCK));
+    assertEquals(Result.WIN, judge(rpsls, Hand.LIZARD, Hand.SPOCK));
+    assertEquals(Result.WIN, judge(rpsls, Hand.LIZARD, Hand.PAPER));
+    assertEquals(Result.WIN, judge(rpsls, Hand.ROCK, Hand.LIZARD));
+    assertEquals(Result.WIN, judge(rpsls, Hand.SCISSORS, Hand.LIZARD));
+    assertEquals(Result.WIN, judge(rpsls, Hand.PAPER, Hand.SPOCK));
+
+    RuleTable rps7 = RuleTable.of(RuleSet.RPS7);
+    assertEquals(Result.WIN, judge(rps7, Hand.ROCK, Hand.SPONGE));
+    assertEquals(Result.WIN, judge(rps7, Hand.WATER, Hand.ROCK));
+    assertEquals(Result.WIN, judge(rps7, Hand.AIR, Hand.FIRE));
+    assertEquals(Result.LOSE, judge(rps7, Hand.PAPER, Hand.SCISSORS));
+    assertFalse(rps7.allows(OutcomeTable.encode(Hand.LIZARD)));
+    assertTrue(rps7.allows(OutcomeTable.encode(Hand.WATER)));
+  }
+
+  private static Result judge(RuleTable rules, Hand player, Hand opponent) {
+    return OutcomeTable.decodeResult(
+        rules.judge(OutcomeTable.encode(player), OutcomeTable.encode(opponent)));
+  }
+
+  private static Result opposite(Result result) {
+    return switch (result) {
+      case WIN -> Result.LOSE;
+      case LOSE -> Result.WIN;
+      case DRAW -> Result.DRAW;
+    };
+  }
+}
@@ -0,0 +1,164 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsRequest;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsResponse;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Summary;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/** IdempotencyCache の単体テスト（時刻は固定の値を進めて使う）。 */
+class IdempotencyCacheTest {
+
+  private static final String CLIENT = "10.0.0.1";
+
+  private static final RpsRequest REQUEST = new RpsRequest(Hand.ROCK, 3);
+
+  private final AtomicLong now = new AtomicLong();
+  private final AtomicInteger plays = new AtomicInteger();
+  private final IdempotencyCache cache =
+      new IdempotencyCache(Duration.ofMinutes(10), 3, now::get);
+
+  // - 同じキーの再送には、最初と同じ結果が返り、じゃんけんは実行されないこと
+  // - キーが違えば別に実行されること
+  @Test
+  void execute_replaysSameResponseForSameKey() {
+    IdempotencyCache.Outcome first = cache.execute(CLIENT, "k1", REQUEST, this::play);
+    IdempotencyCache.Outcome retry = cache.execute(CLIENT, "k1", REQUEST, this::play);
+    IdempotencyCache.Outcome other = cache.execute(CLIENT, "k2", REQUEST, this::play);
+
+    assertFalse(first.replayed());
+    assertTrue(retry.replayed());
+    assertSame(first.response(), retry.response());
+    assertFalse(other.replayed());
+    assertEquals(2, plays.get());
+    assertEquals(1, cache.replays());
+  }
+
+  // - 別のクライアントの同じキーは、覚えていた結果を返さず別に実行されること
+  // - 別のクライアントなら、同じキーで内容が違っても例外にならないこと
+  @Test
+  void execute_scopesKeysPerClient() {
+    IdempotencyCache.Outcome first = cache.execute(CLIENT, "k1", REQUEST, this::play);
+    IdempotencyCache.Outcome other = cache.execute("10.0.0.2", "k1", REQUEST, this::play);
+    IdempotencyCache.Outcome changed =
+        cache.execute("10.0.0.3", "k1", new RpsRequest(Hand.PAPER, 3), this::play);
+
+    assertFalse(first.replayed());
+    assertFalse(other.replayed());
+    assertFalse(changed.replayed());
+    assertEquals(3, plays.get());
+    assertEquals(0, cache.replays());
+  }
+
+  // - 同じキーで内容の違うリクエストは例外になること
+  // - 長すぎるキーは例外になること
+  @Test
+  void execute_rejectsMismatchedRequestOrLongKey() {
+    String longKey = "k".repeat(IdempotencyCache.MAX_KEY_LENGTH + 1);
+    cache.execute(CLIENT, "k1", REQUEST, this::play);
+
+    assertThrows(
+        IdempotencyKeyException.class,
+        () -> cache.execute(CLIENT, "k1", new RpsRequest(Hand.PAPER, 3), this::play));
+    assertThrows(
+        IdempotencyKeyException.class,
+        () -> cache.execute(CLIENT, longKey, REQUEST, this::play));
+    assertEquals(1, plays.get());
+  }
+
+  // - ttl を過ぎたキーは実行し直すこと
+  // - 件数の上限を超えると古いものから消えること
+  @Test
+  void execute_evictsByTtlAndSize() {
+    cache.execute(CLIENT, "k1", REQUEST, this::play);
+    now.addAndGet(Duration.ofMinutes(10).toNanos());
+    assertFalse(cache.execute(CLIENT, "k1", REQUEST, this::play).replayed());
+
+    cache.execute(CLIENT, "k2", REQUEST, this::play);
+    cache.execute(CLIENT, "k3", REQUEST, this::play);
+    cache.execute(CLIENT, "k4", REQUEST, this::play);
+
+    assertTrue(cache.size() <= 3);
+    assertFalse(cache.execute(CLIENT, "k1", REQUEST, this::play).replayed());
+    assertTrue(cache.execute(CLIENT, "k4", REQUEST, this::play).replayed());
+  }
+
+  // 失敗した結果は覚えず、再送で実行し直すこと
+  @Test
+  void execute_doesNotRememberFailures() {
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            cache.execute(
+                CLIENT,
+                "k1",
+                REQUEST,
+                () -> {
+                  throw new IllegalStateException("boom");
+                }));
+
+    assertFalse(cache.execute(CLIENT, "k1", REQUEST, this::play).replayed());
+  }
+
+  // 最初のリクエストが処理中に届いた再送は、その結果を待って同じ結果を返すこと（じゃんけんは 1回だけ）
+  @Test
+  void execute_waitsForInFlightRequest() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<IdempotencyCache.Outcome> first =
+          executor.submit(
+              () ->
+                  cache.execute(
+                      CLIENT,
+                      "k1",
+                      REQUEST,
+                      () -> {
+                        started.countDown();
+                        await(release);
+                        return play();
+                      }));
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      Future<IdempotencyCache.Outcome> retry =
+          executor.submit(() -> cache.execute(CLIENT, "k1", REQUEST, this::play));
+      release.countDown();
+
+      IdempotencyCache.Outcome original = first.get(5, TimeUnit.SECONDS);
+      IdempotencyCache.Outcome replayed = retry.get(5, TimeUnit.SECONDS);
+      assertSame(original.response(), replayed.response());
+      assertTrue(replayed.replayed());
+      assertEquals(1, plays.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private RpsResponse play() {
+    plays.incrementAndGet();
+    return new RpsResponse(REQUEST.hand(), 0, List.of(), new Summary(0, 0, 0));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
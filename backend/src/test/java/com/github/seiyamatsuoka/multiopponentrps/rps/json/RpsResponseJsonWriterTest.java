@@ -0,0 +1,70 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.json;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.seiyamatsuoka.multiopponentrps.rps.RpsService;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsRequest;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsResponse;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Result;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RoundResult;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RuleSet;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Summary;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * RpsResponseJsonWriter の単体テスト。
+ *
+ * <p>事前生成した断片で組み立てた JSON が、Jackson で書き出した JSON とバイト単位で一致することを確認する。
+ */
+class RpsResponseJsonWriterTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final RpsService service = new RpsService();
+
+  // 通常モード（相手 1〜10 人）の全ルール・全パターンの手で、Jackson と同じ JSON になること
+  @Test
+  void writeTo_matchesJackson_forNormalMode() throws Exception {
+    for (RuleSet ruleSet : RuleSet.values()) {
+      for (Hand hand : ruleSet.cycle()) {
+        for (int opponents = 1; opponents <= 10; opponents++) {
+          RpsResponse response = service.play(new RpsRequest(hand, opponents, null, ruleSet));
+
+          ByteArrayOutputStream out = new ByteArrayOutputStream();
+          RpsResponseJsonWriter.writeTo(response, out);
+
+          assertArrayEquals(objectMapper.writeValueAsBytes(response), out.toByteArray());
+        }
+      }
+    }
+  }
+
+  // - 事前生成の範囲外（相手番号 11 以上・大きな数値・負の数）も Jackson と同じ JSON になること
+  // - 相手人数が多い（作業用バッファに収まらない）場合も書き出せること
+  @Test
+  void toBytes_matchesJackson_outsideCachedRange() throws Exception {
+    RpsResponse edge =
+        new RpsResponse(
+            Hand.PAPER,
+            Integer.MAX_VALUE,
+            List.of(
+                new RoundResult(-3, Hand.ROCK, Result.DRAW),
+                new RoundResult(11, Hand.SCISSORS, Result.LOSE),
+                new RoundResult(1024, Hand.PAPER, Result.WIN)),
+            new Summary(Integer.MIN_VALUE, 1_000_000, 0));
+    RpsResponse large = service.play(Hand.SCISSORS, 5000);
+
+    assertArrayEquals(objectMapper.writeValueAsBytes(edge), RpsResponseJsonWriter.toBytes(edge));
+    assertArrayEquals(objectMapper.writeValueAsBytes(large), RpsResponseJsonWriter.toBytes(large));
+  }
+
+  // 通常モードの上限（相手 10 人）がスレッドごとの作業用バッファに収まること
+  @Test
+  void maxLength_fitsScratchBufferForNormalMode() {
+    assertTrue(RpsResponseJsonWriter.maxLength(10) <= RpsResponseJsonWriter.SCRATCH_SIZE);
+  }
+}
@@ -0,0 +1,73 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.strategy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/** SessionStore の単体テスト（時刻は固定の値を進めて使う）。 */
+class SessionStoreTest {
+
+  private final AtomicLong now = new AtomicLong(1_000_000_000_000L);
+
+  // 同じキーには同じ履歴、違うキーには別の履歴を返すこと
+  @Test
+  void get_returnsSameModelPerSession() {
+    SessionStore store = new SessionStore(Duration.ofMinutes(1), 100, now::get);
+
+    SessionModel a = store.get("a");
+
+    assertSame(a, store.get("a"));
+    assertNotSame(a, store.get("b"));
+    assertEquals(2, store.sessions());
+  }
+
+  // - 使われている間は idleTimeout を過ぎても同じ履歴を返すこと
+  // - idleTimeout の間使われなかったセッションは、新しい履歴で始め直すこと
+  @Test
+  void get_resetsIdleSession() {
+    SessionStore store = new SessionStore(Duration.ofMinutes(1), 100, now::get);
+    SessionModel first = store.get("a");
+
+    now.addAndGet(TimeUnit.SECONDS.toNanos(50));
+    assertSame(first, store.get("a"));
+    now.addAndGet(TimeUnit.SECONDS.toNanos(50));
+    assertSame(first, store.get("a"));
+
+    now.addAndGet(TimeUnit.SECONDS.toNanos(61));
+    assertNotSame(first, store.get("a"));
+  }
+
+  // - セッション数が上限を超えないこと
+  // - 使われていないセッションから消され、使用中のセッションの履歴は保たれること
+  @Test
+  void get_evictsIdleSessionsFirst() {
+    SessionStore store = new SessionStore(Duration.ofMinutes(1), 8, now::get);
+    for (int i = 0; i < 7; i++) {
+      store.get("idle-" + i);
+    }
+    now.addAndGet(TimeUnit.MINUTES.toNanos(2));
+    SessionModel busy = store.get("busy");
+    assertEquals(8, store.sessions());
+
+    store.get("new");
+
+    assertEquals(2, store.sessions());
+    assertSame(busy, store.get("busy"));
+  }
+
+  // 使用中のセッションだけで溢れる場合も、上限を超えないこと
+  @Test
+  void get_staysWithinMaxSessionsWhenAllBusy() {
+    SessionStore store = new SessionStore(Duration.ofMinutes(1), 8, now::get);
+    for (int i = 0; i < 100; i++) {
+      store.get("session-" + i);
+      assertTrue(store.sessions() <= 8);
+    }
+  }
+}
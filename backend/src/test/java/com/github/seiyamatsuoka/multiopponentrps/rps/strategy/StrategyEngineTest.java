@@ -0,0 +1,137 @@
+package com.github.seiyamatsuoka.multiopponentrps.rps.strategy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.OutcomeTable;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffer;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffers;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RpsEngine;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.OpponentStrategy;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * StrategyEngine・SessionModel の単体テスト。
+ *
+ * <p>手のコードは ROCK=0 / PAPER=1 / SCISSORS=2（1つ後ろの手が勝つ）。
+ */
+class StrategyEngineTest {
+
+  private static final int ROCK = 0;
+  private static final int PAPER = 1;
+  private static final int SCISSORS = 2;
+
+  private final RpsEngine engine = new RpsEngine();
+
+  // - FREQUENCY：ROCK ばかり出していると、相手はほとんど PAPER を出すこと
+  // - 回数は上限に達すると半分になり、ほかの手の回数を上書きしないこと
+  @Test
+  void frequency_countersTheMostPlayedHand() {
+    SessionModel model = new SessionModel(0);
+    RoundBuffer game = RoundBuffers.judged(ROCK, PAPER);
+    for (int i = 0; i < 70_000; i++) {
+      model.record(ROCK, game);
+    }
+    long word = model.frequencies();
+    assertTrue(SessionModel.frequency(word, ROCK) > 30_000, Long.toHexString(word));
+    assertEquals(0, SessionModel.frequency(word, PAPER));
+    assertEquals(0, SessionModel.frequency(word, SCISSORS));
+
+    RoundBuffer buffer = fill(OpponentStrategy.FREQUENCY, model, 1000);
+
+    assertTrue(count(buffer, PAPER) > 990, "PAPER=" + count(buffer, PAPER));
+  }
+
+  // - MARKOV：履歴がなければ一様（3 つの手がどれも出る）
+  // - ROCK → PAPER → SCISSORS を繰り返していると、直前が SCISSORS なら ROCK を予想して PAPER を出すこと
+  @Test
+  void markov_countersTheLikelyNextHand() {
+    SessionModel model = new SessionModel(0);
+    RoundBuffer first = fill(OpponentStrategy.MARKOV, model, 300);
+    for (int hand = 0; hand < OutcomeTable.HAND_COUNT; hand++) {
+      assertTrue(count(first, hand) > 50, "hand " + hand + "=" + count(first, hand));
+    }
+
+    for (int i = 0; i < 300; i++) {
+      model.record(i % 3, RoundBuffers.judged(i % 3, ROCK));
+    }
+    long word = model.transitions();
+    assertEquals(SCISSORS, SessionModel.lastHand(word));
+    assertTrue(SessionModel.transition(word, SCISSORS, ROCK) >= 32, Long.toHexString(word));
+    assertEquals(0, SessionModel.transition(word, SCISSORS, PAPER));
+
+    RoundBuffer buffer = fill(OpponentStrategy.MARKOV, model, 1000);
+
+    assertTrue(count(buffer, PAPER) > 900, "PAPER=" + count(buffer, PAPER));
+  }
+
+  // WIN_STAY_LOSE_SHIFT：相手ごとに、勝ったら同じ手、負け・あいこなら直前の自分の手に勝つ手を出すこと
+  @Test
+  void winStayLoseShift_followsEachOpponentsLastResult() {
+    SessionModel model = new SessionModel(0);
+    model.record(ROCK, RoundBuffers.judged(ROCK, SCISSORS, SCISSORS, PAPER, ROCK));
+    model.record(SCISSORS, RoundBuffers.judged(SCISSORS, ROCK, PAPER));
+
+    RoundBuffer buffer = fill(OpponentStrategy.WIN_STAY_LOSE_SHIFT, model, 4);
+
+    // 1人目：前回 ROCK で勝ち → ROCK、2人目：前回 PAPER で負け → 直前の自分の手 SCISSORS に勝つ ROCK
+    // 3人目：前回（1回目）PAPER で勝ち → PAPER、4人目：前回（1回目）ROCK であいこ → SCISSORS に勝つ ROCK
+    assertEquals(List.of(ROCK, ROCK, PAPER, ROCK), hands(buffer));
+  }
+
+  // 複数スレッドから同じセッションを同時に更新しても、回数が欠けないこと
+  @Test
+  void record_isExactUnderContention() throws Exception {
+    SessionModel model = new SessionModel(0);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      for (int thread = 0; thread < 4; thread++) {
+        int hand = thread % OutcomeTable.HAND_COUNT;
+        executor.execute(
+            () -> {
+              RoundBuffer buffer = RoundBuffers.judged(hand, ROCK);
+              for (int i = 0; i < 1000; i++) {
+                model.record(hand, buffer);
+              }
+            });
+      }
+    } finally {
+      executor.shutdown();
+      assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    long word = model.frequencies();
+    assertEquals(2000, SessionModel.frequency(word, ROCK));
+    assertEquals(1000, SessionModel.frequency(word, PAPER));
+    assertEquals(1000, SessionModel.frequency(word, SCISSORS));
+  }
+
+  private RoundBuffer fill(OpponentStrategy strategy, SessionModel model, int opponents) {
+    RoundBuffer buffer = engine.buffer(opponents);
+    StrategyEngine.fill(buffer, opponents, new SplittableRandom(42), strategy, model);
+    return buffer;
+  }
+
+  private static int count(RoundBuffer buffer, int hand) {
+    int count = 0;
+    for (int i = 0; i < buffer.size(); i++) {
+      if (buffer.opponentHand(i) == hand) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static List<Integer> hands(RoundBuffer buffer) {
+    Integer[] hands = new Integer[buffer.size()];
+    for (int i = 0; i < hands.length; i++) {
+      hands[i] = buffer.opponentHand(i);
+    }
+    return List.of(hands);
+  }
+}
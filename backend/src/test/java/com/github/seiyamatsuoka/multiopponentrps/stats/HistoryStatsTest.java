@@ -0,0 +1,82 @@
+package com.github.seiyamatsuoka.multiopponentrps.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.github.seiyamatsuoka.multiopponentrps.matchlog.MatchLogReader;
+import com.github.seiyamatsuoka.multiopponentrps.matchlog.MatchLogScanner;
+import com.github.seiyamatsuoka.multiopponentrps.matchlog.MatchLogWriter;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.OutcomeTable;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffer;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffers;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.stats.dto.HistoryStatsResponse;
+import com.github.seiyamatsuoka.multiopponentrps.stats.dto.OpponentsCount;
+import com.github.seiyamatsuoka.multiopponentrps.stats.dto.PlayerHandStats;
+import com.github.seiyamatsuoka.multiopponentrps.stats.dto.StatsSummary;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * HistoryStats（MatchLogScanner による集計）の単体テスト。
+ *
+ * <p>一時ディレクトリに小さなセグメントで書き込み、複数セグメントを並列に集計した結果を確認する。
+ */
+class HistoryStatsTest {
+
+  @TempDir Path directory;
+
+  // - 自分の手ごとの勝敗・勝率、相手人数ごとの回数が集計されること
+  // - セグメントの境界をまたぐあいこの連続が1つの連続として数えられること
+  @Test
+  void scan_aggregatesAcrossSegments() throws Exception {
+    // 1セグメント 3 件：[勝ち, あいこ, あいこ] [あいこ, あいこ, 負け] [あいこ, 勝ち]
+    MatchLogWriter writer = new MatchLogWriter(directory, 3, 64, Duration.ofMillis(10), 10);
+    writer.start();
+    play(writer, Hand.ROCK, Hand.SCISSORS);
+    play(writer, Hand.ROCK, Hand.ROCK);
+    play(writer, Hand.PAPER, Hand.ROCK, Hand.SCISSORS);
+    play(writer, Hand.PAPER, Hand.PAPER);
+    play(writer, Hand.SCISSORS, Hand.SCISSORS, Hand.SCISSORS);
+    play(writer, Hand.SCISSORS, Hand.ROCK);
+    play(writer, Hand.ROCK, Hand.ROCK);
+    play(writer, Hand.PAPER, Hand.ROCK, Hand.ROCK);
+    writer.stop();
+
+    MatchLogScanner scanner =
+        new MatchLogScanner(new MatchLogReader(directory), ForkJoinPool.commonPool());
+    HistoryStatsResponse stats = scanner.scan(HistoryStats.collector());
+
+    assertEquals(8, stats.games());
+    assertEquals(new StatsSummary(4, 2, 5), stats.summary());
+    assertEquals(
+        List.of(
+            new PlayerHandStats(Hand.ROCK, 3, new StatsSummary(1, 0, 2), 1 / 3.0),
+            new PlayerHandStats(Hand.PAPER, 3, new StatsSummary(3, 1, 1), 3 / 5.0),
+            new PlayerHandStats(Hand.SCISSORS, 2, new StatsSummary(0, 1, 2), 0)),
+        stats.byPlayerHand());
+    assertEquals(List.of(new OpponentsCount(1, 5), new OpponentsCount(2, 3)), stats.opponents());
+    assertEquals(4, stats.longestDrawStreak());
+  }
+
+  // マッチログが空の場合は 0 件の集計になること
+  @Test
+  void scan_emptyLog() throws Exception {
+    MatchLogScanner scanner =
+        new MatchLogScanner(new MatchLogReader(directory), ForkJoinPool.commonPool());
+    HistoryStatsResponse stats = scanner.scan(HistoryStats.collector());
+
+    assertEquals(0, stats.games());
+    assertEquals(new StatsSummary(0, 0, 0), stats.summary());
+    assertEquals(List.of(), stats.opponents());
+    assertEquals(0, stats.longestDrawStreak());
+  }
+
+  private void play(MatchLogWriter writer, Hand player, Hand... opponents) {
+    RoundBuffer buffer = RoundBuffers.judged(player, opponents);
+    writer.onGame(System.currentTimeMillis(), OutcomeTable.encode(player), buffer);
+  }
+}
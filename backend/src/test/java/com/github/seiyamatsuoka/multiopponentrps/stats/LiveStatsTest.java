@@ -0,0 +1,122 @@
+package com.github.seiyamatsuoka.multiopponentrps.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.github.seiyamatsuoka.multiopponentrps.metrics.RpsMetrics;
+import com.github.seiyamatsuoka.multiopponentrps.rps.RpsService;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsRequest;
+import com.github.seiyamatsuoka.multiopponentrps.rps.dto.RpsResponse;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.OutcomeTable;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffer;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffers;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.RuleSet;
+import com.github.seiyamatsuoka.multiopponentrps.rps.random.DefaultRandomSource;
+import com.github.seiyamatsuoka.multiopponentrps.stats.dto.LiveStatsResponse;
+import com.github.seiyamatsuoka.multiopponentrps.stats.dto.OpponentsCount;
+import com.github.seiyamatsuoka.multiopponentrps.stats.dto.PlayerHandStats;
+import com.github.seiyamatsuoka.multiopponentrps.stats.dto.StatsSummary;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+/** LiveStats の単体テスト。 */
+class LiveStatsTest {
+
+  private final LiveStats liveStats = new LiveStats();
+  private final RpsService service =
+      new RpsService(new DefaultRandomSource(), RpsMetrics.noop(), List.of(liveStats));
+
+  // 自分の手ごとの勝敗・勝率と、相手人数ごとの回数が数えられること
+  @Test
+  void snapshot_countsByHandAndOpponents() {
+    play(Hand.ROCK, Hand.SCISSORS, Hand.PAPER);
+    play(Hand.ROCK, Hand.ROCK);
+    play(Hand.SCISSORS, Hand.PAPER, Hand.PAPER, Hand.ROCK);
+
+    LiveStatsResponse stats = liveStats.snapshot();
+
+    assertEquals(3, stats.games());
+    assertEquals(new StatsSummary(3, 2, 1), stats.summary());
+    assertEquals(
+        List.of(
+            new PlayerHandStats(Hand.ROCK, 2, new StatsSummary(1, 1, 1), 1 / 3.0),
+            new PlayerHandStats(Hand.PAPER, 0, new StatsSummary(0, 0, 0), 0),
+            new PlayerHandStats(Hand.SCISSORS, 1, new StatsSummary(2, 1, 0), 2 / 3.0)),
+        stats.byPlayerHand());
+    assertEquals(
+        List.of(new OpponentsCount(1, 1), new OpponentsCount(2, 1), new OpponentsCount(3, 1)),
+        stats.opponents());
+  }
+
+  // 累計が int の範囲を超えても、long のまま返ること
+  @Test
+  void snapshot_totalsBeyondIntRange() {
+    long[] results = new long[StatsTables.RESULT_SLOTS];
+    results[StatsTables.resultSlot(OutcomeTable.encode(Hand.ROCK), OutcomeTable.WIN)] =
+        3_000_000_000L;
+    long[] gamesByHand = new long[OutcomeTable.CODE_COUNT];
+    gamesByHand[OutcomeTable.encode(Hand.ROCK)] = 3_000_000_000L;
+    liveStats.restore(new LiveStats.State(0, 3_000_000_000L, results, gamesByHand, new long[0]));
+
+    LiveStatsResponse stats = liveStats.snapshot();
+
+    assertEquals(new StatsSummary(3_000_000_000L, 0, 0), stats.summary());
+    assertEquals(new StatsSummary(3_000_000_000L, 0, 0), stats.byPlayerHand().get(0).summary());
+  }
+
+  // RpsService の GameListener として、複数スレッドから同時に数えても、回数・勝敗の合計が欠けないこと
+  @Test
+  void snapshot_isConsistentAfterConcurrentPlays() throws Exception {
+    int threads = 4;
+    int perThread = 5_000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    long expectedWins = 0;
+    try {
+      List<Future<Long>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  long wins = 0;
+                  for (int i = 0; i < perThread; i++) {
+                    RpsResponse response = service.play(Hand.PAPER, 1 + i % 10);
+                    wins += response.summary().win();
+                  }
+                  return wins;
+                }));
+      }
+      for (Future<Long> future : futures) {
+        expectedWins += future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    LiveStatsResponse stats = liveStats.snapshot();
+    assertEquals(threads * perThread, stats.games());
+    assertEquals(expectedWins, stats.summary().win());
+    assertEquals(threads * perThread / 10, stats.opponents().get(0).games());
+  }
+
+  // 通常のじゃんけん以外のルールの手は、回数があるものだけ ROCK/PAPER/SCISSORS の後ろに並ぶこと
+  @Test
+  void snapshot_includesVariantHandsOnlyWhenPlayed() {
+    service.play(new RpsRequest(Hand.SPOCK, 4, 1L, RuleSet.LIZARD_SPOCK));
+
+    LiveStatsResponse stats = liveStats.snapshot();
+
+    assertEquals(
+        List.of(Hand.ROCK, Hand.PAPER, Hand.SCISSORS, Hand.SPOCK),
+        stats.byPlayerHand().stream().map(PlayerHandStats::playerHand).toList());
+    assertEquals(1, stats.byPlayerHand().get(3).games());
+  }
+
+  private void play(Hand player, Hand... opponents) {
+    RoundBuffer buffer = RoundBuffers.judged(player, opponents);
+    liveStats.onGame(System.currentTimeMillis(), OutcomeTable.encode(player), buffer);
+  }
+}
@@ -0,0 +1,54 @@
+package com.github.seiyamatsuoka.multiopponentrps.stats;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/** SlidingWindowCounter の単体テスト（時刻は固定の値を進めて使う）。 */
+class SlidingWindowCounterTest {
+
+  private final AtomicLong now = new AtomicLong(1_000);
+  private final SlidingWindowCounter counter = new SlidingWindowCounter(10, 2, now::get);
+
+  // - 窓の秒数分のバケットだけが合計されること
+  // - 窓から外れた秒の件数は数えられないこと
+  @Test
+  void sum_countsOnlyBucketsInsideWindow() {
+    add(0, 1);
+    now.addAndGet(3);
+    add(0, 2);
+    add(1, 5);
+
+    assertArrayEquals(new long[] {3, 5}, counter.sum(10));
+    assertArrayEquals(new long[] {2, 5}, counter.sum(3));
+
+    now.addAndGet(7);
+    assertArrayEquals(new long[] {2, 5}, counter.sum(10));
+  }
+
+  // 1周して同じバケットを使うときは、前の周の件数が消えてから数えられること
+  @Test
+  void currentBucket_resetsStaleBucket() {
+    add(0, 4);
+    now.addAndGet(10);
+    add(0, 1);
+
+    assertArrayEquals(new long[] {1, 0}, counter.sum(10));
+  }
+
+  // 時間が空いて切り替わっていないバケットは、古い件数が残っていても数えられないこと
+  @Test
+  void sum_skipsBucketsNotAdvanced() {
+    add(0, 4);
+    now.addAndGet(25);
+
+    assertArrayEquals(new long[] {0, 0}, counter.sum(10));
+    assertThrows(IllegalArgumentException.class, () -> counter.sum(11));
+  }
+
+  private void add(int channel, long delta) {
+    counter.add(counter.currentBucket(), channel, delta);
+  }
+}
@@ -0,0 +1,125 @@
+package com.github.seiyamatsuoka.multiopponentrps.stats;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.github.seiyamatsuoka.multiopponentrps.error.ApiExceptionHandler;
+import com.github.seiyamatsuoka.multiopponentrps.matchlog.MatchLogScanner;
+import com.github.seiyamatsuoka.multiopponentrps.metrics.RpsMetrics;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.OutcomeTable;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffer;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffers;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.stats.dto.HistoryStatsResponse;
+import com.github.seiyamatsuoka.multiopponentrps.stats.dto.OpponentsCount;
+import com.github.seiyamatsuoka.multiopponentrps.stats.dto.PlayerHandStats;
+import com.github.seiyamatsuoka.multiopponentrps.stats.dto.StatsSummary;
+import java.util.List;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * StatsController のテスト。
+ *
+ * <ul>
+ *   <li>リアルタイム集計（LiveStats）のスナップショットが JSON で返ること
+ *   <li>直近の時間窓の集計（WindowedStats）が 1分 / 5分 / 1時間 の順に返ること
+ *   <li>マッチログが有効なら、スキャナの集計結果が JSON で返ること
+ *   <li>マッチログが無効（app.matchlog.enabled=false）なら 404 + 統一エラーレスポンスになること
+ * </ul>
+ */
+class StatsControllerTest {
+
+  @Nested
+  @WebMvcTest(controllers = StatsController.class)
+  @Import({ApiExceptionHandler.class, LiveStats.class, WindowedStats.class})
+  class Enabled {
+
+    @Autowired private MockMvc mockMvc;
+
+    @Autowired private LiveStats liveStats;
+
+    @MockitoBean private MatchLogScanner scanner;
+
+    @MockitoBean private RpsMetrics metrics;
+
+    @Test
+    void live_returnsSnapshot() throws Exception {
+      RoundBuffer buffer = RoundBuffers.judged(Hand.ROCK, Hand.SCISSORS, Hand.ROCK);
+      liveStats.onGame(System.currentTimeMillis(), OutcomeTable.encode(Hand.ROCK), buffer);
+
+      mockMvc
+          .perform(get("/api/stats"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.since").isString())
+          .andExpect(jsonPath("$.games").value(1))
+          .andExpect(jsonPath("$.summary.win").value(1))
+          .andExpect(jsonPath("$.summary.draw").value(1))
+          .andExpect(jsonPath("$.byPlayerHand[0].winRate").value(0.5))
+          .andExpect(jsonPath("$.opponents[0].opponents").value(2));
+    }
+
+    @Test
+    void windows_returnsEachWindow() throws Exception {
+      mockMvc
+          .perform(get("/api/stats/windows"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.windows.length()").value(3))
+          .andExpect(jsonPath("$.windows[0].window").value("1m"))
+          .andExpect(jsonPath("$.windows[2].seconds").value(3600));
+    }
+
+    @Test
+    void history_returnsScannedStats() throws Exception {
+      when(scanner.isEnabled()).thenReturn(true);
+      StatsSummary summary = new StatsSummary(3, 1, 1);
+      when(scanner.scan(any()))
+          .thenReturn(
+              new HistoryStatsResponse(
+                  2,
+                  summary,
+                  List.of(new PlayerHandStats(Hand.PAPER, 2, summary, 0.6)),
+                  List.of(new OpponentsCount(1, 1), new OpponentsCount(4, 1)),
+                  1));
+
+      mockMvc
+          .perform(get("/api/stats/history"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.games").value(2))
+          .andExpect(jsonPath("$.summary.win").value(3))
+          .andExpect(jsonPath("$.byPlayerHand[0].playerHand").value("PAPER"))
+          .andExpect(jsonPath("$.byPlayerHand[0].winRate").value(0.6))
+          .andExpect(jsonPath("$.opponents[1].opponents").value(4))
+          .andExpect(jsonPath("$.longestDrawStreak").value(1));
+    }
+  }
+
+  @Nested
+  @WebMvcTest(controllers = StatsController.class)
+  @Import({ApiExceptionHandler.class, LiveStats.class, WindowedStats.class})
+  class Disabled {
+
+    @Autowired private MockMvc mockMvc;
+
+    @MockitoBean private MatchLogScanner scanner;
+
+    @MockitoBean private RpsMetrics metrics;
+
+    @Test
+    void history_returnsNotFound() throws Exception {
+      mockMvc
+          .perform(get("/api/stats/history"))
+          .andExpect(status().isNotFound())
+          .andExpect(jsonPath("$.message").value("マッチログが無効です"))
+          .andExpect(jsonPath("$.details[0]").value("app.matchlog.enabled=true で有効にしてください"));
+    }
+  }
+}
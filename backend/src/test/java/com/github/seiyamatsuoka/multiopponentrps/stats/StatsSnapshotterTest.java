@@ -0,0 +1,129 @@
+package com.github.seiyamatsuoka.multiopponentrps.stats;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.seiyamatsuoka.multiopponentrps.error.ApiErrorKind;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.OutcomeTable;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffer;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffers;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.stats.dto.LiveStatsResponse;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** StatsSnapshotter / StatsSnapshotFile の単体テスト（時刻は固定の値を進めて使う）。 */
+class StatsSnapshotterTest {
+
+  @TempDir Path dir;
+
+  private final AtomicLong now = new AtomicLong(1_700_000_000L);
+
+  // 保存したファイルから別のインスタンスに復元すると、累計・時間窓の集計が同じになること
+  @Test
+  void restore_roundTripsLiveAndWindowedStats() throws IOException {
+    Path file = dir.resolve("stats.snapshot");
+    LiveStats live = new LiveStats();
+    WindowedStats windows = new WindowedStats(now::get);
+    play(live, windows, Hand.ROCK, Hand.SCISSORS, Hand.PAPER);
+    now.addAndGet(120);
+    play(live, windows, Hand.PAPER, Hand.ROCK);
+    windows.recordError(ApiErrorKind.VALIDATION);
+    new StatsSnapshotter(live, windows, file, Duration.ofSeconds(30)).save();
+
+    LiveStats restoredLive = new LiveStats();
+    WindowedStats restoredWindows = new WindowedStats(now::get);
+    boolean restored =
+        new StatsSnapshotter(restoredLive, restoredWindows, file, Duration.ofSeconds(30))
+            .restore();
+
+    assertTrue(restored);
+    LiveStatsResponse expected = live.snapshot();
+    LiveStatsResponse actual = restoredLive.snapshot();
+    // since はミリ秒単位で保存する
+    assertEquals(expected.since().toEpochMilli(), actual.since().toEpochMilli());
+    assertEquals(expected.games(), actual.games());
+    assertEquals(expected.summary(), actual.summary());
+    assertEquals(expected.byPlayerHand(), actual.byPlayerHand());
+    assertEquals(expected.opponents(), actual.opponents());
+    assertEquals(windows.snapshot(), restoredWindows.snapshot());
+  }
+
+  // 復元した後の集計には、復元した分に続けて新しい回数が足されること
+  @Test
+  void restore_keepsCountingAfterRestore() throws IOException {
+    Path file = dir.resolve("stats.snapshot");
+    LiveStats live = new LiveStats();
+    WindowedStats windows = new WindowedStats(now::get);
+    play(live, windows, Hand.ROCK, Hand.SCISSORS);
+    new StatsSnapshotter(live, windows, file, Duration.ofSeconds(30)).save();
+
+    LiveStats restoredLive = new LiveStats();
+    WindowedStats restoredWindows = new WindowedStats(now::get);
+    new StatsSnapshotter(restoredLive, restoredWindows, file, Duration.ofSeconds(30)).restore();
+    play(restoredLive, restoredWindows, Hand.ROCK, Hand.SCISSORS);
+
+    assertEquals(2, restoredLive.snapshot().games());
+    assertEquals(2, restoredWindows.snapshot().windows().get(0).games());
+  }
+
+  // - ファイルがない場合は何もしないこと
+  // - 壊れたファイルは例外で拒否され、StatsSnapshotter は空の集計のまま続けること
+  @Test
+  void restore_ignoresMissingOrCorruptFile() throws IOException {
+    Path file = dir.resolve("stats.snapshot");
+    LiveStats live = new LiveStats();
+    WindowedStats windows = new WindowedStats(now::get);
+    StatsSnapshotter snapshotter = new StatsSnapshotter(live, windows, file, Duration.ofSeconds(1));
+    assertFalse(snapshotter.restore());
+
+    play(live, windows, Hand.ROCK, Hand.SCISSORS);
+    snapshotter.save();
+    byte[] bytes = Files.readAllBytes(file);
+    bytes[bytes.length - 1] ^= 1;
+    Files.write(file, bytes);
+
+    assertThrows(IOException.class, () -> StatsSnapshotFile.read(file));
+    LiveStats restoredLive = new LiveStats();
+    assertFalse(
+        new StatsSnapshotter(restoredLive, new WindowedStats(now::get), file, Duration.ofSeconds(1))
+            .restore());
+    assertEquals(0, restoredLive.snapshot().games());
+  }
+
+  // 無効で生成した場合は、開始してもファイルから復元せず、停止しても保存しないこと
+  @Test
+  void start_disabled_doesNothing() throws IOException {
+    Path file = dir.resolve("stats.snapshot");
+    LiveStats live = new LiveStats();
+    WindowedStats windows = new WindowedStats(now::get);
+    play(live, windows, Hand.ROCK, Hand.SCISSORS);
+    new StatsSnapshotter(live, windows, file, Duration.ofSeconds(30)).save();
+    byte[] saved = Files.readAllBytes(file);
+
+    LiveStats restoredLive = new LiveStats();
+    StatsSnapshotter snapshotter =
+        new StatsSnapshotter(
+            false, restoredLive, new WindowedStats(now::get), file, Duration.ofSeconds(30));
+    snapshotter.start();
+    snapshotter.stop();
+
+    assertFalse(snapshotter.isRunning());
+    assertEquals(0, restoredLive.snapshot().games());
+    assertArrayEquals(saved, Files.readAllBytes(file));
+  }
+
+  private void play(LiveStats live, WindowedStats windows, Hand player, Hand... opponents) {
+    RoundBuffer buffer = RoundBuffers.judged(player, opponents);
+    live.onGame(now.get() * 1000, OutcomeTable.encode(player), buffer);
+    windows.onGame(now.get() * 1000, OutcomeTable.encode(player), buffer);
+  }
+}
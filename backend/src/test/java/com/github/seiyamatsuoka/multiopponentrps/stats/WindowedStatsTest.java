@@ -0,0 +1,67 @@
+package com.github.seiyamatsuoka.multiopponentrps.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.github.seiyamatsuoka.multiopponentrps.error.ApiErrorKind;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.OutcomeTable;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffer;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffers;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.stats.dto.StatsSummary;
+import com.github.seiyamatsuoka.multiopponentrps.stats.dto.WindowStats;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/** WindowedStats の単体テスト（時刻は固定の値を進めて使う）。 */
+class WindowedStatsTest {
+
+  private final AtomicLong now = new AtomicLong(1_700_000_000L);
+  private final WindowedStats stats = new WindowedStats(now::get);
+
+  // - 直近 1分 / 5分 / 1時間 のそれぞれに、窓の中の回数・勝敗だけが数えられること
+  // - 入力不正（400）だけが rejected に数えられること
+  @Test
+  void snapshot_countsPerWindow() {
+    play(Hand.ROCK, Hand.SCISSORS, Hand.PAPER);
+    stats.recordError(ApiErrorKind.VALIDATION);
+    stats.recordError(ApiErrorKind.UNEXPECTED);
+
+    now.addAndGet(10 * 60);
+    play(Hand.PAPER, Hand.PAPER);
+    stats.recordError(ApiErrorKind.NOT_READABLE);
+
+    now.addAndGet(59);
+    List<WindowStats> windows = stats.snapshot().windows();
+
+    assertEquals(List.of("1m", "5m", "1h"), windows.stream().map(WindowStats::window).toList());
+    assertWindow(windows.get(0), 1, new StatsSummary(0, 0, 1), 1);
+    assertWindow(windows.get(1), 1, new StatsSummary(0, 0, 1), 1);
+    assertWindow(windows.get(2), 2, new StatsSummary(1, 1, 1), 2);
+  }
+
+  // 起動してから窓の秒数が経っていない場合は、経過した秒数で割った値になること
+  @Test
+  void snapshot_ratesUseElapsedSecondsAfterStartup() {
+    play(Hand.ROCK, Hand.SCISSORS);
+    now.addAndGet(9);
+    play(Hand.ROCK, Hand.SCISSORS);
+
+    WindowStats minute = stats.snapshot().windows().get(0);
+    assertEquals(0.2, minute.gamesPerSecond(), 1e-9);
+
+    now.addAndGet(50);
+    assertEquals(2 / 60.0, stats.snapshot().windows().get(0).gamesPerSecond(), 1e-9);
+  }
+
+  private void assertWindow(WindowStats window, long games, StatsSummary summary, long rejected) {
+    assertEquals(games, window.games());
+    assertEquals(summary, window.summary());
+    assertEquals(rejected, window.rejected());
+  }
+
+  private void play(Hand player, Hand... opponents) {
+    RoundBuffer buffer = RoundBuffers.judged(player, opponents);
+    stats.onGame(now.get() * 1000, OutcomeTable.encode(player), buffer);
+  }
+}
@@ -0,0 +1,30 @@
+package com.github.seiyamatsuoka.multiopponentrps.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+/** GameEventRing の単体テスト。 */
+class GameEventRingTest {
+
+  // - 書き込んだ順に連番が振られ、連番の位置から読めること
+  // - 容量を超えると古いものから上書きされる（読み出し側は連番の違いで上書き済みと分かる）こと
+  @Test
+  void publish_overwritesOldestWhenFull() {
+    GameEventRing ring = new GameEventRing(3);
+    assertEquals(4, ring.capacity());
+    assertNull(ring.get(0));
+
+    for (int i = 0; i < 6; i++) {
+      ring.publish(1_000L + i, i % 3, 1, 1, 0, 0);
+    }
+
+    assertEquals(6, ring.head());
+    assertEquals(5, ring.get(5).seq());
+    assertEquals(1_005L, ring.get(5).timestampMillis());
+    assertEquals(2, ring.get(2).seq());
+    // 連番 1 の位置は連番 5 で上書きされている
+    assertEquals(5, ring.get(1).seq());
+  }
+}
@@ -0,0 +1,79 @@
+package com.github.seiyamatsuoka.multiopponentrps.stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.github.seiyamatsuoka.multiopponentrps.config.GameStreamConfig;
+import com.github.seiyamatsuoka.multiopponentrps.error.ApiExceptionHandler;
+import com.github.seiyamatsuoka.multiopponentrps.metrics.RpsMetrics;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.OutcomeTable;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffer;
+import com.github.seiyamatsuoka.multiopponentrps.rps.engine.RoundBuffers;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Hand;
+import com.github.seiyamatsuoka.multiopponentrps.stats.WindowedStats;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * GameStreamController のテスト。
+ *
+ * <ul>
+ *   <li>購読中に行われたじゃんけんの結果が、間隔ごとにまとめて SSE（event:games）で届くこと
+ *   <li>購読者数が上限に達していると 503 + 統一エラーレスポンスになること
+ * </ul>
+ */
+@WebMvcTest(controllers = GameStreamController.class)
+@Import({ApiExceptionHandler.class, GameStreamConfig.class, WindowedStats.class})
+@TestPropertySource(
+    properties = {
+      "app.stream.buffer-size=16",
+      "app.stream.interval=10ms",
+      "app.stream.coalesce=true",
+      "app.stream.max-subscribers=1",
+      "app.stream.timeout=10s"
+    })
+class GameStreamControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private GameStream gameStream;
+
+  @MockitoBean private RpsMetrics metrics;
+
+  @Test
+  void stream_pushesGamesAndLimitsSubscribers() throws Exception {
+    MvcResult subscribed =
+        mockMvc.perform(get("/api/rps/stream")).andExpect(request().asyncStarted()).andReturn();
+
+    mockMvc
+        .perform(get("/api/rps/stream").param("mode", "summary"))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(jsonPath("$.message").value("サーバーが混み合っています"));
+
+    RoundBuffer buffer = RoundBuffers.judged(Hand.ROCK, Hand.SCISSORS, Hand.ROCK);
+    gameStream.onGame(System.currentTimeMillis(), OutcomeTable.encode(Hand.ROCK), buffer);
+
+    String body = awaitContent(subscribed, "event:games");
+    assertTrue(body.contains("\"playerHand\":\"ROCK\""), body);
+    assertTrue(body.contains("\"summary\":{\"win\":1,\"lose\":0,\"draw\":1}"), body);
+  }
+
+  private static String awaitContent(MvcResult result, String expected) throws Exception {
+    long deadline = System.nanoTime() + 5_000_000_000L;
+    String body = result.getResponse().getContentAsString();
+    while (!body.contains(expected) && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+      body = result.getResponse().getContentAsString();
+    }
+    return body;
+  }
+}
@@ -0,0 +1,85 @@
+package com.github.seiyamatsuoka.multiopponentrps.tournament;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.github.seiyamatsuoka.multiopponentrps.error.ApiExceptionHandler;
+import com.github.seiyamatsuoka.multiopponentrps.metrics.RpsMetrics;
+import com.github.seiyamatsuoka.multiopponentrps.rps.model.Summary;
+import com.github.seiyamatsuoka.multiopponentrps.stats.WindowedStats;
+import com.github.seiyamatsuoka.multiopponentrps.tournament.dto.TournamentRequest;
+import com.github.seiyamatsuoka.multiopponentrps.tournament.dto.TournamentResponse;
+import com.github.seiyamatsuoka.multiopponentrps.tournament.dto.TournamentRound;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * TournamentController のテスト。
+ *
+ * <ul>
+ *   <li>POST /api/rps/tournament が優勝者と回戦ごとの集計を JSON で返すこと
+ *   <li>総当たり戦の人数が上限を超える場合は 400 + 統一エラーレスポンスになること
+ * </ul>
+ *
+ * <p>トーナメントの実行自体は Service の単体テストで担保するため、ここではServiceをモックする。
+ */
+@WebMvcTest(controllers = TournamentController.class)
+@Import({ApiExceptionHandler.class, WindowedStats.class})
+class TournamentControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockitoBean private TournamentService tournamentService;
+
+  @MockitoBean private RpsMetrics metrics;
+
+  @Test
+  void run_returnsWinnerAndRounds() throws Exception {
+    TournamentResponse stub =
+        new TournamentResponse(
+            TournamentFormat.SINGLE_ELIMINATION,
+            2,
+            2,
+            1,
+            List.of(new TournamentRound(1, 1, new Summary(0, 1, 2))),
+            0.5);
+    when(tournamentService.run(new TournamentRequest(TournamentFormat.SINGLE_ELIMINATION, 2, 3L)))
+        .thenReturn(stub);
+
+    mockMvc
+        .perform(
+            post("/api/rps/tournament")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"format\":\"SINGLE_ELIMINATION\",\"entrants\":2,\"seed\":3}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.winner").value(2))
+        .andExpect(jsonPath("$.rounds[0].summary.draw").value(2))
+        .andExpect(jsonPath("$.elapsedMillis").value(0.5));
+  }
+
+  @Test
+  void run_roundRobinTooLarge_returns400() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/rps/tournament")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"format\":\"ROUND_ROBIN\",\"entrants\":5000}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(
+            jsonPath("$.details[0]")
+                .value("entrantsAllowed: ROUND_ROBIN の entrants は 2000 以下で指定してください"));
+
+    verify(tournamentService, never()).run(any(TournamentRequest.class));
+  }
+}
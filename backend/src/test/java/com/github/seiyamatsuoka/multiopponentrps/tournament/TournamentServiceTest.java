@@ -0,0 +1,110 @@
+package com.github.seiyamatsuoka.multiopponentrps.tournament;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.seiyamatsuoka.multiopponentrps.rps.RpsService;
+import com.github.seiyamatsuoka.multiopponentrps.rps.random.DefaultRandomSource;
+import com.github.seiyamatsuoka.multiopponentrps.tournament.dto.TournamentRequest;
+import com.github.seiyamatsuoka.multiopponentrps.tournament.dto.TournamentResponse;
+import com.github.seiyamatsuoka.multiopponentrps.tournament.dto.TournamentRound;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * TournamentService の単体テスト。
+ *
+ * <p>優勝者は乱数で決まるため、試合数・回戦の数・シードによる再現（並列数によらないこと）を確認する。
+ */
+class TournamentServiceTest {
+
+  private final TournamentService service =
+      new TournamentService(new RpsService(), new DefaultRandomSource());
+
+  // - 勝ち抜き戦の試合数が「人数 - 1」、回戦の数が ceil(log2 人数) になること
+  // - 1回戦の試合数が、不戦勝の人を除いた人数の半分になること
+  @Test
+  void singleElimination_playsEntrantsMinusOneMatches() {
+    TournamentResponse response = run(TournamentFormat.SINGLE_ELIMINATION, 10_000, 1L);
+
+    assertEquals(9_999, response.matches());
+    assertEquals(14, response.rounds().size());
+    assertEquals(10_000 - 8_192, response.rounds().get(0).matches());
+    assertEquals(1, response.rounds().get(13).matches());
+    assertWinnerInRange(response);
+  }
+
+  // 総当たり戦の試合数が「人数 × (人数 - 1) / 2」で、各回戦の試合数が人数の半分になること
+  @Test
+  void roundRobin_playsEveryPairOnce() {
+    TournamentResponse response = run(TournamentFormat.ROUND_ROBIN, 101, 1L);
+
+    assertEquals(101L * 100 / 2, response.matches());
+    assertEquals(101, response.rounds().size());
+    for (TournamentRound round : response.rounds()) {
+      assertEquals(50, round.matches());
+    }
+    assertWinnerInRange(response);
+  }
+
+  // - 同じシードなら、分割実行の並列数が違っても同じ優勝者・集計になること
+  // - どちらの形式も、1つのタスクで処理する大きさを超える人数で確かめること（実際に分割される）
+  @Test
+  void run_withSeed_isReproducibleAcrossParallelism() {
+    ForkJoinPool pool = new ForkJoinPool(1);
+    try {
+      TournamentService single =
+          new TournamentService(new RpsService(), new DefaultRandomSource(), pool);
+
+      for (TournamentFormat format : TournamentFormat.values()) {
+        int entrants =
+            switch (format) {
+              // 1つのタスクで処理する人数（LEAF_SIZE）を超える
+              case SINGLE_ELIMINATION -> 4 * SingleElimination.LEAF_SIZE + 1;
+              // 試合数（約 112 万）が 1つのタスクで処理する試合数（LEAF_MATCHES）を超える
+              case ROUND_ROBIN -> 1_500;
+            };
+        TournamentRequest request = new TournamentRequest(format, entrants, 7L);
+        TournamentResponse first = service.run(request);
+        TournamentResponse second = single.run(request);
+
+        assertEquals(first.winner(), second.winner());
+        assertEquals(first.rounds(), second.rounds());
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  // サークル方式の日程で、各回戦に同じ人が2回出ないこと（人数が偶数・奇数とも）
+  @Test
+  void roundRobin_roundOf_isValidSchedule() {
+    for (int entrants : new int[] {2, 7, 10}) {
+      int rounds = RoundRobin.rounds(entrants);
+      for (int round = 1; round <= rounds; round++) {
+        Set<Integer> playing = new HashSet<>();
+        for (int first = 0; first < entrants; first++) {
+          for (int second = first + 1; second < entrants; second++) {
+            if (RoundRobin.roundOf(first, second, entrants) == round) {
+              assertTrue(playing.add(first), "entrants=" + entrants + " round=" + round);
+              assertTrue(playing.add(second), "entrants=" + entrants + " round=" + round);
+            }
+          }
+        }
+        assertFalse(playing.isEmpty());
+      }
+    }
+  }
+
+  private TournamentResponse run(TournamentFormat format, int entrants, Long seed) {
+    return service.run(new TournamentRequest(format, entrants, seed));
+  }
+
+  private static void assertWinnerInRange(TournamentResponse response) {
+    assertTrue(response.winner() >= 1 && response.winner() <= response.entrants());
+    assertTrue(response.elapsedMillis() >= 0);
+  }
+}
@@ -0,0 +1,101 @@
+import { afterEach, beforeEach, describe, expect, it, vi } from 'vitest';
+import { waitForHealthy } from './healthApi';
+import { ApiError, requestJson } from './http';
+
+/**
+ * requestJson だけをモックに差し替える（ApiError などは本物を使う）。
+ *
+ * - waitForHealthy は getHealth → requestJson を呼ぶので、ここで応答を決める
+ */
+vi.mock('./http', async (importOriginal) => ({
+  ...(await importOriginal<typeof import('./http')>()),
+  requestJson: vi.fn(),
+}));
+
+const requestJsonMock = vi.mocked(requestJson);
+
+/** ウォームアップ中の応答（503 { status: "starting" }）を表す ApiError。 */
+function starting() {
+  return new ApiError({
+    status: 503,
+    url: 'https://example.com/api/health',
+    message: 'APIエラー: 503',
+    rawBody: { status: 'starting' },
+  });
+}
+
+describe('waitForHealthy', () => {
+  beforeEach(() => {
+    // setTimeout と Date.now をまとめて偽物にし、待ち時間を実際には待たずに進める
+    vi.useFakeTimers();
+  });
+
+  afterEach(() => {
+    vi.useRealTimers();
+  });
+
+  it('starting（503）の間は再試行し、200 になったら結果を返す', async () => {
+    requestJsonMock
+      .mockRejectedValueOnce(starting())
+      .mockRejectedValueOnce(starting())
+      .mockResolvedValueOnce({ status: 'ok' });
+
+    const promise = waitForHealthy(1_000, 90_000);
+    await vi.advanceTimersByTimeAsync(1_000 + 2_000);
+
+    await expect(promise).resolves.toEqual({ status: 'ok' });
+    expect(requestJsonMock).toHaveBeenCalledTimes(3);
+  });
+
+  it('再試行の間隔は倍々に延び、上限で止まる', async () => {
+    requestJsonMock
+      .mockRejectedValueOnce(starting())
+      .mockRejectedValueOnce(starting())
+      .mockRejectedValueOnce(starting())
+      .mockRejectedValueOnce(starting())
+      .mockResolvedValueOnce({ status: 'ok' });
+
+    const promise = waitForHealthy(1_000, 90_000, 3_000);
+
+    /**
+     * 間隔は 1s → 2s → 3s（上限）→ 3s。
+     * 各間隔の少し手前では次の呼び出しがまだ起きていないことを確かめる。
+     */
+    await vi.advanceTimersByTimeAsync(0);
+    expect(requestJsonMock).toHaveBeenCalledTimes(1);
+    for (const [delayMs, calls] of [
+      [1_000, 2],
+      [2_000, 3],
+      [3_000, 4],
+      [3_000, 5],
+    ]) {
+      await vi.advanceTimersByTimeAsync(delayMs - 1);
+      expect(requestJsonMock).toHaveBeenCalledTimes(calls - 1);
+      await vi.advanceTimersByTimeAsync(1);
+      expect(requestJsonMock).toHaveBeenCalledTimes(calls);
+    }
+
+    await expect(promise).resolves.toEqual({ status: 'ok' });
+  });
+
+  it('上限時間を超えたら、最後のエラー（503）を投げる', async () => {
+    requestJsonMock.mockRejectedValue(starting());
+
+    const promise = waitForHealthy(1_000, 2_500);
+    // 先に捕まえておく（タイマーを進めている間に未処理の reject にならないようにする）
+    const assertion = expect(promise).rejects.toMatchObject({ status: 503 });
+
+    // 0s・1s で再試行し、次の 2s 待ちは上限（2.5s）を超えるので諦める
+    await vi.advanceTimersByTimeAsync(1_000);
+    await assertion;
+    expect(requestJsonMock).toHaveBeenCalledTimes(2);
+  });
+
+  it('503 以外のエラーは再試行せずにそのまま投げる', async () => {
+    const error = new ApiError({ status: 500, url: '/api/health', message: 'APIエラー: 500' });
+    requestJsonMock.mockRejectedValue(error);
+
+    await expect(waitForHealthy(1_000, 90_000)).rejects.toBe(error);
+    expect(requestJsonMock).toHaveBeenCalledTimes(1);
+  });
+});
@@ -1,12 +1,24 @@
-import { requestJson } from './http';
+import { ApiError, requestJson } from './http';
 import type { HealthResponse } from './types';
 
+/** ウォームアップ中（503）の最初の再試行間隔（ms） */
+const READY_POLL_INTERVAL_MS = 1_000;
+
+/** 再試行間隔の上限（ms）。間隔は再試行ごとに倍にする */
+const READY_POLL_MAX_INTERVAL_MS = 5_000;
+
+/** 準備完了を待つ上限（ms）。コールドスタート + ウォームアップを見込む */
+const READY_TIMEOUT_MS = 90_000;
+
 /**
  * GET /api/health
  *
  * 目的：
  * - Render のコールドスタート対策（起動確認）
  * - 画面/Devtoolsから疎通を確認するためのエンドポイント
+ *
+ * 注意：
+ * - サーバーは起動直後のウォームアップが終わるまで 503（{ status: "starting" }）を返す
  */
 export async function getHealth(): Promise<HealthResponse> {
   return requestJson<HealthResponse>({
@@ -15,3 +27,29 @@ export async function getHealth(): Promise<HealthResponse> {
     timeoutMs: 60_000,
   });
 }
+
+/**
+ * GET /api/health を、準備完了（200）になるまで繰り返し呼ぶ。
+ *
+ * - 503（ウォームアップ中）の間は再試行する。間隔は intervalMs から倍々に延ばし、maxIntervalMs で止める
+ * - 503 以外のエラー、または上限時間を超えた場合は最後のエラーを投げる
+ */
+export async function waitForHealthy(
+  intervalMs: number = READY_POLL_INTERVAL_MS,
+  timeoutMs: number = READY_TIMEOUT_MS,
+  maxIntervalMs: number = READY_POLL_MAX_INTERVAL_MS
+): Promise<HealthResponse> {
+  const deadline = Date.now() + timeoutMs;
+  let delayMs = intervalMs;
+
+  for (;;) {
+    try {
+      return await getHealth();
+    } catch (e) {
+      const warmingUp = e instanceof ApiError && e.status === 503;
+      if (!warmingUp || Date.now() + delayMs > deadline) throw e;
+    }
+    await new Promise((resolve) => setTimeout(resolve, delayMs));
+    delayMs = Math.min(delayMs * 2, maxIntervalMs);
+  }
+}
@@ -123,3 +123,38 @@ describe('createRequestJson', () => {
     }
   });
 });
+
+describe('createRequestJson（ヘッダ）', () => {
+  it('headers を指定すると、content-type と一緒に送る', async () => {
+    /**
+     * fetch のモック（渡された init を記録する）。
+     */
+    let sentInit: RequestInit | undefined;
+    const fetchMock: typeof fetch = (async (_url: string, init?: RequestInit) => {
+      sentInit = init;
+      return mockResponse({
+        status: 200,
+        ok: true,
+        contentType: 'application/json',
+        json: async () => ({}),
+      });
+    }) as unknown as typeof fetch;
+
+    const requestJson = createRequestJson({
+      getBaseUrl: () => 'https://example.com',
+      fetchImpl: fetchMock,
+    });
+
+    await requestJson({
+      method: 'POST',
+      path: '/api/rps',
+      body: { hand: 'ROCK', opponents: 3 },
+      headers: { 'Idempotency-Key': 'key-1' },
+    });
+
+    expect(sentInit?.headers).toEqual({
+      'Idempotency-Key': 'key-1',
+      'content-type': 'application/json',
+    });
+  });
+});
@@ -42,6 +42,8 @@ export type RequestJsonParams = {
   path: string;
   body?: unknown;
   timeoutMs?: number;
+  /** 追加のリクエストヘッダ（Idempotency-Key 等） */
+  headers?: Record<string, string>;
 };
 
 /**
@@ -131,6 +133,7 @@ export function createRequestJson(deps: {
       const res = await fetchImpl(url, {
         method: params.method,
         headers: {
+          ...params.headers,
           'content-type': 'application/json',
         },
         body: params.body == null ? undefined : JSON.stringify(params.body),
@@ -6,12 +6,17 @@ import type { RpsRequest, RpsResponse } from './types';
  *
  * 目的：
  * - ユーザーの手と相手人数を送り、対戦結果（CPUの手/勝敗など）を取得する
+ * - idempotencyKey を渡すと、同じキーの再送には最初の結果が返る（タイムアウト後の再試行で結果が変わらない）
  */
-export async function postRps(req: RpsRequest): Promise<RpsResponse> {
+export async function postRps(
+  req: RpsRequest,
+  options?: { idempotencyKey?: string }
+): Promise<RpsResponse> {
   return requestJson<RpsResponse>({
     method: 'POST',
     path: '/api/rps',
     body: req,
     timeoutMs: 60_000,
+    headers: options?.idempotencyKey ? { 'Idempotency-Key': options.idempotencyKey } : undefined,
   });
 }
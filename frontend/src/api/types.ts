@@ -9,13 +9,32 @@ export type HealthResponse = Readonly<{
   status: string;
 }>;
 
-/** じゃんけんの手（バックエンドの enum に合わせる） */
-export type RpsHand = 'ROCK' | 'PAPER' | 'SCISSORS';
+/** じゃんけんの手（バックエンドの enum に合わせる。ROCK / PAPER / SCISSORS 以外は ruleSet 指定時のみ） */
+export type RpsHand =
+  | 'ROCK'
+  | 'PAPER'
+  | 'SCISSORS'
+  | 'LIZARD'
+  | 'SPOCK'
+  | 'FIRE'
+  | 'SPONGE'
+  | 'AIR'
+  | 'WATER';
+
+/** ルール（省略時は CLASSIC） */
+export type RpsRuleSet = 'CLASSIC' | 'LIZARD_SPOCK' | 'RPS7';
+
+/** 相手の作戦（省略時は RANDOM。RANDOM 以外は CLASSIC のみで session が必要） */
+export type RpsOpponentStrategy = 'RANDOM' | 'FREQUENCY' | 'MARKOV' | 'WIN_STAY_LOSE_SHIFT';
 
 /** POST /api/rps のリクエスト */
 export type RpsRequest = Readonly<{
   hand: RpsHand;
   opponents: number;
+  ruleSet?: RpsRuleSet;
+  strategy?: RpsOpponentStrategy;
+  /** 自分の手の履歴を覚えるキー（64 文字以下） */
+  session?: string;
 }>;
 
 /** 1対戦ごとの勝敗 */
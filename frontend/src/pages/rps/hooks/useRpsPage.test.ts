@@ -0,0 +1,119 @@
+// @vitest-environment jsdom
+import { act, createElement } from 'react';
+import { createRoot } from 'react-dom/client';
+import { afterEach, beforeEach, describe, expect, it, vi } from 'vitest';
+import { waitForHealthy } from '../../../api/healthApi';
+import { ApiError } from '../../../api/http';
+import { postRps } from '../../../api/rpsApi';
+import type { RpsResponse } from '../../../api/types';
+import { useRpsPage } from './useRpsPage';
+
+/**
+ * API 呼び出しはモックに差し替える（通信はしない）。
+ *
+ * - waitForHealthy：初回ロード時の warmup をすぐに成功させる
+ * - postRps：テストごとに成功・失敗を決め、送った Idempotency-Key を記録する
+ */
+vi.mock('../../../api/healthApi', () => ({ waitForHealthy: vi.fn() }));
+vi.mock('../../../api/rpsApi', () => ({ postRps: vi.fn() }));
+
+const waitForHealthyMock = vi.mocked(waitForHealthy);
+const postRpsMock = vi.mocked(postRps);
+
+/** React に act() の中で更新していることを伝える（警告を出さない） */
+(globalThis as { IS_REACT_ACT_ENVIRONMENT?: boolean }).IS_REACT_ACT_ENVIRONMENT = true;
+
+const RESULT: RpsResponse = {
+  playerHand: 'ROCK',
+  opponents: 3,
+  results: [],
+  summary: { win: 0, lose: 0, draw: 3 },
+};
+
+/** フックを呼び、描画のたびに戻り値を渡すだけのコンポーネント。 */
+function Harness({ onRender }: { onRender: (page: ReturnType<typeof useRpsPage>) => void }) {
+  onRender(useRpsPage());
+  return null;
+}
+
+/**
+ * useRpsPage を描画し、最新の戻り値を page() で読めるようにする。
+ *
+ * - @testing-library を入れずに済むよう、フックを呼ぶだけのコンポーネントを createRoot で描画する
+ */
+async function renderUseRpsPage() {
+  const result: { current: ReturnType<typeof useRpsPage> | null } = { current: null };
+  const root = createRoot(document.createElement('div'));
+  await act(async () => {
+    root.render(createElement(Harness, { onRender: (page) => (result.current = page) }));
+  });
+  return {
+    page: () => result.current!,
+    unmount: () => act(() => root.unmount()),
+  };
+}
+
+/** postRps に渡された Idempotency-Key を呼び出し順に返す。 */
+function sentKeys() {
+  return postRpsMock.mock.calls.map(([, options]) => options?.idempotencyKey);
+}
+
+describe('useRpsPage（Idempotency-Key）', () => {
+  beforeEach(() => {
+    waitForHealthyMock.mockResolvedValue({ status: 'ok' });
+    // キーを呼び出し順の連番にして、同じキーか新しいキーかを見分けやすくする
+    let seq = 0;
+    vi.stubGlobal('crypto', { randomUUID: () => `key-${++seq}` });
+  });
+
+  afterEach(() => {
+    vi.unstubAllGlobals();
+  });
+
+  it('通信エラー後の再試行は同じキーを送り、次のじゃんけんは新しいキーを送る', async () => {
+    postRpsMock
+      .mockRejectedValueOnce(new TypeError('Failed to fetch'))
+      .mockResolvedValueOnce(RESULT)
+      .mockResolvedValueOnce(RESULT);
+    const { page, unmount } = await renderUseRpsPage();
+
+    // 1回目：通信エラー（結果を受け取れなかった）
+    await act(() => page().runRps());
+    expect(page().rpsResult).toBeNull();
+
+    // 再試行：同じ手・人数なので同じキーを送り、結果を受け取る
+    await act(() => page().runRps());
+    expect(page().rpsResult).toBe(RESULT);
+
+    // 次のじゃんけん：結果を受け取れた後なので新しいキーを送る
+    await act(() => page().runRps());
+
+    expect(sentKeys()).toEqual(['key-1', 'key-1', 'key-2']);
+    await unmount();
+  });
+
+  it('タイムアウト（status 0）後でも、入力を変えたら新しいキーを送る', async () => {
+    const timeout = new ApiError({ status: 0, url: '/api/rps', message: 'timeout' });
+    postRpsMock.mockRejectedValueOnce(timeout).mockResolvedValueOnce(RESULT);
+    const { page, unmount } = await renderUseRpsPage();
+
+    await act(() => page().runRps());
+    act(() => page().setHand('PAPER'));
+    await act(() => page().runRps());
+
+    expect(sentKeys()).toEqual(['key-1', 'key-2']);
+    await unmount();
+  });
+
+  it('HTTPエラー（サーバーが応答した）の後は、同じ入力でも新しいキーを送る', async () => {
+    const badRequest = new ApiError({ status: 400, url: '/api/rps', message: 'bad request' });
+    postRpsMock.mockRejectedValueOnce(badRequest).mockResolvedValueOnce(RESULT);
+    const { page, unmount } = await renderUseRpsPage();
+
+    await act(() => page().runRps());
+    await act(() => page().runRps());
+
+    expect(sentKeys()).toEqual(['key-1', 'key-2']);
+    await unmount();
+  });
+});
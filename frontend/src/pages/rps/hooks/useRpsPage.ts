@@ -1,5 +1,6 @@
 import { useCallback, useEffect, useMemo, useRef, useState } from 'react';
-import { getHealth } from '../../../api/healthApi';
+import { waitForHealthy } from '../../../api/healthApi';
+import { ApiError } from '../../../api/http';
 import { postRps } from '../../../api/rpsApi';
 import type { RpsHand, RpsResponse } from '../../../api/types';
 
@@ -32,6 +33,7 @@ export function useRpsPage() {
   /**
    * Render のコールドスタート対策の起動リクエスト。
    * - /api/health を叩いて起動を促し、UI上で状態が分かるようにする
+   * - サーバー側のウォームアップ中（503）は待ち続け、じゃんけん API が温まってから ok にする
    */
   const warmup = useCallback(async () => {
     setErrorMessage('');
@@ -39,7 +41,7 @@ export function useRpsPage() {
     setWarmupStatus('idle');
 
     try {
-      const res = await getHealth();
+      const res = await waitForHealthy();
       // health の戻り値は { status: "ok" } 想定
       setWarmupStatus(res.status === 'ok' ? 'ok' : 'error');
       if (res.status !== 'ok') {
@@ -65,6 +67,14 @@ export function useRpsPage() {
     void warmup();
   }, [warmup]);
 
+  /**
+   * 結果を受け取れなかった（タイムアウト・通信エラー）じゃんけんの Idempotency-Key。
+   *
+   * - 同じ手・人数で再試行したときは同じキーを送り、サーバーが最初の結果をそのまま返せるようにする
+   * - 結果を受け取れた場合・HTTPエラーの場合・入力を変えた場合は使わない
+   */
+  const pendingRef = useRef<{ key: string; hand: RpsHand; opponents: number } | null>(null);
+
   /**
    * じゃんけん実行。
    */
@@ -72,10 +82,22 @@ export function useRpsPage() {
     setErrorMessage('');
     setRpsLoading(true);
 
+    const pending = pendingRef.current;
+    const key =
+      pending && pending.hand === hand && pending.opponents === opponents
+        ? pending.key
+        : crypto.randomUUID();
+    pendingRef.current = { key, hand, opponents };
+
     try {
-      const res = await postRps({ hand, opponents });
+      const res = await postRps({ hand, opponents }, { idempotencyKey: key });
+      pendingRef.current = null;
       setRpsResult(res);
     } catch (e) {
+      // HTTPエラー（サーバーが応答した）の場合はキーを捨てる。タイムアウト・通信エラーの場合は再試行で同じキーを使う
+      if (e instanceof ApiError && e.status !== 0) {
+        pendingRef.current = null;
+      }
       setRpsResult(null);
       setErrorMessage(e instanceof Error ? e.message : '不明なエラーが発生しました');
     } finally {